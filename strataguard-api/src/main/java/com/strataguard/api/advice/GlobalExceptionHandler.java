@@ -11,6 +11,7 @@ import com.strataguard.core.exception.PaymentProcessingException;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.exception.TenantMismatchException;
 import com.strataguard.core.exception.UnauthorizedException;
+import com.strataguard.core.exception.WriteOutcomeUnknownException;
 import com.strataguard.core.exception.EstateMembershipException;
 import com.strataguard.core.exception.InsufficientPermissionException;
 import lombok.extern.slf4j.Slf4j;
@@ -131,6 +132,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Access denied: " + ex.getMessage()));
     }
 
+    @ExceptionHandler(WriteOutcomeUnknownException.class)
+    public ResponseEntity<ApiResponse<Void>> handleWriteOutcomeUnknown(WriteOutcomeUnknownException ex) {
+        log.warn("Write outcome unknown: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalState(IllegalStateException ex) {
         log.error("Illegal state: {}", ex.getMessage());
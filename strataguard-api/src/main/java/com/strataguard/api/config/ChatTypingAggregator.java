@@ -0,0 +1,133 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.dto.chat.TypingIndicator;
+import com.strataguard.core.dto.chat.TypingState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges typing frames into per-conversation changes to "who is typing". Repeated frames from a
+ * resident only extend their idle timeout. At most once per
+ * {@code websocket.typing.publish-interval-millis} the conversation's typing topic gets a
+ * {@link TypingState} delta: residents who started typing, or whose published expiry is more than
+ * half used up while they keep typing, and residents who stopped or went idle. Each node only
+ * reports the residents typing through it, so with several nodes clients merge the deltas and no
+ * node's update overwrites another's typists.
+ */
+@Component
+@Slf4j
+public class ChatTypingAggregator {
+
+    static final String TYPING_TOPIC_SUFFIX = ".typing";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Duration idleTimeout;
+    private final Counter framesReceived;
+    private final Counter statesPublished;
+    private final Map<UUID, Conversation> conversations = new ConcurrentHashMap<>();
+
+    private record Typist(String residentName, Instant expiresAt) {
+    }
+
+    /** Only touched inside {@code conversations.compute*}, which serialises access per conversation. */
+    private static final class Conversation {
+        private final Map<UUID, Typist> typists = new LinkedHashMap<>();
+        /** Expiry last published for each resident clients currently show as typing. */
+        private final Map<UUID, Instant> published = new HashMap<>();
+    }
+
+    public ChatTypingAggregator(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry,
+                                @Value("${websocket.typing.idle-timeout-millis:5000}") long idleTimeoutMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.idleTimeout = Duration.ofMillis(idleTimeoutMillis);
+        this.framesReceived = meterRegistry.counter("chat.typing.frames");
+        this.statesPublished = meterRegistry.counter("chat.typing.published");
+    }
+
+    public void onTyping(TypingIndicator indicator) {
+        onTyping(indicator, Instant.now());
+    }
+
+    void onTyping(TypingIndicator indicator, Instant now) {
+        framesReceived.increment();
+        conversations.compute(indicator.getConversationId(), (id, conversation) -> {
+            Conversation current = conversation != null ? conversation : new Conversation();
+            if (indicator.isTyping()) {
+                current.typists.put(indicator.getResidentId(),
+                        new Typist(indicator.getResidentName(), now.plus(idleTimeout)));
+            } else {
+                current.typists.remove(indicator.getResidentId());
+            }
+            return current.typists.isEmpty() && current.published.isEmpty() ? null : current;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.typing.publish-interval-millis:500}")
+    public void publishChanges() {
+        publishChanges(Instant.now());
+    }
+
+    void publishChanges(Instant now) {
+        List<TypingState> states = new ArrayList<>();
+        for (UUID conversationId : conversations.keySet()) {
+            conversations.computeIfPresent(conversationId, (id, conversation) -> {
+                conversation.typists.values().removeIf(typist -> !now.isBefore(typist.expiresAt()));
+                TypingState delta = delta(id, conversation, now);
+                if (delta != null) {
+                    states.add(delta);
+                }
+                return conversation.typists.isEmpty() ? null : conversation;
+            });
+        }
+        for (TypingState state : states) {
+            messagingTemplate.convertAndSend(
+                    WebSocketChatGateway.CONVERSATION_TOPIC_PREFIX + state.getConversationId() + TYPING_TOPIC_SUFFIX, state);
+        }
+        statesPublished.increment(states.size());
+        if (!states.isEmpty()) {
+            log.debug("Published typing changes for {} conversations", states.size());
+        }
+    }
+
+    /** What changed since the last publish, recorded as published; null when nothing did. */
+    private TypingState delta(UUID conversationId, Conversation conversation, Instant now) {
+        List<TypingIndicator> typing = new ArrayList<>();
+        conversation.typists.forEach((residentId, typist) -> {
+            Instant publishedExpiry = conversation.published.get(residentId);
+            boolean refreshDue = publishedExpiry != null
+                    && Duration.between(publishedExpiry, typist.expiresAt()).compareTo(idleTimeout.dividedBy(2)) >= 0;
+            if (publishedExpiry == null || refreshDue) {
+                typing.add(TypingIndicator.builder()
+                        .conversationId(conversationId)
+                        .residentId(residentId)
+                        .residentName(typist.residentName())
+                        .typing(true)
+                        .expiresInMillis(Duration.between(now, typist.expiresAt()).toMillis())
+                        .build());
+                conversation.published.put(residentId, typist.expiresAt());
+            }
+        });
+        List<UUID> stopped = new ArrayList<>();
+        conversation.published.keySet().removeIf(residentId -> {
+            boolean gone = !conversation.typists.containsKey(residentId);
+            if (gone) {
+                stopped.add(residentId);
+            }
+            return gone;
+        });
+        if (typing.isEmpty() && stopped.isEmpty()) {
+            return null;
+        }
+        return TypingState.builder().conversationId(conversationId).typing(typing).stopped(stopped).build();
+    }
+}
@@ -0,0 +1,287 @@
+package com.strataguard.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.BufferingStompDecoder;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process STOMP 1.2 broker for tests and single-node installs, so the broker relay
+ * code path can run without an external broker. Every destination is publish-subscribe, matched
+ * exactly, as with Spring's simple broker; there are no transactions, acknowledgements or
+ * persistence. It only binds to a loopback address and only accepts the relay's own logins, so
+ * it is never reachable by other hosts; multi-node deployments must relay to a real broker.
+ */
+@Slf4j
+public class EmbeddedStompBroker implements SmartLifecycle {
+
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+    private static final Set<String> NOT_FORWARDED = Set.of(
+            StompHeaderAccessor.STOMP_DESTINATION_HEADER, StompHeaderAccessor.STOMP_RECEIPT_HEADER,
+            StompHeaderAccessor.STOMP_CONTENT_LENGTH_HEADER, "transaction");
+
+    private final String bindAddress;
+    private final int configuredPort;
+    private final Map<String, String> passcodesByLogin;
+    private final StompEncoder encoder = new StompEncoder();
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private volatile ServerSocket serverSocket;
+    private volatile ExecutorService executor;
+
+    private record Subscription(Connection connection, String id) {
+    }
+
+    /** @param passcodesByLogin the only login/passcode pairs CONNECT frames are accepted with */
+    public EmbeddedStompBroker(String bindAddress, int port, Map<String, String> passcodesByLogin) {
+        this.bindAddress = bindAddress;
+        this.configuredPort = port;
+        this.passcodesByLogin = Map.copyOf(passcodesByLogin);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+        try {
+            if (!InetAddress.getByName(bindAddress).isLoopbackAddress()) {
+                throw new IllegalStateException("Embedded STOMP broker is for single-node use and must bind to a "
+                        + "loopback address, not " + bindAddress + "; relay to an external broker instead");
+            }
+            ServerSocket socket = new ServerSocket();
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(bindAddress, configuredPort));
+            serverSocket = socket;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded STOMP broker on "
+                    + bindAddress + ":" + configuredPort, e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.execute(this::acceptLoop);
+        log.info("Embedded STOMP broker listening on {}:{}", bindAddress, getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!isRunning()) {
+            return;
+        }
+        closeQuietly(serverSocket);
+        serverSocket = null;
+        connections.forEach(Connection::close);
+        executor.shutdownNow();
+        subscriptions.clear();
+        log.info("Embedded STOMP broker stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    /** Starts before the broker relay, which connects to it on startup. */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /** The bound port, which differs from the configured one when that was 0. */
+    public int getPort() {
+        ServerSocket socket = serverSocket;
+        return socket != null ? socket.getLocalPort() : configuredPort;
+    }
+
+    private void acceptLoop() {
+        ServerSocket server = serverSocket;
+        while (server != null && !server.isClosed()) {
+            try {
+                Connection connection = new Connection(server.accept());
+                connections.add(connection);
+                executor.execute(connection::readLoop);
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    log.warn("Embedded STOMP broker accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void publish(StompHeaderAccessor send, byte[] payload) {
+        String destination = send.getDestination();
+        Set<Subscription> targets = destination != null ? subscriptions.get(destination) : null;
+        if (targets == null) {
+            return;
+        }
+        for (Subscription subscription : targets) {
+            StompHeaderAccessor message = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            send.toNativeHeaderMap().forEach((name, values) -> {
+                if (!NOT_FORWARDED.contains(name)) {
+                    message.setNativeHeaderValues(name, values);
+                }
+            });
+            message.setDestination(destination);
+            message.setSubscriptionId(subscription.id());
+            message.setMessageId(Long.toString(messageIds.incrementAndGet()));
+            subscription.connection().send(message, payload);
+        }
+    }
+
+    private final class Connection {
+
+        private final Socket socket;
+        private final BufferingStompDecoder decoder = new BufferingStompDecoder(new StompDecoder(), MAX_FRAME_BYTES);
+        private final Map<String, String> destinationsBySubscription = new ConcurrentHashMap<>();
+        private volatile boolean authenticated;
+
+        private Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        private void readLoop() {
+            try (InputStream in = socket.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    // The decoder may keep partial frames, so it gets its own copy of the bytes
+                    for (Message<byte[]> frame : decoder.decode(ByteBuffer.wrap(Arrays.copyOf(buffer, read)))) {
+                        if (!handle(frame)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Embedded STOMP connection closed: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        /** Returns false once the connection should close. */
+        private boolean handle(Message<byte[]> frame) {
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(frame, StompHeaderAccessor.class);
+            if (accessor == null || accessor.isHeartbeat() || accessor.getCommand() == null) {
+                return true;
+            }
+            StompCommand command = accessor.getCommand();
+            if (!authenticated && command != StompCommand.CONNECT && command != StompCommand.STOMP) {
+                return error("Not connected");
+            }
+            switch (command) {
+                case CONNECT, STOMP -> {
+                    String login = accessor.getLogin();
+                    if (login == null || !Objects.equals(passcodesByLogin.get(login), accessor.getPasscode())) {
+                        return error("Bad credentials");
+                    }
+                    authenticated = true;
+                    StompHeaderAccessor connected = StompHeaderAccessor.create(StompCommand.CONNECTED);
+                    connected.setVersion("1.2");
+                    // No heart-beating in either direction; loopback connections fail fast anyway
+                    connected.setHeartbeat(0, 0);
+                    connected.setNativeHeader("server", "strataguard-embedded");
+                    send(connected, new byte[0]);
+                }
+                case SUBSCRIBE -> {
+                    String id = accessor.getSubscriptionId();
+                    String destination = accessor.getDestination();
+                    if (id == null || destination == null) {
+                        return error("SUBSCRIBE requires id and destination");
+                    }
+                    destinationsBySubscription.put(id, destination);
+                    subscriptions.computeIfAbsent(destination, d -> ConcurrentHashMap.newKeySet())
+                            .add(new Subscription(this, id));
+                }
+                case UNSUBSCRIBE -> unsubscribe(accessor.getSubscriptionId());
+                case SEND -> publish(accessor, frame.getPayload());
+                case DISCONNECT -> {
+                    receipt(accessor);
+                    return false;
+                }
+                default -> {
+                    // ACK, NACK and transactions are accepted and ignored
+                }
+            }
+            receipt(accessor);
+            return true;
+        }
+
+        private void receipt(StompHeaderAccessor accessor) {
+            String receiptId = accessor.getReceipt();
+            if (receiptId != null) {
+                StompHeaderAccessor receipt = StompHeaderAccessor.create(StompCommand.RECEIPT);
+                receipt.setReceiptId(receiptId);
+                send(receipt, new byte[0]);
+            }
+        }
+
+        private boolean error(String text) {
+            StompHeaderAccessor error = StompHeaderAccessor.create(StompCommand.ERROR);
+            error.setMessage(text);
+            send(error, new byte[0]);
+            return false;
+        }
+
+        private void unsubscribe(String id) {
+            String destination = id != null ? destinationsBySubscription.remove(id) : null;
+            if (destination == null) {
+                return;
+            }
+            subscriptions.computeIfPresent(destination, (d, subs) -> {
+                subs.remove(new Subscription(this, id));
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+
+        private void send(StompHeaderAccessor accessor, byte[] payload) {
+            byte[] bytes = encoder.encode(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+            synchronized (this) {
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(bytes);
+                    out.flush();
+                } catch (IOException e) {
+                    log.debug("Embedded STOMP write failed: {}", e.getMessage());
+                    closeQuietly(socket);
+                }
+            }
+        }
+
+        private void close() {
+            List.copyOf(destinationsBySubscription.keySet()).forEach(this::unsubscribe);
+            connections.remove(this);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring close failure: {}", e.getMessage());
+        }
+    }
+}
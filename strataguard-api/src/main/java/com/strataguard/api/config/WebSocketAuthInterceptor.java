@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
     private final JwtDecoder jwtDecoder;
+    private final WebSocketSessionBindings sessionBindings;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -38,15 +39,18 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             String authHeader = accessor.getFirstNativeHeader("Authorization");
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
+                Jwt jwt;
+                UUID tenantId = null;
                 try {
-                    Jwt jwt = jwtDecoder.decode(token);
+                    jwt = jwtDecoder.decode(token);
                     Collection<GrantedAuthority> authorities = extractRealmRoles(jwt);
                     JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt, authorities, jwt.getSubject());
                     accessor.setUser(authentication);
 
                     String tenantIdStr = jwt.getClaimAsString("tenant_id");
                     if (tenantIdStr != null) {
-                        accessor.getSessionAttributes().put("tenant_id", UUID.fromString(tenantIdStr));
+                        tenantId = UUID.fromString(tenantIdStr);
+                        accessor.getSessionAttributes().put("tenant_id", tenantId);
                     }
 
                     log.debug("WebSocket authenticated user: {}", jwt.getSubject());
@@ -54,6 +58,11 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                     log.error("WebSocket JWT validation failed: {}", e.getMessage());
                     throw new IllegalArgumentException("Invalid JWT token");
                 }
+
+                // Resolve the resident once per session rather than on every chat frame
+                if (tenantId != null) {
+                    sessionBindings.bind(accessor.getSessionId(), accessor.getSessionAttributes(), jwt.getSubject(), tenantId);
+                }
             } else {
                 throw new IllegalArgumentException("Missing Authorization header on CONNECT");
             }
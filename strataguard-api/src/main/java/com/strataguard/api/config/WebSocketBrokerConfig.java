@@ -0,0 +1,61 @@
+package com.strataguard.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where STOMP subscriptions live. {@code SIMPLE} keeps them in this JVM, which only works with a
+ * single node. {@code RELAY} forwards them to an external STOMP broker shared by every node; this
+ * is the only multi-node mode. {@code EMBEDDED} starts an in-process broker on a loopback
+ * {@code embedded.port} and relays to it, for tests and single-node installs that exercise the
+ * relay path; other nodes cannot reach it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "websocket.broker")
+@Getter
+@Setter
+public class WebSocketBrokerConfig {
+
+    public enum Mode { SIMPLE, RELAY, EMBEDDED }
+
+    private Mode mode = Mode.SIMPLE;
+    private long heartbeatMillis = 10000;
+    private Relay relay = new Relay();
+    private Embedded embedded = new Embedded();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private String virtualHost;
+    }
+
+    @Getter
+    @Setter
+    public static class Embedded {
+        private String bindAddress = "127.0.0.1";
+        private int port = 61613;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "embedded")
+    public EmbeddedStompBroker embeddedStompBroker() {
+        // The relay is the broker's only client, so it accepts exactly the relay's logins
+        Map<String, String> logins = new HashMap<>();
+        logins.put(relay.getSystemLogin(), relay.getSystemPasscode());
+        logins.put(relay.getClientLogin(), relay.getClientPasscode());
+        return new EmbeddedStompBroker(embedded.getBindAddress(), embedded.getPort(), logins);
+    }
+}
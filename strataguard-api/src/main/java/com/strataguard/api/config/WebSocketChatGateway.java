@@ -0,0 +1,42 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.dto.chat.ChatMessageResponse;
+import com.strataguard.service.chat.ChatRealtimeGateway;
+import com.strataguard.service.presence.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends chat messages to the conversation topic and participants' user queues, with presence
+ * from the cluster-wide {@link PresenceService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketChatGateway implements ChatRealtimeGateway {
+
+    static final String CONVERSATION_TOPIC_PREFIX = "/topic/conversation.";
+    static final String MESSAGE_DESTINATION = "/queue/messages";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceService presenceService;
+
+    @Override
+    public void publishToConversation(UUID conversationId, ChatMessageResponse message) {
+        messagingTemplate.convertAndSend(CONVERSATION_TOPIC_PREFIX + conversationId, message);
+    }
+
+    @Override
+    public void sendToUser(String userId, ChatMessageResponse message) {
+        messagingTemplate.convertAndSendToUser(userId, MESSAGE_DESTINATION, message);
+    }
+
+    @Override
+    public Set<String> onlineUsers(Collection<String> userIds) {
+        return presenceService.onlineUsers(userIds);
+    }
+}
@@ -18,25 +18,56 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final WebSocketBrokerConfig brokerConfig;
 
     @Value("${cors.allowed-origins:http://localhost:3000,http://localhost:5173}")
     private List<String> allowedOrigins;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
-        taskScheduler.setPoolSize(1);
-        taskScheduler.setThreadNamePrefix("ws-heartbeat-");
-        taskScheduler.initialize();
-
-        config.enableSimpleBroker("/topic", "/queue")
-                .setHeartbeatValue(new long[]{10000, 10000})
-                .setTaskScheduler(taskScheduler);
+        long heartbeat = brokerConfig.getHeartbeatMillis();
+        if (brokerConfig.getMode() == WebSocketBrokerConfig.Mode.SIMPLE) {
+            ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+            taskScheduler.setPoolSize(1);
+            taskScheduler.setThreadNamePrefix("ws-heartbeat-");
+            taskScheduler.initialize();
+
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeat, heartbeat})
+                    .setTaskScheduler(taskScheduler);
+        } else {
+            configureRelay(config, heartbeat);
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * Relays {@code /topic} and {@code /queue} to the shared broker. User destinations that do not
+     * resolve to a session on this node are broadcast, so the node holding the session delivers
+     * them, and each node's user registry is shared the same way.
+     */
+    private void configureRelay(MessageBrokerRegistry config, long heartbeat) {
+        WebSocketBrokerConfig.Relay relay = brokerConfig.getRelay();
+        boolean embedded = brokerConfig.getMode() == WebSocketBrokerConfig.Mode.EMBEDDED;
+        config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(embedded ? brokerConfig.getEmbedded().getBindAddress() : relay.getHost())
+                .setRelayPort(embedded ? brokerConfig.getEmbedded().getPort() : relay.getPort())
+                .setClientLogin(relay.getClientLogin())
+                .setClientPasscode(relay.getClientPasscode())
+                .setSystemLogin(relay.getSystemLogin())
+                .setSystemPasscode(relay.getSystemPasscode())
+                .setVirtualHost(relay.getVirtualHost())
+                .setSystemHeartbeatSendInterval(heartbeat)
+                .setSystemHeartbeatReceiveInterval(heartbeat)
+                .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
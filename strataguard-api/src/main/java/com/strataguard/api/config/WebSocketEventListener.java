@@ -1,21 +1,26 @@
 package com.strataguard.api.config;
 
+import com.strataguard.service.presence.PresenceService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
+/** Records sessions opened and closed on this node with the cluster-wide {@link PresenceService}. */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketEventListener {
 
-    private final Map<String, Set<String>> connectedUsers = new ConcurrentHashMap<>();
+    private final PresenceService presenceService;
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
@@ -24,7 +29,7 @@ public class WebSocketEventListener {
         String userId = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : null;
 
         if (userId != null && sessionId != null) {
-            connectedUsers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+            presenceService.connected(sessionId, userId, tenantIdOf(headerAccessor));
             log.info("WebSocket connected: user={}, session={}", userId, sessionId);
         }
     }
@@ -35,20 +40,18 @@ public class WebSocketEventListener {
         String sessionId = headerAccessor.getSessionId();
         String userId = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : null;
 
-        if (userId != null && sessionId != null) {
-            Set<String> sessions = connectedUsers.get(userId);
-            if (sessions != null) {
-                sessions.remove(sessionId);
-                if (sessions.isEmpty()) {
-                    connectedUsers.remove(userId);
-                }
-            }
+        if (sessionId != null) {
+            presenceService.disconnected(sessionId);
             log.info("WebSocket disconnected: user={}, session={}", userId, sessionId);
         }
     }
 
-    public boolean isUserOnline(String userId) {
-        Set<String> sessions = connectedUsers.get(userId);
-        return sessions != null && !sessions.isEmpty();
+    /** The CONNECTED frame does not carry session attributes; the CONNECT frame it answers does. */
+    private static UUID tenantIdOf(StompHeaderAccessor headerAccessor) {
+        Object connect = headerAccessor.getHeader(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        Map<String, Object> sessionAttributes = connect instanceof Message<?> message
+                ? SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders())
+                : headerAccessor.getSessionAttributes();
+        return sessionAttributes != null ? (UUID) sessionAttributes.get("tenant_id") : null;
     }
 }
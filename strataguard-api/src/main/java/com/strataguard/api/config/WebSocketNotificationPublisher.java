@@ -0,0 +1,49 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.dto.notification.NotificationResponse;
+import com.strataguard.core.dto.notification.UnreadCountResponse;
+import com.strataguard.service.notification.RealtimeNotificationPublisher;
+import com.strataguard.service.notification.RecipientDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Sends notification updates to the resident's user queue. Residents without a linked app
+ * account have no WebSocket session, so nothing is sent for them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketNotificationPublisher implements RealtimeNotificationPublisher {
+
+    static final String NOTIFICATION_DESTINATION = "/queue/notifications";
+    static final String UNREAD_COUNT_DESTINATION = "/queue/notification-count";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RecipientDirectory recipientDirectory;
+
+    @Override
+    public void publishNotification(UUID tenantId, UUID residentId, NotificationResponse notification) {
+        recipientDirectory.find(tenantId, residentId)
+                .map(RecipientDirectory.Contact::userId)
+                .ifPresent(userId -> {
+                    messagingTemplate.convertAndSendToUser(userId, NOTIFICATION_DESTINATION, notification);
+                    log.debug("Pushed notification {} to user {}", notification.getId(), userId);
+                });
+    }
+
+    @Override
+    public void publishUnreadCount(UUID tenantId, UUID residentId, long count) {
+        recipientDirectory.find(tenantId, residentId)
+                .map(RecipientDirectory.Contact::userId)
+                .ifPresent(userId -> {
+                    messagingTemplate.convertAndSendToUser(userId, UNREAD_COUNT_DESTINATION,
+                            UnreadCountResponse.builder().count(count).build());
+                    log.debug("Pushed unread count {} to user {}", count, userId);
+                });
+    }
+}
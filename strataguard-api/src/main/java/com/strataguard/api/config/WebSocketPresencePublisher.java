@@ -0,0 +1,24 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.dto.chat.PresenceEvent;
+import com.strataguard.service.presence.PresencePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/** Sends presence changes to the tenant's presence topic, which reaches every node through the broker. */
+@Component
+@RequiredArgsConstructor
+public class WebSocketPresencePublisher implements PresencePublisher {
+
+    static final String PRESENCE_TOPIC_PREFIX = "/topic/presence.";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void publishPresence(UUID tenantId, PresenceEvent event) {
+        messagingTemplate.convertAndSend(PRESENCE_TOPIC_PREFIX + tenantId, event);
+    }
+}
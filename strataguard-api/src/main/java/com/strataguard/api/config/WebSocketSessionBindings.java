@@ -0,0 +1,177 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.resident.ResidentSessionBindings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The resident behind each WebSocket session, resolved once at CONNECT and kept in the session
+ * attributes so chat frames are served without touching the database. Resident updates made on
+ * this node are applied to live sessions after commit. Updates made on other nodes are picked up
+ * by a periodic sweep that compares each bound resident's version with the database, so a
+ * deleted or relinked resident loses its sessions everywhere within
+ * {@code websocket.session-bindings.revalidate-interval-millis}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketSessionBindings implements ResidentSessionBindings {
+
+    static final String RESIDENT_ATTRIBUTE = "resident";
+    private static final int REVALIDATE_CHUNK_SIZE = 500;
+
+    private final ResidentRepository residentRepository;
+
+    private final Map<UUID, Map<String, Map<String, Object>>> sessionsByResident = new ConcurrentHashMap<>();
+
+    public record ResidentBinding(UUID residentId, String userId, String name, Long version) {
+    }
+
+    /** Bind the connecting user's resident, if any; users without one connect unbound. */
+    public void bind(String sessionId, Map<String, Object> sessionAttributes, String userId, UUID tenantId) {
+        residentRepository.findByUserIdAndTenantId(userId, tenantId)
+                .ifPresent(resident -> put(sessionId, sessionAttributes, resident));
+    }
+
+    /**
+     * The resident bound to the frame's session. A session that connected before its user was
+     * linked to a resident is bound on its first chat frame.
+     */
+    public ResidentBinding require(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes != null && sessionAttributes.get(RESIDENT_ATTRIBUTE) instanceof ResidentBinding binding) {
+            return binding;
+        }
+        String userId = accessor.getUser() != null ? accessor.getUser().getName() : null;
+        Resident resident = userId == null || sessionAttributes == null ? null
+                : residentRepository.findByUserIdAndTenantId(userId, TenantContext.requireTenantId()).orElse(null);
+        if (resident == null) {
+            throw new ResourceNotFoundException("Resident", "userId", userId);
+        }
+        return put(accessor.getSessionId(), sessionAttributes, resident);
+    }
+
+    @Override
+    public void residentChanged(Resident resident) {
+        UUID residentId = resident.getId();
+        ResidentBinding refreshed = resident.isDeleted() ? null : toBinding(resident);
+        Runnable apply = () -> apply(residentId, refreshed);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Re-check every resident bound on this node against the database and apply any change
+     * another node committed: a new version refreshes or unbinds the sessions as
+     * {@link #residentChanged} would, and a resident that is gone or deleted unbinds them.
+     */
+    @Scheduled(fixedDelayString = "${websocket.session-bindings.revalidate-interval-millis:5000}")
+    public void revalidate() {
+        List<UUID> residentIds = List.copyOf(sessionsByResident.keySet());
+        for (int from = 0; from < residentIds.size(); from += REVALIDATE_CHUNK_SIZE) {
+            List<UUID> chunk = residentIds.subList(from, Math.min(residentIds.size(), from + REVALIDATE_CHUNK_SIZE));
+            Map<UUID, Resident> current = new HashMap<>();
+            residentRepository.findAllById(chunk).forEach(resident -> current.put(resident.getId(), resident));
+            for (UUID residentId : chunk) {
+                Resident resident = current.get(residentId);
+                if (resident == null || resident.isDeleted()) {
+                    apply(residentId, null);
+                } else if (isStale(residentId, resident.getVersion())) {
+                    log.debug("Resident {} changed on another node, refreshing its sessions", residentId);
+                    apply(residentId, toBinding(resident));
+                }
+            }
+        }
+    }
+
+    private boolean isStale(UUID residentId, Long version) {
+        Map<String, Map<String, Object>> sessions = sessionsByResident.get(residentId);
+        return sessions != null && sessions.values().stream().anyMatch(sessionAttributes ->
+                !(sessionAttributes.get(RESIDENT_ATTRIBUTE) instanceof ResidentBinding current)
+                        || !Objects.equals(current.version(), version));
+    }
+
+    /** Refresh the resident's sessions with {@code refreshed}, or unbind them when it is null or another user's. */
+    private void apply(UUID residentId, ResidentBinding refreshed) {
+        sessionsByResident.computeIfPresent(residentId, (id, sessions) -> {
+            sessions.entrySet().removeIf(session -> {
+                Map<String, Object> sessionAttributes = session.getValue();
+                if (!(sessionAttributes.get(RESIDENT_ATTRIBUTE) instanceof ResidentBinding current)) {
+                    return true;
+                }
+                if (refreshed != null && isNewer(current, refreshed)) {
+                    // A sweep read the row before a later local update was applied; keep the later one
+                    return false;
+                }
+                boolean sameUser = refreshed != null && Objects.equals(current.userId(), refreshed.userId());
+                if (sameUser) {
+                    sessionAttributes.put(RESIDENT_ATTRIBUTE, refreshed);
+                } else {
+                    sessionAttributes.remove(RESIDENT_ATTRIBUTE);
+                }
+                return !sameUser;
+            });
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    private static boolean isNewer(ResidentBinding current, ResidentBinding refreshed) {
+        return current.version() != null && refreshed.version() != null && current.version() > refreshed.version();
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        Map<String, Object> sessionAttributes = StompHeaderAccessor.wrap(event.getMessage()).getSessionAttributes();
+        if (sessionAttributes != null && sessionAttributes.get(RESIDENT_ATTRIBUTE) instanceof ResidentBinding binding) {
+            sessionsByResident.computeIfPresent(binding.residentId(), (id, sessions) -> {
+                sessions.remove(event.getSessionId());
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
+    int boundSessions() {
+        return sessionsByResident.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private ResidentBinding put(String sessionId, Map<String, Object> sessionAttributes, Resident resident) {
+        ResidentBinding binding = toBinding(resident);
+        sessionAttributes.put(RESIDENT_ATTRIBUTE, binding);
+        sessionsByResident.computeIfAbsent(resident.getId(), k -> new ConcurrentHashMap<>())
+                .put(sessionId, sessionAttributes);
+        log.debug("Bound WebSocket session {} to resident {}", sessionId, resident.getId());
+        return binding;
+    }
+
+    private static ResidentBinding toBinding(Resident resident) {
+        return new ResidentBinding(resident.getId(), resident.getUserId(),
+                resident.getFirstName() + " " + resident.getLastName(), resident.getVersion());
+    }
+}
@@ -3,22 +3,18 @@ package com.strataguard.api.controller;
 import com.strataguard.core.config.TenantContext;
 import com.strataguard.core.dto.chat.*;
 import com.strataguard.core.dto.common.ApiResponse;
-import com.strataguard.core.dto.common.PagedResponse;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.infrastructure.repository.ResidentRepository;
 import com.strataguard.service.chat.ChatConversationService;
+import com.strataguard.service.chat.ChatFanOutService;
 import com.strataguard.service.chat.ChatMessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -36,7 +32,7 @@ public class ChatController {
     private final ChatConversationService conversationService;
     private final ChatMessageService messageService;
     private final ResidentRepository residentRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatFanOutService fanOutService;
 
     @PostMapping("/conversations")
     @PreAuthorize("hasPermission(null, 'chat.send')")
@@ -52,12 +48,14 @@ public class ChatController {
 
     @GetMapping("/conversations")
     @PreAuthorize("hasPermission(null, 'chat.read')")
-    @Operation(summary = "Get my conversations")
-    public ResponseEntity<ApiResponse<PagedResponse<ConversationResponse>>> getMyConversations(
-            @PageableDefault(size = 20) Pageable pageable,
+    @Operation(summary = "Get my conversations",
+            description = "Most recently active first. Page again with after set to nextCursor while hasMore is true.")
+    public ResponseEntity<ApiResponse<ConversationListResponse>> getMyConversations(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
             @AuthenticationPrincipal Jwt jwt) {
         UUID residentId = getResidentIdFromJwt(jwt);
-        PagedResponse<ConversationResponse> response = conversationService.getMyConversations(residentId, pageable);
+        ConversationListResponse response = conversationService.getMyConversations(residentId, after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -74,13 +72,15 @@ public class ChatController {
 
     @GetMapping("/conversations/{id}/messages")
     @PreAuthorize("hasPermission(null, 'chat.read')")
-    @Operation(summary = "Get message history for a conversation")
-    public ResponseEntity<ApiResponse<PagedResponse<ChatMessageResponse>>> getMessageHistory(
+    @Operation(summary = "Get message history for a conversation",
+            description = "Newest first. Scroll back with before set to the last id while hasMore is true.")
+    public ResponseEntity<ApiResponse<ChatHistoryResponse>> getMessageHistory(
             @PathVariable UUID id,
-            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(defaultValue = "50") int limit,
             @AuthenticationPrincipal Jwt jwt) {
         UUID residentId = getResidentIdFromJwt(jwt);
-        PagedResponse<ChatMessageResponse> response = messageService.getMessageHistory(id, residentId, pageable);
+        ChatHistoryResponse response = messageService.getMessageHistory(id, residentId, before, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -93,13 +93,7 @@ public class ChatController {
             @AuthenticationPrincipal Jwt jwt) {
         UUID residentId = getResidentIdFromJwt(jwt);
         ChatMessageResponse response = messageService.sendMessage(id, residentId, request);
-
-        // Broadcast via WebSocket to conversation topic (best-effort)
-        try {
-            messagingTemplate.convertAndSend("/topic/conversation." + id, response);
-        } catch (Exception e) {
-            log.warn("Failed to broadcast message via WebSocket: {}", e.getMessage());
-        }
+        fanOutService.deliver(id, residentId, response);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(response, "Message sent successfully"));
@@ -116,9 +110,24 @@ public class ChatController {
         return ResponseEntity.ok(ApiResponse.success(null, "Conversation marked as read"));
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasPermission(null, 'chat.read')")
+    @Operation(summary = "Search messages in my conversations",
+            description = "Full-text search, newest first. Supports quoted phrases, or and -word. "
+                    + "Page again with before set to the last message id while hasMore is true.")
+    public ResponseEntity<ApiResponse<ChatSearchResponse>> searchMessages(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID residentId = getResidentIdFromJwt(jwt);
+        ChatSearchResponse response = messageService.searchMessages(residentId, query, before, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/unread-count")
     @PreAuthorize("hasPermission(null, 'chat.read')")
-    @Operation(summary = "Get total unread chat message count")
+    @Operation(summary = "Get total and per-conversation unread chat message counts")
     public ResponseEntity<ApiResponse<UnreadChatCountResponse>> getUnreadCount(
             @AuthenticationPrincipal Jwt jwt) {
         UUID residentId = getResidentIdFromJwt(jwt);
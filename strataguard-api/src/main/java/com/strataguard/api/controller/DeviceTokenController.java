@@ -0,0 +1,68 @@
+package com.strataguard.api.controller;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.common.ApiResponse;
+import com.strataguard.core.dto.notification.DeviceTokenRequest;
+import com.strataguard.core.dto.notification.DeviceTokenResponse;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.notification.DeviceTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/notification-devices")
+@RequiredArgsConstructor
+@Tag(name = "Notification Devices", description = "Push device token registration endpoints")
+public class DeviceTokenController {
+
+    private final DeviceTokenService deviceTokenService;
+    private final ResidentRepository residentRepository;
+
+    @GetMapping("/my-devices")
+    @PreAuthorize("hasPermission(null, 'notification.preference_manage')")
+    @Operation(summary = "List the current resident's registered push devices")
+    public ResponseEntity<ApiResponse<List<DeviceTokenResponse>>> getMyDevices(@AuthenticationPrincipal Jwt jwt) {
+        UUID residentId = getResidentIdFromJwt(jwt);
+        return ResponseEntity.ok(ApiResponse.success(deviceTokenService.getDevices(residentId)));
+    }
+
+    @PostMapping("/my-devices")
+    @PreAuthorize("hasPermission(null, 'notification.preference_manage')")
+    @Operation(summary = "Register or refresh a push device token")
+    public ResponseEntity<ApiResponse<DeviceTokenResponse>> registerDevice(
+            @Valid @RequestBody DeviceTokenRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        UUID residentId = getResidentIdFromJwt(jwt);
+        DeviceTokenResponse response = deviceTokenService.register(residentId, request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Device registered successfully"));
+    }
+
+    @DeleteMapping("/my-devices")
+    @PreAuthorize("hasPermission(null, 'notification.preference_manage')")
+    @Operation(summary = "Unregister a push device token")
+    public ResponseEntity<ApiResponse<Void>> unregisterDevice(@RequestParam String token,
+                                                              @AuthenticationPrincipal Jwt jwt) {
+        UUID residentId = getResidentIdFromJwt(jwt);
+        deviceTokenService.unregister(residentId, token);
+        return ResponseEntity.ok(ApiResponse.success(null, "Device unregistered successfully"));
+    }
+
+    private UUID getResidentIdFromJwt(Jwt jwt) {
+        String userId = jwt.getSubject();
+        UUID tenantId = TenantContext.requireTenantId();
+        return residentRepository.findByUserIdAndTenantId(userId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", "userId", userId))
+                .getId();
+    }
+}
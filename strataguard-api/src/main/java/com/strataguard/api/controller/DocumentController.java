@@ -0,0 +1,100 @@
+package com.strataguard.api.controller;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.common.ApiResponse;
+import com.strataguard.core.dto.document.DocumentRenderJobResponse;
+import com.strataguard.core.dto.document.StartDocumentRenderJobRequest;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.document.DocumentRenderJobService;
+import com.strataguard.service.document.DocumentRenderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/documents")
+@RequiredArgsConstructor
+@Tag(name = "Documents", description = "Invoice and receipt PDF endpoints")
+public class DocumentController {
+
+    private final DocumentRenderService documentRenderService;
+    private final DocumentRenderJobService documentRenderJobService;
+    private final ResidentRepository residentRepository;
+
+    @GetMapping("/invoices/{invoiceId}/pdf")
+    @PreAuthorize("hasPermission(null, 'invoice.export')")
+    @Operation(summary = "Download an invoice as PDF")
+    public ResponseEntity<byte[]> getInvoicePdf(@PathVariable UUID invoiceId) {
+        return pdf(documentRenderService.getInvoicePdf(invoiceId), "invoice-" + invoiceId + ".pdf");
+    }
+
+    @GetMapping("/payments/{paymentId}/receipt")
+    @PreAuthorize("hasPermission(null, 'payment.export')")
+    @Operation(summary = "Download a payment receipt as PDF")
+    public ResponseEntity<byte[]> getReceiptPdf(@PathVariable UUID paymentId) {
+        return pdf(documentRenderService.getReceiptPdf(paymentId), "receipt-" + paymentId + ".pdf");
+    }
+
+    @GetMapping("/my-invoices/{invoiceId}/pdf")
+    @PreAuthorize("hasPermission(null, 'invoice.read')")
+    @Operation(summary = "Download one of the current resident's invoices as PDF")
+    public ResponseEntity<byte[]> getMyInvoicePdf(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID invoiceId) {
+        return pdf(documentRenderService.getInvoicePdfForResident(invoiceId, getResidentIdFromJwt(jwt)),
+                "invoice-" + invoiceId + ".pdf");
+    }
+
+    @GetMapping("/my-payments/{paymentId}/receipt")
+    @PreAuthorize("hasPermission(null, 'payment.read')")
+    @Operation(summary = "Download the receipt for one of the current resident's payments as PDF")
+    public ResponseEntity<byte[]> getMyReceiptPdf(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID paymentId) {
+        return pdf(documentRenderService.getReceiptPdfForResident(paymentId, getResidentIdFromJwt(jwt)),
+                "receipt-" + paymentId + ".pdf");
+    }
+
+    @PostMapping("/render-jobs")
+    @PreAuthorize("hasPermission(null, #request.documentType.name() == 'RECEIPT' ? 'payment.export' : 'invoice.export')")
+    @Operation(summary = "Start a bulk render job for all invoices or receipts in a period")
+    public ResponseEntity<ApiResponse<DocumentRenderJobResponse>> startRenderJob(
+            @Valid @RequestBody StartDocumentRenderJobRequest request) {
+        DocumentRenderJobResponse response = documentRenderJobService.startJob(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(response, "Render job started"));
+    }
+
+    @GetMapping("/render-jobs/{jobId}")
+    @PostAuthorize("hasPermission(null, returnObject.body.data.documentType.name() == 'RECEIPT' ? 'payment.export' : 'invoice.export')")
+    @Operation(summary = "Get bulk render job progress")
+    public ResponseEntity<ApiResponse<DocumentRenderJobResponse>> getRenderJob(@PathVariable UUID jobId) {
+        DocumentRenderJobResponse response = documentRenderJobService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    private UUID getResidentIdFromJwt(Jwt jwt) {
+        String userId = jwt.getSubject();
+        UUID tenantId = TenantContext.requireTenantId();
+        return residentRepository.findByUserIdAndTenantId(userId, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", "userId", userId))
+                .getId();
+    }
+
+    private ResponseEntity<byte[]> pdf(byte[] content, String filename) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(filename).build().toString())
+                .body(content);
+    }
+}
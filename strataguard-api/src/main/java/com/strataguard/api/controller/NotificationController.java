@@ -6,6 +6,7 @@ import com.strataguard.core.dto.common.PagedResponse;
 import com.strataguard.core.dto.notification.*;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.notification.BroadcastService;
 import com.strataguard.service.notification.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +31,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final BroadcastService broadcastService;
     private final ResidentRepository residentRepository;
 
     @GetMapping("/my-notifications")
@@ -43,6 +45,19 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/my-notifications/catch-up")
+    @PreAuthorize("hasPermission(null, 'notification.read')")
+    @Operation(summary = "Get in-app notifications created after the last one the client saw",
+            description = "For WebSocket reconnects. Results are oldest first; page again from the last id while hasMore is true.")
+    public ResponseEntity<ApiResponse<NotificationCatchUpResponse>> catchUp(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        UUID residentId = getResidentIdFromJwt(jwt);
+        NotificationCatchUpResponse response = notificationService.getNotificationsAfter(residentId, afterId, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/unread-count")
     @PreAuthorize("hasPermission(null, 'notification.read')")
     @Operation(summary = "Get unread notification count")
@@ -87,11 +102,19 @@ public class NotificationController {
     @PostMapping("/send-bulk")
     @PreAuthorize("hasPermission(null, 'notification.send')")
     @Operation(summary = "Send notification to all residents in an estate")
-    public ResponseEntity<ApiResponse<Void>> sendBulkNotification(
+    public ResponseEntity<ApiResponse<BroadcastResponse>> sendBulkNotification(
             @Valid @RequestBody BulkNotificationRequest request) {
-        notificationService.sendBulk(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(null, "Bulk notification sent successfully"));
+        BroadcastResponse response = notificationService.sendBulk(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(response, "Bulk notification started"));
+    }
+
+    @GetMapping("/broadcasts/{broadcastId}")
+    @PreAuthorize("hasPermission(null, 'notification.send')")
+    @Operation(summary = "Get progress of an estate-wide broadcast")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> getBroadcast(@PathVariable UUID broadcastId) {
+        BroadcastResponse response = broadcastService.getBroadcast(broadcastId);
+        return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     private UUID getResidentIdFromJwt(Jwt jwt) {
@@ -2,6 +2,7 @@ package com.strataguard.api.controller;
 
 import com.strataguard.core.dto.common.ApiResponse;
 import com.strataguard.core.dto.reporting.*;
+import com.strataguard.service.reporting.ReceivablesAgingService;
 import com.strataguard.service.reporting.ReportingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,8 +11,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/reports")
 @RequiredArgsConstructor
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReportingController {
 
     private final ReportingService reportingService;
+    private final ReceivablesAgingService receivablesAgingService;
 
     @GetMapping("/occupancy")
     @PreAuthorize("hasPermission(null, 'report.occupancy')")
@@ -36,6 +41,16 @@ public class ReportingController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/receivables-aging")
+    @PreAuthorize("hasPermission(null, 'report.financial')")
+    @Operation(summary = "Get receivables aging report by estate, unit and charge")
+    public ResponseEntity<ApiResponse<ReceivablesAgingResponse>> getReceivablesAgingReport(
+            @RequestParam(required = false) UUID estateId,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        ReceivablesAgingResponse response = receivablesAgingService.getAgingReport(estateId, refresh);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/visitor-traffic")
     @PreAuthorize("hasPermission(null, 'report.gate')")
     @Operation(summary = "Get visitor traffic report")
@@ -4,6 +4,7 @@ import com.strataguard.core.dto.common.ApiResponse;
 import com.strataguard.core.dto.common.PagedResponse;
 import com.strataguard.core.dto.governance.*;
 import com.strataguard.core.enums.ViolationStatus;
+import com.strataguard.service.governance.ViolationFineService;
 import com.strataguard.service.governance.ViolationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,6 +30,7 @@ import java.util.UUID;
 public class ViolationController {
 
     private final ViolationService violationService;
+    private final ViolationFineService violationFineService;
 
     @PostMapping
     @PreAuthorize("hasPermission(null, 'violation.create')")
@@ -108,6 +110,15 @@ public class ViolationController {
         return ResponseEntity.ok(ApiResponse.success(response, "Fine issued"));
     }
 
+    @PostMapping("/fines/batch")
+    @PreAuthorize("hasPermission(null, 'violation.update')")
+    @Operation(summary = "Issue fines for confirmed violations, consolidated into one invoice per unit per cycle")
+    public ResponseEntity<ApiResponse<BatchIssueFinesResponse>> issueFines(
+            @Valid @RequestBody BatchIssueFinesRequest request) {
+        BatchIssueFinesResponse response = violationFineService.issueFines(request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Fines issued"));
+    }
+
     @PostMapping("/{id}/appeal")
     @PreAuthorize("hasPermission(null, 'violation.appeal')")
     @Operation(summary = "Appeal a violation")
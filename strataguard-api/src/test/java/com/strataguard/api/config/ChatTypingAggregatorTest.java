@@ -0,0 +1,161 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.dto.chat.TypingIndicator;
+import com.strataguard.core.dto.chat.TypingState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatTypingAggregatorTest {
+
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
+    private static final String TOPIC = "/topic/conversation." + CONVERSATION_ID + ".typing";
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatTypingAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aggregator = new ChatTypingAggregator(messagingTemplate, meterRegistry, 5000);
+    }
+
+    private TypingIndicator frame(UUID residentId, String name, boolean typing) {
+        return TypingIndicator.builder()
+                .conversationId(CONVERSATION_ID)
+                .residentId(residentId)
+                .residentName(name)
+                .typing(typing)
+                .build();
+    }
+
+    private TypingState lastPublished() {
+        ArgumentCaptor<TypingState> captor = ArgumentCaptor.forClass(TypingState.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(TOPIC), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("should publish one merged state for a burst of typing frames")
+    void shouldMergeBurstIntoOneState() {
+        for (int i = 0; i < 20; i++) {
+            aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW.plusMillis(i * 10));
+            aggregator.onTyping(frame(RESIDENT_ID_2, "Bola Ade", true), NOW.plusMillis(i * 10));
+        }
+
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        TypingState state = lastPublished();
+        assertThat(state.getTyping()).extracting(TypingIndicator::getResidentName)
+                .containsExactly("Ada Obi", "Bola Ade");
+        assertThat(state.getTyping()).extracting(TypingIndicator::getExpiresInMillis)
+                .containsExactly(4690L, 4690L);
+        assertThat(state.getStopped()).isEmpty();
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+        assertThat(meterRegistry.counter("chat.typing.frames").count()).isEqualTo(40);
+        assertThat(meterRegistry.counter("chat.typing.published").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not republish while nobody starts or stops typing")
+    void shouldSkipUnchangedState() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW.plusMillis(900));
+        aggregator.publishChanges(NOW.plusMillis(1000));
+
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("should publish a stop when a typist stops")
+    void shouldPublishStop() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", false), NOW.plusMillis(600));
+        aggregator.publishChanges(NOW.plusMillis(1000));
+
+        assertThat(lastPublished().getTyping()).isEmpty();
+        assertThat(lastPublished().getStopped()).containsExactly(RESIDENT_ID);
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("should drop a start immediately followed by a stop")
+    void shouldCancelStartAndStopWithinInterval() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.onTyping(frame(RESIDENT_ID_2, "Bola Ade", true), NOW.plusMillis(600));
+        aggregator.onTyping(frame(RESIDENT_ID_2, "Bola Ade", false), NOW.plusMillis(700));
+        aggregator.publishChanges(NOW.plusMillis(1000));
+
+        assertThat(lastPublished().getTyping()).extracting(TypingIndicator::getResidentId)
+                .containsExactly(RESIDENT_ID);
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("should expire idle typists without a stop frame")
+    void shouldExpireIdleTypists() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.publishChanges(NOW.plusMillis(5000));
+        aggregator.publishChanges(NOW.plusMillis(5500));
+
+        assertThat(lastPublished().getTyping()).isEmpty();
+        assertThat(lastPublished().getStopped()).containsExactly(RESIDENT_ID);
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("should publish only what changed so other nodes' typists are left alone")
+    void shouldPublishDeltas() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.onTyping(frame(RESIDENT_ID_2, "Bola Ade", true), NOW.plusMillis(600));
+        aggregator.publishChanges(NOW.plusMillis(1000));
+
+        TypingState state = lastPublished();
+        assertThat(state.getTyping()).extracting(TypingIndicator::getResidentId).containsExactly(RESIDENT_ID_2);
+        assertThat(state.getStopped()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should refresh a typist's expiry before clients drop it")
+    void shouldRefreshExpiryWhileTyping() {
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW);
+        aggregator.publishChanges(NOW.plusMillis(500));
+
+        aggregator.onTyping(frame(RESIDENT_ID, "Ada Obi", true), NOW.plusMillis(3000));
+        aggregator.publishChanges(NOW.plusMillis(3500));
+
+        assertThat(lastPublished().getTyping()).extracting(TypingIndicator::getExpiresInMillis).containsExactly(4500L);
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+}
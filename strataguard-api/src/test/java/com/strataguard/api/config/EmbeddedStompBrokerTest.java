@@ -0,0 +1,62 @@
+package com.strataguard.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedStompBrokerTest {
+
+    private EmbeddedStompBroker broker;
+
+    @AfterEach
+    void tearDown() {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    private String connect(String login, String passcode) throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", broker.getPort())) {
+            socket.setSoTimeout(2000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("CONNECT\naccept-version:1.2\nhost:localhost\nlogin:" + login + "\npasscode:" + passcode
+                    + "\n\n\0").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[1024];
+            int read = in.read(buffer);
+            return new String(buffer, 0, read, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("should accept only the configured relay logins")
+    void shouldCheckCredentials() throws Exception {
+        broker = new EmbeddedStompBroker("127.0.0.1", 0, Map.of("relay", "secret"));
+        broker.start();
+
+        assertThat(connect("relay", "secret")).startsWith("CONNECTED");
+        assertThat(connect("relay", "wrong")).startsWith("ERROR");
+        assertThat(connect("guest", "guest")).startsWith("ERROR");
+    }
+
+    @Test
+    @DisplayName("should refuse to bind to a non-loopback address")
+    void shouldRefuseNetworkBind() {
+        broker = new EmbeddedStompBroker("0.0.0.0", 0, Map.of("relay", "secret"));
+
+        assertThatThrownBy(broker::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("loopback");
+        assertThat(broker.isRunning()).isFalse();
+    }
+}
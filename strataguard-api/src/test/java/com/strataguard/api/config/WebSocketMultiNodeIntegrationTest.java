@@ -0,0 +1,200 @@
+package com.strataguard.api.config;
+
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two application nodes on localhost relaying to one embedded STOMP broker: messages published
+ * or sent to a user on one node reach clients connected to the other.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("WebSocket broker relay across nodes")
+class WebSocketMultiNodeIntegrationTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private EmbeddedStompBroker broker;
+    private ConfigurableApplicationContext node1;
+    private ConfigurableApplicationContext node2;
+    private WebSocketStompClient stompClient;
+    private ThreadPoolTaskScheduler clientScheduler;
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({PropertyPlaceholderAutoConfiguration.class, ConfigurationPropertiesAutoConfiguration.class,
+            JacksonAutoConfiguration.class, ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebMvcAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class})
+    @Import({WebSocketConfig.class, WebSocketBrokerConfig.class})
+    static class Node {
+
+        /** The bearer token is the user id, so each test client can pick its identity. */
+        @Bean
+        WebSocketAuthInterceptor webSocketAuthInterceptor() {
+            return new WebSocketAuthInterceptor(token -> Jwt.withTokenValue(token)
+                    .header("alg", "none")
+                    .subject(token)
+                    .claim("tenant_id", TENANT_ID.toString())
+                    .build(), new WebSocketSessionBindings(mock(ResidentRepository.class)));
+        }
+    }
+
+    @BeforeAll
+    void startCluster() throws Exception {
+        broker = new EmbeddedStompBroker("127.0.0.1", 0, Map.of("guest", "guest"));
+        broker.start();
+        node1 = startNode();
+        node2 = startNode();
+        awaitBrokerAvailable(node1);
+        awaitBrokerAvailable(node2);
+
+        stompClient = new WebSocketStompClient(new SockJsClient(
+                List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        clientScheduler = new ThreadPoolTaskScheduler();
+        clientScheduler.initialize();
+        stompClient.setTaskScheduler(clientScheduler);
+    }
+
+    @AfterAll
+    void stopCluster() {
+        if (clientScheduler != null) {
+            clientScheduler.shutdown();
+        }
+        if (node1 != null) {
+            node1.close();
+        }
+        if (node2 != null) {
+            node2.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(Node.class)
+                .properties("server.port=0",
+                        "spring.main.banner-mode=off",
+                        "websocket.broker.mode=relay",
+                        "websocket.broker.relay.host=127.0.0.1",
+                        "websocket.broker.relay.port=" + broker.getPort())
+                .run();
+    }
+
+    private static void awaitBrokerAvailable(ConfigurableApplicationContext node) throws InterruptedException {
+        StompBrokerRelayMessageHandler relay = node.getBean(StompBrokerRelayMessageHandler.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!relay.isBrokerAvailable() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(relay.isBrokerAvailable()).as("relay connected to broker").isTrue();
+    }
+
+    private StompSession connect(ConfigurableApplicationContext node, String userId) throws Exception {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + userId);
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws",
+                new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+        return session;
+    }
+
+    /** Subscribe and wait for the broker's receipt, so nothing sent afterwards can be missed. */
+    private static BlockingQueue<Map<String, Object>> subscribe(StompSession session, String destination)
+            throws InterruptedException {
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<String, Object>) payload);
+            }
+        }).addReceiptTask(subscribed::countDown);
+        assertThat(subscribed.await(10, TimeUnit.SECONDS)).as("subscription receipt for " + destination).isTrue();
+        return received;
+    }
+
+    @Test
+    @DisplayName("a chat message sent on one node reaches a subscriber on the other")
+    void shouldFanOutChatAcrossNodes() throws Exception {
+        StompSession alice = connect(node1, "alice");
+        StompSession bob = connect(node2, "bob");
+        BlockingQueue<Map<String, Object>> bobInbox = subscribe(bob, "/topic/conversation.c1");
+
+        alice.send("/topic/conversation.c1", Map.of("content", "hello from node 1"));
+
+        assertThat(bobInbox.poll(10, TimeUnit.SECONDS)).containsEntry("content", "hello from node 1");
+        alice.disconnect();
+        bob.disconnect();
+    }
+
+    @Test
+    @DisplayName("a typing indicator published by one node reaches a client on the other")
+    void shouldRelayTypingAcrossNodes() throws Exception {
+        StompSession alice = connect(node1, "alice");
+        BlockingQueue<Map<String, Object>> typing = subscribe(alice, "/topic/conversation.c2.typing");
+
+        node2.getBean(SimpMessagingTemplate.class)
+                .convertAndSend("/topic/conversation.c2.typing", Map.of("typing", true));
+
+        assertThat(typing.poll(10, TimeUnit.SECONDS)).containsEntry("typing", true);
+        alice.disconnect();
+    }
+
+    @Test
+    @DisplayName("a notification sent to a user from a node without their session is delivered")
+    void shouldDeliverUserDestinationAcrossNodes() throws Exception {
+        StompSession carol = connect(node1, "carol");
+        BlockingQueue<Map<String, Object>> notifications = subscribe(carol, "/user/queue/notifications");
+
+        node2.getBean(SimpMessagingTemplate.class)
+                .convertAndSendToUser("carol", "/queue/notifications", Map.of("title", "Visitor arrived"));
+
+        assertThat(notifications.poll(10, TimeUnit.SECONDS)).containsEntry("title", "Visitor arrived");
+        carol.disconnect();
+    }
+}
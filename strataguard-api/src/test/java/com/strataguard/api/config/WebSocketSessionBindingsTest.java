@@ -0,0 +1,208 @@
+package com.strataguard.api.config;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketSessionBindingsTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final String USER_ID = "kc-user";
+    private static final String SESSION_ID = "session-1";
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    private WebSocketSessionBindings sessionBindings;
+    private Map<String, Object> sessionAttributes;
+
+    @BeforeEach
+    void setUp() {
+        sessionBindings = new WebSocketSessionBindings(residentRepository);
+        sessionAttributes = new ConcurrentHashMap<>();
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private Resident resident(String firstName, String userId) {
+        Resident resident = new Resident();
+        resident.setId(RESIDENT_ID);
+        resident.setTenantId(TENANT_ID);
+        resident.setFirstName(firstName);
+        resident.setLastName("Obi");
+        resident.setUserId(userId);
+        return resident;
+    }
+
+    private SimpMessageHeaderAccessor frame() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(SESSION_ID);
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setUser(new TestingAuthenticationToken(USER_ID, null));
+        return accessor;
+    }
+
+    @Test
+    @DisplayName("should resolve the resident at CONNECT and serve frames from the session")
+    void shouldServeFramesFromSessionBinding() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID))
+                .thenReturn(Optional.of(resident("Ada", USER_ID)));
+
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+        sessionBindings.require(frame());
+        WebSocketSessionBindings.ResidentBinding binding = sessionBindings.require(frame());
+
+        assertThat(binding.residentId()).isEqualTo(RESIDENT_ID);
+        assertThat(binding.name()).isEqualTo("Ada Obi");
+        verify(residentRepository, times(1)).findByUserIdAndTenantId(USER_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should bind a session that connected before its user was linked on its first frame")
+    void shouldBindLazilyWhenUnbound() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(resident("Ada", USER_ID)));
+
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+
+        assertThat(sessionBindings.require(frame()).residentId()).isEqualTo(RESIDENT_ID);
+        assertThat(sessionBindings.boundSessions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject frames from users without a resident")
+    void shouldRejectUsersWithoutResident() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sessionBindings.require(frame()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should refresh the name of live sessions when the resident changes")
+    void shouldRefreshOnResidentChange() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID))
+                .thenReturn(Optional.of(resident("Ada", USER_ID)));
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+
+        sessionBindings.residentChanged(resident("Adaeze", USER_ID));
+
+        assertThat(sessionBindings.require(frame()).name()).isEqualTo("Adaeze Obi");
+        verify(residentRepository, times(1)).findByUserIdAndTenantId(USER_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should unbind live sessions when the resident is deleted or relinked")
+    void shouldUnbindOnDeleteOrRelink() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID))
+                .thenReturn(Optional.of(resident("Ada", USER_ID)));
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+
+        sessionBindings.residentChanged(resident("Ada", "another-user"));
+
+        assertThat(sessionAttributes).doesNotContainKey(WebSocketSessionBindings.RESIDENT_ATTRIBUTE);
+        assertThat(sessionBindings.boundSessions()).isZero();
+
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+        Resident deleted = resident("Ada", USER_ID);
+        deleted.setDeleted(true);
+        sessionBindings.residentChanged(deleted);
+
+        assertThat(sessionAttributes).doesNotContainKey(WebSocketSessionBindings.RESIDENT_ATTRIBUTE);
+        assertThat(sessionBindings.boundSessions()).isZero();
+    }
+
+    @Test
+    @DisplayName("should apply resident changes committed on another node when revalidating")
+    void shouldRevalidateAgainstDatabase() {
+        Resident bound = resident("Ada", USER_ID);
+        bound.setVersion(1L);
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID)).thenReturn(Optional.of(bound));
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+
+        when(residentRepository.findAllById(List.of(RESIDENT_ID))).thenReturn(List.of(bound));
+        sessionBindings.revalidate();
+        assertThat(sessionBindings.require(frame()).name()).isEqualTo("Ada Obi");
+
+        Resident renamed = resident("Adaeze", USER_ID);
+        renamed.setVersion(2L);
+        when(residentRepository.findAllById(List.of(RESIDENT_ID))).thenReturn(List.of(renamed));
+        sessionBindings.revalidate();
+        assertThat(sessionBindings.require(frame()).name()).isEqualTo("Adaeze Obi");
+
+        Resident deleted = resident("Adaeze", USER_ID);
+        deleted.setVersion(3L);
+        deleted.setDeleted(true);
+        when(residentRepository.findAllById(List.of(RESIDENT_ID))).thenReturn(List.of(deleted));
+        sessionBindings.revalidate();
+        assertThat(sessionAttributes).doesNotContainKey(WebSocketSessionBindings.RESIDENT_ATTRIBUTE);
+        assertThat(sessionBindings.boundSessions()).isZero();
+    }
+
+    @Test
+    @DisplayName("should not let a revalidation that read an older version undo a newer local change")
+    void shouldKeepNewerLocalChange() {
+        Resident bound = resident("Ada", USER_ID);
+        bound.setVersion(1L);
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID)).thenReturn(Optional.of(bound));
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+        Resident renamed = resident("Adaeze", USER_ID);
+        renamed.setVersion(3L);
+        sessionBindings.residentChanged(renamed);
+
+        Resident older = resident("Ada", USER_ID);
+        older.setVersion(2L);
+        when(residentRepository.findAllById(List.of(RESIDENT_ID))).thenReturn(List.of(older));
+        sessionBindings.revalidate();
+
+        assertThat(sessionBindings.require(frame()).name()).isEqualTo("Adaeze Obi");
+    }
+
+    @Test
+    @DisplayName("should forget a session on disconnect")
+    void shouldForgetSessionOnDisconnect() {
+        when(residentRepository.findByUserIdAndTenantId(USER_ID, TENANT_ID))
+                .thenReturn(Optional.of(resident("Ada", USER_ID)));
+        sessionBindings.bind(SESSION_ID, sessionAttributes, USER_ID, TENANT_ID);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setSessionAttributes(sessionAttributes);
+        sessionBindings.handleSessionDisconnect(new SessionDisconnectEvent(this,
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), SESSION_ID, CloseStatus.NORMAL));
+
+        assertThat(sessionBindings.boundSessions()).isZero();
+    }
+}
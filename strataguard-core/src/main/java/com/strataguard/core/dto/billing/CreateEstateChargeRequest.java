@@ -4,12 +4,14 @@ import com.strataguard.core.enums.LevyFrequency;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,4 +39,9 @@ public class CreateEstateChargeRequest {
     private String category;
 
     private List<Integer> reminderDaysBefore;
+
+    private LocalDate billingAnchorDate;
+
+    @PositiveOrZero(message = "Payment due days cannot be negative")
+    private Integer paymentDueDays;
 }
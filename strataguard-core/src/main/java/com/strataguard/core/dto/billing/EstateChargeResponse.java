@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +27,8 @@ public class EstateChargeResponse {
     private String estateName;
     private String category;
     private List<Integer> reminderDaysBefore;
+    private LocalDate billingAnchorDate;
+    private Integer paymentDueDays;
     private boolean active;
     private Instant createdAt;
     private Instant updatedAt;
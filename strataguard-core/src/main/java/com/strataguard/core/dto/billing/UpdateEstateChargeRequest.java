@@ -2,12 +2,14 @@ package com.strataguard.core.dto.billing;
 
 import com.strataguard.core.enums.LevyFrequency;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -28,4 +30,9 @@ public class UpdateEstateChargeRequest {
     private String category;
 
     private List<Integer> reminderDaysBefore;
+
+    private LocalDate billingAnchorDate;
+
+    @PositiveOrZero(message = "Payment due days cannot be negative")
+    private Integer paymentDueDays;
 }
@@ -0,0 +1,17 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ChatHistoryResponse {
+
+    /** Newest first, so the last element is the client's next {@code before} cursor. */
+    private List<ChatMessageResponse> messages;
+    private boolean hasMore;
+    /** The cursor was unknown or absent; the client should replace its list rather than append. */
+    private boolean reset;
+}
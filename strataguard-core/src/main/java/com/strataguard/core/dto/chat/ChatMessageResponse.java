@@ -25,4 +25,5 @@ public class ChatMessageResponse {
     private UUID parentMessageId;
     private String attachmentUrl;
     private Instant createdAt;
+    private UUID clientMessageId;
 }
@@ -0,0 +1,17 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ChatSearchResponse {
+
+    /** Newest first, so the last element's message id is the client's next {@code before} cursor. */
+    private List<ChatSearchResult> results;
+    private boolean hasMore;
+    /** The cursor was unknown or absent; the client should replace its list rather than append. */
+    private boolean reset;
+}
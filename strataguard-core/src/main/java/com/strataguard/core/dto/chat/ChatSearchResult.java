@@ -0,0 +1,17 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSearchResult {
+    private ChatMessageResponse message;
+
+    /** HTML-escaped excerpt around the first match, with matched words wrapped in {@code <mark>}. */
+    private String snippet;
+}
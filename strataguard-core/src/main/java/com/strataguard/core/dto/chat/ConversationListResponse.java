@@ -0,0 +1,19 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ConversationListResponse {
+
+    /** Most recently active first. */
+    private List<ConversationResponse> conversations;
+    private boolean hasMore;
+    /** Opaque position to pass as {@code after} for the next page; null when there is none. */
+    private String nextCursor;
+    /** There was no cursor; the client should replace its list rather than append. */
+    private boolean reset;
+}
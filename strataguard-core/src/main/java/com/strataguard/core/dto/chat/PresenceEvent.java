@@ -0,0 +1,21 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceEvent {
+    private String userId;
+
+    /** True when the user's first session opened, false when their last one closed or expired. */
+    private boolean online;
+
+    private Instant timestamp;
+}
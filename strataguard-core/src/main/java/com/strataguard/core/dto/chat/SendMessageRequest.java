@@ -23,4 +23,7 @@ public class SendMessageRequest {
     private UUID parentMessageId;
 
     private String attachmentUrl;
+
+    /** Optional id chosen by the client; a retried send with the same id returns the saved message. */
+    private UUID clientMessageId;
 }
@@ -16,4 +16,7 @@ public class TypingIndicator {
     private UUID residentId;
     private String residentName;
     private boolean typing;
+
+    /** Set on published indicators: how long clients should show it unless it is refreshed or stopped. */
+    private Long expiresInMillis;
 }
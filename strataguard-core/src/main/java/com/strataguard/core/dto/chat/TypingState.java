@@ -0,0 +1,28 @@
+package com.strataguard.core.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A change to who is typing in a conversation, as seen by one node. Each node publishes only its
+ * own residents, so clients merge these into their view rather than replacing it: entries in
+ * {@code typing} are added or refreshed until their expiry, entries in {@code stopped} removed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingState {
+    private UUID conversationId;
+
+    /** Residents who started typing, or are still typing, each with {@code expiresInMillis} set. */
+    private List<TypingIndicator> typing;
+
+    /** Residents who stopped typing or went idle. */
+    private List<UUID> stopped;
+}
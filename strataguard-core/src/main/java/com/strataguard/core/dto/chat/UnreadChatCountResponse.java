@@ -5,10 +5,16 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+import java.util.UUID;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UnreadChatCountResponse {
     private long count;
+
+    /** Unread count per conversation; conversations with nothing unread are omitted. */
+    private Map<UUID, Long> conversations;
 }
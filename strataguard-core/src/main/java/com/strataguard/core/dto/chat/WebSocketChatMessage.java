@@ -17,4 +17,5 @@ public class WebSocketChatMessage {
     private String messageType;
     private UUID parentMessageId;
     private String attachmentUrl;
+    private UUID clientMessageId;
 }
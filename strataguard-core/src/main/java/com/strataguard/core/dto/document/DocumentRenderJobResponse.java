@@ -0,0 +1,33 @@
+package com.strataguard.core.dto.document;
+
+import com.strataguard.core.enums.DocumentRenderJobStatus;
+import com.strataguard.core.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentRenderJobResponse {
+
+    private UUID jobId;
+    private DocumentType documentType;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private DocumentRenderJobStatus status;
+    private int totalDocuments;
+    private int rendered;
+    private int unchanged;
+    private int failed;
+    private double percentComplete;
+    private double documentsPerSecond;
+    private Instant startedAt;
+    private Instant completedAt;
+}
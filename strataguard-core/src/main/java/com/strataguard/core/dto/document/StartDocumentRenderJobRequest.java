@@ -0,0 +1,26 @@
+package com.strataguard.core.dto.document;
+
+import com.strataguard.core.enums.DocumentType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartDocumentRenderJobRequest {
+
+    @NotNull(message = "Document type is required")
+    private DocumentType documentType;
+
+    @NotNull(message = "Period start is required")
+    private LocalDate periodStart;
+
+    @NotNull(message = "Period end is required")
+    private LocalDate periodEnd;
+}
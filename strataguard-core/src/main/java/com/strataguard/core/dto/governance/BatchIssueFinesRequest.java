@@ -0,0 +1,24 @@
+package com.strataguard.core.dto.governance;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIssueFinesRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<UUID> violationIds;
+
+    private LocalDate dueDate;
+}
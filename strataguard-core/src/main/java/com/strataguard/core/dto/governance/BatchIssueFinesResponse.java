@@ -0,0 +1,51 @@
+package com.strataguard.core.dto.governance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIssueFinesResponse {
+    private LocalDate cycleStart;
+    private LocalDate cycleEnd;
+    private int requested;
+    private int fined;
+    private int invoicesCreated;
+    private int invoicesUpdated;
+    private int notificationsSent;
+    private BigDecimal totalAmount;
+    private List<UnitFine> units;
+    private List<SkippedViolation> skipped;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnitFine {
+        private UUID unitId;
+        private UUID residentId;
+        private UUID invoiceId;
+        private String invoiceNumber;
+        private boolean newInvoice;
+        private int violationCount;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkippedViolation {
+        private UUID violationId;
+        private String reason;
+    }
+}
@@ -18,6 +18,7 @@ public class ViolationResponse {
     private String ruleViolated;
     private String description;
     private BigDecimal fineAmount;
+    private UUID invoiceId;
     private ViolationStatus status;
     private String reportedBy;
     private String reportedByName;
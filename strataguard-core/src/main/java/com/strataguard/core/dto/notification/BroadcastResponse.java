@@ -0,0 +1,34 @@
+package com.strataguard.core.dto.notification;
+
+import com.strataguard.core.enums.BroadcastStatus;
+import com.strataguard.core.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastResponse {
+    private UUID broadcastId;
+    private UUID estateId;
+    private NotificationType type;
+    private BroadcastStatus status;
+    private int totalRecipients;
+    private int recipientsWritten;
+    private int notificationsCreated;
+    private int skippedByPreference;
+    private int delivered;
+    private int retrying;
+    private int failed;
+    private int inFlight;
+    private double percentComplete;
+    private double notificationsPerSecond;
+    private Instant startedAt;
+    private Instant completedAt;
+}
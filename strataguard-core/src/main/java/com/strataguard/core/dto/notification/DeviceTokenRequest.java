@@ -0,0 +1,24 @@
+package com.strataguard.core.dto.notification;
+
+import com.strataguard.core.enums.DevicePlatform;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeviceTokenRequest {
+
+    @NotBlank(message = "Token is required")
+    @Size(max = 512, message = "Token must not exceed 512 characters")
+    private String token;
+
+    @NotNull(message = "Platform is required")
+    private DevicePlatform platform;
+
+    /** Token this registration replaces after the provider rotated it, if any. */
+    @Size(max = 512, message = "Previous token must not exceed 512 characters")
+    private String previousToken;
+}
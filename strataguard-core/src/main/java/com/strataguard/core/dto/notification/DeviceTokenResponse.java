@@ -0,0 +1,20 @@
+package com.strataguard.core.dto.notification;
+
+import com.strataguard.core.enums.DevicePlatform;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+public class DeviceTokenResponse {
+
+    private UUID id;
+    private UUID residentId;
+    private String token;
+    private DevicePlatform platform;
+    private Instant lastSeenAt;
+    private Instant createdAt;
+}
@@ -0,0 +1,21 @@
+package com.strataguard.core.dto.notification;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NotificationCatchUpResponse {
+
+    /**
+     * Oldest first. May repeat notifications from just before the cursor that the client already
+     * has; clients merge by id and keep the newest notification they hold as their next cursor.
+     */
+    private List<NotificationResponse> notifications;
+    private boolean hasMore;
+    /** The cursor was unknown; the client should replace its list rather than append. */
+    private boolean reset;
+    private long unreadCount;
+}
@@ -0,0 +1,55 @@
+package com.strataguard.core.dto.reporting;
+
+import com.strataguard.core.enums.ChargeType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ReceivablesAgingResponse {
+    private LocalDate asOf;
+    private Instant generatedAt;
+    private long invoiceCount;
+    private AgingBuckets totals;
+    private List<EstateAging> byEstate;
+    private List<UnitChargeAging> byUnitAndCharge;
+
+    @Data
+    @Builder
+    public static class AgingBuckets {
+        /** Not yet due. */
+        private BigDecimal current;
+        private BigDecimal days0To30;
+        private BigDecimal days31To60;
+        private BigDecimal days61To90;
+        private BigDecimal over90Days;
+        private BigDecimal total;
+    }
+
+    @Data
+    @Builder
+    public static class EstateAging {
+        private UUID estateId;
+        private long invoiceCount;
+        private AgingBuckets buckets;
+    }
+
+    @Data
+    @Builder
+    public static class UnitChargeAging {
+        private UUID estateId;
+        private UUID unitId;
+        private String unitNumber;
+        private ChargeType chargeType;
+        private UUID chargeId;
+        private String chargeName;
+        private long invoiceCount;
+        private AgingBuckets buckets;
+    }
+}
@@ -0,0 +1,57 @@
+package com.strataguard.core.entity;
+
+import com.strataguard.core.enums.BillingRunStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Checkpoint for one billing cycle of a recurring estate charge. A COMPLETED row is committed
+ * in the same transaction as the invoices it generated, so a crashed run is simply re-attempted.
+ */
+@Entity
+@Table(name = "billing_runs", indexes = {
+        @Index(name = "idx_billing_runs_tenant_id", columnList = "tenant_id"),
+        @Index(name = "idx_billing_runs_charge_id", columnList = "charge_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class BillingRun extends BaseEntity {
+
+    @Column(name = "charge_id", nullable = false)
+    private UUID chargeId;
+
+    @Column(name = "estate_id", nullable = false)
+    private UUID estateId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BillingRunStatus status;
+
+    @Column(name = "invoices_created", nullable = false)
+    private int invoicesCreated;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
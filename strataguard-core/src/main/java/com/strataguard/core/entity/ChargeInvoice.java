@@ -18,7 +18,8 @@ import java.util.UUID;
         @Index(name = "idx_charge_invoices_resident_id", columnList = "resident_id"),
         @Index(name = "idx_charge_invoices_status", columnList = "status"),
         @Index(name = "idx_charge_invoices_due_date", columnList = "due_date"),
-        @Index(name = "idx_charge_invoices_charge_type", columnList = "charge_type")
+        @Index(name = "idx_charge_invoices_charge_type", columnList = "charge_type"),
+        @Index(name = "idx_charge_invoices_aging", columnList = "tenant_id, due_date")
 })
 @Getter
 @Setter
@@ -32,7 +33,8 @@ public class ChargeInvoice extends BaseEntity {
     @Column(name = "charge_type", nullable = false, length = 50)
     private ChargeType chargeType;
 
-    @Column(name = "charge_id", nullable = false)
+    // Null for violation fines; the fined violations reference the invoice instead
+    @Column(name = "charge_id")
     private UUID chargeId;
 
     @Column(name = "unit_id", nullable = false)
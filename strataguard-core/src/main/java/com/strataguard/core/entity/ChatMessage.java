@@ -46,4 +46,7 @@ public class ChatMessage extends BaseEntity {
 
     @Column(name = "sender_name")
     private String senderName;
+
+    @Column(name = "client_message_id", updatable = false)
+    private UUID clientMessageId;
 }
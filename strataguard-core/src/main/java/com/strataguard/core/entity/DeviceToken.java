@@ -0,0 +1,35 @@
+package com.strataguard.core.entity;
+
+import com.strataguard.core.enums.DevicePlatform;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "device_tokens", indexes = {
+        @Index(name = "idx_device_tokens_tenant_id", columnList = "tenant_id"),
+        @Index(name = "idx_device_tokens_resident", columnList = "resident_id, tenant_id"),
+        @Index(name = "idx_device_tokens_token", columnList = "token")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeviceToken extends BaseEntity {
+
+    @Column(name = "resident_id", nullable = false)
+    private UUID residentId;
+
+    @Column(nullable = false, length = 512)
+    private String token;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DevicePlatform platform;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Instant lastSeenAt;
+}
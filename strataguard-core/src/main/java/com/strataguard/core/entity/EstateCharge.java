@@ -9,6 +9,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -45,6 +46,14 @@ public class EstateCharge extends BaseEntity {
     @Column(name = "reminder_days_before", columnDefinition = "jsonb")
     private List<Integer> reminderDaysBefore;
 
+    /** First day of the first billing cycle; recurring billing only runs for charges that have one. */
+    @Column(name = "billing_anchor_date")
+    private LocalDate billingAnchorDate;
+
+    /** Days after the cycle start that generated invoices fall due (defaults to billing.recurring.due-days). */
+    @Column(name = "payment_due_days")
+    private Integer paymentDueDays;
+
     @Column(nullable = false)
     private boolean active = true;
 }
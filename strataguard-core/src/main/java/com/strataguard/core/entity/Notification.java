@@ -18,7 +18,8 @@ import java.util.UUID;
         @Index(name = "idx_notifications_tenant_id", columnList = "tenant_id"),
         @Index(name = "idx_notifications_recipient", columnList = "recipient_id, tenant_id"),
         @Index(name = "idx_notifications_status", columnList = "status, tenant_id"),
-        @Index(name = "idx_notifications_recipient_status", columnList = "recipient_id, status, tenant_id")
+        @Index(name = "idx_notifications_recipient_status", columnList = "recipient_id, status, tenant_id"),
+        @Index(name = "idx_notifications_next_attempt", columnList = "next_attempt_at")
 })
 @Getter
 @Setter
@@ -53,12 +54,24 @@ public class Notification extends BaseEntity {
     @Column(name = "retry_count", nullable = false)
     private int retryCount = 0;
 
+    /** Times the retry scheduler has claimed this row, whether after a failure or an expired lease. */
+    @Column(name = "claim_count", nullable = false)
+    private int claimCount = 0;
+
     @Column(name = "last_error", columnDefinition = "TEXT")
     private String lastError;
 
+    /** When the retry scheduler may next claim this row; null once delivered or permanently failed. */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
     @Column(name = "sent_at")
     private Instant sentAt;
 
     @Column(name = "read_at")
     private Instant readAt;
+
+    /** End of the type's retention period; its creation-month partition is dropped once every row has passed it. */
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
 }
@@ -0,0 +1,24 @@
+package com.strataguard.core.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_unread_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_notification_unread_counters_resident", columnNames = {"tenant_id", "resident_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationUnreadCounter extends BaseEntity {
+
+    @Column(name = "resident_id", nullable = false)
+    private UUID residentId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
@@ -0,0 +1,35 @@
+package com.strataguard.core.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** An open WebSocket session, kept alive by its node's heartbeat until {@code expiresAt}. */
+@Entity
+@Table(name = "presence_sessions")
+@Getter
+@Setter
+public class PresenceSession {
+
+    @Id
+    @Column(name = "session_id", updatable = false, nullable = false)
+    private String sessionId;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private String userId;
+
+    @Column(name = "tenant_id", updatable = false)
+    private UUID tenantId;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(name = "connected_at", nullable = false, updatable = false)
+    private Instant connectedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
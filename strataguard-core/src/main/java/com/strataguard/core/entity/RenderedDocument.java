@@ -0,0 +1,40 @@
+package com.strataguard.core.entity;
+
+import com.strataguard.core.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "rendered_documents", indexes = {
+        @Index(name = "idx_rendered_documents_tenant_id", columnList = "tenant_id"),
+        @Index(name = "idx_rendered_documents_source", columnList = "document_type, source_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RenderedDocument extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false, length = 20)
+    private DocumentType documentType;
+
+    @Column(name = "source_id", nullable = false)
+    private UUID sourceId;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "rendered_at", nullable = false)
+    private Instant renderedAt;
+}
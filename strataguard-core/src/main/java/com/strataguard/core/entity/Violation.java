@@ -14,7 +14,8 @@ import java.util.UUID;
         @Index(name = "idx_violation_tenant_id", columnList = "tenant_id"),
         @Index(name = "idx_violation_estate_id", columnList = "estate_id"),
         @Index(name = "idx_violation_unit_id", columnList = "unit_id"),
-        @Index(name = "idx_violation_status", columnList = "status")
+        @Index(name = "idx_violation_status", columnList = "status"),
+        @Index(name = "idx_violation_invoice_id", columnList = "invoice_id")
 })
 @Getter
 @Setter
@@ -38,6 +39,9 @@ public class Violation extends BaseEntity {
     @Column(name = "fine_amount")
     private BigDecimal fineAmount;
 
+    @Column(name = "invoice_id")
+    private UUID invoiceId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ViolationStatus status = ViolationStatus.REPORTED;
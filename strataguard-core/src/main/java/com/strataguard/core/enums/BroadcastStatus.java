@@ -0,0 +1,7 @@
+package com.strataguard.core.enums;
+
+public enum BroadcastStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
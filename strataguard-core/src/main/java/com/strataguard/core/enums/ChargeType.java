@@ -3,5 +3,6 @@ package com.strataguard.core.enums;
 public enum ChargeType {
     TENANT_CHARGE,
     ESTATE_CHARGE,
-    UTILITY
+    UTILITY,
+    VIOLATION_FINE
 }
@@ -0,0 +1,7 @@
+package com.strataguard.core.enums;
+
+public enum DevicePlatform {
+    ANDROID,
+    IOS,
+    WEB
+}
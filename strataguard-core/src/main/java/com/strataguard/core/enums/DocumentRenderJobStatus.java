@@ -0,0 +1,7 @@
+package com.strataguard.core.enums;
+
+public enum DocumentRenderJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.strataguard.core.enums;
+
+public enum DocumentType {
+    INVOICE,
+    RECEIPT
+}
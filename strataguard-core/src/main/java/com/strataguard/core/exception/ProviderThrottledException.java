@@ -0,0 +1,8 @@
+package com.strataguard.core.exception;
+
+public class ProviderThrottledException extends RuntimeException {
+
+    public ProviderThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.strataguard.core.exception;
+
+public class WriteOutcomeUnknownException extends RuntimeException {
+
+    public WriteOutcomeUnknownException(String message) {
+        super(message);
+    }
+}
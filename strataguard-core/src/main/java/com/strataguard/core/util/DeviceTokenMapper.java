@@ -0,0 +1,11 @@
+package com.strataguard.core.util;
+
+import com.strataguard.core.dto.notification.DeviceTokenResponse;
+import com.strataguard.core.entity.DeviceToken;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface DeviceTokenMapper {
+
+    DeviceTokenResponse toResponse(DeviceToken deviceToken);
+}
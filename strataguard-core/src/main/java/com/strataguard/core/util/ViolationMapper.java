@@ -24,6 +24,7 @@ public interface ViolationMapper {
     @Mapping(target = "resolvedAt", ignore = true)
     @Mapping(target = "appealReason", ignore = true)
     @Mapping(target = "appealedAt", ignore = true)
+    @Mapping(target = "invoiceId", ignore = true)
     Violation toEntity(CreateViolationRequest request);
 
     ViolationResponse toResponse(Violation violation);
@@ -0,0 +1,26 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.BillingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BillingRunRepository extends JpaRepository<BillingRun, UUID> {
+
+    @Query("SELECT r FROM BillingRun r WHERE r.chargeId = :chargeId AND r.periodStart = :periodStart " +
+            "AND r.tenantId = :tenantId AND r.deleted = false")
+    Optional<BillingRun> findByChargeIdAndPeriodStartAndTenantId(@Param("chargeId") UUID chargeId,
+                                                                 @Param("periodStart") LocalDate periodStart,
+                                                                 @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT MAX(r.periodStart) FROM BillingRun r WHERE r.chargeId = :chargeId AND r.status = 'COMPLETED' " +
+            "AND r.tenantId = :tenantId AND r.deleted = false")
+    Optional<LocalDate> findLastCompletedPeriodStart(@Param("chargeId") UUID chargeId,
+                                                     @Param("tenantId") UUID tenantId);
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,7 +52,7 @@ public interface ChargeInvoiceRepository extends JpaRepository<ChargeInvoice, UU
 
     @Query("SELECT CASE WHEN COUNT(i) > 0 THEN true ELSE false END FROM ChargeInvoice i " +
             "WHERE i.chargeId = :chargeId AND i.unitId = :unitId AND i.tenantId = :tenantId " +
-            "AND i.status IN ('PENDING', 'PARTIAL') AND i.billingPeriodStart = :periodStart " +
+            "AND i.status <> 'CANCELLED' AND i.billingPeriodStart = :periodStart " +
             "AND i.billingPeriodEnd = :periodEnd AND i.deleted = false")
     boolean existsActiveInvoice(@Param("chargeId") UUID chargeId, @Param("unitId") UUID unitId,
                                 @Param("tenantId") UUID tenantId, @Param("periodStart") LocalDate periodStart,
@@ -61,6 +62,15 @@ public interface ChargeInvoiceRepository extends JpaRepository<ChargeInvoice, UU
             "AND i.invoiceNumber LIKE :prefix")
     long countByInvoiceNumberPrefix(@Param("tenantId") UUID tenantId, @Param("prefix") String prefix);
 
+    /**
+     * Wait for the tenant's lock on an invoice number prefix, held until the surrounding transaction
+     * ends. Run it as its own statement before counting, so the count sees the invoices of whichever
+     * transaction held the lock before.
+     */
+    @Query(value = "SELECT true FROM pg_advisory_xact_lock(hashtext('invoice_number:' || " +
+            "CAST(:tenantId AS TEXT) || ':' || :prefix))", nativeQuery = true)
+    boolean lockInvoiceNumbers(@Param("tenantId") UUID tenantId, @Param("prefix") String prefix);
+
     @Query("SELECT i FROM ChargeInvoice i WHERE i.tenantId = :tenantId AND i.deleted = false " +
             "AND (LOWER(i.invoiceNumber) LIKE LOWER(CONCAT('%', :search, '%')) " +
             "OR LOWER(i.notes) LIKE LOWER(CONCAT('%', :search, '%')))")
@@ -86,6 +96,48 @@ public interface ChargeInvoiceRepository extends JpaRepository<ChargeInvoice, UU
     @Query("SELECT COUNT(i) FROM ChargeInvoice i WHERE i.tenantId = :tenantId AND i.status = 'OVERDUE' AND i.deleted = false")
     long countOverdueByTenantId(@Param("tenantId") UUID tenantId);
 
+    // Receivables aging - one grouped pass over outstanding invoices, bucketed on due date
+    @Query(value = "SELECT u.estate_id AS estateId, i.unit_id AS unitId, u.unit_number AS unitNumber, " +
+            "i.charge_type AS chargeType, i.charge_id AS chargeId, COALESCE(ec.name, tc.name) AS chargeName, " +
+            "COUNT(*) AS invoiceCount, " +
+            "COALESCE(SUM(CASE WHEN i.due_date >= :asOf THEN i.total_amount - i.paid_amount END), 0) AS notYetDue, " +
+            "COALESCE(SUM(CASE WHEN i.due_date < :asOf AND i.due_date >= :cutoff30 " +
+            "THEN i.total_amount - i.paid_amount END), 0) AS days0To30, " +
+            "COALESCE(SUM(CASE WHEN i.due_date < :cutoff30 AND i.due_date >= :cutoff60 " +
+            "THEN i.total_amount - i.paid_amount END), 0) AS days31To60, " +
+            "COALESCE(SUM(CASE WHEN i.due_date < :cutoff60 AND i.due_date >= :cutoff90 " +
+            "THEN i.total_amount - i.paid_amount END), 0) AS days61To90, " +
+            "COALESCE(SUM(CASE WHEN i.due_date < :cutoff90 THEN i.total_amount - i.paid_amount END), 0) AS over90Days " +
+            "FROM charge_invoices i " +
+            "JOIN units u ON u.id = i.unit_id " +
+            "LEFT JOIN estate_charges ec ON i.charge_type = 'ESTATE_CHARGE' AND ec.id = i.charge_id " +
+            "LEFT JOIN tenant_charges tc ON i.charge_type = 'TENANT_CHARGE' AND tc.id = i.charge_id " +
+            "WHERE i.tenant_id = :tenantId AND i.is_deleted = false AND i.active = true " +
+            "AND i.status IN ('PENDING', 'PARTIAL', 'OVERDUE') AND i.total_amount > i.paid_amount " +
+            "GROUP BY u.estate_id, i.unit_id, u.unit_number, i.charge_type, i.charge_id, COALESCE(ec.name, tc.name)",
+            nativeQuery = true)
+    List<ReceivablesAgingRow> aggregateReceivablesAging(@Param("tenantId") UUID tenantId,
+                                                        @Param("asOf") LocalDate asOf,
+                                                        @Param("cutoff30") LocalDate cutoff30,
+                                                        @Param("cutoff60") LocalDate cutoff60,
+                                                        @Param("cutoff90") LocalDate cutoff90);
+
+    @Query("SELECT i FROM ChargeInvoice i WHERE i.id IN :ids AND i.tenantId = :tenantId AND i.deleted = false")
+    List<ChargeInvoice> findAllByIdsAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT i.id FROM ChargeInvoice i WHERE i.tenantId = :tenantId AND i.deleted = false " +
+            "AND i.status <> 'CANCELLED' AND i.dueDate BETWEEN :from AND :to ORDER BY i.dueDate, i.id")
+    List<UUID> findIdsByDueDateBetween(@Param("tenantId") UUID tenantId, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    @Query("SELECT i FROM ChargeInvoice i WHERE i.chargeType = :chargeType AND i.unitId IN :unitIds " +
+            "AND i.billingPeriodStart = :periodStart AND i.status IN ('PENDING', 'PARTIAL') " +
+            "AND i.tenantId = :tenantId AND i.deleted = false")
+    List<ChargeInvoice> findOpenByChargeTypeAndUnitIds(@Param("chargeType") ChargeType chargeType,
+                                                       @Param("unitIds") Collection<UUID> unitIds,
+                                                       @Param("periodStart") LocalDate periodStart,
+                                                       @Param("tenantId") UUID tenantId);
+
     // For reminder scheduler - cross-tenant queries
     @Query("SELECT i FROM ChargeInvoice i WHERE i.deleted = false AND i.active = true " +
             "AND i.status IN ('PENDING', 'PARTIAL') AND i.dueDate >= CURRENT_DATE")
@@ -4,10 +4,12 @@ import com.strataguard.core.entity.ChatConversation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,8 +20,44 @@ public interface ChatConversationRepository extends JpaRepository<ChatConversati
     @Query("SELECT c FROM ChatConversation c WHERE c.id = :id AND c.tenantId = :tenantId AND c.deleted = false")
     Optional<ChatConversation> findByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
 
-    @Query("SELECT c FROM ChatConversation c WHERE c.id IN :ids AND c.tenantId = :tenantId AND c.deleted = false ORDER BY c.lastMessageAt DESC NULLS LAST")
-    Page<ChatConversation> findByIdInAndTenantId(@Param("ids") List<UUID> ids, @Param("tenantId") UUID tenantId, Pageable pageable);
+    /**
+     * A resident's most recently active conversations, from one join on their participant rows.
+     * Activity is the last message time, or the creation time for conversations without messages.
+     */
+    @Query("SELECT c FROM ChatParticipant p JOIN ChatConversation c ON c.id = p.conversationId " +
+            "AND c.tenantId = p.tenantId AND c.deleted = false " +
+            "WHERE p.residentId = :residentId AND p.tenantId = :tenantId AND p.deleted = false " +
+            "ORDER BY COALESCE(c.lastMessageAt, c.createdAt) DESC, c.id DESC")
+    List<ChatConversation> findLatestForResident(@Param("residentId") UUID residentId,
+                                                 @Param("tenantId") UUID tenantId,
+                                                 Pageable pageable);
+
+    /** The resident's conversations less recently active than the cursor conversation. */
+    @Query("SELECT c FROM ChatParticipant p JOIN ChatConversation c ON c.id = p.conversationId " +
+            "AND c.tenantId = p.tenantId AND c.deleted = false " +
+            "WHERE p.residentId = :residentId AND p.tenantId = :tenantId AND p.deleted = false " +
+            "AND COALESCE(c.lastMessageAt, c.createdAt) <= :activityAt " +
+            "AND (COALESCE(c.lastMessageAt, c.createdAt) < :activityAt OR c.id < :id) " +
+            "ORDER BY COALESCE(c.lastMessageAt, c.createdAt) DESC, c.id DESC")
+    List<ChatConversation> findForResidentBefore(@Param("residentId") UUID residentId,
+                                                 @Param("tenantId") UUID tenantId,
+                                                 @Param("activityAt") Instant activityAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
+    /**
+     * Moves the conversation preview to a newer message in one statement. Older messages, for
+     * example from a flush on another node that committed late, leave the preview unchanged.
+     */
+    @Modifying
+    @Query("UPDATE ChatConversation c SET c.lastMessageAt = :messageAt, c.lastMessagePreview = :preview, " +
+            "c.updatedAt = :messageAt, c.version = c.version + 1 " +
+            "WHERE c.id = :id AND c.tenantId = :tenantId AND c.deleted = false " +
+            "AND (c.lastMessageAt IS NULL OR c.lastMessageAt < :messageAt)")
+    int updateLastMessage(@Param("id") UUID id,
+                          @Param("tenantId") UUID tenantId,
+                          @Param("messageAt") Instant messageAt,
+                          @Param("preview") String preview);
 
     @Query("SELECT c FROM ChatConversation c WHERE c.estateId = :estateId AND c.tenantId = :tenantId AND c.deleted = false ORDER BY c.lastMessageAt DESC NULLS LAST")
     Page<ChatConversation> findByEstateIdAndTenantId(@Param("estateId") UUID estateId, @Param("tenantId") UUID tenantId, Pageable pageable);
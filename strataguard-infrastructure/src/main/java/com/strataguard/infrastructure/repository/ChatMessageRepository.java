@@ -1,7 +1,6 @@
 package com.strataguard.infrastructure.repository;
 
 import com.strataguard.core.entity.ChatMessage;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,21 +8,93 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID> {
 
-    @Query("SELECT m FROM ChatMessage m WHERE m.conversationId = :conversationId AND m.tenantId = :tenantId AND m.deleted = false ORDER BY m.createdAt DESC")
-    Page<ChatMessage> findByConversationIdAndTenantId(@Param("conversationId") UUID conversationId, @Param("tenantId") UUID tenantId, Pageable pageable);
+    /** The newest messages of a conversation, newest first. */
+    @Query("SELECT m FROM ChatMessage m WHERE m.conversationId = :conversationId AND m.tenantId = :tenantId AND m.deleted = false " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findLatest(@Param("conversationId") UUID conversationId, @Param("tenantId") UUID tenantId, Pageable pageable);
+
+    /**
+     * Messages older than the cursor message, newest first. The redundant {@code createdAt <=} bound
+     * lets the (conversation_id, created_at, id) index range-scan instead of filtering.
+     */
+    @Query("SELECT m FROM ChatMessage m WHERE m.conversationId = :conversationId AND m.tenantId = :tenantId AND m.deleted = false " +
+            "AND m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.id < :id) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findBefore(@Param("conversationId") UUID conversationId,
+                                 @Param("tenantId") UUID tenantId,
+                                 @Param("createdAt") Instant createdAt,
+                                 @Param("id") UUID id,
+                                 Pageable pageable);
+
+    /** Messages already saved under any of the client ids, deleted or not, so a retried send is never saved twice. */
+    @Query("SELECT m FROM ChatMessage m WHERE m.tenantId = :tenantId AND m.clientMessageId IN :clientMessageIds")
+    List<ChatMessage> findByClientMessageIds(@Param("tenantId") UUID tenantId,
+                                             @Param("clientMessageIds") Collection<UUID> clientMessageIds);
 
     @Query("SELECT m FROM ChatMessage m WHERE m.id = :id AND m.tenantId = :tenantId AND m.deleted = false")
     Optional<ChatMessage> findByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
 
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.conversationId = :conversationId AND m.tenantId = :tenantId AND m.deleted = false AND m.createdAt > :since")
-    long countUnreadMessages(@Param("conversationId") UUID conversationId, @Param("tenantId") UUID tenantId, @Param("since") Instant since);
+    /**
+     * Unread messages in every conversation the resident belongs to, in one aggregate: messages
+     * from others after the participant's last read (all of them if never read). Conversations
+     * with nothing unread are omitted.
+     */
+    @Query("SELECT p.conversationId AS conversationId, COUNT(m) AS unreadCount FROM ChatParticipant p " +
+            "JOIN ChatMessage m ON m.conversationId = p.conversationId AND m.tenantId = p.tenantId " +
+            "AND m.deleted = false AND m.senderId <> p.residentId " +
+            "AND (p.lastReadAt IS NULL OR m.createdAt > p.lastReadAt) " +
+            "WHERE p.residentId = :residentId AND p.tenantId = :tenantId AND p.deleted = false " +
+            "GROUP BY p.conversationId")
+    List<ChatUnreadCountRow> countUnreadByConversation(@Param("residentId") UUID residentId,
+                                                       @Param("tenantId") UUID tenantId);
+
+    /** {@link #countUnreadByConversation}, limited to one page of conversations. */
+    @Query("SELECT p.conversationId AS conversationId, COUNT(m) AS unreadCount FROM ChatParticipant p " +
+            "JOIN ChatMessage m ON m.conversationId = p.conversationId AND m.tenantId = p.tenantId " +
+            "AND m.deleted = false AND m.senderId <> p.residentId " +
+            "AND (p.lastReadAt IS NULL OR m.createdAt > p.lastReadAt) " +
+            "WHERE p.residentId = :residentId AND p.tenantId = :tenantId AND p.deleted = false " +
+            "AND p.conversationId IN :conversationIds " +
+            "GROUP BY p.conversationId")
+    List<ChatUnreadCountRow> countUnreadInConversations(@Param("residentId") UUID residentId,
+                                                        @Param("tenantId") UUID tenantId,
+                                                        @Param("conversationIds") Collection<UUID> conversationIds);
+
+    /**
+     * Newest messages matching a web-search style query ({@code websearch_to_tsquery}) in the
+     * conversations the resident belongs to, using the GIN index on {@code search_vector}.
+     */
+    @Query(value = "SELECT m.* FROM chat_messages m " +
+            "JOIN chat_participants p ON p.conversation_id = m.conversation_id AND p.tenant_id = m.tenant_id " +
+            "AND p.is_deleted = FALSE " +
+            "WHERE p.resident_id = :residentId AND m.tenant_id = :tenantId AND m.is_deleted = FALSE " +
+            "AND m.search_vector @@ websearch_to_tsquery('simple', :query) " +
+            "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit", nativeQuery = true)
+    List<ChatMessage> searchLatest(@Param("residentId") UUID residentId,
+                                   @Param("tenantId") UUID tenantId,
+                                   @Param("query") String query,
+                                   @Param("limit") int limit);
 
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.conversationId = :conversationId AND m.tenantId = :tenantId AND m.deleted = false")
-    long countAllMessages(@Param("conversationId") UUID conversationId, @Param("tenantId") UUID tenantId);
+    /** {@link #searchLatest}, continuing after the cursor message. */
+    @Query(value = "SELECT m.* FROM chat_messages m " +
+            "JOIN chat_participants p ON p.conversation_id = m.conversation_id AND p.tenant_id = m.tenant_id " +
+            "AND p.is_deleted = FALSE " +
+            "WHERE p.resident_id = :residentId AND m.tenant_id = :tenantId AND m.is_deleted = FALSE " +
+            "AND m.search_vector @@ websearch_to_tsquery('simple', :query) " +
+            "AND (m.created_at, m.id) < (:createdAt, :id) " +
+            "ORDER BY m.created_at DESC, m.id DESC LIMIT :limit", nativeQuery = true)
+    List<ChatMessage> searchBefore(@Param("residentId") UUID residentId,
+                                   @Param("tenantId") UUID tenantId,
+                                   @Param("query") String query,
+                                   @Param("createdAt") Instant createdAt,
+                                   @Param("id") UUID id,
+                                   @Param("limit") int limit);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,17 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
     @Query("SELECT p FROM ChatParticipant p WHERE p.conversationId = :conversationId AND p.tenantId = :tenantId AND p.deleted = false")
     List<ChatParticipant> findByConversationIdAndTenantId(@Param("conversationId") UUID conversationId, @Param("tenantId") UUID tenantId);
 
+    @Query("SELECT p FROM ChatParticipant p WHERE p.conversationId IN :conversationIds AND p.tenantId = :tenantId AND p.deleted = false")
+    List<ChatParticipant> findByConversationIdsAndTenantId(@Param("conversationIds") Collection<UUID> conversationIds,
+                                                            @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT p FROM ChatParticipant p WHERE p.conversationId IN :conversationIds AND p.residentId IN :residentIds " +
+            "AND p.tenantId = :tenantId AND p.deleted = false")
+    List<ChatParticipant> findByConversationIdsAndResidentIdsAndTenantId(
+            @Param("conversationIds") Collection<UUID> conversationIds,
+            @Param("residentIds") Collection<UUID> residentIds,
+            @Param("tenantId") UUID tenantId);
+
     @Query("SELECT p FROM ChatParticipant p WHERE p.residentId = :residentId AND p.tenantId = :tenantId AND p.deleted = false")
     List<ChatParticipant> findByResidentIdAndTenantId(@Param("residentId") UUID residentId, @Param("tenantId") UUID tenantId);
 
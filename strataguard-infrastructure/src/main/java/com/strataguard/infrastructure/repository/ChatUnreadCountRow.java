@@ -0,0 +1,13 @@
+package com.strataguard.infrastructure.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection for one conversation of the per-participant unread aggregate.
+ */
+public interface ChatUnreadCountRow {
+
+    UUID getConversationId();
+
+    long getUnreadCount();
+}
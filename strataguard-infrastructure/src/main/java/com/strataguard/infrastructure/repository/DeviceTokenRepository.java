@@ -0,0 +1,35 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.DeviceToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, UUID> {
+
+    @Query("SELECT d FROM DeviceToken d WHERE d.token = :token AND d.tenantId = :tenantId AND d.deleted = false")
+    Optional<DeviceToken> findByTokenAndTenantId(@Param("token") String token, @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT d FROM DeviceToken d WHERE d.residentId = :residentId AND d.tenantId = :tenantId " +
+            "AND d.deleted = false ORDER BY d.lastSeenAt DESC")
+    List<DeviceToken> findByResidentIdAndTenantId(@Param("residentId") UUID residentId,
+                                                  @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT d FROM DeviceToken d WHERE d.residentId IN :residentIds AND d.tenantId = :tenantId " +
+            "AND d.deleted = false")
+    List<DeviceToken> findByResidentIdsAndTenantId(@Param("residentIds") Collection<UUID> residentIds,
+                                                   @Param("tenantId") UUID tenantId);
+
+    @Modifying
+    @Query("UPDATE DeviceToken d SET d.deleted = true WHERE d.token IN :tokens AND d.tenantId = :tenantId " +
+            "AND d.deleted = false")
+    int softDeleteByTokens(@Param("tokens") Collection<String> tokens, @Param("tenantId") UUID tenantId);
+}
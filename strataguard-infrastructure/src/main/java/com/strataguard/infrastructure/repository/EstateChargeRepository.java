@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,4 +36,9 @@ public interface EstateChargeRepository extends JpaRepository<EstateCharge, UUID
             "AND (LOWER(e.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
             "OR LOWER(e.category) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<EstateCharge> search(@Param("tenantId") UUID tenantId, @Param("search") String search, Pageable pageable);
+
+    // For recurring billing scheduler - cross-tenant query
+    @Query("SELECT e FROM EstateCharge e WHERE e.active = true AND e.deleted = false " +
+            "AND e.billingAnchorDate IS NOT NULL AND e.billingAnchorDate <= :asOf")
+    List<EstateCharge> findAllBillableAsOf(@Param("asOf") LocalDate asOf);
 }
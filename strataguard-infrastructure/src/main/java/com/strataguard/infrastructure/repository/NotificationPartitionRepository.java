@@ -0,0 +1,58 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.Notification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintenance of the monthly {@code notifications_pYYYYMM} partitions. These queries span all
+ * tenants; they are only used by the retention job.
+ */
+public interface NotificationPartitionRepository extends Repository<Notification, UUID> {
+
+    @Query(value = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'notifications'::regclass ORDER BY c.relname", nativeQuery = true)
+    List<String> findPartitionNames();
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'notifications'::regclass AND c.relname = :partitionName)", nativeQuery = true)
+    boolean partitionExists(@Param("partitionName") String partitionName);
+
+    /**
+     * Take the cluster-wide lock for expiring one partition, held until the surrounding transaction
+     * ends. Returns false when another node holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('notification_partition:' || :partitionName))",
+            nativeQuery = true)
+    boolean tryLockPartition(@Param("partitionName") String partitionName);
+
+    /** Returns false when the partition for that month already exists. */
+    @Transactional
+    @Query(value = "SELECT create_notification_partition(:monthStart)", nativeQuery = true)
+    boolean createPartition(@Param("monthStart") LocalDate monthStart);
+
+    /** Returns the number of rows dropped. */
+    @Transactional
+    @Query(value = "SELECT drop_notification_partition(:partitionName)", nativeQuery = true)
+    long dropPartition(@Param("partitionName") String partitionName);
+
+    /** Whether any row created in {@code [from, to)} is still within its retention at {@code now}. */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM notifications WHERE created_at >= :from AND created_at < :to " +
+            "AND expires_at > :now)", nativeQuery = true)
+    boolean existsUnexpired(@Param("from") Instant from, @Param("to") Instant to, @Param("now") Instant now);
+
+    /** One keyset page of the rows created in {@code [from, to)}; the range prunes to one partition. */
+    @Query(value = "SELECT * FROM notifications WHERE created_at >= :from AND created_at < :to " +
+            "AND id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Notification> findPartitionPage(@Param("from") Instant from,
+                                        @Param("to") Instant to,
+                                        @Param("afterId") UUID afterId,
+                                        @Param("limit") int limit);
+}
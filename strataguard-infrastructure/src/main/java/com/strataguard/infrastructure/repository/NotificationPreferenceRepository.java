@@ -20,6 +20,10 @@ public interface NotificationPreferenceRepository extends JpaRepository<Notifica
     List<NotificationPreference> findByResidentIdAndTenantId(@Param("residentId") UUID residentId,
                                                               @Param("tenantId") UUID tenantId);
 
+    @Query("SELECT p FROM NotificationPreference p WHERE p.enabled = false " +
+            "AND p.tenantId = :tenantId AND p.deleted = false")
+    List<NotificationPreference> findDisabledByTenantId(@Param("tenantId") UUID tenantId);
+
     @Query("SELECT p FROM NotificationPreference p WHERE p.residentId = :residentId " +
             "AND p.channel = :channel AND p.notificationType = :notificationType " +
             "AND p.tenantId = :tenantId AND p.deleted = false")
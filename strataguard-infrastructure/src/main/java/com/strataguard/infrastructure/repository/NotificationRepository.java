@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,29 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
                                                      @Param("tenantId") UUID tenantId,
                                                      Pageable pageable);
 
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.tenantId = :tenantId " +
+            "AND n.channel = com.strataguard.core.enums.NotificationChannel.IN_APP AND n.deleted = false " +
+            "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) " +
+            "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findInAppAfter(@Param("recipientId") UUID recipientId,
+                                      @Param("tenantId") UUID tenantId,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    /** IN_APP rows created in {@code [since, cursor)}, oldest first: the overlap catch-up re-sends. */
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.tenantId = :tenantId " +
+            "AND n.channel = com.strataguard.core.enums.NotificationChannel.IN_APP AND n.deleted = false " +
+            "AND n.createdAt >= :since " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findInAppBefore(@Param("recipientId") UUID recipientId,
+                                       @Param("tenantId") UUID tenantId,
+                                       @Param("since") Instant since,
+                                       @Param("createdAt") Instant createdAt,
+                                       @Param("id") UUID id,
+                                       Pageable pageable);
+
     @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.status = :status " +
             "AND n.tenantId = :tenantId AND n.channel = com.strataguard.core.enums.NotificationChannel.IN_APP " +
             "AND n.deleted = false")
@@ -32,17 +56,14 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
                                                               @Param("tenantId") UUID tenantId,
                                                               Pageable pageable);
 
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId = :recipientId AND n.status = :status " +
-            "AND n.tenantId = :tenantId AND n.channel = com.strataguard.core.enums.NotificationChannel.IN_APP " +
-            "AND n.deleted = false")
-    long countByRecipientIdAndStatusAndTenantId(@Param("recipientId") UUID recipientId,
-                                                 @Param("status") NotificationStatus status,
-                                                 @Param("tenantId") UUID tenantId);
-
-    @Query("SELECT n FROM Notification n WHERE n.status = :status AND n.retryCount < :maxRetries " +
-            "AND n.channel <> com.strataguard.core.enums.NotificationChannel.IN_APP AND n.deleted = false")
-    List<Notification> findPendingForRetry(@Param("status") NotificationStatus status,
-                                           @Param("maxRetries") int maxRetries);
+    // For retry scheduler - cross-tenant. Rows locked by another node's claim are skipped, not waited on.
+    // createdSince bounds the scan to the recent creation-month partitions.
+    @Query(value = "SELECT * FROM notifications WHERE status IN ('PENDING', 'SENDING') " +
+            "AND next_attempt_at <= :now AND created_at >= :createdSince AND is_deleted = FALSE " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> claimDueForRetry(@Param("now") Instant now,
+                                        @Param("createdSince") Instant createdSince,
+                                        @Param("limit") int limit);
 
     @Query("SELECT n FROM Notification n WHERE n.id = :id AND n.recipientId = :recipientId " +
             "AND n.tenantId = :tenantId AND n.deleted = false")
@@ -0,0 +1,54 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.NotificationUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationUnreadCounterRepository extends JpaRepository<NotificationUnreadCounter, UUID> {
+
+    @Query("SELECT c.unreadCount FROM NotificationUnreadCounter c WHERE c.residentId = :residentId " +
+            "AND c.tenantId = :tenantId AND c.deleted = false")
+    Optional<Long> findUnreadCount(@Param("residentId") UUID residentId, @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT c FROM NotificationUnreadCounter c WHERE c.residentId IN :residentIds " +
+            "AND c.tenantId = :tenantId AND c.deleted = false")
+    List<NotificationUnreadCounter> findByResidentIdsAndTenantId(@Param("residentIds") Collection<UUID> residentIds,
+                                                                 @Param("tenantId") UUID tenantId);
+
+    // Atomic upsert; the row lock serializes concurrent adjustments for the same resident
+    @Modifying
+    @Query(value = "INSERT INTO notification_unread_counters (tenant_id, resident_id, unread_count) " +
+            "VALUES (:tenantId, :residentId, GREATEST(:delta, 0)) " +
+            "ON CONFLICT (tenant_id, resident_id) DO UPDATE " +
+            "SET unread_count = GREATEST(notification_unread_counters.unread_count + :delta, 0), " +
+            "updated_at = NOW()", nativeQuery = true)
+    int adjustUnreadCount(@Param("residentId") UUID residentId,
+                          @Param("tenantId") UUID tenantId,
+                          @Param("delta") long delta);
+
+    // Rows are locked in resident id order so concurrent broadcasts cannot deadlock each other
+    @Modifying
+    @Query(value = "INSERT INTO notification_unread_counters (tenant_id, resident_id, unread_count) " +
+            "SELECT :tenantId, r.id, :delta FROM residents r " +
+            "WHERE r.id IN (:residentIds) AND r.tenant_id = :tenantId ORDER BY r.id " +
+            "ON CONFLICT (tenant_id, resident_id) DO UPDATE " +
+            "SET unread_count = notification_unread_counters.unread_count + :delta, " +
+            "updated_at = NOW()", nativeQuery = true)
+    int incrementUnreadCounts(@Param("residentIds") Collection<UUID> residentIds,
+                              @Param("tenantId") UUID tenantId,
+                              @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE NotificationUnreadCounter c SET c.unreadCount = 0 WHERE c.residentId = :residentId " +
+            "AND c.tenantId = :tenantId AND c.deleted = false")
+    int resetUnreadCount(@Param("residentId") UUID residentId, @Param("tenantId") UUID tenantId);
+}
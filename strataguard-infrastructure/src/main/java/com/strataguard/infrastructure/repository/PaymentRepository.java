@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,4 +34,12 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.tenantId = :tenantId AND p.deleted = false")
     long countByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids AND p.tenantId = :tenantId AND p.deleted = false")
+    List<Payment> findAllByIdsAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.tenantId = :tenantId AND p.deleted = false " +
+            "AND p.status = 'SUCCESS' AND p.paidAt >= :from AND p.paidAt < :to ORDER BY p.paidAt, p.id")
+    List<UUID> findSuccessfulIdsByPaidAtBetween(@Param("tenantId") UUID tenantId, @Param("from") Instant from,
+                                                @Param("to") Instant to);
 }
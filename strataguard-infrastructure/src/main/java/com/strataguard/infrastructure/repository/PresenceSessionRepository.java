@@ -0,0 +1,51 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.PresenceSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/** Presence spans all tenants; user ids are unique across the identity provider. */
+@Repository
+public interface PresenceSessionRepository extends JpaRepository<PresenceSession, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO presence_sessions (session_id, user_id, tenant_id, node_id, connected_at, expires_at) " +
+            "VALUES (:sessionId, :userId, :tenantId, :nodeId, :connectedAt, :expiresAt) " +
+            "ON CONFLICT (session_id) DO UPDATE SET node_id = EXCLUDED.node_id, expires_at = EXCLUDED.expires_at",
+            nativeQuery = true)
+    void upsert(@Param("sessionId") String sessionId,
+                @Param("userId") String userId,
+                @Param("tenantId") UUID tenantId,
+                @Param("nodeId") String nodeId,
+                @Param("connectedAt") Instant connectedAt,
+                @Param("expiresAt") Instant expiresAt);
+
+    /** Heartbeat for every session of a node in one statement; returns the sessions still present. */
+    @Modifying
+    @Query("UPDATE PresenceSession p SET p.expiresAt = :expiresAt WHERE p.nodeId = :nodeId")
+    int refreshNode(@Param("nodeId") String nodeId, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM PresenceSession p WHERE p.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") String sessionId);
+
+    @Query("SELECT DISTINCT p.userId FROM PresenceSession p WHERE p.userId IN :userIds AND p.expiresAt > :now")
+    Set<String> findOnlineUserIds(@Param("userIds") Collection<String> userIds, @Param("now") Instant now);
+
+    @Query("SELECT p FROM PresenceSession p WHERE p.expiresAt <= :now")
+    List<PresenceSession> findExpired(@Param("now") Instant now);
+
+    /** Re-checks expiry, so a session refreshed since {@link #findExpired} is kept. */
+    @Modifying
+    @Query("DELETE FROM PresenceSession p WHERE p.sessionId IN :sessionIds AND p.expiresAt <= :now")
+    int deleteExpired(@Param("sessionIds") Collection<String> sessionIds, @Param("now") Instant now);
+}
@@ -0,0 +1,36 @@
+package com.strataguard.infrastructure.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection for one (estate, unit, charge) group of the receivables aging query.
+ * Bucket amounts are outstanding balances (total - paid) keyed on days past due; invoices not yet
+ * due are counted as current.
+ */
+public interface ReceivablesAgingRow {
+
+    UUID getEstateId();
+
+    UUID getUnitId();
+
+    String getUnitNumber();
+
+    String getChargeType();
+
+    UUID getChargeId();
+
+    String getChargeName();
+
+    long getInvoiceCount();
+
+    BigDecimal getNotYetDue();
+
+    BigDecimal getDays0To30();
+
+    BigDecimal getDays31To60();
+
+    BigDecimal getDays61To90();
+
+    BigDecimal getOver90Days();
+}
@@ -0,0 +1,44 @@
+package com.strataguard.infrastructure.repository;
+
+import com.strataguard.core.entity.RenderedDocument;
+import com.strataguard.core.enums.DocumentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RenderedDocumentRepository extends JpaRepository<RenderedDocument, UUID> {
+
+    @Query("SELECT d FROM RenderedDocument d WHERE d.documentType = :documentType AND d.sourceId IN :sourceIds " +
+            "AND d.tenantId = :tenantId AND d.deleted = false")
+    List<RenderedDocument> findBySourceIds(@Param("documentType") DocumentType documentType,
+                                           @Param("sourceIds") Collection<UUID> sourceIds,
+                                           @Param("tenantId") UUID tenantId);
+
+    // Concurrent renders of the same document race to this row; the loser keeps the winner's
+    // row, or updates it only when its render differs, instead of failing on the unique index
+    @Modifying
+    @Query(value = "INSERT INTO rendered_documents (tenant_id, document_type, source_id, fingerprint, " +
+            "content_hash, size_bytes, rendered_at) " +
+            "VALUES (:tenantId, :documentType, :sourceId, :fingerprint, :contentHash, :sizeBytes, :renderedAt) " +
+            "ON CONFLICT (document_type, source_id, tenant_id) WHERE is_deleted = FALSE DO UPDATE " +
+            "SET fingerprint = EXCLUDED.fingerprint, content_hash = EXCLUDED.content_hash, " +
+            "size_bytes = EXCLUDED.size_bytes, rendered_at = EXCLUDED.rendered_at, updated_at = NOW(), " +
+            "version = rendered_documents.version + 1 " +
+            "WHERE rendered_documents.fingerprint <> EXCLUDED.fingerprint " +
+            "OR rendered_documents.content_hash <> EXCLUDED.content_hash", nativeQuery = true)
+    int upsert(@Param("tenantId") UUID tenantId,
+               @Param("documentType") String documentType,
+               @Param("sourceId") UUID sourceId,
+               @Param("fingerprint") String fingerprint,
+               @Param("contentHash") String contentHash,
+               @Param("sizeBytes") long sizeBytes,
+               @Param("renderedAt") Instant renderedAt);
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +22,9 @@ public interface ResidentRepository extends JpaRepository<Resident, UUID> {
     @Query("SELECT r FROM Resident r WHERE r.id = :id AND r.tenantId = :tenantId AND r.deleted = false")
     Optional<Resident> findByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
 
+    @Query("SELECT r FROM Resident r WHERE r.id IN :ids AND r.tenantId = :tenantId AND r.deleted = false")
+    List<Resident> findAllByIdsAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+
     @Query("SELECT r FROM Resident r WHERE r.userId = :userId AND r.tenantId = :tenantId AND r.deleted = false")
     Optional<Resident> findByUserIdAndTenantId(@Param("userId") String userId, @Param("tenantId") UUID tenantId);
 
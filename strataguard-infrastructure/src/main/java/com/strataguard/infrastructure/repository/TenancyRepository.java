@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -44,6 +45,17 @@ public interface TenancyRepository extends JpaRepository<Tenancy, UUID> {
     List<Tenancy> findActiveByUnitIdAndTenantId(@Param("unitId") UUID unitId,
                                                  @Param("tenantId") UUID tenantId);
 
+    @Query("SELECT t FROM Tenancy t WHERE t.unitId IN :unitIds AND t.tenantId = :tenantId " +
+            "AND t.status = 'ACTIVE' AND t.deleted = false")
+    List<Tenancy> findActiveByUnitIdsAndTenantId(@Param("unitIds") Collection<UUID> unitIds,
+                                                  @Param("tenantId") UUID tenantId);
+
+    @Query("SELECT DISTINCT t.residentId FROM Tenancy t JOIN Unit u ON t.unitId = u.id " +
+            "WHERE u.estateId = :estateId AND u.deleted = false AND t.status = 'ACTIVE' " +
+            "AND t.tenantId = :tenantId AND t.deleted = false")
+    List<UUID> findActiveResidentIdsByEstateId(@Param("estateId") UUID estateId,
+                                               @Param("tenantId") UUID tenantId);
+
     @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM Tenancy t " +
             "WHERE t.unitId = :unitId AND t.tenancyType = :tenancyType AND t.status = 'ACTIVE' " +
             "AND t.tenantId = :tenantId AND t.deleted = false")
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +32,9 @@ public interface ViolationRepository extends JpaRepository<Violation, UUID> {
     @Query("SELECT v FROM Violation v WHERE v.status = :status AND v.tenantId = :tenantId AND v.deleted = false ORDER BY v.createdAt DESC")
     Page<Violation> findByStatusAndTenantId(@Param("status") ViolationStatus status, @Param("tenantId") UUID tenantId, Pageable pageable);
 
+    @Query("SELECT v FROM Violation v WHERE v.id IN :ids AND v.tenantId = :tenantId AND v.deleted = false")
+    List<Violation> findAllByIdsAndTenantId(@Param("ids") Collection<UUID> ids, @Param("tenantId") UUID tenantId);
+
     @Query("SELECT COUNT(v) FROM Violation v WHERE v.tenantId = :tenantId AND v.deleted = false")
     long countByTenantId(@Param("tenantId") UUID tenantId);
 
@@ -0,0 +1,7 @@
+-- V18: Covering index for the receivables aging report
+-- Only outstanding invoices are indexed, so the aging pass never touches settled history.
+
+CREATE INDEX idx_charge_invoices_aging
+    ON charge_invoices(tenant_id, due_date)
+    INCLUDE (unit_id, charge_type, charge_id, total_amount, paid_amount)
+    WHERE is_deleted = FALSE AND active = TRUE AND status IN ('PENDING', 'PARTIAL', 'OVERDUE');
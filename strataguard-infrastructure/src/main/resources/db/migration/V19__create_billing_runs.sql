@@ -0,0 +1,33 @@
+-- V19: Recurring billing - charge anchor dates and per-cycle run checkpoints
+
+ALTER TABLE estate_charges ADD COLUMN billing_anchor_date DATE;
+ALTER TABLE estate_charges ADD COLUMN payment_due_days INTEGER;
+
+CREATE INDEX idx_estate_charges_billing_anchor
+    ON estate_charges(billing_anchor_date) WHERE is_deleted = FALSE AND active = TRUE AND billing_anchor_date IS NOT NULL;
+
+CREATE TABLE billing_runs (
+    id                UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    tenant_id         UUID NOT NULL,
+    charge_id         UUID NOT NULL REFERENCES estate_charges(id),
+    estate_id         UUID NOT NULL REFERENCES estates(id),
+    period_start      DATE NOT NULL,
+    period_end        DATE NOT NULL,
+    due_date          DATE NOT NULL,
+    status            VARCHAR(20) NOT NULL,
+    invoices_created  INTEGER NOT NULL DEFAULT 0,
+    attempts          INTEGER NOT NULL DEFAULT 0,
+    completed_at      TIMESTAMPTZ,
+    last_error        TEXT,
+    is_deleted        BOOLEAN NOT NULL DEFAULT FALSE,
+    version           BIGINT NOT NULL DEFAULT 0,
+    created_at        TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at        TIMESTAMPTZ,
+    created_by        VARCHAR(255),
+    updated_by        VARCHAR(255)
+);
+
+CREATE INDEX idx_billing_runs_tenant_id ON billing_runs(tenant_id);
+CREATE INDEX idx_billing_runs_charge_id ON billing_runs(charge_id);
+CREATE UNIQUE INDEX idx_billing_runs_charge_period
+    ON billing_runs(charge_id, period_start, tenant_id) WHERE is_deleted = FALSE;
@@ -0,0 +1,23 @@
+-- V20: Rendered invoice/receipt PDFs (content-addressed file store index)
+
+CREATE TABLE rendered_documents (
+    id              UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    tenant_id       UUID NOT NULL,
+    document_type   VARCHAR(20) NOT NULL,
+    source_id       UUID NOT NULL,
+    fingerprint     VARCHAR(64) NOT NULL,
+    content_hash    VARCHAR(64) NOT NULL,
+    size_bytes      BIGINT NOT NULL,
+    rendered_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    is_deleted      BOOLEAN NOT NULL DEFAULT FALSE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255)
+);
+
+CREATE INDEX idx_rendered_documents_tenant_id ON rendered_documents(tenant_id);
+CREATE INDEX idx_rendered_documents_source ON rendered_documents(document_type, source_id);
+CREATE UNIQUE INDEX idx_rendered_documents_unique
+    ON rendered_documents(document_type, source_id, tenant_id) WHERE is_deleted = FALSE;
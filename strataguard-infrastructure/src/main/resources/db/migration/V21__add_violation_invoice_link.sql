@@ -0,0 +1,9 @@
+-- V21: Consolidated violation fines - link fined violations to their per-unit fine invoice
+
+ALTER TABLE violations ADD COLUMN invoice_id UUID REFERENCES charge_invoices(id);
+
+CREATE INDEX idx_violation_invoice_id ON violations(invoice_id) WHERE invoice_id IS NOT NULL;
+
+CREATE INDEX idx_charge_invoices_open_fines
+    ON charge_invoices(tenant_id, unit_id, billing_period_start)
+    WHERE is_deleted = FALSE AND charge_type = 'VIOLATION_FINE' AND status IN ('PENDING', 'PARTIAL');
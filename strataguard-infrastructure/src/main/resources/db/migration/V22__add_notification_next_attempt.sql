@@ -0,0 +1,11 @@
+-- V22: Notification retry scheduling - next attempt time claimed with SKIP LOCKED
+
+ALTER TABLE notifications ADD COLUMN next_attempt_at TIMESTAMPTZ;
+
+-- Existing undelivered rows become due immediately
+UPDATE notifications SET next_attempt_at = NOW()
+WHERE status IN ('PENDING', 'SENDING') AND channel <> 'IN_APP' AND is_deleted = FALSE;
+
+CREATE INDEX idx_notifications_next_attempt
+    ON notifications(next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING') AND is_deleted = FALSE;
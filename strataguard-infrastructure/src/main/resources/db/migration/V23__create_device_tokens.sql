@@ -0,0 +1,21 @@
+-- V23: Push device token registry
+
+CREATE TABLE device_tokens (
+    id              UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    tenant_id       UUID NOT NULL,
+    resident_id     UUID NOT NULL REFERENCES residents(id),
+    token           VARCHAR(512) NOT NULL,
+    platform        VARCHAR(20) NOT NULL,
+    last_seen_at    TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    is_deleted      BOOLEAN NOT NULL DEFAULT FALSE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255)
+);
+
+CREATE INDEX idx_device_tokens_tenant_id ON device_tokens(tenant_id);
+CREATE INDEX idx_device_tokens_resident ON device_tokens(resident_id, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_device_tokens_token ON device_tokens(token) WHERE is_deleted = FALSE;
+CREATE UNIQUE INDEX idx_device_tokens_unique ON device_tokens(token, tenant_id) WHERE is_deleted = FALSE;
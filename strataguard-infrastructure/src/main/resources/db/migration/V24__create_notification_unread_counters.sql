@@ -0,0 +1,22 @@
+-- V24: Materialized per-recipient unread IN_APP notification counters
+
+CREATE TABLE notification_unread_counters (
+    id              UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    tenant_id       UUID NOT NULL,
+    resident_id     UUID NOT NULL REFERENCES residents(id),
+    unread_count    BIGINT NOT NULL DEFAULT 0,
+    is_deleted      BOOLEAN NOT NULL DEFAULT FALSE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    CONSTRAINT uq_notification_unread_counters_resident UNIQUE (tenant_id, resident_id)
+);
+
+-- Seed from the existing unread notifications so badges stay correct across the upgrade
+INSERT INTO notification_unread_counters (tenant_id, resident_id, unread_count)
+SELECT tenant_id, recipient_id, COUNT(*)
+FROM notifications
+WHERE channel = 'IN_APP' AND status = 'DELIVERED' AND is_deleted = FALSE
+GROUP BY tenant_id, recipient_id;
@@ -0,0 +1,5 @@
+-- V25: In-app inbox ordering index for the notification list and reconnect catch-up
+
+CREATE INDEX idx_notifications_inbox
+    ON notifications(recipient_id, tenant_id, created_at, id)
+    WHERE channel = 'IN_APP' AND is_deleted = FALSE;
@@ -0,0 +1,108 @@
+-- V26: Monthly notification partitions keyed by expiry, so retention is enforced by dropping
+-- whole partitions instead of DELETEs. expires_at = created_at + the type's retention period,
+-- which lets each type keep its own retention while every partition still expires at once.
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+
+CREATE TABLE notifications (
+    id              UUID NOT NULL DEFAULT uuid_generate_v4(),
+    tenant_id       UUID NOT NULL,
+    recipient_id    UUID NOT NULL REFERENCES residents(id),
+    channel         VARCHAR(50) NOT NULL,
+    type            VARCHAR(50) NOT NULL,
+    title           VARCHAR(500) NOT NULL,
+    body            TEXT NOT NULL,
+    status          VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    metadata        JSONB,
+    retry_count     INT NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    next_attempt_at TIMESTAMPTZ,
+    sent_at         TIMESTAMPTZ,
+    read_at         TIMESTAMPTZ,
+    expires_at      TIMESTAMPTZ NOT NULL,
+    is_deleted      BOOLEAN NOT NULL DEFAULT FALSE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+-- Creates notifications_pYYYYMM holding rows that expire during that UTC month
+CREATE OR REPLACE FUNCTION create_notification_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := 'notifications_p' || to_char(month_start, 'YYYYMM');
+    range_start    TIMESTAMP := date_trunc('month', month_start::TIMESTAMP);
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                   partition_name,
+                   range_start AT TIME ZONE 'UTC',
+                   (range_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches and drops one partition, returning its row count. Unread IN_APP rows leave the inbox
+-- with it, so they are taken off the materialized unread counters first.
+CREATE OR REPLACE FUNCTION drop_notification_partition(partition_name TEXT) RETURNS BIGINT AS $$
+DECLARE
+    dropped BIGINT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                   WHERE i.inhparent = 'notifications'::regclass AND c.relname = partition_name) THEN
+        RETURN 0;
+    END IF;
+    EXECUTE format('WITH unread AS (SELECT tenant_id, recipient_id, COUNT(*) AS n FROM %I '
+                   'WHERE channel = ''IN_APP'' AND status = ''DELIVERED'' AND is_deleted = FALSE '
+                   'GROUP BY tenant_id, recipient_id) '
+                   'UPDATE notification_unread_counters c SET unread_count = GREATEST(c.unread_count - u.n, 0), '
+                   'updated_at = NOW() FROM unread u '
+                   'WHERE c.tenant_id = u.tenant_id AND c.resident_id = u.recipient_id', partition_name);
+    EXECUTE format('SELECT COUNT(*) FROM %I', partition_name) INTO dropped;
+    EXECUTE format('ALTER TABLE notifications DETACH PARTITION %I', partition_name);
+    EXECUTE format('DROP TABLE %I', partition_name);
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Existing rows get the default 12-month retention; per-type retention applies to new rows
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := date_trunc('month', NOW() + INTERVAL '14 months')::DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(MIN(created_at) + INTERVAL '12 months', NOW()))::DATE
+    INTO month_start FROM notifications_unpartitioned;
+    WHILE month_start <= last_month LOOP
+        PERFORM create_notification_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO notifications (id, tenant_id, recipient_id, channel, type, title, body, status, metadata,
+                           retry_count, last_error, next_attempt_at, sent_at, read_at, expires_at,
+                           is_deleted, version, created_at, updated_at, created_by, updated_by)
+SELECT id, tenant_id, recipient_id, channel, type, title, body, status, metadata,
+       retry_count, last_error, next_attempt_at, sent_at, read_at, created_at + INTERVAL '12 months',
+       is_deleted, version, created_at, updated_at, created_by, updated_by
+FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+-- Indexes on the parent are created on every current and future partition
+CREATE INDEX idx_notifications_tenant_id ON notifications(tenant_id);
+CREATE INDEX idx_notifications_recipient ON notifications(recipient_id, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_status ON notifications(status, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_recipient_status ON notifications(recipient_id, status, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_next_attempt
+    ON notifications(next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING') AND is_deleted = FALSE;
+CREATE INDEX idx_notifications_inbox
+    ON notifications(recipient_id, tenant_id, created_at, id)
+    WHERE channel = 'IN_APP' AND is_deleted = FALSE;
@@ -0,0 +1,5 @@
+-- V27: Per-conversation message ordering index for unread counts and message history
+
+CREATE INDEX idx_chat_message_conversation_created
+    ON chat_messages(conversation_id, created_at, id)
+    WHERE is_deleted = FALSE;
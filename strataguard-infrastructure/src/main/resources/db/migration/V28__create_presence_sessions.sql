@@ -0,0 +1,14 @@
+-- V28: Cluster-wide WebSocket presence, one row per open session refreshed by its node's heartbeat
+
+CREATE TABLE presence_sessions (
+    session_id      VARCHAR(255) PRIMARY KEY,
+    user_id         VARCHAR(255) NOT NULL,
+    tenant_id       UUID,
+    node_id         VARCHAR(64) NOT NULL,
+    connected_at    TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    expires_at      TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_presence_sessions_user ON presence_sessions(user_id, expires_at);
+CREATE INDEX idx_presence_sessions_node ON presence_sessions(node_id);
+CREATE INDEX idx_presence_sessions_expires_at ON presence_sessions(expires_at);
@@ -0,0 +1,5 @@
+-- V29: A resident's participant rows, driving the keyset-paged conversation list join
+
+CREATE INDEX idx_chat_participant_resident_tenant
+    ON chat_participants(resident_id, tenant_id, conversation_id)
+    WHERE is_deleted = FALSE;
@@ -0,0 +1,10 @@
+-- V30: Full-text search over chat messages. The 'simple' configuration lowercases words without
+-- language-specific stemming or stop words, since residents write in several languages.
+
+ALTER TABLE chat_messages
+    ADD COLUMN search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', content)) STORED;
+
+CREATE INDEX idx_chat_message_search
+    ON chat_messages USING GIN (search_vector)
+    WHERE is_deleted = FALSE;
@@ -0,0 +1,89 @@
+-- V31: Re-key the monthly notification partitions on created_at. The inbox, catch-up and retry
+-- queries all filter or order on created_at, so they prune to the recent partitions and walk
+-- them in order; keyed on expires_at every one of them touched every partition. expires_at is
+-- kept, and a partition is dropped once every row in it has expired.
+
+ALTER TABLE notifications RENAME TO notifications_by_expiry;
+ALTER TABLE notifications_by_expiry RENAME CONSTRAINT notifications_pkey TO notifications_by_expiry_pkey;
+
+DO $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                          WHERE i.inhparent = 'notifications_by_expiry'::regclass LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name,
+                       'notifications_by_expiry_' || substring(partition_name FROM length('notifications_p') + 1));
+    END LOOP;
+END;
+$$;
+
+ALTER INDEX idx_notifications_tenant_id RENAME TO idx_notifications_by_expiry_tenant_id;
+ALTER INDEX idx_notifications_recipient RENAME TO idx_notifications_by_expiry_recipient;
+ALTER INDEX idx_notifications_status RENAME TO idx_notifications_by_expiry_status;
+ALTER INDEX idx_notifications_recipient_status RENAME TO idx_notifications_by_expiry_recipient_status;
+ALTER INDEX idx_notifications_next_attempt RENAME TO idx_notifications_by_expiry_next_attempt;
+ALTER INDEX idx_notifications_inbox RENAME TO idx_notifications_by_expiry_inbox;
+
+CREATE TABLE notifications (
+    id              UUID NOT NULL DEFAULT uuid_generate_v4(),
+    tenant_id       UUID NOT NULL,
+    recipient_id    UUID NOT NULL REFERENCES residents(id),
+    channel         VARCHAR(50) NOT NULL,
+    type            VARCHAR(50) NOT NULL,
+    title           VARCHAR(500) NOT NULL,
+    body            TEXT NOT NULL,
+    status          VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    metadata        JSONB,
+    retry_count     INT NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    next_attempt_at TIMESTAMPTZ,
+    sent_at         TIMESTAMPTZ,
+    read_at         TIMESTAMPTZ,
+    expires_at      TIMESTAMPTZ NOT NULL,
+    is_deleted      BOOLEAN NOT NULL DEFAULT FALSE,
+    version         BIGINT NOT NULL DEFAULT 0,
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMPTZ,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- create_notification_partition and drop_notification_partition from V26 only name the parent,
+-- so they now create and drop creation-month partitions. The current and next month are always
+-- created, even on an empty table, so inserts never fail before the retention job first runs.
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := date_trunc('month', NOW() + INTERVAL '1 month')::DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(COALESCE(MIN(created_at), NOW()), NOW()))::DATE
+    INTO month_start FROM notifications_by_expiry;
+    WHILE month_start <= last_month LOOP
+        PERFORM create_notification_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO notifications (id, tenant_id, recipient_id, channel, type, title, body, status, metadata,
+                           retry_count, last_error, next_attempt_at, sent_at, read_at, expires_at,
+                           is_deleted, version, created_at, updated_at, created_by, updated_by)
+SELECT id, tenant_id, recipient_id, channel, type, title, body, status, metadata,
+       retry_count, last_error, next_attempt_at, sent_at, read_at, expires_at,
+       is_deleted, version, created_at, updated_at, created_by, updated_by
+FROM notifications_by_expiry;
+
+DROP TABLE notifications_by_expiry;
+
+CREATE INDEX idx_notifications_tenant_id ON notifications(tenant_id);
+CREATE INDEX idx_notifications_recipient ON notifications(recipient_id, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_status ON notifications(status, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_recipient_status ON notifications(recipient_id, status, tenant_id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_notifications_next_attempt
+    ON notifications(next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING') AND is_deleted = FALSE;
+CREATE INDEX idx_notifications_inbox
+    ON notifications(recipient_id, tenant_id, created_at, id)
+    WHERE channel = 'IN_APP' AND is_deleted = FALSE;
@@ -0,0 +1,8 @@
+-- V32: Client-chosen id per sent message, so a send whose outcome the server could not report
+-- can be retried without saving the message twice.
+
+ALTER TABLE chat_messages ADD COLUMN client_message_id UUID;
+
+CREATE UNIQUE INDEX uq_chat_messages_client_message_id
+    ON chat_messages(tenant_id, sender_id, client_message_id)
+    WHERE client_message_id IS NOT NULL;
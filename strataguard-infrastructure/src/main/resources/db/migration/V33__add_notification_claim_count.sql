@@ -0,0 +1,4 @@
+-- V33: How many times the retry scheduler has claimed each notification. A claimed row was
+-- abandoned by whoever held it before, so it is delivered on its own and never coalesced again.
+
+ALTER TABLE notifications ADD COLUMN claim_count INT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- V34: Violation fine invoices are not billed against an estate or tenant charge, so they carry no
+-- charge_id. They were written with the unit id in that column; clear it. Each fined violation
+-- already points at its consolidated invoice through violations.invoice_id (V21).
+
+ALTER TABLE charge_invoices ALTER COLUMN charge_id DROP NOT NULL;
+
+UPDATE charge_invoices SET charge_id = NULL WHERE charge_type = 'VIOLATION_FINE';
+
+ALTER TABLE charge_invoices ADD CONSTRAINT chk_charge_invoices_charge_id
+    CHECK (charge_id IS NOT NULL OR charge_type = 'VIOLATION_FINE');
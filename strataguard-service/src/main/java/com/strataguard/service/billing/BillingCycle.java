@@ -0,0 +1,65 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.core.enums.LevyFrequency;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One billing period of a recurring charge. Periods are laid out from the charge's anchor date in
+ * steps of its frequency; each step is computed from the anchor so month-end anchors do not drift.
+ */
+public record BillingCycle(LocalDate periodStart, LocalDate periodEnd) {
+
+    public static Optional<BillingCycle> containing(LevyFrequency frequency, LocalDate anchor, LocalDate asOf) {
+        if (frequency == null || anchor == null || asOf.isBefore(anchor)) {
+            return Optional.empty();
+        }
+        if (frequency == LevyFrequency.ONE_TIME) {
+            return Optional.of(new BillingCycle(anchor, anchor));
+        }
+
+        int step = switch (frequency) {
+            case MONTHLY -> 1;
+            case QUARTERLY -> 3;
+            case ANNUALLY -> 12;
+            default -> throw new IllegalArgumentException("Unsupported frequency: " + frequency);
+        };
+
+        long index = ChronoUnit.MONTHS.between(anchor, asOf) / step;
+        while (!anchor.plusMonths((index + 1) * step).isAfter(asOf)) {
+            index++;
+        }
+        while (anchor.plusMonths(index * step).isAfter(asOf)) {
+            index--;
+        }
+        return Optional.of(new BillingCycle(
+                anchor.plusMonths(index * step),
+                anchor.plusMonths((index + 1) * step).minusDays(1)));
+    }
+
+    /**
+     * Cycles that started after {@code lastBilled} (or since the anchor when null), up to and
+     * including the one containing {@code asOf}, oldest first. At most the latest {@code maxCycles}
+     * are returned.
+     */
+    public static List<BillingCycle> since(LevyFrequency frequency, LocalDate anchor, LocalDate lastBilled,
+                                           LocalDate asOf, int maxCycles) {
+        List<BillingCycle> cycles = new ArrayList<>();
+        Optional<BillingCycle> cycle = containing(frequency, anchor, asOf);
+        while (cycle.isPresent() && cycles.size() < maxCycles
+                && (lastBilled == null || cycle.get().periodStart().isAfter(lastBilled))) {
+            cycles.add(cycle.get());
+            if (frequency == LevyFrequency.ONE_TIME) {
+                break;
+            }
+            cycle = containing(frequency, anchor, cycle.get().periodStart().minusDays(1));
+        }
+        Collections.reverse(cycles);
+        return cycles;
+    }
+}
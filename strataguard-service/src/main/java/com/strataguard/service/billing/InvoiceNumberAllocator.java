@@ -0,0 +1,49 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands out a tenant's monthly invoice numbers, {@code <series>-yyyyMM-nnnnnn}, continuing from the
+ * invoices already numbered in the month. The count is taken under a transaction-scoped lock on the
+ * tenant and prefix, so a concurrent run waits for the earlier one to commit and numbers after its
+ * invoices instead of reusing them. Callers must save each invoice before asking for the next number.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class InvoiceNumberAllocator {
+
+    public static final String CHARGE_SERIES = "INV";
+    public static final String UTILITY_SERIES = "UTL";
+    public static final String SHARED_COST_SERIES = "SHR";
+
+    private final ChargeInvoiceRepository invoiceRepository;
+
+    public String next(UUID tenantId, String series) {
+        return reserve(tenantId, series, 1).get(0);
+    }
+
+    public List<String> reserve(UUID tenantId, String series, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        YearMonth yearMonth = YearMonth.now();
+        String prefix = String.format("%s-%d%02d-", series, yearMonth.getYear(), yearMonth.getMonthValue());
+        invoiceRepository.lockInvoiceNumbers(tenantId, prefix);
+        long existing = invoiceRepository.countByInvoiceNumberPrefix(tenantId, prefix + "%");
+        List<String> numbers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            numbers.add(String.format("%s%06d", prefix, existing + i));
+        }
+        return numbers;
+    }
+}
@@ -12,6 +12,7 @@ import com.strataguard.core.enums.InvoiceStatus;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.ChargeInvoiceMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.reporting.ReceivablesAgingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,7 +24,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +36,7 @@ import java.util.UUID;
 public class InvoiceService {
 
     private final ChargeInvoiceRepository invoiceRepository;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
     private final EstateChargeRepository estateChargeRepository;
     private final TenantChargeRepository tenantChargeRepository;
     private final EstateChargeExclusionRepository exclusionRepository;
@@ -43,6 +44,7 @@ public class InvoiceService {
     private final ResidentRepository residentRepository;
     private final TenancyRepository tenancyRepository;
     private final ChargeInvoiceMapper invoiceMapper;
+    private final ReceivablesAgingService receivablesAgingService;
 
     @Value("${billing.penalty.rate-per-month:0.05}")
     private double penaltyRatePerMonth;
@@ -61,7 +63,7 @@ public class InvoiceService {
 
         ChargeInvoice invoice = new ChargeInvoice();
         invoice.setTenantId(tenantId);
-        invoice.setInvoiceNumber(generateInvoiceNumber(tenantId));
+        invoice.setInvoiceNumber(invoiceNumberAllocator.next(tenantId, InvoiceNumberAllocator.CHARGE_SERIES));
         invoice.setChargeType(request.getChargeType());
         invoice.setChargeId(request.getChargeId());
         invoice.setUnitId(request.getUnitId());
@@ -75,6 +77,7 @@ public class InvoiceService {
         invoice.setNotes(request.getNotes());
 
         ChargeInvoice saved = invoiceRepository.save(invoice);
+        receivablesAgingService.evict(tenantId);
         log.info("Created invoice: {} for unit: {} tenant: {}", saved.getInvoiceNumber(), request.getUnitId(), tenantId);
         return enrichResponse(saved);
     }
@@ -121,7 +124,7 @@ public class InvoiceService {
 
             ChargeInvoice invoice = new ChargeInvoice();
             invoice.setTenantId(tenantId);
-            invoice.setInvoiceNumber(generateInvoiceNumber(tenantId));
+            invoice.setInvoiceNumber(invoiceNumberAllocator.next(tenantId, InvoiceNumberAllocator.CHARGE_SERIES));
             invoice.setChargeType(chargeType);
             invoice.setChargeId(request.getChargeId());
             invoice.setUnitId(unit.getId());
@@ -139,6 +142,9 @@ public class InvoiceService {
             createdInvoices.add(enrichResponse(saved));
         }
 
+        if (!createdInvoices.isEmpty()) {
+            receivablesAgingService.evict(tenantId);
+        }
         log.info("Bulk generated {} invoices for estate: {} charge: {} tenant: {}",
                 createdInvoices.size(), request.getEstateId(), request.getChargeId(), tenantId);
         return createdInvoices;
@@ -212,6 +218,7 @@ public class InvoiceService {
         invoice.setStatus(InvoiceStatus.CANCELLED);
         invoice.setActive(false);
         ChargeInvoice saved = invoiceRepository.save(invoice);
+        receivablesAgingService.evict(tenantId);
         log.info("Cancelled invoice: {} for tenant: {}", id, tenantId);
         return enrichResponse(saved);
     }
@@ -241,6 +248,9 @@ public class InvoiceService {
             updatedCount++;
         }
 
+        if (updatedCount > 0) {
+            receivablesAgingService.evict(tenantId);
+        }
         log.info("Applied penalties to {} overdue invoices for tenant: {}", updatedCount, tenantId);
         return updatedCount;
     }
@@ -250,6 +260,7 @@ public class InvoiceService {
         ChargeInvoice invoice = invoiceRepository.findByIdAndTenantId(invoiceId, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice", "id", invoiceId));
 
+        BigDecimal outstandingBefore = invoice.getTotalAmount().subtract(invoice.getPaidAmount()).max(BigDecimal.ZERO);
         BigDecimal newPaidAmount = invoice.getPaidAmount().add(paymentAmount);
         invoice.setPaidAmount(newPaidAmount);
 
@@ -260,6 +271,8 @@ public class InvoiceService {
         }
 
         invoiceRepository.save(invoice);
+        receivablesAgingService.recordPayment(invoice, paymentAmount.min(outstandingBefore),
+                newPaidAmount.compareTo(invoice.getTotalAmount()) >= 0);
         log.info("Updated invoice {} payment: paidAmount={}, status={}", invoiceId, newPaidAmount, invoice.getStatus());
     }
 
@@ -276,13 +289,6 @@ public class InvoiceService {
         throw new IllegalArgumentException("Unsupported charge type: " + chargeType);
     }
 
-    private String generateInvoiceNumber(UUID tenantId) {
-        YearMonth yearMonth = YearMonth.now();
-        String prefix = String.format("INV-%d%02d-", yearMonth.getYear(), yearMonth.getMonthValue());
-        long count = invoiceRepository.countByInvoiceNumberPrefix(tenantId, prefix + "%");
-        return String.format("%s%06d", prefix, count + 1);
-    }
-
     private InvoiceResponse enrichResponse(ChargeInvoice invoice) {
         InvoiceResponse response = invoiceMapper.toResponse(invoice);
 
@@ -293,6 +299,8 @@ public class InvoiceService {
         } else if (invoice.getChargeType() == ChargeType.TENANT_CHARGE) {
             tenantChargeRepository.findByIdAndTenantId(invoice.getChargeId(), invoice.getTenantId())
                     .ifPresent(c -> response.setChargeName(c.getName()));
+        } else if (invoice.getChargeType() == ChargeType.VIOLATION_FINE) {
+            response.setChargeName("Violation fines");
         } else {
             response.setChargeName("Utility");
         }
@@ -0,0 +1,112 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.EstateCharge;
+import com.strataguard.infrastructure.repository.EstateChargeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bills every estate charge that has a billing anchor date, from the cycle after the last one it
+ * was billed for up to the current one, so cycles missed while the scheduler was down are caught
+ * up (at most {@code billing.recurring.max-catch-up-cycles} per charge). Tenants are processed in
+ * parallel on the bounded billing executor; charges within a tenant run sequentially so invoice
+ * numbering stays contiguous. Completed cycles are checkpointed and skipped on re-run, and a
+ * charge's catch-up stops at its first failed cycle so cycles are always billed in order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecurringBillingScheduler {
+
+    private final EstateChargeRepository estateChargeRepository;
+    private final RecurringBillingService recurringBillingService;
+    private final Executor billingExecutor;
+
+    @Value("${billing.recurring.max-catch-up-cycles:12}")
+    private int maxCatchUpCycles = 12;
+
+    @Scheduled(cron = "${billing.recurring.cron:0 0 2 * * *}")
+    public void runRecurringBilling() {
+        LocalDate today = LocalDate.now();
+        Map<UUID, List<EstateCharge>> chargesByTenant = estateChargeRepository.findAllBillableAsOf(today).stream()
+                .collect(Collectors.groupingBy(EstateCharge::getTenantId, LinkedHashMap::new, Collectors.toList()));
+
+        log.info("Starting recurring billing for {} tenants", chargesByTenant.size());
+
+        AtomicInteger invoicesCreated = new AtomicInteger();
+        AtomicInteger failedCycles = new AtomicInteger();
+
+        CompletableFuture<?>[] tenantRuns = chargesByTenant.entrySet().stream()
+                .map(entry -> CompletableFuture.runAsync(
+                        () -> billTenant(entry.getKey(), entry.getValue(), today, invoicesCreated, failedCycles),
+                        billingExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tenantRuns).join();
+
+        log.info("Recurring billing complete: {} invoices created, {} cycles failed",
+                invoicesCreated.get(), failedCycles.get());
+    }
+
+    private void billTenant(UUID tenantId, List<EstateCharge> charges, LocalDate today,
+                            AtomicInteger invoicesCreated, AtomicInteger failedCycles) {
+        try {
+            TenantContext.setTenantId(tenantId);
+            for (EstateCharge charge : charges) {
+                billCharge(tenantId, charge, today, invoicesCreated, failedCycles);
+            }
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void billCharge(UUID tenantId, EstateCharge charge, LocalDate today,
+                            AtomicInteger invoicesCreated, AtomicInteger failedCycles) {
+        List<BillingCycle> cycles;
+        try {
+            LocalDate lastBilled = recurringBillingService.lastBilledPeriodStart(charge).orElse(null);
+            cycles = BillingCycle.since(charge.getFrequency(), charge.getBillingAnchorDate(), lastBilled,
+                    today, maxCatchUpCycles);
+        } catch (Exception e) {
+            failedCycles.incrementAndGet();
+            log.warn("Failed to find unbilled cycles for charge {} tenant {}: {}", charge.getId(), tenantId, e.getMessage());
+            return;
+        }
+        if (cycles.size() > 1) {
+            log.info("Catching up {} billing cycles for charge {} tenant {}", cycles.size(), charge.getId(), tenantId);
+        }
+
+        for (BillingCycle cycle : cycles) {
+            try {
+                invoicesCreated.addAndGet(recurringBillingService.billCycle(charge, cycle));
+            } catch (Exception e) {
+                failedCycles.incrementAndGet();
+                log.warn("Failed to bill cycle {} for charge {} tenant {}: {}",
+                        cycle.periodStart(), charge.getId(), tenantId, e.getMessage());
+                recordFailure(charge, cycle, e);
+                return;
+            }
+        }
+    }
+
+    private void recordFailure(EstateCharge charge, BillingCycle cycle, Exception cause) {
+        try {
+            recurringBillingService.recordFailure(charge, cycle, cause.getMessage());
+        } catch (Exception e) {
+            log.warn("Failed to record billing failure for charge {}: {}", charge.getId(), e.getMessage());
+        }
+    }
+}
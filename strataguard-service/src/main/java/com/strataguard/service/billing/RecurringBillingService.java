@@ -0,0 +1,108 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.billing.BulkInvoiceRequest;
+import com.strataguard.core.dto.billing.InvoiceResponse;
+import com.strataguard.core.entity.BillingRun;
+import com.strataguard.core.entity.EstateCharge;
+import com.strataguard.core.enums.BillingRunStatus;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.infrastructure.repository.BillingRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RecurringBillingService {
+
+    private final BillingRunRepository billingRunRepository;
+    private final InvoiceService invoiceService;
+
+    @Value("${billing.recurring.due-days:14}")
+    private int defaultDueDays;
+
+    /**
+     * Generate invoices for one cycle of an estate charge. The checkpoint is committed together with
+     * the invoices, so a cycle is either fully billed and marked COMPLETED or not billed at all.
+     *
+     * @return number of invoices created; 0 if the cycle was already completed
+     */
+    public int billCycle(EstateCharge charge, BillingCycle cycle) {
+        UUID tenantId = TenantContext.requireTenantId();
+
+        BillingRun run = billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(
+                charge.getId(), cycle.periodStart(), tenantId).orElse(null);
+        if (run != null && run.getStatus() == BillingRunStatus.COMPLETED) {
+            log.debug("Billing cycle {} for charge {} already completed", cycle.periodStart(), charge.getId());
+            return 0;
+        }
+        if (run == null) {
+            run = newRun(charge, cycle, tenantId);
+        }
+
+        List<InvoiceResponse> created = invoiceService.bulkGenerateInvoices(BulkInvoiceRequest.builder()
+                .chargeId(charge.getId())
+                .chargeType(ChargeType.ESTATE_CHARGE)
+                .estateId(charge.getEstateId())
+                .dueDate(run.getDueDate())
+                .billingPeriodStart(cycle.periodStart())
+                .billingPeriodEnd(cycle.periodEnd())
+                .build());
+
+        run.setAttempts(run.getAttempts() + 1);
+        run.setStatus(BillingRunStatus.COMPLETED);
+        run.setInvoicesCreated(created.size());
+        run.setCompletedAt(Instant.now());
+        run.setLastError(null);
+        billingRunRepository.save(run);
+
+        log.info("Billed cycle {} - {} for charge: {}: {} invoices, tenant: {}",
+                cycle.periodStart(), cycle.periodEnd(), charge.getId(), created.size(), tenantId);
+        return created.size();
+    }
+
+    /** Start of the latest cycle billed for the charge, if any. */
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> lastBilledPeriodStart(EstateCharge charge) {
+        return billingRunRepository.findLastCompletedPeriodStart(charge.getId(), TenantContext.requireTenantId());
+    }
+
+    public void recordFailure(EstateCharge charge, BillingCycle cycle, String error) {
+        UUID tenantId = TenantContext.requireTenantId();
+
+        BillingRun run = billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(
+                charge.getId(), cycle.periodStart(), tenantId)
+                .orElseGet(() -> newRun(charge, cycle, tenantId));
+        run.setAttempts(run.getAttempts() + 1);
+        run.setStatus(BillingRunStatus.FAILED);
+        run.setLastError(error);
+        billingRunRepository.save(run);
+    }
+
+    LocalDate dueDate(EstateCharge charge, BillingCycle cycle) {
+        int dueDays = charge.getPaymentDueDays() != null ? charge.getPaymentDueDays() : defaultDueDays;
+        return cycle.periodStart().plusDays(dueDays);
+    }
+
+    private BillingRun newRun(EstateCharge charge, BillingCycle cycle, UUID tenantId) {
+        BillingRun run = new BillingRun();
+        run.setTenantId(tenantId);
+        run.setChargeId(charge.getId());
+        run.setEstateId(charge.getEstateId());
+        run.setPeriodStart(cycle.periodStart());
+        run.setPeriodEnd(cycle.periodEnd());
+        run.setDueDate(dueDate(charge, cycle));
+        return run;
+    }
+}
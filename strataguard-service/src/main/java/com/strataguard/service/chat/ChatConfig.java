@@ -0,0 +1,29 @@
+package com.strataguard.service.chat;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "chat")
+@Getter
+@Setter
+public class ChatConfig {
+
+    private Write write = new Write();
+
+    /**
+     * Group commit of sent messages. Messages queued while a flush is running are written
+     * together in the next one, up to {@code maxBatchSize} per transaction.
+     */
+    @Getter
+    @Setter
+    public static class Write {
+        private int maxBatchSize = 100;
+        private int queueCapacity = 10000;
+        private long ackTimeoutMillis = 5000;
+        /** How much longer to wait for a message a flush has already taken before reporting its outcome unknown. */
+        private long flushTimeoutMillis = 10000;
+    }
+}
@@ -2,9 +2,9 @@ package com.strataguard.service.chat;
 
 import com.strataguard.core.config.TenantContext;
 import com.strataguard.core.dto.chat.ChatParticipantResponse;
+import com.strataguard.core.dto.chat.ConversationListResponse;
 import com.strataguard.core.dto.chat.ConversationResponse;
 import com.strataguard.core.dto.chat.CreateConversationRequest;
-import com.strataguard.core.dto.common.PagedResponse;
 import com.strataguard.core.entity.ChatConversation;
 import com.strataguard.core.entity.ChatParticipant;
 import com.strataguard.core.entity.Resident;
@@ -17,18 +17,17 @@ import com.strataguard.core.util.ChatConversationMapper;
 import com.strataguard.infrastructure.repository.ChatConversationRepository;
 import com.strataguard.infrastructure.repository.ChatMessageRepository;
 import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.infrastructure.repository.ChatUnreadCountRow;
 import com.strataguard.infrastructure.repository.ResidentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,6 +35,8 @@ import java.util.UUID;
 @Transactional
 public class ChatConversationService {
 
+    static final int MAX_PAGE_LIMIT = 100;
+
     private final ChatConversationRepository conversationRepository;
     private final ChatParticipantRepository participantRepository;
     private final ChatMessageRepository messageRepository;
@@ -88,37 +89,35 @@ public class ChatConversationService {
         return enrichConversationResponse(saved, creatorResidentId, tenantId);
     }
 
+    /**
+     * A page of the resident's conversations, most recently active first, after the position in
+     * the opaque {@code after} cursor from a previous page's {@code nextCursor}. With no cursor the
+     * first page is returned and {@code reset} is set.
+     *
+     * @throws IllegalArgumentException when {@code after} is not a cursor this service issued
+     */
     @Transactional(readOnly = true)
-    public PagedResponse<ConversationResponse> getMyConversations(UUID residentId, Pageable pageable) {
+    public ConversationListResponse getMyConversations(UUID residentId, String after, int limit) {
         UUID tenantId = TenantContext.requireTenantId();
-
-        List<UUID> conversationIds = participantRepository.findConversationIdsByResidentIdAndTenantId(residentId, tenantId);
-        if (conversationIds.isEmpty()) {
-            return PagedResponse.<ConversationResponse>builder()
-                    .content(List.of())
-                    .page(pageable.getPageNumber())
-                    .size(pageable.getPageSize())
-                    .totalElements(0)
-                    .totalPages(0)
-                    .first(true)
-                    .last(true)
-                    .build();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+
+        ConversationCursor cursor = after == null || after.isBlank() ? null : ConversationCursor.decode(after);
+        // Fetch one extra row to learn whether the client must page again
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<ChatConversation> conversations = cursor != null
+                ? conversationRepository.findForResidentBefore(residentId, tenantId, cursor.activityAt(), cursor.id(), page)
+                : conversationRepository.findLatestForResident(residentId, tenantId, page);
+        boolean hasMore = conversations.size() > pageSize;
+        if (hasMore) {
+            conversations = conversations.subList(0, pageSize);
         }
+        ChatConversation last = conversations.isEmpty() ? null : conversations.get(conversations.size() - 1);
 
-        Page<ChatConversation> page = conversationRepository.findByIdInAndTenantId(conversationIds, tenantId, pageable);
-
-        List<ConversationResponse> responses = page.getContent().stream()
-                .map(conv -> enrichConversationResponse(conv, residentId, tenantId))
-                .toList();
-
-        return PagedResponse.<ConversationResponse>builder()
-                .content(responses)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
+        return ConversationListResponse.builder()
+                .conversations(toResponses(conversations, residentId, tenantId))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new ConversationCursor(activityAt(last), last.getId()).encode() : null)
+                .reset(cursor == null)
                 .build();
     }
 
@@ -150,39 +149,53 @@ public class ChatConversationService {
     }
 
     private ConversationResponse enrichConversationResponse(ChatConversation conversation, UUID residentId, UUID tenantId) {
-        ConversationResponse response = conversationMapper.toResponse(conversation);
-
-        // Compute unread count
-        ChatParticipant participant = participantRepository
-                .findByConversationIdAndResidentIdAndTenantId(conversation.getId(), residentId, tenantId)
-                .orElse(null);
+        return toResponses(List.of(conversation), residentId, tenantId).get(0);
+    }
 
-        if (participant != null && participant.getLastReadAt() != null) {
-            response.setUnreadCount(messageRepository.countUnreadMessages(conversation.getId(), tenantId, participant.getLastReadAt()));
-        } else if (participant != null) {
-            response.setUnreadCount(messageRepository.countAllMessages(conversation.getId(), tenantId));
+    /**
+     * Participants, their names and the resident's unread counts for a page of conversations,
+     * with one query each rather than per conversation.
+     */
+    private List<ConversationResponse> toResponses(List<ChatConversation> conversations, UUID residentId, UUID tenantId) {
+        if (conversations.isEmpty()) {
+            return List.of();
         }
-
-        // Set participants with resident names
-        List<ChatParticipant> participants = participantRepository.findByConversationIdAndTenantId(conversation.getId(), tenantId);
-        List<ChatParticipantResponse> participantResponses = new ArrayList<>();
-
-        for (ChatParticipant p : participants) {
-            String residentName = residentRepository.findByIdAndTenantId(p.getResidentId(), tenantId)
-                    .map(r -> r.getFirstName() + " " + r.getLastName())
-                    .orElse("Unknown");
-
-            participantResponses.add(ChatParticipantResponse.builder()
-                    .id(p.getId())
-                    .residentId(p.getResidentId())
-                    .residentName(residentName)
-                    .role(p.getRole())
-                    .joinedAt(p.getJoinedAt())
-                    .lastReadAt(p.getLastReadAt())
-                    .build());
+        List<UUID> conversationIds = conversations.stream().map(ChatConversation::getId).toList();
+
+        Map<UUID, List<ChatParticipant>> participantsByConversation = participantRepository
+                .findByConversationIdsAndTenantId(conversationIds, tenantId).stream()
+                .collect(Collectors.groupingBy(ChatParticipant::getConversationId));
+        Set<UUID> residentIds = participantsByConversation.values().stream()
+                .flatMap(List::stream)
+                .map(ChatParticipant::getResidentId)
+                .collect(Collectors.toSet());
+        Map<UUID, String> residentNames = residentIds.isEmpty() ? Map.of()
+                : residentRepository.findAllByIdsAndTenantId(residentIds, tenantId).stream()
+                        .collect(Collectors.toMap(Resident::getId, r -> r.getFirstName() + " " + r.getLastName()));
+        Map<UUID, Long> unreadCounts = messageRepository
+                .countUnreadInConversations(residentId, tenantId, conversationIds).stream()
+                .collect(Collectors.toMap(ChatUnreadCountRow::getConversationId, ChatUnreadCountRow::getUnreadCount));
+
+        List<ConversationResponse> responses = new ArrayList<>();
+        for (ChatConversation conversation : conversations) {
+            ConversationResponse response = conversationMapper.toResponse(conversation);
+            response.setUnreadCount(unreadCounts.getOrDefault(conversation.getId(), 0L));
+            response.setParticipants(participantsByConversation.getOrDefault(conversation.getId(), List.of()).stream()
+                    .map(p -> ChatParticipantResponse.builder()
+                            .id(p.getId())
+                            .residentId(p.getResidentId())
+                            .residentName(residentNames.getOrDefault(p.getResidentId(), "Unknown"))
+                            .role(p.getRole())
+                            .joinedAt(p.getJoinedAt())
+                            .lastReadAt(p.getLastReadAt())
+                            .build())
+                    .toList());
+            responses.add(response);
         }
+        return responses;
+    }
 
-        response.setParticipants(participantResponses);
-        return response;
+    private static Instant activityAt(ChatConversation conversation) {
+        return conversation.getLastMessageAt() != null ? conversation.getLastMessageAt() : conversation.getCreatedAt();
     }
 }
@@ -0,0 +1,100 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.chat.ChatMessageResponse;
+import com.strataguard.core.dto.notification.SendNotificationRequest;
+import com.strataguard.core.entity.ChatParticipant;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.service.notification.NotificationService;
+import com.strataguard.service.notification.RecipientDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Delivers a sent chat message to the rest of the conversation. The participants are resolved
+ * once, split by presence, and online members get the message on their user queue while offline
+ * members get one batched notification, so the cost is linear in the size of the group.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatFanOutService {
+
+    private static final int NOTIFICATION_PREVIEW_LENGTH = 200;
+
+    private final ChatParticipantRepository participantRepository;
+    private final RecipientDirectory recipientDirectory;
+    private final ChatRealtimeGateway realtimeGateway;
+    private final NotificationService notificationService;
+
+    public void deliver(UUID conversationId, UUID senderResidentId, ChatMessageResponse message) {
+        UUID tenantId = TenantContext.requireTenantId();
+
+        try {
+            realtimeGateway.publishToConversation(conversationId, message);
+        } catch (Exception e) {
+            log.warn("Failed to publish message {} to conversation {}: {}", message.getId(), conversationId, e.getMessage());
+        }
+
+        List<UUID> recipientIds = participantRepository.findOtherParticipants(conversationId, senderResidentId, tenantId)
+                .stream()
+                .map(ChatParticipant::getResidentId)
+                .toList();
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolve(tenantId, recipientIds);
+        Set<String> online = realtimeGateway.onlineUsers(contacts.values().stream()
+                .map(RecipientDirectory.Contact::userId)
+                .filter(Objects::nonNull)
+                .toList());
+
+        List<UUID> offline = new ArrayList<>();
+        for (UUID recipientId : recipientIds) {
+            RecipientDirectory.Contact contact = contacts.get(recipientId);
+            if (contact == null) {
+                continue;
+            }
+            if (contact.userId() != null && online.contains(contact.userId())) {
+                try {
+                    realtimeGateway.sendToUser(contact.userId(), message);
+                } catch (Exception e) {
+                    log.warn("Failed to send message {} to user {}: {}", message.getId(), contact.userId(), e.getMessage());
+                }
+            } else {
+                offline.add(recipientId);
+            }
+        }
+
+        if (!offline.isEmpty()) {
+            notifyOffline(offline, message);
+        }
+        log.debug("Fanned out message {} in conversation {}: {} online, {} offline",
+                message.getId(), conversationId, recipientIds.size() - offline.size(), offline.size());
+    }
+
+    /** One request for all offline members; PUSH is coalesced into per-recipient digests. */
+    private void notifyOffline(List<UUID> offline, ChatMessageResponse message) {
+        String content = message.getContent() != null ? message.getContent() : "";
+        String preview = content.length() > NOTIFICATION_PREVIEW_LENGTH
+                ? content.substring(0, NOTIFICATION_PREVIEW_LENGTH - 3) + "..."
+                : content;
+        try {
+            notificationService.send(SendNotificationRequest.builder()
+                    .recipientIds(offline)
+                    .type(NotificationType.CHAT_MESSAGE)
+                    .title("New message from " + message.getSenderName())
+                    .body(preview)
+                    .channels(List.of(NotificationChannel.IN_APP, NotificationChannel.PUSH))
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to notify {} offline participants of message {}: {}", offline.size(), message.getId(), e.getMessage());
+        }
+    }
+}
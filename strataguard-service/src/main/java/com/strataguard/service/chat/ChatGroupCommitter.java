@@ -0,0 +1,179 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.entity.ChatMessage;
+import com.strataguard.core.exception.UnauthorizedException;
+import com.strataguard.core.exception.WriteOutcomeUnknownException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Group commit for sent chat messages. Senders queue their message and wait; a single flush on
+ * the chat write executor drains whatever has queued up, up to {@code chat.write.max-batch-size},
+ * and writes it in one transaction through {@link ChatMessageWriter}. Messages that arrive during
+ * a flush go out together in the next one, so batches grow with load instead of with a timer.
+ * One writer in queue order keeps each conversation's messages in the order they were sent, and a
+ * sender is acknowledged only once its message has committed. Senders are checked to be
+ * participants of their conversation once per batch rather than once per message. When a batch
+ * fails its messages are retried one by one, so a bad message fails only its own sender.
+ */
+@Component
+@Slf4j
+public class ChatGroupCommitter {
+
+    private record Entry(ChatMessageWriter.PendingMessage message, CompletableFuture<ChatMessage> ack) {
+    }
+
+    private final ChatMessageWriter messageWriter;
+    private final Executor chatWriteExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ChatConfig.Write config;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public ChatGroupCommitter(ChatMessageWriter messageWriter, Executor chatWriteExecutor,
+                              MeterRegistry meterRegistry, ChatConfig chatConfig) {
+        this.messageWriter = messageWriter;
+        this.chatWriteExecutor = chatWriteExecutor;
+        this.meterRegistry = meterRegistry;
+        this.config = chatConfig.getWrite();
+        this.queue = new LinkedBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    /**
+     * Queues the message for the next flush and waits for it to commit. When the queue stays full
+     * for {@code ack-timeout-millis} the message is rejected unsaved. When the ack times out while
+     * the message is still queued it is withdrawn, so a failed send is never saved behind the
+     * sender's back; once a flush has taken it, its outcome is awaited for up to
+     * {@code flush-timeout-millis} more, after which it is reported unknown and the client may
+     * resend with the same {@code clientMessageId}.
+     */
+    public ChatMessage commit(ChatMessageWriter.PendingMessage message) {
+        Entry entry = new Entry(message, new CompletableFuture<>());
+        try {
+            if (!queue.offer(entry, config.getAckTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("chat.write.rejected").increment();
+                throw new IllegalStateException("Too many chat messages waiting to be saved, try again");
+            }
+            try {
+                scheduleFlush();
+            } catch (RuntimeException e) {
+                if (queue.remove(entry)) {
+                    throw new IllegalStateException("Chat message writer is unavailable", e);
+                }
+            }
+            return awaitAck(entry);
+        } catch (InterruptedException e) {
+            queue.remove(entry);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending chat message", e);
+        }
+    }
+
+    private ChatMessage awaitAck(Entry entry) throws InterruptedException {
+        try {
+            try {
+                return entry.ack().get(config.getAckTimeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                meterRegistry.counter("chat.write.ack.timeouts").increment();
+                if (queue.remove(entry)) {
+                    throw new IllegalStateException("Timed out waiting for chat message to be saved", e);
+                }
+                // Already in a flush, so it may still commit; wait a while longer before giving up on it
+                try {
+                    return entry.ack().get(config.getFlushTimeoutMillis(), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException unknown) {
+                    meterRegistry.counter("chat.write.outcome.unknown").increment();
+                    throw new WriteOutcomeUnknownException(
+                            "Chat message may not have been saved, resend it with the same clientMessageId");
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to save chat message", e.getCause());
+        }
+    }
+
+    int queuedMessages() {
+        return queue.size();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                chatWriteExecutor.execute(this::flush);
+            } catch (RuntimeException e) {
+                // Otherwise no later sender could ever schedule a flush again
+                flushScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    void flush() {
+        try {
+            List<Entry> batch = new ArrayList<>(config.getMaxBatchSize());
+            while (queue.drainTo(batch, config.getMaxBatchSize()) > 0) {
+                List<Entry> admitted = admit(batch);
+                if (!admitted.isEmpty()) {
+                    write(admitted);
+                }
+                batch.clear();
+            }
+        } finally {
+            flushScheduled.set(false);
+        }
+        // A message queued between the last drain and clearing the flag would otherwise wait for the next sender
+        if (!queue.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    /** The entries whose sender is a participant; the rest are failed here. */
+    private List<Entry> admit(List<Entry> batch) {
+        Set<ChatMessageWriter.Participant> participants;
+        try {
+            participants = messageWriter.findParticipants(batch.stream().map(Entry::message).toList());
+        } catch (RuntimeException e) {
+            batch.forEach(entry -> entry.ack().completeExceptionally(e));
+            return List.of();
+        }
+        List<Entry> admitted = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (participants.contains(ChatMessageWriter.Participant.senderOf(entry.message()))) {
+                admitted.add(entry);
+            } else {
+                entry.ack().completeExceptionally(
+                        new UnauthorizedException("You are not a participant of this conversation"));
+            }
+        }
+        return admitted;
+    }
+
+    private void write(List<Entry> batch) {
+        List<ChatMessage> saved;
+        try {
+            saved = messageWriter.write(batch.stream().map(Entry::message).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).ack().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} chat messages failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> write(List.of(entry)));
+            return;
+        }
+        meterRegistry.summary("chat.write.batch.size").record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).ack().complete(saved.get(i));
+        }
+    }
+}
@@ -1,33 +1,34 @@
 package com.strataguard.service.chat;
 
 import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.chat.ChatHistoryResponse;
 import com.strataguard.core.dto.chat.ChatMessageResponse;
+import com.strataguard.core.dto.chat.ChatSearchResponse;
+import com.strataguard.core.dto.chat.ChatSearchResult;
 import com.strataguard.core.dto.chat.SendMessageRequest;
 import com.strataguard.core.dto.chat.UnreadChatCountResponse;
-import com.strataguard.core.dto.common.PagedResponse;
-import com.strataguard.core.dto.notification.SendNotificationRequest;
-import com.strataguard.core.entity.ChatConversation;
 import com.strataguard.core.entity.ChatMessage;
-import com.strataguard.core.entity.ChatParticipant;
 import com.strataguard.core.entity.Resident;
-import com.strataguard.core.enums.NotificationChannel;
-import com.strataguard.core.enums.NotificationType;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.ChatMessageMapper;
-import com.strataguard.infrastructure.repository.ChatConversationRepository;
 import com.strataguard.infrastructure.repository.ChatMessageRepository;
 import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.infrastructure.repository.ChatUnreadCountRow;
 import com.strataguard.infrastructure.repository.ResidentRepository;
-import com.strataguard.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -36,73 +37,107 @@ import java.util.UUID;
 @Transactional
 public class ChatMessageService {
 
+    static final int MAX_HISTORY_LIMIT = 200;
+    static final int MAX_SEARCH_LIMIT = 50;
+
     private final ChatMessageRepository messageRepository;
-    private final ChatConversationRepository conversationRepository;
     private final ChatParticipantRepository participantRepository;
     private final ResidentRepository residentRepository;
     private final ChatMessageMapper messageMapper;
     private final ChatConversationService conversationService;
-    private final NotificationService notificationService;
+    private final ChatGroupCommitter groupCommitter;
 
+    /** Looks up the sender's name, then sends as {@link #sendMessage(UUID, UUID, String, SendMessageRequest)}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ChatMessageResponse sendMessage(UUID conversationId, UUID senderResidentId, SendMessageRequest request) {
         UUID tenantId = TenantContext.requireTenantId();
-
-        // Validate sender is participant
-        conversationService.validateParticipant(conversationId, senderResidentId, tenantId);
-
-        // Get sender name
         Resident sender = residentRepository.findByIdAndTenantId(senderResidentId, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resident", "id", senderResidentId));
-        String senderName = sender.getFirstName() + " " + sender.getLastName();
-
-        // Create message
-        ChatMessage message = messageMapper.toEntity(request);
-        message.setTenantId(tenantId);
-        message.setConversationId(conversationId);
-        message.setSenderId(senderResidentId);
-        message.setSenderName(senderName);
-
-        ChatMessage saved = messageRepository.save(message);
-
-        // Update conversation preview
-        ChatConversation conversation = conversationRepository.findByIdAndTenantId(conversationId, tenantId)
-                .orElseThrow(() -> new ResourceNotFoundException("ChatConversation", "id", conversationId));
-
-        conversation.setLastMessageAt(Instant.now());
-        String preview = request.getContent();
-        if (preview.length() > 500) {
-            preview = preview.substring(0, 497) + "...";
-        }
-        conversation.setLastMessagePreview(preview);
-        conversationRepository.save(conversation);
+        return sendMessage(conversationId, senderResidentId, sender.getFirstName() + " " + sender.getLastName(), request);
+    }
 
-        // Auto-mark as read for sender
-        participantRepository.updateLastReadAt(conversationId, senderResidentId, tenantId, Instant.now());
+    /**
+     * Hands the message from an already resolved sender, such as a WebSocket session's bound
+     * resident, to the group committer, returning once it has been saved. The committer checks
+     * that the sender is a participant, once per batch. No transaction is held while waiting for
+     * the flush.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChatMessageResponse sendMessage(UUID conversationId, UUID senderResidentId, String senderName,
+                                           SendMessageRequest request) {
+        UUID tenantId = TenantContext.requireTenantId();
+        ChatMessage saved = groupCommitter.commit(new ChatMessageWriter.PendingMessage(tenantId, conversationId,
+                senderResidentId, senderName, request, SecurityContextHolder.getContext()));
 
         log.debug("Message sent in conversation {} by {}", conversationId, senderResidentId);
         return messageMapper.toResponse(saved);
     }
 
+    /**
+     * Message history, newest first, older than the message {@code beforeId}. With no usable
+     * cursor the latest {@code limit} messages are returned and {@code reset} is set.
+     */
     @Transactional(readOnly = true)
-    public PagedResponse<ChatMessageResponse> getMessageHistory(UUID conversationId, UUID residentId, Pageable pageable) {
+    public ChatHistoryResponse getMessageHistory(UUID conversationId, UUID residentId, UUID beforeId, int limit) {
         UUID tenantId = TenantContext.requireTenantId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
 
         conversationService.validateParticipant(conversationId, residentId, tenantId);
 
-        Page<ChatMessage> page = messageRepository.findByConversationIdAndTenantId(conversationId, tenantId, pageable);
+        Optional<ChatMessage> cursor = beforeId == null ? Optional.empty()
+                : messageRepository.findByIdAndTenantId(beforeId, tenantId)
+                        .filter(m -> m.getConversationId().equals(conversationId));
+        // Fetch one extra row to learn whether the client must page again
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<ChatMessage> messages = cursor
+                .map(m -> messageRepository.findBefore(conversationId, tenantId, m.getCreatedAt(), m.getId(), page))
+                .orElseGet(() -> messageRepository.findLatest(conversationId, tenantId, page));
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+
+        return ChatHistoryResponse.builder()
+                .messages(messages.stream().map(messageMapper::toResponse).toList())
+                .hasMore(hasMore)
+                .reset(cursor.isEmpty())
+                .build();
+    }
 
-        List<ChatMessageResponse> responses = page.getContent().stream()
-                .map(messageMapper::toResponse)
-                .toList();
+    /**
+     * Full-text search over the messages of every conversation the resident belongs to, newest
+     * first, continuing after the message {@code beforeId}. The query accepts web-search syntax:
+     * quoted phrases, {@code or} and {@code -word}.
+     */
+    @Transactional(readOnly = true)
+    public ChatSearchResponse searchMessages(UUID residentId, String query, UUID beforeId, int limit) {
+        UUID tenantId = TenantContext.requireTenantId();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        Optional<ChatMessage> cursor = beforeId == null ? Optional.empty()
+                : messageRepository.findByIdAndTenantId(beforeId, tenantId);
+        // Fetch one extra row to learn whether the client must page again
+        List<ChatMessage> messages = cursor
+                .map(m -> messageRepository.searchBefore(residentId, tenantId, query, m.getCreatedAt(), m.getId(), pageSize + 1))
+                .orElseGet(() -> messageRepository.searchLatest(residentId, tenantId, query, pageSize + 1));
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
 
-        return PagedResponse.<ChatMessageResponse>builder()
-                .content(responses)
-                .page(page.getNumber())
-                .size(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .first(page.isFirst())
-                .last(page.isLast())
+        Set<String> terms = ChatSearchSnippets.terms(query);
+        return ChatSearchResponse.builder()
+                .results(messages.stream()
+                        .map(m -> ChatSearchResult.builder()
+                                .message(messageMapper.toResponse(m))
+                                .snippet(ChatSearchSnippets.snippet(m.getContent(), terms))
+                                .build())
+                        .toList())
+                .hasMore(hasMore)
+                .reset(cursor.isEmpty())
                 .build();
     }
 
@@ -119,43 +154,16 @@ public class ChatMessageService {
     public UnreadChatCountResponse getUnreadCount(UUID residentId) {
         UUID tenantId = TenantContext.requireTenantId();
 
-        List<UUID> conversationIds = participantRepository.findConversationIdsByResidentIdAndTenantId(residentId, tenantId);
+        Map<UUID, Long> byConversation = new HashMap<>();
         long totalUnread = 0;
-
-        for (UUID convId : conversationIds) {
-            ChatParticipant participant = participantRepository
-                    .findByConversationIdAndResidentIdAndTenantId(convId, residentId, tenantId)
-                    .orElse(null);
-
-            if (participant != null && participant.getLastReadAt() != null) {
-                totalUnread += messageRepository.countUnreadMessages(convId, tenantId, participant.getLastReadAt());
-            } else if (participant != null) {
-                totalUnread += messageRepository.countAllMessages(convId, tenantId);
-            }
+        for (ChatUnreadCountRow row : messageRepository.countUnreadByConversation(residentId, tenantId)) {
+            byConversation.put(row.getConversationId(), row.getUnreadCount());
+            totalUnread += row.getUnreadCount();
         }
 
-        return UnreadChatCountResponse.builder().count(totalUnread).build();
-    }
-
-    public void sendOfflineNotifications(UUID conversationId, UUID senderResidentId, String senderName, String messagePreview) {
-        UUID tenantId = TenantContext.requireTenantId();
-
-        List<ChatParticipant> otherParticipants = participantRepository.findOtherParticipants(conversationId, senderResidentId, tenantId);
-
-        for (ChatParticipant participant : otherParticipants) {
-            try {
-                SendNotificationRequest notifRequest = SendNotificationRequest.builder()
-                        .recipientId(participant.getResidentId())
-                        .type(NotificationType.CHAT_MESSAGE)
-                        .title("New message from " + senderName)
-                        .body(messagePreview.length() > 200 ? messagePreview.substring(0, 197) + "..." : messagePreview)
-                        .channels(List.of(NotificationChannel.IN_APP))
-                        .build();
-
-                notificationService.send(notifRequest);
-            } catch (Exception e) {
-                log.warn("Failed to send offline notification to resident {}: {}", participant.getResidentId(), e.getMessage());
-            }
-        }
+        return UnreadChatCountResponse.builder()
+                .count(totalUnread)
+                .conversations(byConversation)
+                .build();
     }
 }
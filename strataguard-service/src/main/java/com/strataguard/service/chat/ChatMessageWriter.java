@@ -0,0 +1,140 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.dto.chat.SendMessageRequest;
+import com.strataguard.core.entity.ChatMessage;
+import com.strataguard.core.util.ChatMessageMapper;
+import com.strataguard.infrastructure.repository.ChatConversationRepository;
+import com.strataguard.infrastructure.repository.ChatMessageRepository;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one group commit of chat messages for {@link ChatGroupCommitter}. The messages are
+ * inserted in queue order through the JDBC batch, then each conversation's preview is moved to
+ * its newest message and each sender is marked read once, however many messages the batch holds
+ * for them. A message whose {@code clientMessageId} its sender already used is not saved again;
+ * the earlier message is returned in its place.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ChatMessageWriter {
+
+    private static final int PREVIEW_LENGTH = 500;
+
+    private final ChatMessageRepository messageRepository;
+    private final ChatConversationRepository conversationRepository;
+    private final ChatParticipantRepository participantRepository;
+    private final ChatMessageMapper messageMapper;
+
+    /** A validated message waiting for the next flush, with the sender's context for auditing. */
+    public record PendingMessage(UUID tenantId, UUID conversationId, UUID senderId, String senderName,
+                                 SendMessageRequest request, SecurityContext securityContext) {
+    }
+
+    /** A resident in a conversation: checked for each sender before the write, and marked read after it. */
+    public record Participant(UUID tenantId, UUID conversationId, UUID residentId) {
+
+        static Participant senderOf(PendingMessage pending) {
+            return new Participant(pending.tenantId(), pending.conversationId(), pending.senderId());
+        }
+    }
+
+    private record ClientKey(UUID tenantId, UUID senderId, UUID clientMessageId) {
+    }
+
+    /** The saved messages, in the order of {@code batch}. */
+    public List<ChatMessage> write(List<PendingMessage> batch) {
+        Map<ClientKey, ChatMessage> previous = findPrevious(batch);
+        List<ChatMessage> results = new ArrayList<>(batch.size());
+        List<ChatMessage> saved = new ArrayList<>(batch.size());
+        try {
+            for (PendingMessage pending : batch) {
+                ClientKey key = clientKey(pending);
+                if (key != null && previous.containsKey(key)) {
+                    results.add(previous.get(key));
+                    continue;
+                }
+                ChatMessage message = messageMapper.toEntity(pending.request());
+                message.setTenantId(pending.tenantId());
+                message.setConversationId(pending.conversationId());
+                message.setSenderId(pending.senderId());
+                message.setSenderName(pending.senderName());
+                // Auditing stamps created_by from the current context, which is the sender's, not the flush thread's
+                SecurityContextHolder.setContext(pending.securityContext());
+                ChatMessage savedMessage = messageRepository.save(message);
+                if (key != null) {
+                    previous.put(key, savedMessage);
+                }
+                saved.add(savedMessage);
+                results.add(savedMessage);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        Map<UUID, ChatMessage> latestByConversation = new LinkedHashMap<>();
+        Set<Participant> readers = new LinkedHashSet<>();
+        for (ChatMessage message : saved) {
+            latestByConversation.put(message.getConversationId(), message);
+            readers.add(new Participant(message.getTenantId(), message.getConversationId(), message.getSenderId()));
+        }
+        for (ChatMessage latest : latestByConversation.values()) {
+            conversationRepository.updateLastMessage(latest.getConversationId(), latest.getTenantId(),
+                    latest.getCreatedAt(), preview(latest.getContent()));
+        }
+        Instant readAt = Instant.now();
+        for (Participant reader : readers) {
+            participantRepository.updateLastReadAt(reader.conversationId(), reader.residentId(), reader.tenantId(), readAt);
+        }
+        return results;
+    }
+
+    /** The batch's senders that are participants of the conversation they are sending to, one query per tenant. */
+    @Transactional(readOnly = true)
+    public Set<Participant> findParticipants(List<PendingMessage> batch) {
+        Map<UUID, List<PendingMessage>> byTenant = new HashMap<>();
+        batch.forEach(pending -> byTenant.computeIfAbsent(pending.tenantId(), k -> new ArrayList<>()).add(pending));
+        Set<Participant> participants = new HashSet<>();
+        byTenant.forEach((tenantId, messages) -> participantRepository.findByConversationIdsAndResidentIdsAndTenantId(
+                        messages.stream().map(PendingMessage::conversationId).collect(Collectors.toSet()),
+                        messages.stream().map(PendingMessage::senderId).collect(Collectors.toSet()), tenantId)
+                .forEach(p -> participants.add(new Participant(tenantId, p.getConversationId(), p.getResidentId()))));
+        return participants;
+    }
+
+    /** Messages already saved under the batch's client ids, one query per tenant in the batch. */
+    private Map<ClientKey, ChatMessage> findPrevious(List<PendingMessage> batch) {
+        Map<UUID, Set<UUID>> clientIdsByTenant = new HashMap<>();
+        for (PendingMessage pending : batch) {
+            if (pending.request().getClientMessageId() != null) {
+                clientIdsByTenant.computeIfAbsent(pending.tenantId(), k -> new HashSet<>())
+                        .add(pending.request().getClientMessageId());
+            }
+        }
+        Map<ClientKey, ChatMessage> previous = new HashMap<>();
+        clientIdsByTenant.forEach((tenantId, clientIds) -> {
+            for (ChatMessage message : messageRepository.findByClientMessageIds(tenantId, clientIds)) {
+                previous.put(new ClientKey(tenantId, message.getSenderId(), message.getClientMessageId()), message);
+            }
+        });
+        return previous;
+    }
+
+    private static ClientKey clientKey(PendingMessage pending) {
+        UUID clientMessageId = pending.request().getClientMessageId();
+        return clientMessageId == null ? null : new ClientKey(pending.tenantId(), pending.senderId(), clientMessageId);
+    }
+
+    private static String preview(String content) {
+        return content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH - 3) + "..." : content;
+    }
+}
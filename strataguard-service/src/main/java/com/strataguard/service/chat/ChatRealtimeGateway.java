@@ -0,0 +1,21 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.dto.chat.ChatMessageResponse;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Live delivery of chat messages to connected clients. Implemented by the WebSocket layer;
+ * delivery is best effort and clients catch up from message history on reconnect.
+ */
+public interface ChatRealtimeGateway {
+
+    void publishToConversation(UUID conversationId, ChatMessageResponse message);
+
+    void sendToUser(String userId, ChatMessageResponse message);
+
+    /** The subset of {@code userIds} with at least one open session. */
+    Set<String> onlineUsers(Collection<String> userIds);
+}
@@ -0,0 +1,69 @@
+package com.strataguard.service.chat;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Highlighted excerpts for chat search results. Messages are indexed with PostgreSQL's
+ * {@code simple} configuration, which matches whole lowercased words, so highlighting the
+ * query's words case-insensitively on word boundaries marks what matched.
+ */
+final class ChatSearchSnippets {
+
+    static final int CONTEXT_CHARS = 60;
+
+    private static final Pattern WORD = Pattern.compile("-?[\\p{L}\\p{N}]+");
+
+    private ChatSearchSnippets() {
+    }
+
+    /** The words to highlight: every query word except {@code or} and negated ({@code -word}) ones. */
+    static Set<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        Matcher matcher = WORD.matcher(query.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String word = matcher.group();
+            if (!word.startsWith("-") && !word.equals("or")) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Up to {@link #CONTEXT_CHARS} characters either side of the first match, HTML-escaped, with
+     * every match in the excerpt wrapped in {@code <mark>}.
+     */
+    static String snippet(String content, Set<String> terms) {
+        Pattern pattern = terms.isEmpty() ? null : Pattern.compile("(?<![\\p{L}\\p{N}])(?:"
+                + terms.stream().map(Pattern::quote).collect(Collectors.joining("|"))
+                + ")(?![\\p{L}\\p{N}])", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        // Without a match (the database tokenises slightly differently) show the start of the message
+        Matcher first = pattern != null ? pattern.matcher(content) : null;
+        boolean found = first != null && first.find();
+        int from = found ? Math.max(0, first.start() - CONTEXT_CHARS) : 0;
+        int to = Math.min(content.length(), found ? first.end() + CONTEXT_CHARS : 2 * CONTEXT_CHARS);
+
+        StringBuilder snippet = new StringBuilder(from > 0 ? "…" : "");
+        int last = from;
+        if (found) {
+            Matcher matcher = pattern.matcher(content).region(from, to).useTransparentBounds(true);
+            while (matcher.find()) {
+                snippet.append(HtmlUtils.htmlEscape(content.substring(last, matcher.start())))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(matcher.group()))
+                        .append("</mark>");
+                last = matcher.end();
+            }
+        }
+        snippet.append(HtmlUtils.htmlEscape(content.substring(last, to)));
+        return to < content.length() ? snippet.append("…").toString() : snippet.toString();
+    }
+}
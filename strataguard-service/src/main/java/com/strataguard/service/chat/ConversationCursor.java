@@ -0,0 +1,36 @@
+package com.strataguard.service.chat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a resident's conversation list: the last activity and id of the last conversation
+ * a client received. The pair is carried in the cursor itself rather than re-read from the
+ * conversation, so a message arriving in that conversation between pages does not move the
+ * cursor and make the next page skip or repeat conversations. Clients treat it as opaque.
+ */
+record ConversationCursor(Instant activityAt, UUID id) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((activityAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException when the value is not a cursor this class produced */
+    static ConversationCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid conversation cursor");
+            }
+            return new ConversationCursor(Instant.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid conversation cursor", e);
+        }
+    }
+}
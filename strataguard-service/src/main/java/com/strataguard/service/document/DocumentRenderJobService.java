@@ -0,0 +1,168 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.document.DocumentRenderJobResponse;
+import com.strataguard.core.dto.document.StartDocumentRenderJobRequest;
+import com.strataguard.core.enums.DocumentRenderJobStatus;
+import com.strataguard.core.enums.DocumentType;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk "render every invoice/receipt for a period" jobs. Source IDs are split into batches that run
+ * on the bounded document render executor; progress is tracked in memory per job and rendering
+ * outcomes and batch latency are published as metrics.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentRenderJobService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final Duration JOB_RETENTION = Duration.ofHours(24);
+
+    private final ChargeInvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final DocumentRenderService documentRenderService;
+    private final Executor documentRenderExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, RenderJob> jobs = new ConcurrentHashMap<>();
+
+    public DocumentRenderJobResponse startJob(StartDocumentRenderJobRequest request) {
+        UUID tenantId = TenantContext.requireTenantId();
+        if (request.getPeriodEnd().isBefore(request.getPeriodStart())) {
+            throw new IllegalArgumentException("Period end must not be before period start");
+        }
+        purgeExpiredJobs();
+
+        List<UUID> sourceIds = request.getDocumentType() == DocumentType.INVOICE
+                ? invoiceRepository.findIdsByDueDateBetween(tenantId, request.getPeriodStart(), request.getPeriodEnd())
+                : paymentRepository.findSuccessfulIdsByPaidAtBetween(tenantId,
+                        request.getPeriodStart().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                        request.getPeriodEnd().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        RenderJob job = new RenderJob(UUID.randomUUID(), tenantId, request.getDocumentType(),
+                request.getPeriodStart(), request.getPeriodEnd(), sourceIds.size());
+        jobs.put(job.id, job);
+
+        CompletableFuture<?>[] batches = new CompletableFuture[(sourceIds.size() + BATCH_SIZE - 1) / BATCH_SIZE];
+        for (int i = 0; i < batches.length; i++) {
+            List<UUID> batch = sourceIds.subList(i * BATCH_SIZE, Math.min(sourceIds.size(), (i + 1) * BATCH_SIZE));
+            batches[i] = CompletableFuture.runAsync(() -> runBatch(job, List.copyOf(batch)), documentRenderExecutor);
+        }
+        CompletableFuture.allOf(batches).whenComplete((ignored, error) -> {
+            job.finish(error == null ? DocumentRenderJobStatus.COMPLETED : DocumentRenderJobStatus.FAILED);
+            log.info("Document render job {} finished for tenant {}: {} rendered, {} unchanged, {} failed",
+                    job.id, tenantId, job.rendered.get(), job.unchanged.get(), job.failed.get());
+        });
+
+        log.info("Started {} render job {} for {} documents ({} - {}) tenant: {}", request.getDocumentType(),
+                job.id, sourceIds.size(), request.getPeriodStart(), request.getPeriodEnd(), tenantId);
+        return job.toResponse();
+    }
+
+    public DocumentRenderJobResponse getJob(UUID jobId) {
+        UUID tenantId = TenantContext.requireTenantId();
+        RenderJob job = jobs.get(jobId);
+        if (job == null || !job.tenantId.equals(tenantId)) {
+            throw new ResourceNotFoundException("DocumentRenderJob", "id", jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void runBatch(RenderJob job, List<UUID> batch) {
+        String type = job.documentType.name();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DocumentRenderService.BatchResult result = documentRenderService.renderBatch(job.documentType, batch);
+            job.rendered.addAndGet(result.rendered());
+            job.unchanged.addAndGet(result.unchanged());
+            job.failed.addAndGet(result.failed());
+            meterRegistry.counter("documents.render", "type", type, "outcome", "rendered").increment(result.rendered());
+            meterRegistry.counter("documents.render", "type", type, "outcome", "unchanged").increment(result.unchanged());
+            meterRegistry.counter("documents.render", "type", type, "outcome", "failed").increment(result.failed());
+        } catch (Exception e) {
+            log.warn("Document render batch failed for job {}: {}", job.id, e.getMessage());
+            job.failed.addAndGet(batch.size());
+            meterRegistry.counter("documents.render", "type", type, "outcome", "failed").increment(batch.size());
+        } finally {
+            sample.stop(meterRegistry.timer("documents.render.batch", "type", type));
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private static final class RenderJob {
+
+        private final UUID id;
+        private final UUID tenantId;
+        private final DocumentType documentType;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+        private final int total;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger rendered = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile DocumentRenderJobStatus status = DocumentRenderJobStatus.RUNNING;
+        private volatile Instant completedAt;
+
+        private RenderJob(UUID id, UUID tenantId, DocumentType documentType,
+                          LocalDate periodStart, LocalDate periodEnd, int total) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.documentType = documentType;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.total = total;
+        }
+
+        private void finish(DocumentRenderJobStatus finalStatus) {
+            completedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        private DocumentRenderJobResponse toResponse() {
+            int processed = rendered.get() + unchanged.get() + failed.get();
+            Instant end = completedAt != null ? completedAt : Instant.now();
+            double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            return DocumentRenderJobResponse.builder()
+                    .jobId(id)
+                    .documentType(documentType)
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd)
+                    .status(status)
+                    .totalDocuments(total)
+                    .rendered(rendered.get())
+                    .unchanged(unchanged.get())
+                    .failed(failed.get())
+                    .percentComplete(total == 0 ? 100.0 : processed * 100.0 / total)
+                    .documentsPerSecond(processed / seconds)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.*;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.core.enums.DocumentType;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Renders invoice and receipt PDFs into the {@link DocumentStore}. Each document is fingerprinted
+ * from its template version and field values; when the fingerprint matches the last render and the
+ * file is still in the store, rendering is skipped. The index row is upserted, so concurrent
+ * downloads of the same document do not fail each other on its unique key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DocumentRenderService {
+
+    private static final DateTimeFormatter PAID_AT_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private final ChargeInvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final UnitRepository unitRepository;
+    private final EstateRepository estateRepository;
+    private final ResidentRepository residentRepository;
+    private final EstateChargeRepository estateChargeRepository;
+    private final TenantChargeRepository tenantChargeRepository;
+    private final RenderedDocumentRepository renderedDocumentRepository;
+    private final DocumentTemplates documentTemplates;
+    private final DocumentStore documentStore;
+
+    public record BatchResult(int rendered, int unchanged, int failed) {
+    }
+
+    public byte[] getInvoicePdf(UUID invoiceId) {
+        return getPdf(DocumentType.INVOICE, invoiceId, "Invoice");
+    }
+
+    public byte[] getReceiptPdf(UUID paymentId) {
+        return getPdf(DocumentType.RECEIPT, paymentId, "Payment");
+    }
+
+    /** The invoice PDF, only when the invoice is the resident's own; otherwise it is reported not found. */
+    public byte[] getInvoicePdfForResident(UUID invoiceId, UUID residentId) {
+        UUID tenantId = TenantContext.requireTenantId();
+        invoiceRepository.findByIdAndTenantId(invoiceId, tenantId)
+                .filter(invoice -> residentId.equals(invoice.getResidentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Invoice", "id", invoiceId));
+        return getInvoicePdf(invoiceId);
+    }
+
+    /** The receipt PDF, only when the payment is against the resident's own invoice; otherwise it is reported not found. */
+    public byte[] getReceiptPdfForResident(UUID paymentId, UUID residentId) {
+        UUID tenantId = TenantContext.requireTenantId();
+        paymentRepository.findByIdAndTenantId(paymentId, tenantId)
+                .flatMap(payment -> invoiceRepository.findByIdAndTenantId(payment.getInvoiceId(), tenantId))
+                .filter(invoice -> residentId.equals(invoice.getResidentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
+        return getReceiptPdf(paymentId);
+    }
+
+    /**
+     * Render (or confirm unchanged) a batch of documents of one type with bulk lookups for all
+     * related units, estates, residents and charges. Failures are counted per document.
+     */
+    public BatchResult renderBatch(DocumentType documentType, List<UUID> sourceIds) {
+        UUID tenantId = TenantContext.requireTenantId();
+        Map<UUID, String> hashes = new HashMap<>();
+        BatchResult result = render(documentType, sourceIds, tenantId, hashes);
+        log.debug("Rendered {} batch of {} for tenant {}: {}", documentType, sourceIds.size(), tenantId, result);
+        return result;
+    }
+
+    private byte[] getPdf(DocumentType documentType, UUID sourceId, String resourceName) {
+        UUID tenantId = TenantContext.requireTenantId();
+        Map<UUID, String> hashes = new HashMap<>();
+        render(documentType, List.of(sourceId), tenantId, hashes);
+
+        String hash = hashes.get(sourceId);
+        if (hash == null) {
+            throw new ResourceNotFoundException(resourceName, "id", sourceId);
+        }
+        return documentStore.get(hash)
+                .orElseThrow(() -> new IllegalStateException("Rendered document missing from store: " + hash));
+    }
+
+    private BatchResult render(DocumentType documentType, List<UUID> sourceIds, UUID tenantId,
+                               Map<UUID, String> hashesOut) {
+        Map<UUID, Map<String, String>> fieldsById = documentType == DocumentType.INVOICE
+                ? invoiceFields(invoiceRepository.findAllByIdsAndTenantId(sourceIds, tenantId))
+                : receiptFields(paymentRepository.findAllByIdsAndTenantId(sourceIds, tenantId), tenantId);
+
+        Map<UUID, RenderedDocument> existing = renderedDocumentRepository
+                .findBySourceIds(documentType, fieldsById.keySet(), tenantId).stream()
+                .collect(Collectors.toMap(RenderedDocument::getSourceId, Function.identity(), (a, b) -> a));
+
+        PdfTemplate template = documentTemplates.get(documentType);
+        List<RenderedDocument> changed = new ArrayList<>();
+        int rendered = 0;
+        int unchanged = 0;
+        int failed = sourceIds.size() - fieldsById.size();
+
+        for (Map.Entry<UUID, Map<String, String>> entry : fieldsById.entrySet()) {
+            UUID sourceId = entry.getKey();
+            try {
+                String fingerprint = fingerprint(template, entry.getValue());
+                RenderedDocument document = existing.get(sourceId);
+                if (document != null && document.getFingerprint().equals(fingerprint)
+                        && documentStore.contains(document.getContentHash())) {
+                    hashesOut.put(sourceId, document.getContentHash());
+                    unchanged++;
+                    continue;
+                }
+
+                byte[] pdf = template.render(entry.getValue());
+                String hash = documentStore.put(pdf);
+                if (document == null) {
+                    document = new RenderedDocument();
+                    document.setTenantId(tenantId);
+                    document.setDocumentType(documentType);
+                    document.setSourceId(sourceId);
+                }
+                document.setFingerprint(fingerprint);
+                document.setContentHash(hash);
+                document.setSizeBytes(pdf.length);
+                document.setRenderedAt(Instant.now());
+                changed.add(document);
+                hashesOut.put(sourceId, hash);
+                rendered++;
+            } catch (Exception e) {
+                log.warn("Failed to render {} {}: {}", documentType, sourceId, e.getMessage());
+                failed++;
+            }
+        }
+
+        for (RenderedDocument document : changed) {
+            renderedDocumentRepository.upsert(tenantId, documentType.name(), document.getSourceId(),
+                    document.getFingerprint(), document.getContentHash(), document.getSizeBytes(),
+                    document.getRenderedAt());
+        }
+        return new BatchResult(rendered, unchanged, failed);
+    }
+
+    static String fingerprint(PdfTemplate template, Map<String, String> fields) {
+        StringBuilder canonical = new StringBuilder(template.id()).append('\n');
+        new TreeMap<>(fields).forEach((key, value) -> canonical.append(key).append('=').append(value).append('\n'));
+        return DocumentStore.sha256Hex(canonical.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<UUID, Map<String, String>> invoiceFields(List<ChargeInvoice> invoices) {
+        InvoiceContext context = loadContext(invoices);
+        Map<UUID, Map<String, String>> result = new LinkedHashMap<>();
+        for (ChargeInvoice invoice : invoices) {
+            Map<String, String> fields = context.partyFields(invoice);
+            fields.put("invoiceNumber", invoice.getInvoiceNumber());
+            fields.put("status", invoice.getStatus().name());
+            fields.put("dueDate", String.valueOf(invoice.getDueDate()));
+            fields.put("billingPeriod", invoice.getBillingPeriodStart() != null && invoice.getBillingPeriodEnd() != null
+                    ? invoice.getBillingPeriodStart() + " to " + invoice.getBillingPeriodEnd() : "-");
+            fields.put("amount", money(invoice.getAmount()));
+            fields.put("penaltyAmount", money(invoice.getPenaltyAmount()));
+            fields.put("totalAmount", money(invoice.getTotalAmount()));
+            fields.put("paidAmount", money(invoice.getPaidAmount()));
+            fields.put("balance", money(invoice.getTotalAmount().subtract(invoice.getPaidAmount()).max(BigDecimal.ZERO)));
+            fields.put("notes", invoice.getNotes() != null ? invoice.getNotes() : "");
+            result.put(invoice.getId(), fields);
+        }
+        return result;
+    }
+
+    private Map<UUID, Map<String, String>> receiptFields(List<Payment> payments, UUID tenantId) {
+        Set<UUID> invoiceIds = payments.stream().map(Payment::getInvoiceId).collect(Collectors.toSet());
+        Map<UUID, ChargeInvoice> invoices = invoiceIds.isEmpty() ? Map.of()
+                : invoiceRepository.findAllByIdsAndTenantId(invoiceIds, tenantId).stream()
+                .collect(Collectors.toMap(ChargeInvoice::getId, Function.identity()));
+        InvoiceContext context = loadContext(invoices.values());
+
+        Map<UUID, Map<String, String>> result = new LinkedHashMap<>();
+        for (Payment payment : payments) {
+            ChargeInvoice invoice = invoices.get(payment.getInvoiceId());
+            if (invoice == null) {
+                continue;
+            }
+            Map<String, String> fields = context.partyFields(invoice);
+            fields.put("reference", payment.getReference());
+            fields.put("paidAt", payment.getPaidAt() != null ? PAID_AT_FORMAT.format(payment.getPaidAt()) : "-");
+            fields.put("paymentMethod", payment.getPaymentMethod().name());
+            fields.put("paymentProvider", payment.getPaymentProvider().name());
+            fields.put("invoiceNumber", invoice.getInvoiceNumber());
+            fields.put("amount", money(payment.getAmount()));
+            fields.put("invoiceBalance",
+                    money(invoice.getTotalAmount().subtract(invoice.getPaidAmount()).max(BigDecimal.ZERO)));
+            result.put(payment.getId(), fields);
+        }
+        return result;
+    }
+
+    private InvoiceContext loadContext(Collection<ChargeInvoice> invoices) {
+        Map<UUID, Unit> units = byId(unitRepository.findAllById(
+                collect(invoices, ChargeInvoice::getUnitId)), Unit::getId);
+        Map<UUID, Estate> estates = byId(estateRepository.findAllById(
+                collect(units.values(), Unit::getEstateId)), Estate::getId);
+        Map<UUID, Resident> residents = byId(residentRepository.findAllById(
+                collect(invoices, ChargeInvoice::getResidentId)), Resident::getId);
+
+        Map<UUID, String> chargeNames = new HashMap<>();
+        estateChargeRepository.findAllById(collect(invoices, i -> i.getChargeType() == ChargeType.ESTATE_CHARGE ? i.getChargeId() : null))
+                .forEach(charge -> chargeNames.put(charge.getId(), charge.getName()));
+        tenantChargeRepository.findAllById(collect(invoices, i -> i.getChargeType() == ChargeType.TENANT_CHARGE ? i.getChargeId() : null))
+                .forEach(charge -> chargeNames.put(charge.getId(), charge.getName()));
+
+        return new InvoiceContext(units, estates, residents, chargeNames);
+    }
+
+    private record InvoiceContext(Map<UUID, Unit> units, Map<UUID, Estate> estates,
+                                  Map<UUID, Resident> residents, Map<UUID, String> chargeNames) {
+
+        Map<String, String> partyFields(ChargeInvoice invoice) {
+            Map<String, String> fields = new HashMap<>();
+            Unit unit = units.get(invoice.getUnitId());
+            Estate estate = unit != null ? estates.get(unit.getEstateId()) : null;
+            Resident resident = invoice.getResidentId() != null ? residents.get(invoice.getResidentId()) : null;
+
+            fields.put("estateName", estate != null ? estate.getName() : "");
+            fields.put("estateAddress", estate != null ? joinNonBlank(estate.getAddress(), estate.getCity(), estate.getState()) : "");
+            fields.put("unitNumber", unit != null ? unit.getUnitNumber() : "");
+            fields.put("residentName", resident != null ? resident.getFirstName() + " " + resident.getLastName() : "");
+            fields.put("chargeName", switch (invoice.getChargeType()) {
+                case UTILITY -> "Utility";
+                case VIOLATION_FINE -> "Violation fines";
+                default -> chargeNames.getOrDefault(invoice.getChargeId(), "");
+            });
+            return fields;
+        }
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount == null ? "0.00" : String.format(Locale.ENGLISH, "%,.2f", amount.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private static String joinNonBlank(String... parts) {
+        return Arrays.stream(parts).filter(p -> p != null && !p.isBlank()).collect(Collectors.joining(", "));
+    }
+
+    private static <T> Set<UUID> collect(Collection<T> items, Function<T, UUID> getter) {
+        return items.stream().map(getter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<UUID, T> byId(List<T> items, Function<T, UUID> getter) {
+        return items.stream().collect(Collectors.toMap(getter, Function.identity(), (a, b) -> a));
+    }
+}
@@ -0,0 +1,84 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.exception.DocumentStorageException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Local content-addressed file store: each document is written once under its SHA-256 hash
+ * ({@code <root>/<first 2 hex chars>/<hash>.pdf}), so identical documents share one file.
+ */
+@Component
+@Slf4j
+public class DocumentStore {
+
+    private final Path root;
+
+    public DocumentStore(@Value("${documents.storage.path:./data/documents}") String rootPath) {
+        this.root = Paths.get(rootPath).toAbsolutePath().normalize();
+    }
+
+    /** Store the content (if not already present) and return its hash. */
+    public String put(byte[] content) {
+        String hash = sha256Hex(content);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (FileAlreadyExistsException e) {
+                // Another worker stored the same content first
+                Files.deleteIfExists(temp);
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new DocumentStorageException("Failed to store document " + hash, e);
+        }
+    }
+
+    public Optional<byte[]> get(String hash) {
+        Path path = pathFor(hash);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new DocumentStorageException("Failed to read document " + hash, e);
+        }
+    }
+
+    public boolean contains(String hash) {
+        return Files.exists(pathFor(hash));
+    }
+
+    static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Path pathFor(String hash) {
+        if (hash.length() < 3 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+}
@@ -0,0 +1,59 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.enums.DocumentType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invoice and receipt layouts, compiled once at startup. Bump the version when a layout changes
+ * so existing documents are re-rendered on their next request or bulk job.
+ */
+@Component
+public class DocumentTemplates {
+
+    private final PdfTemplate invoice = PdfTemplate.builder("invoice", 1)
+            .text(50, 790, 18, true, "{{estateName}}")
+            .text(50, 774, "{{estateAddress}}")
+            .text(430, 790, 18, true, "INVOICE")
+            .rule(760)
+            .label(50, 735, "Invoice No:").text(150, 735, "{{invoiceNumber}}")
+            .label(50, 718, "Status:").text(150, 718, "{{status}}")
+            .label(50, 701, "Due Date:").text(150, 701, "{{dueDate}}")
+            .label(50, 684, "Billing Period:").text(150, 684, "{{billingPeriod}}")
+            .label(330, 735, "Billed To:").text(400, 735, "{{residentName}}")
+            .label(330, 718, "Unit:").text(400, 718, "{{unitNumber}}")
+            .rule(660)
+            .label(50, 640, "Description").label(450, 640, "Amount")
+            .text(50, 620, "{{chargeName}}").text(450, 620, "{{amount}}")
+            .text(50, 603, "Late payment penalty").text(450, 603, "{{penaltyAmount}}")
+            .rule(590)
+            .label(330, 570, "Total").text(450, 570, "{{totalAmount}}")
+            .label(330, 553, "Paid").text(450, 553, "{{paidAmount}}")
+            .label(330, 536, "Balance Due").text(450, 536, 10, true, "{{balance}}")
+            .text(50, 500, 9, false, "{{notes}}")
+            .build();
+
+    private final PdfTemplate receipt = PdfTemplate.builder("receipt", 1)
+            .text(50, 790, 18, true, "{{estateName}}")
+            .text(50, 774, "{{estateAddress}}")
+            .text(430, 790, 18, true, "RECEIPT")
+            .rule(760)
+            .label(50, 735, "Reference:").text(150, 735, "{{reference}}")
+            .label(50, 718, "Paid On:").text(150, 718, "{{paidAt}}")
+            .label(50, 701, "Method:").text(150, 701, "{{paymentMethod}}")
+            .label(50, 684, "Provider:").text(150, 684, "{{paymentProvider}}")
+            .label(330, 735, "Received From:").text(420, 735, "{{residentName}}")
+            .label(330, 718, "Unit:").text(420, 718, "{{unitNumber}}")
+            .rule(660)
+            .label(50, 640, "Invoice").label(250, 640, "Description").label(450, 640, "Amount")
+            .text(50, 620, "{{invoiceNumber}}").text(250, 620, "{{chargeName}}").text(450, 620, "{{amount}}")
+            .rule(600)
+            .label(330, 580, "Invoice Balance").text(450, 580, "{{invoiceBalance}}")
+            .build();
+
+    public PdfTemplate get(DocumentType documentType) {
+        return switch (documentType) {
+            case INVOICE -> invoice;
+            case RECEIPT -> receipt;
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.strataguard.service.document;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-page PDF layout compiled once into byte segments. Everything except the page content
+ * stream (catalog, page tree, fonts and their xref offsets) is pre-serialized; rendering only
+ * splices escaped field values between literal segments, so output is deterministic for equal input.
+ */
+public final class PdfTemplate {
+
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int CONTENT_OBJECT = 6;
+
+    private final String id;
+    private final List<Segment> segments;
+    private final byte[] prefix;
+    private final int[] prefixOffsets;
+
+    private PdfTemplate(String id, List<Segment> segments) {
+        this.id = id;
+        this.segments = segments;
+
+        String[] objects = {
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] " +
+                        "/Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents " + CONTENT_OBJECT + " 0 R >>",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>"
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeAscii(out, "%PDF-1.4\n");
+        this.prefixOffsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            prefixOffsets[i] = out.size();
+            writeAscii(out, (i + 1) + " 0 obj\n" + objects[i] + "\nendobj\n");
+        }
+        this.prefix = out.toByteArray();
+    }
+
+    public static Builder builder(String name, int version) {
+        return new Builder(name + ":v" + version);
+    }
+
+    /** Template name and version; part of every document fingerprint so layout changes force a re-render. */
+    public String id() {
+        return id;
+    }
+
+    public byte[] render(Map<String, String> fields) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                content.writeBytes(literal.bytes());
+            } else if (segment instanceof Field field) {
+                content.writeBytes(escape(fields.getOrDefault(field.name(), "")));
+            }
+        }
+        byte[] stream = content.toByteArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + stream.length + 512);
+        out.writeBytes(prefix);
+        int contentOffset = out.size();
+        writeAscii(out, CONTENT_OBJECT + " 0 obj\n<< /Length " + stream.length + " >>\nstream\n");
+        out.writeBytes(stream);
+        writeAscii(out, "\nendstream\nendobj\n");
+
+        int xrefOffset = out.size();
+        StringBuilder xref = new StringBuilder(40 + 20 * (CONTENT_OBJECT + 1));
+        xref.append("xref\n0 ").append(CONTENT_OBJECT + 1).append('\n');
+        xref.append("0000000000 65535 f \n");
+        for (int offset : prefixOffsets) {
+            xref.append(String.format("%010d 00000 n \n", offset));
+        }
+        xref.append(String.format("%010d 00000 n \n", contentOffset));
+        xref.append("trailer\n<< /Size ").append(CONTENT_OBJECT + 1).append(" /Root 1 0 R >>\n");
+        xref.append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        writeAscii(out, xref.toString());
+        return out.toByteArray();
+    }
+
+    static byte[] escape(String value) {
+        byte[] bytes = new byte[value.length() * 2];
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '(' || c == ')') {
+                bytes[length++] = '\\';
+                bytes[length++] = (byte) c;
+            } else if (c < 0x20 || c > 0xFF) {
+                bytes[length++] = '?';
+            } else {
+                bytes[length++] = (byte) c;
+            }
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private sealed interface Segment permits Literal, Field {
+    }
+
+    private record Literal(byte[] bytes) implements Segment {
+    }
+
+    private record Field(String name) implements Segment {
+    }
+
+    public static final class Builder {
+
+        private final String id;
+        private final List<Segment> segments = new ArrayList<>();
+        private final StringBuilder pending = new StringBuilder();
+
+        private Builder(String id) {
+            this.id = id;
+        }
+
+        /** Text at (x, y) from the bottom-left corner; {@code {{name}}} placeholders are filled at render time. */
+        public Builder text(int x, int y, int fontSize, boolean bold, String text) {
+            pending.append("BT /").append(bold ? "F2" : "F1").append(' ').append(fontSize).append(" Tf ")
+                    .append(x).append(' ').append(y).append(" Td (");
+            int position = 0;
+            while (position < text.length()) {
+                int open = text.indexOf("{{", position);
+                if (open < 0) {
+                    appendLiteral(text.substring(position));
+                    break;
+                }
+                int close = text.indexOf("}}", open + 2);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unterminated placeholder in: " + text);
+                }
+                appendLiteral(text.substring(position, open));
+                flush();
+                segments.add(new Field(text.substring(open + 2, close).trim()));
+                position = close + 2;
+            }
+            pending.append(") Tj ET\n");
+            return this;
+        }
+
+        public Builder text(int x, int y, String text) {
+            return text(x, y, 10, false, text);
+        }
+
+        public Builder label(int x, int y, String text) {
+            return text(x, y, 10, true, text);
+        }
+
+        /** Horizontal rule across the printable width. */
+        public Builder rule(int y) {
+            pending.append("0.5 w 50 ").append(y).append(" m ").append(PAGE_WIDTH - 50).append(' ').append(y)
+                    .append(" l S\n");
+            return this;
+        }
+
+        public PdfTemplate build() {
+            flush();
+            return new PdfTemplate(id, List.copyOf(segments));
+        }
+
+        private void appendLiteral(String literal) {
+            pending.append(new String(escape(literal), StandardCharsets.ISO_8859_1));
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                segments.add(new Literal(pending.toString().getBytes(StandardCharsets.ISO_8859_1)));
+                pending.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.strataguard.service.governance;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.governance.BatchIssueFinesRequest;
+import com.strataguard.core.dto.governance.BatchIssueFinesResponse;
+import com.strataguard.core.dto.notification.SendNotificationRequest;
+import com.strataguard.core.entity.ChargeInvoice;
+import com.strataguard.core.entity.Tenancy;
+import com.strataguard.core.entity.Violation;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.core.enums.InvoiceStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.core.enums.ViolationStatus;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.TenancyRepository;
+import com.strataguard.infrastructure.repository.ViolationRepository;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
+import com.strataguard.service.notification.NotificationService;
+import com.strataguard.service.reporting.ReceivablesAgingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch fine issuing for enforcement sweeps. Confirmed violations are grouped by unit and their
+ * fines consolidated into one {@link ChargeType#VIOLATION_FINE} invoice per unit per monthly cycle:
+ * an open fine invoice for the cycle is topped up, otherwise a new one is created. Invoices and
+ * violations are written with bulk saves and each unit's resident gets a single notification. The
+ * notifications are sent together once the fines have committed, so a notification problem can
+ * never roll the fines back and residents are never told about fines that were not saved.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ViolationFineService {
+
+    private final ViolationRepository violationRepository;
+    private final ChargeInvoiceRepository invoiceRepository;
+    private final TenancyRepository tenancyRepository;
+    private final NotificationService notificationService;
+    private final ReceivablesAgingService receivablesAgingService;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+
+    @Value("${billing.violation-fines.due-days:14}")
+    private int defaultDueDays;
+
+    public BatchIssueFinesResponse issueFines(BatchIssueFinesRequest request) {
+        UUID tenantId = TenantContext.requireTenantId();
+        YearMonth cycle = YearMonth.now();
+        LocalDate cycleStart = cycle.atDay(1);
+        LocalDate cycleEnd = cycle.atEndOfMonth();
+        LocalDate dueDate = request.getDueDate() != null ? request.getDueDate() : LocalDate.now().plusDays(defaultDueDays);
+
+        List<UUID> requestedIds = request.getViolationIds().stream().distinct().toList();
+        Map<UUID, Violation> violations = violationRepository.findAllByIdsAndTenantId(requestedIds, tenantId).stream()
+                .collect(Collectors.toMap(Violation::getId, Function.identity()));
+
+        List<BatchIssueFinesResponse.SkippedViolation> skipped = new ArrayList<>();
+        Map<UUID, List<Violation>> byUnit = new LinkedHashMap<>();
+        for (UUID id : requestedIds) {
+            Violation violation = violations.get(id);
+            String reason = violation == null ? "Violation not found"
+                    : violation.getStatus() != ViolationStatus.CONFIRMED ? "Violation is " + violation.getStatus()
+                    : violation.getFineAmount() == null || violation.getFineAmount().signum() <= 0 ? "No fine amount set"
+                    : null;
+            if (reason != null) {
+                skipped.add(BatchIssueFinesResponse.SkippedViolation.builder().violationId(id).reason(reason).build());
+            } else {
+                byUnit.computeIfAbsent(violation.getUnitId(), k -> new ArrayList<>()).add(violation);
+            }
+        }
+
+        if (byUnit.isEmpty()) {
+            return BatchIssueFinesResponse.builder()
+                    .cycleStart(cycleStart).cycleEnd(cycleEnd)
+                    .requested(requestedIds.size())
+                    .totalAmount(BigDecimal.ZERO)
+                    .units(List.of())
+                    .skipped(skipped)
+                    .build();
+        }
+
+        Map<UUID, ChargeInvoice> openInvoices = invoiceRepository.findOpenByChargeTypeAndUnitIds(
+                        ChargeType.VIOLATION_FINE, byUnit.keySet(), cycleStart, tenantId).stream()
+                .collect(Collectors.toMap(ChargeInvoice::getUnitId, Function.identity(), (a, b) -> a));
+        Map<UUID, UUID> occupants = resolveOccupants(byUnit, openInvoices.keySet(), tenantId);
+
+        int newInvoiceCount = byUnit.size() - openInvoices.size();
+        Iterator<String> invoiceNumbers = invoiceNumberAllocator.reserve(
+                tenantId, InvoiceNumberAllocator.CHARGE_SERIES, newInvoiceCount).iterator();
+
+        List<ChargeInvoice> invoices = new ArrayList<>(byUnit.size());
+        for (Map.Entry<UUID, List<Violation>> entry : byUnit.entrySet()) {
+            BigDecimal fines = entry.getValue().stream().map(Violation::getFineAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            ChargeInvoice invoice = openInvoices.get(entry.getKey());
+            if (invoice == null) {
+                invoice = new ChargeInvoice();
+                invoice.setTenantId(tenantId);
+                invoice.setInvoiceNumber(invoiceNumbers.next());
+                invoice.setChargeType(ChargeType.VIOLATION_FINE);
+                invoice.setUnitId(entry.getKey());
+                invoice.setResidentId(occupants.get(entry.getKey()));
+                invoice.setAmount(BigDecimal.ZERO);
+                invoice.setPenaltyAmount(BigDecimal.ZERO);
+                invoice.setTotalAmount(BigDecimal.ZERO);
+                invoice.setPaidAmount(BigDecimal.ZERO);
+                invoice.setDueDate(dueDate);
+                invoice.setStatus(InvoiceStatus.PENDING);
+                invoice.setBillingPeriodStart(cycleStart);
+                invoice.setBillingPeriodEnd(cycleEnd);
+            }
+            invoice.setAmount(invoice.getAmount().add(fines));
+            invoice.setTotalAmount(invoice.getTotalAmount().add(fines));
+            invoice.setNotes(appendNotes(invoice.getNotes(), entry.getValue()));
+            invoices.add(invoice);
+        }
+
+        List<ChargeInvoice> savedInvoices = invoiceRepository.saveAll(invoices);
+        Map<UUID, ChargeInvoice> invoiceByUnit = savedInvoices.stream()
+                .collect(Collectors.toMap(ChargeInvoice::getUnitId, Function.identity()));
+
+        List<Violation> fined = new ArrayList<>();
+        byUnit.forEach((unitId, unitViolations) -> unitViolations.forEach(violation -> {
+            violation.setStatus(ViolationStatus.FINED);
+            violation.setInvoiceId(invoiceByUnit.get(unitId).getId());
+            fined.add(violation);
+        }));
+        violationRepository.saveAll(fined);
+        receivablesAgingService.evict(tenantId);
+
+        List<BatchIssueFinesResponse.UnitFine> units = new ArrayList<>(byUnit.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<SendNotificationRequest> notifications = new ArrayList<>();
+        for (Map.Entry<UUID, List<Violation>> entry : byUnit.entrySet()) {
+            ChargeInvoice invoice = invoiceByUnit.get(entry.getKey());
+            BigDecimal fines = entry.getValue().stream().map(Violation::getFineAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            totalAmount = totalAmount.add(fines);
+            units.add(BatchIssueFinesResponse.UnitFine.builder()
+                    .unitId(entry.getKey())
+                    .residentId(invoice.getResidentId())
+                    .invoiceId(invoice.getId())
+                    .invoiceNumber(invoice.getInvoiceNumber())
+                    .newInvoice(!openInvoices.containsKey(entry.getKey()))
+                    .violationCount(entry.getValue().size())
+                    .amount(fines)
+                    .build());
+            if (invoice.getResidentId() != null) {
+                notifications.add(fineNotification(invoice, entry.getValue().size(), fines));
+            }
+        }
+        if (!notifications.isEmpty()) {
+            afterCommit(() -> notifyResidents(notifications));
+        }
+
+        log.info("Issued {} violation fines across {} units ({} new invoices) for tenant: {}",
+                fined.size(), byUnit.size(), newInvoiceCount, tenantId);
+        return BatchIssueFinesResponse.builder()
+                .cycleStart(cycleStart)
+                .cycleEnd(cycleEnd)
+                .requested(requestedIds.size())
+                .fined(fined.size())
+                .invoicesCreated(newInvoiceCount)
+                .invoicesUpdated(openInvoices.size())
+                .notificationsSent(notifications.size())
+                .totalAmount(totalAmount)
+                .units(units)
+                .skipped(skipped)
+                .build();
+    }
+
+    /**
+     * Resident to bill for each unit that needs a new invoice: the resident named on the violation
+     * when there is one, otherwise the unit's active tenant, looked up in one query.
+     */
+    private Map<UUID, UUID> resolveOccupants(Map<UUID, List<Violation>> byUnit, Set<UUID> invoicedUnits, UUID tenantId) {
+        Map<UUID, UUID> occupants = new HashMap<>();
+        Set<UUID> unresolved = new HashSet<>();
+        byUnit.forEach((unitId, unitViolations) -> {
+            if (invoicedUnits.contains(unitId)) {
+                return;
+            }
+            unitViolations.stream().map(Violation::getResidentId).filter(Objects::nonNull).findFirst()
+                    .ifPresentOrElse(residentId -> occupants.put(unitId, residentId), () -> unresolved.add(unitId));
+        });
+        if (!unresolved.isEmpty()) {
+            for (Tenancy tenancy : tenancyRepository.findActiveByUnitIdsAndTenantId(unresolved, tenantId)) {
+                occupants.putIfAbsent(tenancy.getUnitId(), tenancy.getResidentId());
+            }
+        }
+        return occupants;
+    }
+
+    private static String appendNotes(String notes, List<Violation> violations) {
+        String lines = violations.stream()
+                .map(v -> v.getRuleViolated() + ": " + v.getFineAmount())
+                .collect(Collectors.joining("\n"));
+        return notes == null || notes.isBlank() ? "Violation fines:\n" + lines : notes + "\n" + lines;
+    }
+
+    private static SendNotificationRequest fineNotification(ChargeInvoice invoice, int violationCount, BigDecimal fines) {
+        return SendNotificationRequest.builder()
+                .recipientId(invoice.getResidentId())
+                .type(NotificationType.INVOICE_GENERATED)
+                .title("Violation Fines Issued")
+                .body(violationCount + " violation fine(s) totalling " + fines
+                        + " have been added to invoice " + invoice.getInvoiceNumber())
+                .data(Map.of("invoiceId", invoice.getId().toString(),
+                        "invoiceNumber", invoice.getInvoiceNumber()))
+                .build();
+    }
+
+    private void notifyResidents(List<SendNotificationRequest> notifications) {
+        try {
+            notificationService.sendAll(notifications);
+        } catch (Exception e) {
+            log.warn("Failed to send {} violation fine notifications: {}", notifications.size(), e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
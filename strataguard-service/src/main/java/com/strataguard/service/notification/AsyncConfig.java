@@ -1,6 +1,7 @@
 package com.strataguard.service.notification;
 
 import com.strataguard.core.config.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskDecorator;
@@ -10,35 +11,113 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.UUID;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 @EnableScheduling
 public class AsyncConfig {
 
-    @Bean(name = "notificationExecutor")
-    public Executor notificationExecutor() {
+    /**
+     * Runs recurring billing, one task per tenant. When the queue is full the scheduler thread
+     * bills the tenant itself, which slows submission down instead of queueing without limit.
+     */
+    @Bean(name = "billingExecutor")
+    public Executor billingExecutor(@Value("${billing.recurring.parallelism:4}") int parallelism,
+                                    @Value("${billing.recurring.queue-capacity:100}") int queueCapacity) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("notif-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("billing-");
         executor.setTaskDecorator(tenantContextDecorator());
         executor.initialize();
         return executor;
     }
 
-    private TaskDecorator tenantContextDecorator() {
+    /**
+     * Runs bulk render job batches. When the queue is full the request thread renders the batch
+     * itself, so a large job slows its own submission down instead of queueing without limit.
+     */
+    @Bean(name = "documentRenderExecutor")
+    public Executor documentRenderExecutor(@Value("${documents.render.pool-size:4}") int poolSize,
+                                           @Value("${documents.render.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("docs-");
+        executor.setTaskDecorator(tenantContextDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "broadcastExecutor")
+    public Executor broadcastExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix("broadcast-");
+        executor.setTaskDecorator(tenantContextDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Delivers broadcast notifications. Broadcasts also cap their own in-flight deliveries, so a
+     * full queue only happens with several concurrent broadcasts; the submitting broadcast thread
+     * then runs the delivery itself instead of dropping it.
+     */
+    @Bean(name = "broadcastDispatchExecutor")
+    public Executor broadcastDispatchExecutor(@Value("${notification.broadcast.dispatch-pool-size:8}") int poolSize,
+                                              @Value("${notification.broadcast.dispatch-queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("broadcast-dispatch-");
+        executor.setTaskDecorator(tenantContextDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs chat group commits. A single thread keeps messages in send order; batches mix tenants,
+     * so no tenant context is carried over.
+     */
+    @Bean(name = "chatWriteExecutor")
+    public Executor chatWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("chat-write-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Carries the submitter's tenant into the task. The running thread's own tenant is restored
+     * afterwards, since a caller-runs rejection runs the task on the submitting thread.
+     */
+    static TaskDecorator tenantContextDecorator() {
         return runnable -> {
             UUID tenantId = TenantContext.getTenantId();
             return () -> {
+                UUID previous = TenantContext.getTenantId();
                 try {
                     if (tenantId != null) {
                         TenantContext.setTenantId(tenantId);
                     }
                     runnable.run();
                 } finally {
-                    TenantContext.clear();
+                    if (previous != null) {
+                        TenantContext.setTenantId(previous);
+                    } else {
+                        TenantContext.clear();
+                    }
                 }
             };
         };
@@ -0,0 +1,239 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.notification.BroadcastResponse;
+import com.strataguard.core.dto.notification.BulkNotificationRequest;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.BroadcastStatus;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estate-wide broadcast fan-out. The audience is resolved with one query, notifications are
+ * written in chunks by {@link BroadcastWriter}, and each chunk's external-channel rows are handed
+ * to the broadcast dispatch executor as one batch per channel through a per-broadcast in-flight
+ * limit, so the writer blocks instead of overflowing the executor queue. Progress is tracked in memory per broadcast.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastService {
+
+    private static final Duration BROADCAST_RETENTION = Duration.ofHours(24);
+
+    private final BroadcastWriter broadcastWriter;
+    private final NotificationDispatcher dispatcher;
+    private final NotificationConfig notificationConfig;
+    private final Executor broadcastExecutor;
+    private final Executor broadcastDispatchExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, Broadcast> broadcasts = new ConcurrentHashMap<>();
+
+    public BroadcastResponse startBroadcast(BulkNotificationRequest request) {
+        UUID tenantId = TenantContext.requireTenantId();
+        purgeExpiredBroadcasts();
+
+        List<UUID> audience = broadcastWriter.resolveAudience(request.getEstateId(), tenantId);
+        Broadcast broadcast = new Broadcast(UUID.randomUUID(), tenantId, request.getEstateId(), request.getType(),
+                audience.size(), NotificationChannel.values().length);
+        broadcasts.put(broadcast.id, broadcast);
+
+        if (audience.isEmpty()) {
+            log.warn("No residents found in estate {} for broadcast", request.getEstateId());
+            broadcast.finish(BroadcastStatus.COMPLETED);
+            return broadcast.toResponse();
+        }
+
+        broadcastExecutor.execute(() -> run(broadcast, request, audience));
+        log.info("Started broadcast {} of {} to {} residents in estate {} tenant: {}",
+                broadcast.id, request.getType(), audience.size(), request.getEstateId(), tenantId);
+        return broadcast.toResponse();
+    }
+
+    public BroadcastResponse getBroadcast(UUID broadcastId) {
+        UUID tenantId = TenantContext.requireTenantId();
+        Broadcast broadcast = broadcasts.get(broadcastId);
+        if (broadcast == null || !broadcast.tenantId.equals(tenantId)) {
+            throw new ResourceNotFoundException("Broadcast", "id", broadcastId);
+        }
+        return broadcast.toResponse();
+    }
+
+    private void run(Broadcast broadcast, BulkNotificationRequest request, List<UUID> audience) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int chunkSize = notificationConfig.getBroadcast().getChunkSize();
+        int maxInFlight = notificationConfig.getBroadcast().getMaxInFlight();
+        Semaphore permits = new Semaphore(maxInFlight);
+        BroadcastStatus status = BroadcastStatus.COMPLETED;
+        try {
+            Map<NotificationChannel, BroadcastWriter.ChannelContent> content = broadcastWriter.resolveContent(request);
+            for (int from = 0; from < audience.size(); from += chunkSize) {
+                List<UUID> chunk = audience.subList(from, Math.min(audience.size(), from + chunkSize));
+                BroadcastWriter.ChunkResult result = broadcastWriter.writeChunk(
+                        broadcast.tenantId, request.getType(), List.copyOf(chunk), content);
+                broadcast.recipientsWritten.addAndGet(chunk.size());
+                broadcast.skipped.addAndGet(result.skippedByPreference());
+                meterRegistry.counter("notifications.broadcast.skipped").increment(result.skippedByPreference());
+
+                Map<NotificationChannel, List<Notification>> external = new EnumMap<>(NotificationChannel.class);
+                for (Notification notification : result.saved()) {
+                    broadcast.created.incrementAndGet();
+                    meterRegistry.counter("notifications.broadcast.created", "channel", notification.getChannel().name()).increment();
+                    if (notification.getChannel() == NotificationChannel.IN_APP) {
+                        broadcast.delivered.incrementAndGet();
+                    } else {
+                        external.computeIfAbsent(notification.getChannel(), c -> new ArrayList<>()).add(notification);
+                    }
+                }
+
+                // One delivery task per channel per chunk; senders turn it into provider batch calls
+                for (List<Notification> batch : external.values()) {
+                    int batchPermits = Math.min(batch.size(), maxInFlight);
+                    permits.acquire(batchPermits);
+                    broadcast.inFlight.addAndGet(batch.size());
+                    broadcastDispatchExecutor.execute(() -> {
+                        try {
+                            deliver(broadcast, batch);
+                        } finally {
+                            broadcast.inFlight.addAndGet(-batch.size());
+                            permits.release(batchPermits);
+                        }
+                    });
+                }
+            }
+            // Wait for the last deliveries to drain
+            permits.acquire(maxInFlight);
+            permits.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = BroadcastStatus.FAILED;
+        } catch (Exception e) {
+            log.error("Broadcast {} failed after {} recipients: {}",
+                    broadcast.id, broadcast.recipientsWritten.get(), e.getMessage());
+            status = BroadcastStatus.FAILED;
+        } finally {
+            broadcast.finish(status);
+            sample.stop(meterRegistry.timer("notifications.broadcast.duration", "status", status.name()));
+        }
+        log.info("Broadcast {} {}: {} notifications, {} delivered, {} retrying, {} failed, {} skipped by preference",
+                broadcast.id, status, broadcast.created.get(), broadcast.delivered.get(), broadcast.retrying.get(),
+                broadcast.failed.get(), broadcast.skipped.get());
+    }
+
+    private void deliver(Broadcast broadcast, List<Notification> batch) {
+        List<Notification> delivered;
+        try {
+            delivered = dispatcher.deliverBatch(batch);
+        } catch (Exception e) {
+            log.warn("Broadcast {} delivery of {} {} notifications failed: {}",
+                    broadcast.id, batch.size(), batch.get(0).getChannel(), e.getMessage());
+            batch.forEach(notification -> notification.setStatus(NotificationStatus.FAILED));
+            delivered = batch;
+        }
+        for (Notification notification : delivered) {
+            String outcome = switch (notification.getStatus()) {
+                case SENT, DELIVERED -> {
+                    broadcast.delivered.incrementAndGet();
+                    yield "sent";
+                }
+                case PENDING -> {
+                    broadcast.retrying.incrementAndGet();
+                    yield "retrying";
+                }
+                default -> {
+                    broadcast.failed.incrementAndGet();
+                    yield "failed";
+                }
+            };
+            meterRegistry.counter("notifications.broadcast.dispatch",
+                    "channel", notification.getChannel().name(), "outcome", outcome).increment();
+        }
+    }
+
+    private void purgeExpiredBroadcasts() {
+        Instant cutoff = Instant.now().minus(BROADCAST_RETENTION);
+        broadcasts.values().removeIf(broadcast -> broadcast.completedAt != null && broadcast.completedAt.isBefore(cutoff));
+    }
+
+    private static final class Broadcast {
+
+        private final UUID id;
+        private final UUID tenantId;
+        private final UUID estateId;
+        private final NotificationType type;
+        private final int totalRecipients;
+        private final int channelCount;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger recipientsWritten = new AtomicInteger();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicInteger retrying = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile BroadcastStatus status = BroadcastStatus.RUNNING;
+        private volatile Instant completedAt;
+
+        private Broadcast(UUID id, UUID tenantId, UUID estateId, NotificationType type,
+                          int totalRecipients, int channelCount) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.estateId = estateId;
+            this.type = type;
+            this.totalRecipients = totalRecipients;
+            this.channelCount = channelCount;
+        }
+
+        private void finish(BroadcastStatus finalStatus) {
+            completedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        private BroadcastResponse toResponse() {
+            int finished = delivered.get() + retrying.get() + failed.get();
+            // Expected rows shrink as preference skips are discovered chunk by chunk
+            int expected = totalRecipients * channelCount - skipped.get();
+            Instant end = completedAt != null ? completedAt : Instant.now();
+            double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            return BroadcastResponse.builder()
+                    .broadcastId(id)
+                    .estateId(estateId)
+                    .type(type)
+                    .status(status)
+                    .totalRecipients(totalRecipients)
+                    .recipientsWritten(recipientsWritten.get())
+                    .notificationsCreated(created.get())
+                    .skippedByPreference(skipped.get())
+                    .delivered(delivered.get())
+                    .retrying(retrying.get())
+                    .failed(failed.get())
+                    .inFlight(inFlight.get())
+                    .percentComplete(status == BroadcastStatus.COMPLETED || expected <= 0 ? 100.0
+                            : Math.min(100.0, finished * 100.0 / expected))
+                    .notificationsPerSecond(finished / seconds)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
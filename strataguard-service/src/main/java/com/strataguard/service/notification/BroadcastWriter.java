@@ -0,0 +1,111 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.dto.notification.BulkNotificationRequest;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.NotificationRepository;
+import com.strataguard.infrastructure.repository.TenancyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Set-based reads and batched writes for {@link BroadcastService}. Each chunk of recipients is
+ * written in its own transaction: opt-outs are filtered in memory against the tenant's cached
+ * {@link PreferenceMatrix}, then every notification row goes out in a single {@code saveAll}. IN_APP rows are stored as delivered.
+ * The chunk's contacts are loaded into {@link RecipientDirectory} for the senders; IN_APP rows
+ * are pushed to connected clients and the recipients' unread counters bumped with one statement.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BroadcastWriter {
+
+    private final TenancyRepository tenancyRepository;
+    private final NotificationPreferenceService preferenceService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationTemplateService templateService;
+    private final NotificationRetryPolicy retryPolicy;
+    private final NotificationRetentionPolicy retentionPolicy;
+    private final RecipientDirectory recipientDirectory;
+    private final UnreadCounterService unreadCounters;
+    private final InAppNotificationPusher inAppPusher;
+
+    record ChannelContent(String title, String body) {
+    }
+
+    record ChunkResult(List<Notification> saved, int skippedByPreference) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> resolveAudience(UUID estateId, UUID tenantId) {
+        return tenancyRepository.findActiveResidentIdsByEstateId(estateId, tenantId);
+    }
+
+    /** Title and body per channel, resolved once per broadcast through the compiled template cache. */
+    @Transactional(readOnly = true)
+    public Map<NotificationChannel, ChannelContent> resolveContent(BulkNotificationRequest request) {
+        Map<NotificationChannel, ChannelContent> content = new EnumMap<>(NotificationChannel.class);
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            String body = templateService.resolveBody(request.getType(), channel, request.getEstateId(), request.getData());
+            String title = templateService.resolveSubject(request.getType(), channel, request.getEstateId(), request.getData());
+            content.put(channel, new ChannelContent(
+                    title != null ? title : CompiledTemplate.compile(request.getTitle()).render(request.getData()),
+                    body != null ? body : CompiledTemplate.compile(request.getBody()).render(request.getData())));
+        }
+        return content;
+    }
+
+    public ChunkResult writeChunk(UUID tenantId, NotificationType type, List<UUID> recipientIds,
+                                  Map<NotificationChannel, ChannelContent> content) {
+        PreferenceMatrix preferences = preferenceService.getMatrix(tenantId);
+
+        // One bulk load per chunk so the channel senders resolve contacts from cache
+        recipientDirectory.resolve(tenantId, recipientIds);
+
+        Instant now = Instant.now();
+        Instant inFlightDeadline = retryPolicy.inFlightDeadline();
+        Instant expiresAt = retentionPolicy.expiresAt(type, now);
+        List<Notification> notifications = new ArrayList<>(recipientIds.size() * content.size());
+        int skipped = 0;
+        for (UUID recipientId : recipientIds) {
+            for (Map.Entry<NotificationChannel, ChannelContent> entry : content.entrySet()) {
+                NotificationChannel channel = entry.getKey();
+                if (!preferences.isEnabled(recipientId, channel, type)) {
+                    skipped++;
+                    continue;
+                }
+                Notification notification = new Notification();
+                notification.setTenantId(tenantId);
+                notification.setRecipientId(recipientId);
+                notification.setChannel(channel);
+                notification.setType(type);
+                notification.setTitle(entry.getValue().title());
+                notification.setBody(entry.getValue().body());
+                notification.setRetryCount(0);
+                notification.setExpiresAt(expiresAt);
+                if (channel == NotificationChannel.IN_APP) {
+                    notification.setStatus(NotificationStatus.DELIVERED);
+                    notification.setSentAt(now);
+                } else {
+                    notification.setStatus(NotificationStatus.PENDING);
+                    notification.setNextAttemptAt(inFlightDeadline);
+                }
+                notifications.add(notification);
+            }
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        if (content.containsKey(NotificationChannel.IN_APP)) {
+            inAppPusher.pushAfterCommit(saved.stream()
+                    .filter(n -> n.getChannel() == NotificationChannel.IN_APP)
+                    .toList());
+            unreadCounters.incrementAll(tenantId, recipientIds);
+        }
+        return new ChunkResult(saved, skipped);
+    }
+}
@@ -0,0 +1,124 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.exception.ProviderThrottledException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * One bounded executor and one provider rate limit per notification channel, so a slow or
+ * throttled provider only backs up its own channel. Deliveries are queued with
+ * {@link #execute}; every provider call, whichever thread makes it, goes through
+ * {@link #callProvider} to take a rate-limit token and record latency.
+ */
+@Component
+@Slf4j
+public class ChannelBulkheads {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationChannel, ThreadPoolTaskExecutor> executors = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, TokenBucket> rateLimits = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Duration> maxPermitWaits = new EnumMap<>(NotificationChannel.class);
+
+    public ChannelBulkheads(NotificationConfig notificationConfig, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            NotificationConfig.ChannelLimits limits = notificationConfig.limitsFor(channel);
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(limits.getConcurrency());
+            executor.setMaxPoolSize(limits.getConcurrency());
+            executor.setQueueCapacity(limits.getQueueCapacity());
+            executor.setThreadNamePrefix("notif-" + channel.name().toLowerCase().replace('_', '-') + "-");
+            executor.setTaskDecorator(AsyncConfig.tenantContextDecorator());
+            executor.initialize();
+            executors.put(channel, executor);
+
+            if (limits.getRatePerSecond() > 0) {
+                rateLimits.put(channel, new TokenBucket(limits.getRatePerSecond(), limits.getBurst()));
+            }
+            maxPermitWaits.put(channel, Duration.ofMillis(limits.getMaxPermitWaitMillis()));
+
+            ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+            Gauge.builder("notifications.channel.queue.depth", pool, p -> p.getQueue().size())
+                    .tag("channel", channel.name())
+                    .register(meterRegistry);
+            Gauge.builder("notifications.channel.active", pool, ThreadPoolExecutor::getActiveCount)
+                    .tag("channel", channel.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queue a delivery on the channel's executor.
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the channel queue is full
+     */
+    public void execute(NotificationChannel channel, Runnable delivery) {
+        Timer queueWait = meterRegistry.timer("notifications.channel.queue.wait", "channel", channel.name());
+        long queuedAt = System.nanoTime();
+        executors.get(channel).execute(() -> {
+            queueWait.record(Duration.ofNanos(System.nanoTime() - queuedAt));
+            delivery.run();
+        });
+    }
+
+    /**
+     * Make one provider call: wait for a rate-limit token, then run the call and record its
+     * latency by outcome. A batch call takes a single token, matching per-request provider quotas.
+     *
+     * @throws ProviderThrottledException when no token is available within the channel's permit wait;
+     *         the provider was not called, so the attempt should not count against the retry budget
+     */
+    public <T> T callProvider(NotificationChannel channel, Supplier<T> call) {
+        TokenBucket rateLimit = rateLimits.get(channel);
+        if (rateLimit != null) {
+            Duration waited;
+            try {
+                waited = rateLimit.acquire(maxPermitWaits.get(channel));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for " + channel + " rate limit", e);
+            }
+            if (waited == null) {
+                meterRegistry.counter("notifications.channel.throttled", "channel", channel.name()).increment();
+                throw new ProviderThrottledException("Rate limit exceeded for channel: " + channel);
+            }
+            meterRegistry.timer("notifications.channel.rate.wait", "channel", channel.name()).record(waited);
+        }
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            meterRegistry.timer("notifications.channel.send", "channel", channel.name(), "outcome", outcome)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public void callProvider(NotificationChannel channel, Runnable call) {
+        callProvider(channel, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+}
@@ -0,0 +1,63 @@
+package com.strataguard.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notification template text pre-parsed into literal and {@code {{placeholder}}} segments.
+ * Rendering is a single pass into a buffer sized from the literal length; placeholders with no
+ * value in the data map are emitted unchanged, and substituted values are never re-scanned.
+ */
+public final class CompiledTemplate {
+
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private final String source;
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private CompiledTemplate(String source, List<String> literals, List<String> placeholders) {
+        this.source = source;
+        this.literals = literals.toArray(String[]::new);
+        this.placeholders = placeholders.toArray(String[]::new);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(source.substring(open + 2, close));
+            position = close + 2;
+        }
+        return new CompiledTemplate(source, literals, placeholders);
+    }
+
+    /** Literal segments interleave placeholders: literal[0], placeholder[0], literal[1], ... literal[n]. */
+    public String render(Map<String, String> data) {
+        if (placeholders.length == 0 || data == null || data.isEmpty()) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(literalLength + placeholders.length * ESTIMATED_VALUE_LENGTH);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            String value = data.get(placeholders[i]);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append("{{").append(placeholders[i]).append("}}");
+            }
+        }
+        return out.append(literals[placeholders.length]).toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.notification.DeviceTokenRequest;
+import com.strataguard.core.dto.notification.DeviceTokenResponse;
+import com.strataguard.core.entity.DeviceToken;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.core.util.DeviceTokenMapper;
+import com.strataguard.infrastructure.repository.DeviceTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Registry of push device tokens per resident. Registering an existing token refreshes it and
+ * moves it to the registering resident (a shared or re-sold device); tokens the provider reports
+ * as invalid are pruned by {@link PushNotificationSender}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DeviceTokenService {
+
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final DeviceTokenMapper deviceTokenMapper;
+
+    public DeviceTokenResponse register(UUID residentId, DeviceTokenRequest request) {
+        UUID tenantId = TenantContext.requireTenantId();
+
+        if (request.getPreviousToken() != null && !request.getPreviousToken().equals(request.getToken())) {
+            deviceTokenRepository.findByTokenAndTenantId(request.getPreviousToken(), tenantId)
+                    .filter(previous -> previous.getResidentId().equals(residentId))
+                    .ifPresent(previous -> {
+                        previous.setDeleted(true);
+                        deviceTokenRepository.save(previous);
+                    });
+        }
+
+        DeviceToken deviceToken = deviceTokenRepository.findByTokenAndTenantId(request.getToken(), tenantId)
+                .orElseGet(() -> {
+                    DeviceToken created = new DeviceToken();
+                    created.setTenantId(tenantId);
+                    created.setToken(request.getToken());
+                    return created;
+                });
+        deviceToken.setResidentId(residentId);
+        deviceToken.setPlatform(request.getPlatform());
+        deviceToken.setLastSeenAt(Instant.now());
+        deviceToken = deviceTokenRepository.save(deviceToken);
+
+        log.info("Registered {} device {} for resident {} tenant: {}",
+                request.getPlatform(), deviceToken.getId(), residentId, tenantId);
+        return deviceTokenMapper.toResponse(deviceToken);
+    }
+
+    public void unregister(UUID residentId, String token) {
+        UUID tenantId = TenantContext.requireTenantId();
+        DeviceToken deviceToken = deviceTokenRepository.findByTokenAndTenantId(token, tenantId)
+                .filter(existing -> existing.getResidentId().equals(residentId))
+                .orElseThrow(() -> new ResourceNotFoundException("DeviceToken", "token", token));
+        deviceToken.setDeleted(true);
+        deviceTokenRepository.save(deviceToken);
+        log.info("Unregistered device {} for resident {} tenant: {}", deviceToken.getId(), residentId, tenantId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeviceTokenResponse> getDevices(UUID residentId) {
+        UUID tenantId = TenantContext.requireTenantId();
+        return deviceTokenRepository.findByResidentIdAndTenantId(residentId, tenantId).stream()
+                .map(deviceTokenMapper::toResponse)
+                .toList();
+    }
+
+    /** Tokens per resident for a tenant, with one query for the whole batch. */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<String>> findTokensByResidentIds(Collection<UUID> residentIds, UUID tenantId) {
+        Map<UUID, List<String>> tokens = new HashMap<>();
+        for (DeviceToken deviceToken : deviceTokenRepository.findByResidentIdsAndTenantId(residentIds, tenantId)) {
+            tokens.computeIfAbsent(deviceToken.getResidentId(), id -> new ArrayList<>()).add(deviceToken.getToken());
+        }
+        return tokens;
+    }
+
+    public int pruneTokens(UUID tenantId, Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        int pruned = deviceTokenRepository.softDeleteByTokens(tokens, tenantId);
+        log.info("Pruned {} invalid device tokens for tenant: {}", pruned, tenantId);
+        return pruned;
+    }
+}
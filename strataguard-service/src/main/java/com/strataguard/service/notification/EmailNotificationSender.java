@@ -2,21 +2,25 @@ package com.strataguard.service.notification;
 
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
-import com.strataguard.infrastructure.repository.ResidentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class EmailNotificationSender implements NotificationSender {
 
     private final JavaMailSender mailSender;
-    private final ResidentRepository residentRepository;
+    private final RecipientDirectory recipientDirectory;
+    private final NotificationConfig notificationConfig;
 
     @Value("${spring.mail.host:}")
     private String mailHost;
@@ -26,31 +30,87 @@ public class EmailNotificationSender implements NotificationSender {
 
     @Override
     public void send(Notification notification) {
-        if (mailHost == null || mailHost.isBlank()) {
-            throw new RuntimeException("Channel not configured: Email mail host is not set");
-        }
+        requireMailHost();
 
-        String recipientEmail = residentRepository.findByIdAndTenantId(
-                        notification.getRecipientId(), notification.getTenantId())
-                .map(r -> r.getEmail())
+        String recipientEmail = recipientDirectory.find(notification.getTenantId(), notification.getRecipientId())
+                .map(RecipientDirectory.Contact::email)
                 .orElseThrow(() -> new RuntimeException("Recipient email not found"));
 
         if (recipientEmail == null || recipientEmail.isBlank()) {
             throw new RuntimeException("Recipient does not have an email address");
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromAddress);
-        message.setTo(recipientEmail);
-        message.setSubject(notification.getTitle());
-        message.setText(notification.getBody());
-
-        mailSender.send(message);
+        mailSender.send(buildMessage(notification, recipientEmail));
         log.info("Email notification sent to {} for notification {}", recipientEmail, notification.getId());
     }
 
+    @Override
+    public int getMaxBatchSize() {
+        return notificationConfig.getEmail().getBatchSize();
+    }
+
+    /**
+     * Sends the whole batch over one SMTP connection. Concurrent batches each hold their own
+     * connection, bounded by the EMAIL bulkhead's concurrency.
+     */
+    @Override
+    public Map<UUID, String> sendBatch(List<Notification> notifications) {
+        requireMailHost();
+        Map<UUID, String> failures = new HashMap<>();
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolveRecipients(notifications);
+
+        Map<SimpleMailMessage, Notification> messages = new IdentityHashMap<>();
+        for (Notification notification : notifications) {
+            RecipientDirectory.Contact contact = contacts.get(notification.getRecipientId());
+            if (contact == null) {
+                failures.put(notification.getId(), "Recipient email not found");
+            } else if (!contact.hasEmail()) {
+                failures.put(notification.getId(), "Recipient does not have an email address");
+            } else {
+                messages.put(buildMessage(notification, contact.email()), notification);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            // Only the listed messages failed; the rest of the session was delivered
+            e.getFailedMessages().forEach((message, error) -> {
+                Notification notification = messages.get(message);
+                if (notification != null) {
+                    failures.put(notification.getId(), error.getMessage());
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(n -> failures.put(n.getId(), e.getMessage()));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(n -> failures.put(n.getId(), e.getMessage()));
+        }
+        log.info("Email batch of {} sent with {} failures", notifications.size(), failures.size());
+        return failures;
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.EMAIL;
     }
+
+    private void requireMailHost() {
+        if (mailHost == null || mailHost.isBlank()) {
+            throw new RuntimeException("Channel not configured: Email mail host is not set");
+        }
+    }
+
+    private SimpleMailMessage buildMessage(Notification notification, String recipientEmail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromAddress);
+        message.setTo(recipientEmail);
+        message.setSubject(notification.getTitle());
+        message.setText(notification.getBody());
+        return message;
+    }
 }
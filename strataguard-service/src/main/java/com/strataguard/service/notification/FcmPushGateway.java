@@ -0,0 +1,104 @@
+package com.strataguard.service.notification;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "notification.fcm.stub.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class FcmPushGateway implements PushGateway {
+
+    private final NotificationConfig notificationConfig;
+    private boolean fcmInitialized = false;
+
+    @PostConstruct
+    public void init() {
+        String credentialsPath = notificationConfig.getFcm().getCredentialsPath();
+        if (credentialsPath == null || credentialsPath.isBlank()) {
+            log.warn("FCM credentials path not configured. Push notifications will be disabled.");
+            return;
+        }
+
+        try {
+            if (FirebaseApp.getApps().isEmpty()) {
+                FirebaseOptions options = FirebaseOptions.builder()
+                        .setCredentials(GoogleCredentials.fromStream(new FileInputStream(credentialsPath)))
+                        .build();
+                FirebaseApp.initializeApp(options);
+                fcmInitialized = true;
+                log.info("Firebase initialized successfully for push notifications");
+            } else {
+                fcmInitialized = true;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to initialize Firebase: {}. Push notifications will be disabled.", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Result> sendMulticast(Message message, List<String> tokens) {
+        if (!fcmInitialized) {
+            throw new RuntimeException("Channel not configured: FCM is not initialized");
+        }
+
+        MulticastMessage multicast = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .putAllData(message.data())
+                .setNotification(com.google.firebase.messaging.Notification.builder()
+                        .setTitle(message.title())
+                        .setBody(message.body())
+                        .build())
+                .build();
+
+        BatchResponse response;
+        try {
+            response = FirebaseMessaging.getInstance().sendEachForMulticast(multicast);
+        } catch (FirebaseMessagingException e) {
+            throw new RuntimeException("Failed to send push notification: " + e.getMessage(), e);
+        }
+
+        List<Result> results = new ArrayList<>(tokens.size());
+        for (SendResponse sendResponse : response.getResponses()) {
+            if (sendResponse.isSuccessful()) {
+                results.add(Result.sent());
+            } else {
+                FirebaseMessagingException error = sendResponse.getException();
+                results.add(Result.failed(isTokenInvalid(error.getMessagingErrorCode(), error.getMessage()), error.getMessage()));
+            }
+        }
+        log.debug("FCM multicast to {} tokens: {} sent, {} failed",
+                tokens.size(), response.getSuccessCount(), response.getFailureCount());
+        return results;
+    }
+
+    /**
+     * Only an unregistered token, or an INVALID_ARGUMENT that names the registration token, means
+     * the token itself is dead. Other INVALID_ARGUMENT errors are about the message, and
+     * SENDER_ID_MISMATCH points at our credentials, so pruning on them could wipe good tokens.
+     */
+    static boolean isTokenInvalid(MessagingErrorCode code, String message) {
+        if (code == MessagingErrorCode.UNREGISTERED) {
+            return true;
+        }
+        return code == MessagingErrorCode.INVALID_ARGUMENT && message != null
+                && message.toLowerCase(Locale.ROOT).contains("registration token");
+    }
+}
@@ -0,0 +1,57 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.dto.notification.NotificationResponse;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.util.NotificationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pushes delivered IN_APP notifications to the recipient's connected clients once the rows
+ * are committed, so a client never sees a notification it cannot then load or mark read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InAppNotificationPusher {
+
+    private final NotificationMapper notificationMapper;
+    private final RealtimeNotificationPublisher realtimePublisher;
+
+    public void pushAfterCommit(Collection<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        // Snapshot now; the entities may be modified again before the transaction commits
+        List<Push> pushes = notifications.stream()
+                .map(n -> new Push(n, notificationMapper.toResponse(n)))
+                .toList();
+        Runnable push = () -> pushes.forEach(p -> {
+            try {
+                realtimePublisher.publishNotification(
+                        p.notification().getTenantId(), p.notification().getRecipientId(), p.response());
+            } catch (Exception e) {
+                log.warn("Failed to push notification {}: {}", p.notification().getId(), e.getMessage());
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    push.run();
+                }
+            });
+        } else {
+            push.run();
+        }
+    }
+
+    private record Push(Notification notification, NotificationResponse response) {
+    }
+}
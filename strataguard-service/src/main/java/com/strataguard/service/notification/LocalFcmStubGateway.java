@@ -0,0 +1,62 @@
+package com.strataguard.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for FCM, enabled with {@code notification.fcm.stub.enabled=true}. Each
+ * multicast costs one simulated round trip, and tokens starting with the configured invalid
+ * prefix are reported as unregistered, so load tests exercise batching and token pruning without
+ * touching the real provider.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.fcm.stub.enabled", havingValue = "true")
+@Slf4j
+public class LocalFcmStubGateway implements PushGateway {
+
+    private final NotificationConfig.Fcm.Stub stub;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public LocalFcmStubGateway(NotificationConfig notificationConfig) {
+        this.stub = notificationConfig.getFcm().getStub();
+        log.warn("Using local FCM stub; push notifications will not reach devices");
+    }
+
+    @Override
+    public List<Result> sendMulticast(Message message, List<String> tokens) {
+        if (tokens.size() > MAX_MULTICAST_TOKENS) {
+            throw new IllegalArgumentException("Multicast exceeds " + MAX_MULTICAST_TOKENS + " tokens: " + tokens.size());
+        }
+        requests.incrementAndGet();
+        if (stub.getLatencyMillis() > 0) {
+            try {
+                Thread.sleep(stub.getLatencyMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during stub push delivery", e);
+            }
+        }
+        return tokens.stream()
+                .map(token -> {
+                    if (token.startsWith(stub.getInvalidTokenPrefix())) {
+                        return Result.failed(true, "Requested entity was not found.");
+                    }
+                    delivered.incrementAndGet();
+                    return Result.sent();
+                })
+                .toList();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+}
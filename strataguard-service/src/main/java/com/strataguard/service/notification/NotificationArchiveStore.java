@@ -0,0 +1,106 @@
+package com.strataguard.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strataguard.core.entity.Notification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes expired notification partitions to {@code <archive-path>/<partition>.jsonl.gz}, one JSON
+ * object per row. The file only appears once complete, so a partition is never dropped on the
+ * strength of a partial export, and an existing archive is never replaced: a partition whose
+ * archive already exists is left in place for an operator to sort out.
+ */
+@Component
+@Slf4j
+public class NotificationArchiveStore {
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+
+    public NotificationArchiveStore(NotificationConfig notificationConfig, ObjectMapper objectMapper) {
+        this.root = Paths.get(notificationConfig.getRetention().getArchivePath()).toAbsolutePath().normalize();
+        this.objectMapper = objectMapper;
+    }
+
+    public record ArchivedRow(UUID id, UUID tenantId, UUID recipientId, String channel, String type,
+                              String title, String body, String status, String metadata, int retryCount,
+                              String lastError, String sentAt, String readAt, String createdAt,
+                              String expiresAt, boolean deleted) {
+
+        static ArchivedRow of(Notification n) {
+            return new ArchivedRow(n.getId(), n.getTenantId(), n.getRecipientId(), n.getChannel().name(),
+                    n.getType().name(), n.getTitle(), n.getBody(), n.getStatus().name(), n.getMetadata(),
+                    n.getRetryCount(), n.getLastError(), str(n.getSentAt()), str(n.getReadAt()),
+                    str(n.getCreatedAt()), str(n.getExpiresAt()), n.isDeleted());
+        }
+
+        private static String str(Object value) {
+            return value != null ? value.toString() : null;
+        }
+    }
+
+    /**
+     * Export a partition page by page. {@code nextPage} receives the last id written (null first)
+     * and returns the next page, empty when done. Returns the number of rows written.
+     *
+     * @throws IllegalStateException when an archive of the partition already exists
+     */
+    public long archive(String partitionName, Function<UUID, List<Notification>> nextPage) {
+        Path target = root.resolve(partitionName + ".jsonl.gz");
+        if (Files.exists(target)) {
+            throw new IllegalStateException("Archive " + target + " already exists; move it aside to expire "
+                    + partitionName);
+        }
+        long rows = 0;
+        Path temp = null;
+        try {
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, partitionName, ".tmp");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                UUID lastId = null;
+                for (List<Notification> page = nextPage.apply(null); !page.isEmpty(); page = nextPage.apply(lastId)) {
+                    for (Notification notification : page) {
+                        writer.write(objectMapper.writeValueAsString(ArchivedRow.of(notification)));
+                        writer.write('\n');
+                    }
+                    rows += page.size();
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            }
+            // Linking fails if the target appeared meanwhile, where a rename would silently replace it
+            try {
+                Files.createLink(target, temp);
+            } catch (UnsupportedOperationException e) {
+                Files.move(temp, target);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive notification partition " + partitionName, e);
+        } finally {
+            // The temp file is either partial or, once linked, a second name for the archive
+            deleteQuietly(temp);
+        }
+        log.info("Archived {} notifications from {} to {}", rows, partitionName, target);
+        return rows;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not remove temporary archive {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds first-attempt notifications of the types configured under {@code notification.digest.types}
+ * so a burst to one recipient on one channel goes out as a single digest message. The rows stay
+ * PENDING in the database with their in-flight lease while buffered, so anything lost on a
+ * restart is delivered individually by the retry scheduler.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationConfig notificationConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Buffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    record Key(UUID tenantId, UUID recipientId, NotificationType type, NotificationChannel channel) {
+    }
+
+    private static final class Buffer {
+        private final List<Notification> members = new ArrayList<>();
+        private final Instant firstAt;
+        private Instant lastAt;
+
+        private Buffer(Instant firstAt) {
+            this.firstAt = firstAt;
+            this.lastAt = firstAt;
+        }
+    }
+
+    public NotificationCoalescer(NotificationConfig notificationConfig, MeterRegistry meterRegistry) {
+        this.notificationConfig = notificationConfig;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("notifications.digest.buffered", buffered, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Retries and IN_APP rows are never held back, nor are rows reclaimed after their lease ran
+     * out: those may still sit in another node's buffer, and buffering them again here could
+     * deliver them twice.
+     */
+    public boolean accepts(Notification notification) {
+        return notification.getChannel() != NotificationChannel.IN_APP
+                && notification.getRetryCount() == 0
+                && notification.getClaimCount() == 0
+                && notificationConfig.getDigest().getTypes().containsKey(notification.getType());
+    }
+
+    /**
+     * Buffer a notification. Returns the recipient's whole group when this one fills it to
+     * {@code maxBatch}, otherwise an empty list.
+     */
+    public List<Notification> add(Notification notification, Instant now) {
+        NotificationConfig.DigestWindow window = windowFor(notification.getType());
+        Key key = new Key(notification.getTenantId(), notification.getRecipientId(),
+                notification.getType(), notification.getChannel());
+        List<Notification> full = new ArrayList<>();
+        buffers.compute(key, (k, buffer) -> {
+            Buffer current = buffer != null ? buffer : new Buffer(now);
+            current.members.add(notification);
+            current.lastAt = now;
+            if (current.members.size() >= window.getMaxBatch()) {
+                full.addAll(current.members);
+                return null;
+            }
+            return current;
+        });
+        buffered.addAndGet(1 - full.size());
+        return full;
+    }
+
+    /** Remove and return every group whose quiet window or maximum delay has passed. */
+    public List<List<Notification>> drainDue(Instant now) {
+        List<List<Notification>> due = new ArrayList<>();
+        for (Key key : buffers.keySet()) {
+            NotificationConfig.DigestWindow window = windowFor(key.type());
+            buffers.computeIfPresent(key, (k, buffer) -> {
+                boolean quiet = !now.isBefore(buffer.lastAt.plusSeconds(window.getWindowSeconds()));
+                boolean overdue = !now.isBefore(buffer.firstAt.plus(maxDelay(window)));
+                if (quiet || overdue) {
+                    due.add(List.copyOf(buffer.members));
+                    return null;
+                }
+                return buffer;
+            });
+        }
+        due.forEach(group -> buffered.addAndGet(-group.size()));
+        return due;
+    }
+
+    /**
+     * The message actually sent for a group: the notification itself when alone, otherwise a
+     * digest carrying the first notification's id, with one line per distinct body.
+     */
+    public Notification digestOf(List<Notification> group) {
+        Notification first = group.get(0);
+        if (group.size() == 1) {
+            return first;
+        }
+        Notification digest = new Notification();
+        digest.setId(first.getId());
+        digest.setTenantId(first.getTenantId());
+        digest.setRecipientId(first.getRecipientId());
+        digest.setChannel(first.getChannel());
+        digest.setType(first.getType());
+        boolean sameTitle = group.stream().map(Notification::getTitle).distinct().count() == 1;
+        digest.setTitle(sameTitle
+                ? first.getTitle() + " (" + group.size() + ")"
+                : "You have " + group.size() + " new notifications");
+        digest.setBody(String.join("\n", group.stream().map(Notification::getBody).distinct().toList()));
+        return digest;
+    }
+
+    /** Record a sent digest; every notification beyond the first is a provider call saved. */
+    public void recordDigest(List<Notification> group) {
+        if (group.size() < 2) {
+            return;
+        }
+        Notification first = group.get(0);
+        String[] tags = {"channel", first.getChannel().name(), "type", first.getType().name()};
+        meterRegistry.counter("notifications.digest.sent", tags).increment();
+        meterRegistry.counter("notifications.digest.calls.saved", tags).increment(group.size() - 1);
+        log.debug("Sent digest of {} {} notifications to {} via {}",
+                group.size(), first.getType(), first.getRecipientId(), first.getChannel());
+    }
+
+    private NotificationConfig.DigestWindow windowFor(NotificationType type) {
+        return notificationConfig.getDigest().getTypes().get(type);
+    }
+
+    /** Buffered rows must go out before their in-flight lease makes them due for retry. */
+    private Duration maxDelay(NotificationConfig.DigestWindow window) {
+        long leaseSeconds = notificationConfig.getRetry().getInFlightLeaseSeconds();
+        return Duration.ofSeconds(Math.min(window.getMaxDelaySeconds(), leaseSeconds / 2));
+    }
+}
@@ -1,5 +1,7 @@
 package com.strataguard.service.notification;
 
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -7,6 +9,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "notification")
 @Getter
@@ -15,7 +20,21 @@ public class NotificationConfig {
 
     private Termii termii = new Termii();
     private Fcm fcm = new Fcm();
+    private Email email = new Email();
+    private Contacts contacts = new Contacts();
+    private Preferences preferences = new Preferences();
+    private Templates templates = new Templates();
+    private Unread unread = new Unread();
+    private CatchUp catchUp = new CatchUp();
     private Retry retry = new Retry();
+    private Broadcast broadcast = new Broadcast();
+    private Digest digest = new Digest();
+    private Retention retention = new Retention();
+    private Map<NotificationChannel, ChannelLimits> channels = new EnumMap<>(NotificationChannel.class);
+
+    public ChannelLimits limitsFor(NotificationChannel channel) {
+        return channels.computeIfAbsent(channel, c -> new ChannelLimits());
+    }
 
     @Getter
     @Setter
@@ -23,12 +42,63 @@ public class NotificationConfig {
         private String apiKey;
         private String senderId;
         private String baseUrl;
+        private int bulkMaxRecipients = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Email {
+        private int batchSize = 50;
     }
 
     @Getter
     @Setter
     public static class Fcm {
         private String credentialsPath;
+        private int multicastBatchSize = 500;
+        private Stub stub = new Stub();
+
+        /** Local in-process stand-in for FCM, for load tests without provider quotas. */
+        @Getter
+        @Setter
+        public static class Stub {
+            private boolean enabled = false;
+            private long latencyMillis = 50;
+            private String invalidTokenPrefix = "invalid-";
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Contacts {
+        private long ttlSeconds = 300;
+        private int maxEntriesPerTenant = 50000;
+    }
+
+    @Getter
+    @Setter
+    public static class Preferences {
+        private long ttlSeconds = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class Templates {
+        private long ttlSeconds = 300;
+    }
+
+    @Getter
+    @Setter
+    public static class Unread {
+        private long ttlSeconds = 30;
+        private int maxEntriesPerTenant = 50000;
+    }
+
+    @Getter
+    @Setter
+    public static class CatchUp {
+        /** How far before the cursor catch-up looks again for rows that committed after it was read. */
+        private long overlapSeconds = 60;
     }
 
     @Getter
@@ -36,6 +106,67 @@ public class NotificationConfig {
     public static class Retry {
         private int maxRetries = 3;
         private int intervalSeconds = 60;
+        private int batchSize = 100;
+        private int maxBatchesPerRun = 10;
+        private int baseDelaySeconds = 30;
+        private int maxDelaySeconds = 3600;
+        private int inFlightLeaseSeconds = 300;
+        /** Only rows created this recently are claimed, which keeps the claim to the newest partitions. */
+        private int claimWindowDays = 7;
+        private Map<NotificationChannel, Integer> channelBaseDelaySeconds = new EnumMap<>(NotificationChannel.class);
+    }
+
+    @Getter
+    @Setter
+    public static class Broadcast {
+        private int chunkSize = 500;
+        private int maxInFlight = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Digest {
+        private long flushIntervalMillis = 1000;
+        private Map<NotificationType, DigestWindow> types = new EnumMap<>(NotificationType.class);
+    }
+
+    /**
+     * Coalescing for one notification type. A recipient's pending messages are merged into one
+     * digest per channel, sent once {@code windowSeconds} pass without another event, at most
+     * {@code maxDelaySeconds} after the first, or as soon as {@code maxBatch} are waiting.
+     */
+    @Getter
+    @Setter
+    public static class DigestWindow {
+        private long windowSeconds = 60;
+        private long maxDelaySeconds = 180;
+        private int maxBatch = 20;
+    }
+
+    /**
+     * How long notifications are kept, per type in months. Rows live in monthly partitions keyed
+     * by expiry, which are archived and dropped once the whole month has passed.
+     */
+    @Getter
+    @Setter
+    public static class Retention {
+        private int defaultMonths = 12;
+        private Map<NotificationType, Integer> typeMonths = new EnumMap<>(NotificationType.class);
+        private int premakeMonths = 2;
+        private boolean archiveEnabled = true;
+        private String archivePath = "./data/notification-archive";
+        private int archivePageSize = 1000;
+    }
+
+    /** Bulkhead and provider rate limit for one channel. A rate of zero disables rate limiting. */
+    @Getter
+    @Setter
+    public static class ChannelLimits {
+        private int concurrency = 4;
+        private int queueCapacity = 500;
+        private double ratePerSecond = 0;
+        private int burst = 10;
+        private long maxPermitWaitMillis = 5000;
     }
 
     @Bean
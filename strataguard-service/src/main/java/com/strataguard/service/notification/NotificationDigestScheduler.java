@@ -0,0 +1,34 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sends coalesced notification groups whose window has closed. Groups that fill up are sent
+ * straight away by {@link NotificationDispatcher#dispatch}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestScheduler {
+
+    private final NotificationCoalescer coalescer;
+    private final NotificationDispatcher dispatcher;
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-millis:1000}")
+    public void flushDueDigests() {
+        List<List<Notification>> due = coalescer.drainDue(Instant.now());
+        for (List<Notification> group : due) {
+            dispatcher.dispatchDigest(group);
+        }
+        if (!due.isEmpty()) {
+            log.debug("Flushed {} notification digests", due.size());
+        }
+    }
+}
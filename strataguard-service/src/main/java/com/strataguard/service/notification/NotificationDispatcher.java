@@ -3,44 +3,170 @@ package com.strataguard.service.notification;
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
 import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.exception.ProviderThrottledException;
 import com.strataguard.infrastructure.repository.NotificationRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Sends notifications through their channel senders. Delivery methods run without a transaction:
+ * each state change is committed by its own save, so a SENDING lease is visible to the retry
+ * scheduler during the provider call and no connection is held across it.
+ */
 @Service
 @Slf4j
-@Transactional
 public class NotificationDispatcher {
 
     private final NotificationRepository notificationRepository;
     private final Map<NotificationChannel, NotificationSender> senderMap;
     private final NotificationConfig notificationConfig;
+    private final NotificationRetryPolicy retryPolicy;
+    private final ChannelBulkheads bulkheads;
+    private final UnreadCounterService unreadCounters;
+    private final InAppNotificationPusher inAppPusher;
+    private final NotificationCoalescer coalescer;
 
     public NotificationDispatcher(NotificationRepository notificationRepository,
                                    List<NotificationSender> senders,
-                                   NotificationConfig notificationConfig) {
+                                   NotificationConfig notificationConfig,
+                                   NotificationRetryPolicy retryPolicy,
+                                   ChannelBulkheads bulkheads,
+                                   UnreadCounterService unreadCounters,
+                                   InAppNotificationPusher inAppPusher,
+                                   NotificationCoalescer coalescer) {
         this.notificationRepository = notificationRepository;
         this.senderMap = senders.stream()
                 .collect(Collectors.toMap(NotificationSender::getChannel, Function.identity()));
         this.notificationConfig = notificationConfig;
+        this.retryPolicy = retryPolicy;
+        this.bulkheads = bulkheads;
+        this.unreadCounters = unreadCounters;
+        this.inAppPusher = inAppPusher;
+        this.coalescer = coalescer;
     }
 
-    @Async("notificationExecutor")
+    /**
+     * Queue delivery on the notification's channel bulkhead once the surrounding transaction
+     * commits. If the channel queue is full the notification is left for the retry scheduler.
+     * Types configured for digests are handed to the {@link NotificationCoalescer} instead.
+     */
     public void dispatch(Notification notification) {
+        Runnable enqueue = () -> {
+            if (coalescer.accepts(notification)) {
+                List<Notification> full = coalescer.add(notification, Instant.now());
+                if (!full.isEmpty()) {
+                    dispatchDigest(full);
+                }
+                return;
+            }
+            try {
+                bulkheads.execute(notification.getChannel(), () -> deliver(notification));
+            } catch (TaskRejectedException e) {
+                log.warn("{} queue full; notification {} left for retry at {}",
+                        notification.getChannel(), notification.getId(), notification.getNextAttemptAt());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    /** Queue one coalesced group on its channel bulkhead. */
+    public void dispatchDigest(List<Notification> group) {
+        NotificationChannel channel = group.get(0).getChannel();
+        try {
+            bulkheads.execute(channel, () -> deliverDigest(group));
+        } catch (TaskRejectedException e) {
+            log.warn("{} queue full; digest of {} notifications left for retry", channel, group.size());
+        }
+    }
+
+    /**
+     * Deliver a coalesced group as one provider call. Every member ends as in {@link #deliver};
+     * a failed digest puts each member on its own retry schedule, where it is sent individually.
+     * Like {@link #deliver} it runs without a transaction, committing the SENDING lease and the
+     * outcome separately on the copies each {@code saveAll} returns.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deliverDigest(List<Notification> group) {
+        if (group.size() == 1) {
+            deliver(group.get(0));
+            return;
+        }
+        NotificationChannel channel = group.get(0).getChannel();
+        NotificationSender sender = senderMap.get(channel);
+        if (sender == null) {
+            log.warn("No sender registered for channel: {}", channel);
+            group.forEach(n -> markFailed(n, "No sender registered for channel: " + channel));
+            return;
+        }
+
+        Instant deadline = retryPolicy.inFlightDeadline();
+        for (Notification notification : group) {
+            notification.setStatus(NotificationStatus.SENDING);
+            notification.setNextAttemptAt(deadline);
+        }
+        List<Notification> sending = notificationRepository.saveAll(group);
+
+        try {
+            Notification digest = coalescer.digestOf(sending);
+            bulkheads.callProvider(channel, () -> sender.send(digest));
+            Instant sentAt = Instant.now();
+            for (Notification notification : sending) {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setSentAt(sentAt);
+                notification.setNextAttemptAt(null);
+            }
+            coalescer.recordDigest(sending);
+        } catch (ProviderThrottledException e) {
+            log.info("Digest of {} via {} throttled: {}", sending.size(), channel, e.getMessage());
+            sending.forEach(n -> applyThrottle(n, e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to dispatch digest of {} via {}: {}", sending.size(), channel, e.getMessage());
+            sending.forEach(n -> applyFailure(n, e.getMessage()));
+        }
+        notificationRepository.saveAll(sending);
+    }
+
+    /**
+     * Deliver on the calling thread. Leaves the notification SENT/DELIVERED, PENDING for retry
+     * or FAILED. Runs without a transaction: the SENDING lease and the outcome are each committed
+     * by their own save, so the lease is visible to the retry scheduler while the provider is
+     * called and no connection is held across the call. Every save returns the row at its new
+     * version, and the next state change is applied to that copy.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deliver(Notification notification) {
         if (notification.getChannel() == NotificationChannel.IN_APP) {
-            // IN_APP notifications are already persisted; just mark as DELIVERED
+            // IN_APP notifications are already persisted; mark as DELIVERED and push to open sessions
             notification.setStatus(NotificationStatus.DELIVERED);
             notification.setSentAt(Instant.now());
-            notificationRepository.save(notification);
+            notification.setNextAttemptAt(null);
+            Notification delivered = notificationRepository.save(notification);
+            inAppPusher.pushAfterCommit(List.of(delivered));
+            unreadCounters.increment(delivered.getTenantId(), delivered.getRecipientId());
             return;
         }
 
@@ -51,57 +177,182 @@ public class NotificationDispatcher {
             return;
         }
 
-        try {
-            notification.setStatus(NotificationStatus.SENDING);
-            notificationRepository.save(notification);
-
-            sender.send(notification);
+        // The lease makes a delivery interrupted by a crash due again once it expires
+        notification.setStatus(NotificationStatus.SENDING);
+        notification.setNextAttemptAt(retryPolicy.inFlightDeadline());
+        Notification sending = notificationRepository.save(notification);
 
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(Instant.now());
-            notificationRepository.save(notification);
-            log.debug("Notification {} dispatched via {}", notification.getId(), notification.getChannel());
+        try {
+            bulkheads.callProvider(sending.getChannel(), () -> sender.send(sending));
+        } catch (ProviderThrottledException e) {
+            log.info("Notification {} via {} throttled: {}", sending.getId(), sending.getChannel(), e.getMessage());
+            applyThrottle(sending, e.getMessage());
+            notificationRepository.save(sending);
+            return;
         } catch (Exception e) {
             log.error("Failed to dispatch notification {} via {}: {}",
-                    notification.getId(), notification.getChannel(), e.getMessage());
-            handleFailure(notification, e.getMessage());
+                    sending.getId(), sending.getChannel(), e.getMessage());
+            handleFailure(sending, e.getMessage());
+            return;
         }
+
+        sending.setStatus(NotificationStatus.SENT);
+        sending.setSentAt(Instant.now());
+        sending.setNextAttemptAt(null);
+        notificationRepository.save(sending);
+        log.debug("Notification {} dispatched via {}", sending.getId(), sending.getChannel());
     }
 
-    @Scheduled(fixedDelayString = "${notification.retry.interval-seconds:60}000")
-    public void retryPendingNotifications() {
-        int maxRetries = notificationConfig.getRetry().getMaxRetries();
-        List<Notification> pending = notificationRepository.findPendingForRetry(
-                NotificationStatus.PENDING, maxRetries);
+    /**
+     * Deliver a batch on the calling thread, using each channel sender's batch call so a batch
+     * costs one provider round trip per {@link NotificationSender#getMaxBatchSize()} rows and
+     * two {@code saveAll} writes. Each notification ends as in {@link #deliver}. No transaction
+     * spans the provider calls: each chunk's SENDING lease is committed before its call and its
+     * outcomes in a second short transaction afterwards.
+     *
+     * @return the notifications as last saved, in their final state
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Notification> deliverBatch(List<Notification> notifications) {
+        Map<NotificationChannel, List<Notification>> byChannel = new EnumMap<>(NotificationChannel.class);
+        for (Notification notification : notifications) {
+            byChannel.computeIfAbsent(notification.getChannel(), c -> new ArrayList<>()).add(notification);
+        }
+
+        List<Notification> delivered = new ArrayList<>(notifications.size());
+        byChannel.forEach((channel, batch) -> {
+            if (channel == NotificationChannel.IN_APP) {
+                Instant now = Instant.now();
+                for (Notification notification : batch) {
+                    notification.setStatus(NotificationStatus.DELIVERED);
+                    notification.setSentAt(now);
+                    notification.setNextAttemptAt(null);
+                }
+                List<Notification> saved = notificationRepository.saveAll(batch);
+                inAppPusher.pushAfterCommit(saved);
+                saved.stream()
+                        .collect(Collectors.groupingBy(Notification::getTenantId,
+                                Collectors.mapping(Notification::getRecipientId, Collectors.toList())))
+                        .forEach(unreadCounters::incrementAll);
+                delivered.addAll(saved);
+                return;
+            }
 
-        if (!pending.isEmpty()) {
-            log.info("Retrying {} pending notifications", pending.size());
-            for (Notification notification : pending) {
-                dispatch(notification);
+            NotificationSender sender = senderMap.get(channel);
+            if (sender == null) {
+                log.warn("No sender registered for channel: {}", channel);
+                for (Notification notification : batch) {
+                    notification.setStatus(NotificationStatus.FAILED);
+                    notification.setNextAttemptAt(null);
+                    notification.setLastError("No sender registered for channel: " + channel);
+                }
+                delivered.addAll(notificationRepository.saveAll(batch));
+                return;
             }
+
+            int batchSize = Math.max(sender.getMaxBatchSize(), 1);
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                delivered.addAll(deliverChunk(sender, batch.subList(from, Math.min(batch.size(), from + batchSize))));
+            }
+        });
+        return delivered;
+    }
+
+    private List<Notification> deliverChunk(NotificationSender sender, List<Notification> chunk) {
+        Instant deadline = retryPolicy.inFlightDeadline();
+        for (Notification notification : chunk) {
+            notification.setStatus(NotificationStatus.SENDING);
+            notification.setNextAttemptAt(deadline);
         }
+        List<Notification> sending = notificationRepository.saveAll(chunk);
+
+        Map<UUID, String> failures;
+        try {
+            failures = bulkheads.callProvider(sender.getChannel(), () -> sender.sendBatch(sending));
+        } catch (ProviderThrottledException e) {
+            log.info("Batch of {} via {} throttled: {}", sending.size(), sender.getChannel(), e.getMessage());
+            sending.forEach(n -> applyThrottle(n, e.getMessage()));
+            return notificationRepository.saveAll(sending);
+        } catch (Exception e) {
+            log.error("Failed to dispatch batch of {} via {}: {}", sending.size(), sender.getChannel(), e.getMessage());
+            failures = new HashMap<>();
+            for (Notification notification : sending) {
+                failures.put(notification.getId(), e.getMessage());
+            }
+        }
+
+        Instant sentAt = Instant.now();
+        for (Notification notification : sending) {
+            String error = failures.get(notification.getId());
+            if (error != null) {
+                applyFailure(notification, error);
+            } else {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setSentAt(sentAt);
+                notification.setNextAttemptAt(null);
+            }
+        }
+        List<Notification> saved = notificationRepository.saveAll(sending);
+        log.debug("Batch of {} dispatched via {} with {} failures", sending.size(), sender.getChannel(), failures.size());
+        return saved;
+    }
+
+    /**
+     * Claim up to {@code limit} due notifications across tenants. Rows are locked with
+     * {@code SKIP LOCKED} so concurrent nodes claim disjoint batches, and each claimed row's
+     * next attempt is pushed out by the in-flight lease and its claim counted before the lock is
+     * released on commit.
+     */
+    @Transactional
+    public List<Notification> claimDueRetries(int limit) {
+        List<Notification> claimed = notificationRepository.claimDueForRetry(
+                Instant.now(), retryPolicy.claimableSince(), limit);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        Instant deadline = retryPolicy.inFlightDeadline();
+        claimed.forEach(notification -> {
+            notification.setNextAttemptAt(deadline);
+            notification.setClaimCount(notification.getClaimCount() + 1);
+        });
+        return notificationRepository.saveAll(claimed);
+    }
+
+    private Notification handleFailure(Notification notification, String error) {
+        applyFailure(notification, error);
+        return notificationRepository.save(notification);
     }
 
-    private void handleFailure(Notification notification, String error) {
+    private void applyFailure(Notification notification, String error) {
         int maxRetries = notificationConfig.getRetry().getMaxRetries();
         notification.setRetryCount(notification.getRetryCount() + 1);
         notification.setLastError(error);
 
         if (notification.getRetryCount() >= maxRetries) {
             notification.setStatus(NotificationStatus.FAILED);
+            notification.setNextAttemptAt(null);
             log.warn("Notification {} permanently failed after {} retries: {}",
                     notification.getId(), maxRetries, error);
         } else {
             notification.setStatus(NotificationStatus.PENDING);
-            log.info("Notification {} will be retried (attempt {}/{})",
-                    notification.getId(), notification.getRetryCount(), maxRetries);
+            notification.setNextAttemptAt(retryPolicy.nextAttemptAfterFailure(
+                    notification.getChannel(), notification.getRetryCount()));
+            log.info("Notification {} will be retried at {} (attempt {}/{})",
+                    notification.getId(), notification.getNextAttemptAt(), notification.getRetryCount(), maxRetries);
         }
-        notificationRepository.save(notification);
     }
 
-    private void markFailed(Notification notification, String error) {
+    /** The provider was never called, so the row goes back to PENDING without using up a retry. */
+    private void applyThrottle(Notification notification, String error) {
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setLastError(error);
+        notification.setNextAttemptAt(retryPolicy.nextAttemptAfterThrottle(notification.getChannel()));
+    }
+
+    private Notification markFailed(Notification notification, String error) {
         notification.setStatus(NotificationStatus.FAILED);
+        notification.setNextAttemptAt(null);
         notification.setLastError(error);
-        notificationRepository.save(notification);
+        return notificationRepository.save(notification);
     }
 }
@@ -0,0 +1,144 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.infrastructure.repository.NotificationPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Keeps the monthly {@code notifications_pYYYYMM} partitions, keyed by creation month, in step with
+ * the retention policy: creates the current and premade months, and once the longest retention has
+ * run out for a partition's month and none of its rows is still unexpired, exports it with
+ * {@link NotificationArchiveStore} and drops it. Every node runs both steps.
+ * Creation is idempotent; each archive-and-drop runs in one transaction holding a Postgres
+ * advisory lock for its partition, and re-checks that the partition still exists, so only one
+ * node exports a partition and none exports one another node already dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPartitionMaintenance {
+
+    static final String PARTITION_PREFIX = "notifications_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final NotificationPartitionRepository partitionRepository;
+    private final NotificationRetentionPolicy retentionPolicy;
+    private final NotificationArchiveStore archiveStore;
+    private final NotificationConfig notificationConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    /** New rows need their partition to exist, so make sure of it before serving traffic. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        ensurePartitions(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        ensurePartitions(current);
+        dropExpiredPartitions(current);
+    }
+
+    /** Create partitions from {@code current} through the premake months. */
+    int ensurePartitions(YearMonth current) {
+        int ahead = Math.max(notificationConfig.getRetention().getPremakeMonths(), 1);
+        int created = 0;
+        for (int i = 0; i <= ahead; i++) {
+            try {
+                if (partitionRepository.createPartition(current.plusMonths(i).atDay(1))) {
+                    created++;
+                }
+            } catch (RuntimeException e) {
+                // Usually another node creating the same partition
+                log.warn("Could not create notification partition for {}: {}", current.plusMonths(i), e.getMessage());
+            }
+        }
+        if (created > 0) {
+            log.info("Created {} notification partitions up to {}", created, current.plusMonths(ahead));
+        }
+        return created;
+    }
+
+    /** Archive and drop every partition whose month plus the longest retention is before {@code current}. */
+    int dropExpiredPartitions(YearMonth current) {
+        YearMonth lastExpired = current.minusMonths(retentionPolicy.maxRetentionMonths());
+        int dropped = 0;
+        for (String partitionName : partitionRepository.findPartitionNames()) {
+            YearMonth month = monthOf(partitionName);
+            if (month == null || !month.isBefore(lastExpired)) {
+                continue;
+            }
+            try {
+                Long rows = transactionTemplate.execute(status -> expire(partitionName, month));
+                if (rows != null) {
+                    log.info("Dropped expired notification partition {} ({} rows)", partitionName, rows);
+                    dropped++;
+                }
+            } catch (RuntimeException e) {
+                // Left in place and retried on the next run; never drop without a complete archive
+                log.error("Failed to expire notification partition {}: {}", partitionName, e.getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Archive and drop under the partition's lock; null when another node has it or already dropped
+     * it, or when a row written under a longer retention than today's is still unexpired.
+     */
+    private Long expire(String partitionName, YearMonth month) {
+        if (!partitionRepository.tryLockPartition(partitionName)) {
+            log.info("Notification partition {} is being expired by another node", partitionName);
+            return null;
+        }
+        if (!partitionRepository.partitionExists(partitionName)) {
+            log.info("Notification partition {} was already dropped by another node", partitionName);
+            return null;
+        }
+        if (partitionRepository.existsUnexpired(monthStart(month), monthStart(month.plusMonths(1)), Instant.now())) {
+            log.info("Notification partition {} still holds unexpired rows", partitionName);
+            return null;
+        }
+        if (notificationConfig.getRetention().isArchiveEnabled()) {
+            archive(partitionName, month);
+        }
+        return partitionRepository.dropPartition(partitionName);
+    }
+
+    private void archive(String partitionName, YearMonth month) {
+        Instant from = monthStart(month);
+        Instant to = monthStart(month.plusMonths(1));
+        int pageSize = notificationConfig.getRetention().getArchivePageSize();
+        archiveStore.archive(partitionName, lastId ->
+                partitionRepository.findPartitionPage(from, to, lastId != null ? lastId : FIRST_ID, pageSize));
+    }
+
+    private static Instant monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
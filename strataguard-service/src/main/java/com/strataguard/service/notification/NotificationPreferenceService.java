@@ -12,9 +12,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +28,10 @@ public class NotificationPreferenceService {
 
     private final NotificationPreferenceRepository preferenceRepository;
     private final NotificationPreferenceMapper preferenceMapper;
+    private final NotificationConfig notificationConfig;
+
+    private final Map<UUID, PreferenceMatrix> matricesByTenant = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
 
     @Transactional(readOnly = true)
     public List<NotificationPreferenceResponse> getPreferences(UUID residentId) {
@@ -50,6 +58,7 @@ public class NotificationPreferenceService {
 
         preference.setEnabled(request.getEnabled());
         preference = preferenceRepository.save(preference);
+        evict(tenantId);
 
         log.info("Updated notification preference for resident {} channel {} type {}: enabled={}",
                 residentId, request.getChannel(), request.getNotificationType(), request.getEnabled());
@@ -64,20 +73,52 @@ public class NotificationPreferenceService {
      */
     @Transactional(readOnly = true)
     public boolean isChannelEnabled(UUID residentId, NotificationChannel channel, NotificationType type) {
-        // IN_APP is always enabled
-        if (channel == NotificationChannel.IN_APP) {
-            return true;
-        }
+        return getMatrix(TenantContext.requireTenantId()).isEnabled(residentId, channel, type);
+    }
 
-        // ANNOUNCEMENT type is always delivered
-        if (type == NotificationType.ANNOUNCEMENT) {
-            return true;
+    /**
+     * The tenant's opt-outs, loaded with one query and cached. Local updates evict it; the TTL
+     * bounds how long changes made on other nodes take to show up. A load that overlapped an
+     * eviction is returned but not cached, since it may have read the row before the change.
+     */
+    @Transactional(readOnly = true)
+    public PreferenceMatrix getMatrix(UUID tenantId) {
+        long ttlNanos = notificationConfig.getPreferences().getTtlSeconds() * 1_000_000_000L;
+        PreferenceMatrix cached = matricesByTenant.get(tenantId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return cached;
         }
+        long generation = generations.getOrDefault(tenantId, 0L);
+        PreferenceMatrix matrix = PreferenceMatrix.of(preferenceRepository.findDisabledByTenantId(tenantId));
+        // Checked and cached atomically with respect to evict's generation bump
+        generations.compute(tenantId, (id, current) -> {
+            if ((current != null ? current : 0L) == generation) {
+                matricesByTenant.put(tenantId, matrix);
+            }
+            return current;
+        });
+        log.debug("Loaded preference matrix for tenant {}: {} residents with opt-outs",
+                tenantId, matrix.residentsWithOptOuts());
+        return matrix;
+    }
 
-        UUID tenantId = TenantContext.requireTenantId();
-        return preferenceRepository
-                .findByResidentIdAndChannelAndNotificationTypeAndTenantId(residentId, channel, type, tenantId)
-                .map(NotificationPreference::isEnabled)
-                .orElse(true); // Default: enabled
+    /**
+     * Drop the tenant's matrix now and again after commit, so a load that read the old rows while
+     * the change was in flight cannot stay cached.
+     */
+    private void evict(UUID tenantId) {
+        Runnable remove = () -> {
+            generations.merge(tenantId, 1L, Long::sum);
+            matricesByTenant.remove(tenantId);
+        };
+        remove.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove.run();
+                }
+            });
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.enums.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Computes {@code expiresAt} for new notifications from the per-type retention in
+ * {@code notification.retention}. Partitions are by creation month in UTC and are dropped only
+ * once every row in them has expired, so a row may outlive its expiry by up to the longest
+ * retention.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionPolicy {
+
+    private final NotificationConfig notificationConfig;
+
+    public Instant expiresAt(NotificationType type, Instant createdAt) {
+        return createdAt.atZone(ZoneOffset.UTC).plusMonths(retentionMonths(type)).toInstant();
+    }
+
+    public int retentionMonths(NotificationType type) {
+        NotificationConfig.Retention retention = notificationConfig.getRetention();
+        return Math.max(retention.getTypeMonths().getOrDefault(type, retention.getDefaultMonths()), 1);
+    }
+
+    /** The longest retention of any type, which bounds how long a creation-month partition is kept. */
+    public int maxRetentionMonths() {
+        NotificationConfig.Retention retention = notificationConfig.getRetention();
+        return retention.getTypeMonths().values().stream()
+                .reduce(Math.max(retention.getDefaultMonths(), 1), Math::max);
+    }
+}
@@ -0,0 +1,51 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.enums.NotificationChannel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes {@code nextAttemptAt} for notifications. Failed deliveries back off exponentially from
+ * a per-channel base delay, capped at the maximum, with equal jitter (half fixed, half random) so
+ * a provider outage does not produce synchronized retry waves. Throttled calls wait the first-retry
+ * delay and keep their attempt count. New and claimed rows get an
+ * in-flight lease instead, so they are only retried if their delivery never completes.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRetryPolicy {
+
+    private final NotificationConfig notificationConfig;
+
+    public Instant inFlightDeadline() {
+        return Instant.now().plusSeconds(notificationConfig.getRetry().getInFlightLeaseSeconds());
+    }
+
+    /** Oldest creation time the retry claim looks at; rows still undelivered past it are left as they are. */
+    public Instant claimableSince() {
+        return Instant.now().minus(Duration.ofDays(notificationConfig.getRetry().getClaimWindowDays()));
+    }
+
+    /** @param failedAttempts attempts failed so far, including the one that just failed (1-based) */
+    public Instant nextAttemptAfterFailure(NotificationChannel channel, int failedAttempts) {
+        return Instant.now().plus(backoff(channel, failedAttempts));
+    }
+
+    /** Delay for a call the channel rate limit turned away; the first-retry delay, without spending an attempt. */
+    public Instant nextAttemptAfterThrottle(NotificationChannel channel) {
+        return Instant.now().plus(backoff(channel, 1));
+    }
+
+    Duration backoff(NotificationChannel channel, int failedAttempts) {
+        NotificationConfig.Retry retry = notificationConfig.getRetry();
+        long base = retry.getChannelBaseDelaySeconds().getOrDefault(channel, retry.getBaseDelaySeconds());
+        int exponent = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        long delayMillis = Math.min(base << exponent, retry.getMaxDelaySeconds()) * 1000L;
+        long half = delayMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
@@ -0,0 +1,59 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-delivers notifications whose {@code nextAttemptAt} has passed. Due rows are claimed in
+ * bounded batches by {@link NotificationDispatcher#claimDueRetries}, each in its own short
+ * transaction, and handed to the channel bulkheads so row locks are never held across
+ * provider calls and a slow channel does not hold up retries on the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetryScheduler {
+
+    private final NotificationDispatcher dispatcher;
+    private final NotificationConfig notificationConfig;
+
+    @Scheduled(fixedDelayString = "${notification.retry.interval-seconds:60}000")
+    public void retryDueNotifications() {
+        int batchSize = notificationConfig.getRetry().getBatchSize();
+        int maxBatches = notificationConfig.getRetry().getMaxBatchesPerRun();
+        int retried = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Notification> claimed = dispatcher.claimDueRetries(batchSize);
+            for (Notification notification : claimed) {
+                retry(notification);
+            }
+            retried += claimed.size();
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (retried > 0) {
+            log.info("Retried {} due notifications", retried);
+        }
+    }
+
+    private void retry(Notification notification) {
+        try {
+            TenantContext.setTenantId(notification.getTenantId());
+            dispatcher.dispatch(notification);
+        } catch (Exception e) {
+            // The in-flight lease set at claim time makes the row due again
+            log.warn("Retry of notification {} failed: {}", notification.getId(), e.getMessage());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -3,9 +3,37 @@ package com.strataguard.service.notification;
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 public interface NotificationSender {
 
     void send(Notification notification);
 
     NotificationChannel getChannel();
+
+    /** Largest number of notifications {@link #sendBatch} accepts in one call. */
+    default int getMaxBatchSize() {
+        return 1;
+    }
+
+    /**
+     * Send several notifications, in as few provider round trips as the provider allows.
+     *
+     * @return the error for each notification that was not sent, keyed by notification id;
+     *         notifications missing from the map were sent
+     */
+    default Map<UUID, String> sendBatch(List<Notification> notifications) {
+        Map<UUID, String> failures = new HashMap<>();
+        for (Notification notification : notifications) {
+            try {
+                send(notification);
+            } catch (Exception e) {
+                failures.put(notification.getId(), e.getMessage());
+            }
+        }
+        return failures;
+    }
 }
@@ -9,14 +9,13 @@ import com.strataguard.core.enums.NotificationStatus;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.NotificationMapper;
 import com.strataguard.infrastructure.repository.NotificationRepository;
-import com.strataguard.infrastructure.repository.ResidentRepository;
-import com.strataguard.infrastructure.repository.TenancyRepository;
-import com.strataguard.infrastructure.repository.UnitRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -28,18 +27,73 @@ import java.util.*;
 @Transactional
 public class NotificationService {
 
+    static final int MAX_CATCH_UP_LIMIT = 200;
+
     private final NotificationRepository notificationRepository;
-    private final ResidentRepository residentRepository;
-    private final TenancyRepository tenancyRepository;
-    private final UnitRepository unitRepository;
+    private final RecipientDirectory recipientDirectory;
+    private final UnreadCounterService unreadCounters;
     private final NotificationMapper notificationMapper;
     private final NotificationPreferenceService preferenceService;
     private final NotificationTemplateService templateService;
     private final NotificationDispatcher dispatcher;
+    private final BroadcastService broadcastService;
+    private final NotificationRetryPolicy retryPolicy;
+    private final NotificationRetentionPolicy retentionPolicy;
+    private final NotificationConfig notificationConfig;
 
     public void send(SendNotificationRequest request) {
         UUID tenantId = TenantContext.requireTenantId();
+        List<UUID> recipientIds = recipientsOf(request);
+        List<NotificationChannel> channels = channelsOf(request);
+
+        // Verify every resident exists; this also warms the contact cache the senders read from
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolve(tenantId, recipientIds);
+        for (UUID recipientId : recipientIds) {
+            if (!contacts.containsKey(recipientId)) {
+                throw new ResourceNotFoundException("Resident", "id", recipientId);
+            }
+        }
+
+        PreferenceMatrix preferences = preferenceService.getMatrix(tenantId);
+        for (Notification notification : build(tenantId, request, recipientIds, channels, preferences)) {
+            dispatcher.dispatch(notificationRepository.save(notification));
+        }
+
+        log.info("Sent notification type {} to {} recipients via {} channels",
+                request.getType(), recipientIds.size(), channels.size());
+    }
+
+    /**
+     * Send several independent notifications in a transaction of their own, so callers can hand
+     * them over from an after-commit callback once the change they announce is durable. Recipients
+     * are resolved in one lookup and every row is written with one {@code saveAll}; a recipient
+     * that no longer exists is skipped rather than failing the rest.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void sendAll(List<SendNotificationRequest> requests) {
+        UUID tenantId = TenantContext.requireTenantId();
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolve(tenantId,
+                requests.stream().flatMap(r -> recipientsOf(r).stream()).distinct().toList());
+        PreferenceMatrix preferences = preferenceService.getMatrix(tenantId);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (SendNotificationRequest request : requests) {
+            List<UUID> recipientIds = new ArrayList<>();
+            for (UUID recipientId : recipientsOf(request)) {
+                if (contacts.containsKey(recipientId)) {
+                    recipientIds.add(recipientId);
+                } else {
+                    log.warn("Skipping {} notification for unknown resident {}", request.getType(), recipientId);
+                }
+            }
+            notifications.addAll(build(tenantId, request, recipientIds, channelsOf(request), preferences));
+        }
+        notificationRepository.saveAll(notifications).forEach(dispatcher::dispatch);
 
+        log.info("Sent {} notifications for {} requests", notifications.size(), requests.size());
+    }
+
+    private static List<UUID> recipientsOf(SendNotificationRequest request) {
         List<UUID> recipientIds = new ArrayList<>();
         if (request.getRecipientId() != null) {
             recipientIds.add(request.getRecipientId());
@@ -47,85 +101,70 @@ public class NotificationService {
         if (request.getRecipientIds() != null) {
             recipientIds.addAll(request.getRecipientIds());
         }
+        return recipientIds;
+    }
 
-        // Determine channels: use override list or default to all channels
-        List<NotificationChannel> channels = request.getChannels() != null && !request.getChannels().isEmpty()
+    /** The request's channel override, or every channel. */
+    private static List<NotificationChannel> channelsOf(SendNotificationRequest request) {
+        return request.getChannels() != null && !request.getChannels().isEmpty()
                 ? request.getChannels()
                 : List.of(NotificationChannel.values());
+    }
 
+    /** Unsaved PENDING rows for each recipient on each channel their preferences allow. */
+    private List<Notification> build(UUID tenantId, SendNotificationRequest request, List<UUID> recipientIds,
+                                     List<NotificationChannel> channels, PreferenceMatrix preferences) {
+        Instant expiresAt = retentionPolicy.expiresAt(request.getType(), Instant.now());
+        Map<NotificationChannel, Content> contentByChannel = new EnumMap<>(NotificationChannel.class);
+        List<Notification> notifications = new ArrayList<>();
         for (UUID recipientId : recipientIds) {
-            // Verify resident exists
-            residentRepository.findByIdAndTenantId(recipientId, tenantId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Resident", "id", recipientId));
-
             for (NotificationChannel channel : channels) {
                 // Check preferences
-                if (!preferenceService.isChannelEnabled(recipientId, channel, request.getType())) {
+                if (!preferences.isEnabled(recipientId, channel, request.getType())) {
                     log.debug("Channel {} disabled for resident {} type {}", channel, recipientId, request.getType());
                     continue;
                 }
 
-                // Resolve template content
-                String body = templateService.resolveBody(
-                        request.getType(), channel, null, request.getData());
-                if (body == null) {
-                    body = request.getBody();
-                }
-
-                String title = templateService.resolveSubject(
-                        request.getType(), channel, null, request.getData());
-                if (title == null) {
-                    title = request.getTitle();
-                }
-
-                // Apply data substitutions on the raw request body/title if no template was used
-                if (request.getData() != null && !request.getData().isEmpty()) {
-                    for (Map.Entry<String, String> entry : request.getData().entrySet()) {
-                        body = body.replace("{{" + entry.getKey() + "}}", entry.getValue());
-                        title = title.replace("{{" + entry.getKey() + "}}", entry.getValue());
-                    }
-                }
+                // Template content is identical for every recipient, so resolve it once per channel
+                Content content = contentByChannel.computeIfAbsent(channel, c -> resolveContent(request, c));
 
                 Notification notification = new Notification();
                 notification.setTenantId(tenantId);
                 notification.setRecipientId(recipientId);
                 notification.setChannel(channel);
                 notification.setType(request.getType());
-                notification.setTitle(title);
-                notification.setBody(body);
+                notification.setTitle(content.title());
+                notification.setBody(content.body());
                 notification.setStatus(NotificationStatus.PENDING);
                 notification.setRetryCount(0);
-                notification = notificationRepository.save(notification);
-
-                dispatcher.dispatch(notification);
+                // Picked up by the retry scheduler if the async dispatch never completes
+                notification.setNextAttemptAt(retryPolicy.inFlightDeadline());
+                notification.setExpiresAt(expiresAt);
+                notifications.add(notification);
             }
         }
-
-        log.info("Sent notification type {} to {} recipients via {} channels",
-                request.getType(), recipientIds.size(), channels.size());
+        return notifications;
     }
 
-    public void sendBulk(BulkNotificationRequest request) {
-        UUID tenantId = TenantContext.requireTenantId();
-
-        // Find all residents in the estate through units → tenancies
-        List<UUID> residentIds = findResidentIdsByEstateId(request.getEstateId(), tenantId);
-
-        if (residentIds.isEmpty()) {
-            log.warn("No residents found in estate {} for bulk notification", request.getEstateId());
-            return;
+    private Content resolveContent(SendNotificationRequest request, NotificationChannel channel) {
+        String body = templateService.resolveBody(request.getType(), channel, null, request.getData());
+        if (body == null && request.getBody() != null) {
+            // No template: apply data substitutions on the raw request body
+            body = CompiledTemplate.compile(request.getBody()).render(request.getData());
         }
+        String title = templateService.resolveSubject(request.getType(), channel, null, request.getData());
+        if (title == null && request.getTitle() != null) {
+            title = CompiledTemplate.compile(request.getTitle()).render(request.getData());
+        }
+        return new Content(title, body);
+    }
 
-        SendNotificationRequest sendRequest = SendNotificationRequest.builder()
-                .recipientIds(residentIds)
-                .type(request.getType())
-                .title(request.getTitle())
-                .body(request.getBody())
-                .data(request.getData())
-                .build();
-
-        send(sendRequest);
-        log.info("Bulk notification sent to {} residents in estate {}", residentIds.size(), request.getEstateId());
+    /**
+     * Estate-wide send. Runs asynchronously through the broadcast fan-out engine; the returned
+     * progress can be polled with {@link BroadcastService#getBroadcast(UUID)}.
+     */
+    public BroadcastResponse sendBulk(BulkNotificationRequest request) {
+        return broadcastService.startBroadcast(request);
     }
 
     @Transactional(readOnly = true)
@@ -136,15 +175,63 @@ public class NotificationService {
         return toPagedResponse(page);
     }
 
+    /**
+     * Reconnect catch-up: IN_APP notifications created after {@code afterId}, oldest first. With
+     * no usable cursor the latest {@code limit} are returned and {@code reset} is set.
+     * <p>
+     * {@code created_at} is stamped before the row's transaction commits, so a row can become
+     * visible after a later row the client already used as its cursor. Each catch-up therefore
+     * also returns the rows created within {@code notification.catch-up.overlap-seconds} before
+     * the cursor; clients merge by id, so rows they already hold are simply repeated.
+     */
+    @Transactional(readOnly = true)
+    public NotificationCatchUpResponse getNotificationsAfter(UUID residentId, UUID afterId, int limit) {
+        UUID tenantId = TenantContext.requireTenantId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_CATCH_UP_LIMIT));
+
+        Optional<Notification> cursor = afterId == null ? Optional.empty()
+                : notificationRepository.findByIdAndRecipientIdAndTenantId(afterId, residentId, tenantId);
+        List<Notification> notifications;
+        boolean hasMore;
+        if (cursor.isPresent()) {
+            Instant cursorAt = cursor.get().getCreatedAt();
+            Instant since = cursorAt.minusSeconds(notificationConfig.getCatchUp().getOverlapSeconds());
+            notifications = new ArrayList<>(notificationRepository.findInAppBefore(residentId, tenantId,
+                    since, cursorAt, cursor.get().getId(), PageRequest.of(0, MAX_CATCH_UP_LIMIT)));
+            // Fetch one extra row to learn whether the client must page again
+            List<Notification> after = notificationRepository.findInAppAfter(residentId, tenantId,
+                    cursorAt, cursor.get().getId(), PageRequest.of(0, pageSize + 1));
+            hasMore = after.size() > pageSize;
+            notifications.addAll(hasMore ? after.subList(0, pageSize) : after);
+        } else {
+            notifications = new ArrayList<>(notificationRepository.findByRecipientIdAndTenantId(
+                    residentId, tenantId, PageRequest.of(0, pageSize)).getContent());
+            Collections.reverse(notifications);
+            hasMore = false;
+        }
+
+        return NotificationCatchUpResponse.builder()
+                .notifications(notifications.stream().map(notificationMapper::toResponse).toList())
+                .hasMore(hasMore)
+                .reset(cursor.isEmpty())
+                .unreadCount(unreadCounters.getCount(tenantId, residentId))
+                .build();
+    }
+
     public NotificationResponse markAsRead(UUID notificationId, UUID residentId) {
         UUID tenantId = TenantContext.requireTenantId();
         Notification notification = notificationRepository
                 .findByIdAndRecipientIdAndTenantId(notificationId, residentId, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", notificationId));
 
+        boolean wasUnread = notification.getChannel() == NotificationChannel.IN_APP
+                && notification.getStatus() == NotificationStatus.DELIVERED;
         notification.setStatus(NotificationStatus.READ);
         notification.setReadAt(Instant.now());
         notification = notificationRepository.save(notification);
+        if (wasUnread) {
+            unreadCounters.decrement(tenantId, residentId);
+        }
 
         return notificationMapper.toResponse(notification);
     }
@@ -152,31 +239,15 @@ public class NotificationService {
     public void markAllAsRead(UUID residentId) {
         UUID tenantId = TenantContext.requireTenantId();
         int updated = notificationRepository.markAllAsReadByRecipientIdAndTenantId(residentId, tenantId);
+        unreadCounters.reset(tenantId, residentId);
         log.info("Marked {} notifications as read for resident {}", updated, residentId);
     }
 
+    /** Served from the materialized counter; clients also receive it over WebSocket on change. */
     @Transactional(readOnly = true)
     public UnreadCountResponse getUnreadCount(UUID residentId) {
         UUID tenantId = TenantContext.requireTenantId();
-        long count = notificationRepository.countByRecipientIdAndStatusAndTenantId(
-                residentId, NotificationStatus.DELIVERED, tenantId);
-        return UnreadCountResponse.builder().count(count).build();
-    }
-
-    private List<UUID> findResidentIdsByEstateId(UUID estateId, UUID tenantId) {
-        // Get all units in the estate
-        var units = unitRepository.findByEstateIdAndTenantId(estateId, tenantId);
-        Set<UUID> residentIds = new HashSet<>();
-
-        for (var unit : units) {
-            // Find active tenancies for each unit
-            var tenancies = tenancyRepository.findActiveByUnitIdAndTenantId(unit.getId(), tenantId);
-            for (var tenancy : tenancies) {
-                residentIds.add(tenancy.getResidentId());
-            }
-        }
-
-        return new ArrayList<>(residentIds);
+        return UnreadCountResponse.builder().count(unreadCounters.getCount(tenantId, residentId)).build();
     }
 
     private PagedResponse<NotificationResponse> toPagedResponse(Page<Notification> page) {
@@ -190,4 +261,7 @@ public class NotificationService {
                 .first(page.isFirst())
                 .build();
     }
+
+    private record Content(String title, String body) {
+    }
 }
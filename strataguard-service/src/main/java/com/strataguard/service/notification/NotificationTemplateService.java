@@ -14,11 +14,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notification template CRUD and resolution. Resolved templates are cached per tenant by
+ * (estate, type, channel) in compiled form, including misses, so sends do not repeat the fallback
+ * lookups. Local template changes evict the tenant's entries; entries expire after
+ * {@code notification.templates.ttl-seconds} so changes made on other nodes are picked up.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -27,6 +36,9 @@ public class NotificationTemplateService {
 
     private final NotificationTemplateRepository templateRepository;
     private final NotificationTemplateMapper templateMapper;
+    private final NotificationConfig notificationConfig;
+
+    private final Map<UUID, Map<TemplateKey, CachedTemplate>> compiledTemplates = new ConcurrentHashMap<>();
 
     public NotificationTemplateResponse create(NotificationTemplateRequest request) {
         UUID tenantId = TenantContext.requireTenantId();
@@ -38,6 +50,7 @@ public class NotificationTemplateService {
         NotificationTemplate template = templateMapper.toEntity(request);
         template.setTenantId(tenantId);
         template = templateRepository.save(template);
+        evict(tenantId);
 
         log.info("Created notification template: {} for tenant: {}", template.getName(), tenantId);
         return templateMapper.toResponse(template);
@@ -66,6 +79,7 @@ public class NotificationTemplateService {
 
         templateMapper.updateEntity(request, template);
         template = templateRepository.save(template);
+        evict(tenantId);
 
         log.info("Updated notification template: {} for tenant: {}", template.getName(), tenantId);
         return templateMapper.toResponse(template);
@@ -79,6 +93,7 @@ public class NotificationTemplateService {
         template.setDeleted(true);
         template.setActive(false);
         templateRepository.save(template);
+        evict(tenantId);
 
         log.info("Soft-deleted notification template: {} for tenant: {}", id, tenantId);
     }
@@ -99,22 +114,54 @@ public class NotificationTemplateService {
     public String resolveBody(NotificationType type, NotificationChannel channel, UUID estateId,
                               Map<String, String> data) {
         UUID tenantId = TenantContext.requireTenantId();
-        NotificationTemplate template = resolveTemplate(type, channel, estateId, tenantId);
-        if (template == null) {
-            return null;
-        }
-        return applyTemplate(template.getBodyTemplate(), data);
+        ResolvedTemplate template = resolveCompiled(type, channel, estateId, tenantId);
+        return template.body() != null ? template.body().render(data) : null;
     }
 
     @Transactional(readOnly = true)
     public String resolveSubject(NotificationType type, NotificationChannel channel, UUID estateId,
                                  Map<String, String> data) {
         UUID tenantId = TenantContext.requireTenantId();
-        NotificationTemplate template = resolveTemplate(type, channel, estateId, tenantId);
-        if (template == null || template.getSubjectTemplate() == null) {
-            return null;
+        ResolvedTemplate template = resolveCompiled(type, channel, estateId, tenantId);
+        return template.subject() != null ? template.subject().render(data) : null;
+    }
+
+    /**
+     * Drop the tenant's compiled templates now and again after commit, so a concurrent send cannot
+     * re-cache the pre-change template before the change is visible.
+     */
+    public void evict(UUID tenantId) {
+        compiledTemplates.remove(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    compiledTemplates.remove(tenantId);
+                }
+            });
+        }
+    }
+
+    private ResolvedTemplate resolveCompiled(NotificationType type, NotificationChannel channel,
+                                             UUID estateId, UUID tenantId) {
+        // Taken before loading, so a load that races an eviction lands in the dropped map
+        Map<TemplateKey, CachedTemplate> tenantTemplates =
+                compiledTemplates.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>());
+        TemplateKey key = new TemplateKey(estateId, type, channel);
+        long now = System.nanoTime();
+        long ttlNanos = notificationConfig.getTemplates().getTtlSeconds() * 1_000_000_000L;
+
+        CachedTemplate cached = tenantTemplates.get(key);
+        if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+            return cached.template();
         }
-        return applyTemplate(template.getSubjectTemplate(), data);
+
+        NotificationTemplate template = resolveTemplate(type, channel, estateId, tenantId);
+        ResolvedTemplate resolved = template == null ? ResolvedTemplate.NONE : new ResolvedTemplate(
+                template.getSubjectTemplate() != null ? CompiledTemplate.compile(template.getSubjectTemplate()) : null,
+                CompiledTemplate.compile(template.getBodyTemplate()));
+        tenantTemplates.put(key, new CachedTemplate(resolved, now));
+        return resolved;
     }
 
     private NotificationTemplate resolveTemplate(NotificationType type, NotificationChannel channel,
@@ -140,14 +187,13 @@ public class NotificationTemplateService {
         return template.orElse(null);
     }
 
-    private String applyTemplate(String template, Map<String, String> data) {
-        if (data == null || data.isEmpty()) {
-            return template;
-        }
-        String result = template;
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
-        }
-        return result;
+    private record TemplateKey(UUID estateId, NotificationType type, NotificationChannel channel) {
+    }
+
+    private record CachedTemplate(ResolvedTemplate template, long loadedAtNanos) {
+    }
+
+    private record ResolvedTemplate(CompiledTemplate subject, CompiledTemplate body) {
+        static final ResolvedTemplate NONE = new ResolvedTemplate(null, null);
     }
 }
@@ -0,0 +1,75 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.NotificationPreference;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A tenant's notification opt-outs as a resident × channel × type bitset. Each resident with at
+ * least one disabled preference holds one {@code long} per channel, with a bit per notification
+ * type; residents without opt-outs take no space, since every channel defaults to enabled.
+ * IN_APP and ANNOUNCEMENT are always enabled, as before. A matrix is not changed once built;
+ * preference updates evict it instead.
+ */
+public final class PreferenceMatrix {
+
+    private static final int CHANNELS = NotificationChannel.values().length;
+
+    static {
+        if (NotificationType.values().length > Long.SIZE) {
+            throw new IllegalStateException("PreferenceMatrix packs notification types into a long");
+        }
+    }
+
+    private final Map<UUID, long[]> disabledByResident = new HashMap<>();
+    private final long loadedAtNanos;
+
+    private PreferenceMatrix(long loadedAtNanos) {
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    static PreferenceMatrix of(Collection<NotificationPreference> preferences) {
+        PreferenceMatrix matrix = new PreferenceMatrix(System.nanoTime());
+        for (NotificationPreference preference : preferences) {
+            matrix.set(preference.getResidentId(), preference.getChannel(), preference.getNotificationType(),
+                    preference.isEnabled());
+        }
+        return matrix;
+    }
+
+    public boolean isEnabled(UUID residentId, NotificationChannel channel, NotificationType type) {
+        if (channel == NotificationChannel.IN_APP || type == NotificationType.ANNOUNCEMENT) {
+            return true;
+        }
+        long[] disabled = disabledByResident.get(residentId);
+        return disabled == null || (disabled[channel.ordinal()] & bit(type)) == 0;
+    }
+
+    int residentsWithOptOuts() {
+        return disabledByResident.size();
+    }
+
+    long loadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    private void set(UUID residentId, NotificationChannel channel, NotificationType type, boolean enabled) {
+        if (enabled) {
+            long[] disabled = disabledByResident.get(residentId);
+            if (disabled != null) {
+                disabled[channel.ordinal()] &= ~bit(type);
+            }
+        } else {
+            disabledByResident.computeIfAbsent(residentId, id -> new long[CHANNELS])[channel.ordinal()] |= bit(type);
+        }
+    }
+
+    private static long bit(NotificationType type) {
+        return 1L << type.ordinal();
+    }
+}
@@ -0,0 +1,33 @@
+package com.strataguard.service.notification;
+
+import java.util.List;
+import java.util.Map;
+
+/** Multicast transport for push notifications: FCM in production, a local stub for load tests. */
+public interface PushGateway {
+
+    /** FCM's limit on tokens per multicast request. */
+    int MAX_MULTICAST_TOKENS = 500;
+
+    /**
+     * Send one message to every token in a single provider request.
+     *
+     * @return one result per token, in the order of {@code tokens}
+     */
+    List<Result> sendMulticast(Message message, List<String> tokens);
+
+    record Message(String title, String body, Map<String, String> data) {
+    }
+
+    /** @param tokenInvalid the provider reported the token itself as unregistered or not a valid registration; it will never succeed */
+    record Result(boolean success, boolean tokenInvalid, String error) {
+
+        static Result sent() {
+            return new Result(true, false, null);
+        }
+
+        static Result failed(boolean tokenInvalid, String error) {
+            return new Result(false, tokenInvalid, error);
+        }
+    }
+}
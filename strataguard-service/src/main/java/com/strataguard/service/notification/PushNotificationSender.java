@@ -1,83 +1,136 @@
 package com.strataguard.service.notification;
 
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.FirebaseOptions;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.Message;
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
-import jakarta.annotation.PostConstruct;
+import com.strataguard.core.enums.NotificationType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.FileInputStream;
+import java.util.*;
+import java.util.stream.Collectors;
 
+/**
+ * Delivers push notifications to the devices registered in {@link DeviceTokenService}.
+ * Notifications with identical content share multicast requests of up to 500 tokens, and tokens
+ * the provider rejects as unregistered are pruned from the owning tenant's registry.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PushNotificationSender implements NotificationSender {
 
     private final NotificationConfig notificationConfig;
-    private boolean fcmInitialized = false;
-
-    @PostConstruct
-    public void init() {
-        String credentialsPath = notificationConfig.getFcm().getCredentialsPath();
-        if (credentialsPath == null || credentialsPath.isBlank()) {
-            log.warn("FCM credentials path not configured. Push notifications will be disabled.");
-            return;
+    private final PushGateway pushGateway;
+    private final DeviceTokenService deviceTokenService;
+
+    @Override
+    public void send(Notification notification) {
+        String error = sendBatch(List.of(notification)).get(notification.getId());
+        if (error != null) {
+            throw new RuntimeException(error);
         }
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return notificationConfig.getFcm().getMulticastBatchSize();
+    }
 
-        try {
-            if (FirebaseApp.getApps().isEmpty()) {
-                FirebaseOptions options = FirebaseOptions.builder()
-                        .setCredentials(GoogleCredentials.fromStream(new FileInputStream(credentialsPath)))
-                        .build();
-                FirebaseApp.initializeApp(options);
-                fcmInitialized = true;
-                log.info("Firebase initialized successfully for push notifications");
+    @Override
+    public Map<UUID, String> sendBatch(List<Notification> notifications) {
+        Map<UUID, List<String>> tokensByRecipient = new HashMap<>();
+        notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getTenantId,
+                        Collectors.mapping(Notification::getRecipientId, Collectors.toSet())))
+                .forEach((tenantId, recipientIds) ->
+                        tokensByRecipient.putAll(deviceTokenService.findTokensByResidentIds(recipientIds, tenantId)));
+
+        Map<UUID, String> failures = new HashMap<>();
+        Map<Content, List<Notification>> byContent = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            if (tokensByRecipient.getOrDefault(notification.getRecipientId(), List.of()).isEmpty()) {
+                failures.put(notification.getId(), "Recipient has no registered devices");
             } else {
-                fcmInitialized = true;
+                byContent.computeIfAbsent(new Content(notification.getTitle(), notification.getBody(), notification.getType()),
+                        content -> new ArrayList<>()).add(notification);
             }
-        } catch (Exception e) {
-            log.warn("Failed to initialize Firebase: {}. Push notifications will be disabled.", e.getMessage());
         }
+
+        Map<UUID, Set<String>> invalidTokens = new HashMap<>();
+        byContent.forEach((content, group) ->
+                sendGroup(content, group, tokensByRecipient, failures, invalidTokens));
+
+        invalidTokens.forEach((tenantId, tokens) -> deviceTokenService.pruneTokens(tenantId, tokens));
+        return failures;
     }
 
     @Override
-    public void send(Notification notification) {
-        if (!fcmInitialized) {
-            throw new RuntimeException("Channel not configured: FCM is not initialized");
+    public NotificationChannel getChannel() {
+        return NotificationChannel.PUSH;
+    }
+
+    /** A notification is delivered when at least one of its recipient's devices accepted it. */
+    private void sendGroup(Content content, List<Notification> group, Map<UUID, List<String>> tokensByRecipient,
+                           Map<UUID, String> failures, Map<UUID, Set<String>> invalidTokens) {
+        List<String> tokens = new ArrayList<>();
+        List<Notification> tokenOwners = new ArrayList<>();
+        for (Notification notification : group) {
+            for (String token : tokensByRecipient.get(notification.getRecipientId())) {
+                tokens.add(token);
+                tokenOwners.add(notification);
+            }
         }
 
-        // FCM requires a device token. For now, we use the recipientId as a topic.
-        // In a real implementation, you'd look up the device token from a device registry.
-        String topic = "user-" + notification.getRecipientId().toString();
-
-        try {
-            Message message = Message.builder()
-                    .setTopic(topic)
-                    .putData("title", notification.getTitle())
-                    .putData("body", notification.getBody())
-                    .putData("type", notification.getType().name())
-                    .putData("notificationId", notification.getId().toString())
-                    .setNotification(com.google.firebase.messaging.Notification.builder()
-                            .setTitle(notification.getTitle())
-                            .setBody(notification.getBody())
-                            .build())
-                    .build();
-
-            String response = FirebaseMessaging.getInstance().send(message);
-            log.info("Push notification sent for notification {}: {}", notification.getId(), response);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to send push notification: " + e.getMessage(), e);
+        Map<String, String> data = new HashMap<>();
+        data.put("title", Objects.toString(content.title(), ""));
+        data.put("body", Objects.toString(content.body(), ""));
+        data.put("type", content.type().name());
+        if (group.size() == 1) {
+            // Per-recipient ids cannot ride on a shared multicast
+            data.put("notificationId", group.get(0).getId().toString());
+        }
+        PushGateway.Message message = new PushGateway.Message(content.title(), content.body(), data);
+
+        Set<UUID> delivered = new HashSet<>();
+        Map<UUID, String> lastErrors = new HashMap<>();
+        int batchSize = Math.min(notificationConfig.getFcm().getMulticastBatchSize(), PushGateway.MAX_MULTICAST_TOKENS);
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            int to = Math.min(tokens.size(), from + batchSize);
+            List<PushGateway.Result> results;
+            try {
+                results = pushGateway.sendMulticast(message, tokens.subList(from, to));
+            } catch (Exception e) {
+                log.warn("Push multicast to {} tokens failed: {}", to - from, e.getMessage());
+                for (int i = from; i < to; i++) {
+                    lastErrors.put(tokenOwners.get(i).getId(), e.getMessage());
+                }
+                continue;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                PushGateway.Result result = results.get(i);
+                Notification owner = tokenOwners.get(from + i);
+                if (result.success()) {
+                    delivered.add(owner.getId());
+                } else {
+                    lastErrors.put(owner.getId(), result.error());
+                    if (result.tokenInvalid()) {
+                        invalidTokens.computeIfAbsent(owner.getTenantId(), k -> new HashSet<>()).add(tokens.get(from + i));
+                    }
+                }
+            }
         }
+
+        for (Notification notification : group) {
+            if (!delivered.contains(notification.getId())) {
+                failures.put(notification.getId(),
+                        lastErrors.getOrDefault(notification.getId(), "Push delivery failed"));
+            }
+        }
+        log.info("Push notification sent to {} devices for {} notifications, {} undelivered",
+                tokens.size(), group.size(), group.size() - delivered.size());
     }
 
-    @Override
-    public NotificationChannel getChannel() {
-        return NotificationChannel.PUSH;
+    private record Content(String title, String body, NotificationType type) {
     }
 }
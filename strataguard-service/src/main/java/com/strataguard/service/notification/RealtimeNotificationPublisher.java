@@ -0,0 +1,16 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.dto.notification.NotificationResponse;
+
+import java.util.UUID;
+
+/**
+ * Pushes notification state to a resident's connected clients. Implemented by the WebSocket
+ * layer; delivery is best effort and clients resynchronise over REST on reconnect.
+ */
+public interface RealtimeNotificationPublisher {
+
+    void publishNotification(UUID tenantId, UUID residentId, NotificationResponse notification);
+
+    void publishUnreadCount(UUID tenantId, UUID residentId, long count);
+}
@@ -0,0 +1,135 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tenant-scoped cache of resident contact details for notification delivery. Misses for a whole
+ * batch are loaded with one query; entries expire after {@code notification.contacts.ttl-seconds}
+ * so changes made on other nodes are picked up, and local resident changes evict immediately.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipientDirectory {
+
+    private final ResidentRepository residentRepository;
+    private final NotificationConfig notificationConfig;
+
+    private final Map<UUID, Map<UUID, CachedContact>> contactsByTenant = new ConcurrentHashMap<>();
+
+    public record Contact(UUID residentId, String userId, String firstName, String lastName, String phone,
+                          String email, Set<NotificationChannel> reachableChannels) {
+
+        public String fullName() {
+            return (Objects.toString(firstName, "") + " " + Objects.toString(lastName, "")).trim();
+        }
+
+        public boolean hasPhone() {
+            return phone != null && !phone.isBlank();
+        }
+
+        public boolean hasEmail() {
+            return email != null && !email.isBlank();
+        }
+    }
+
+    private record CachedContact(Contact contact, long loadedAtNanos) {
+    }
+
+    public Optional<Contact> find(UUID tenantId, UUID residentId) {
+        return Optional.ofNullable(resolve(tenantId, List.of(residentId)).get(residentId));
+    }
+
+    /** Contacts for the given residents; residents that do not exist in the tenant are absent. */
+    public Map<UUID, Contact> resolve(UUID tenantId, Collection<UUID> residentIds) {
+        Map<UUID, CachedContact> tenantContacts = contactsByTenant.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>());
+        long now = System.nanoTime();
+        long ttlNanos = notificationConfig.getContacts().getTtlSeconds() * 1_000_000_000L;
+
+        Map<UUID, Contact> contacts = new HashMap<>();
+        Set<UUID> misses = new HashSet<>();
+        for (UUID residentId : residentIds) {
+            CachedContact cached = tenantContacts.get(residentId);
+            if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+                contacts.put(residentId, cached.contact());
+            } else {
+                misses.add(residentId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return contacts;
+        }
+
+        if (tenantContacts.size() + misses.size() > notificationConfig.getContacts().getMaxEntriesPerTenant()) {
+            tenantContacts.clear();
+        }
+        for (Resident resident : residentRepository.findAllByIdsAndTenantId(misses, tenantId)) {
+            Contact contact = toContact(resident);
+            tenantContacts.put(resident.getId(), new CachedContact(contact, now));
+            contacts.put(resident.getId(), contact);
+        }
+        log.debug("Loaded {} of {} missing contacts for tenant {}", contacts.size(), misses.size(), tenantId);
+        return contacts;
+    }
+
+    /** Contacts for the recipients of a batch of notifications, which may span tenants. */
+    public Map<UUID, Contact> resolveRecipients(List<Notification> notifications) {
+        Map<UUID, Contact> contacts = new HashMap<>();
+        notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getTenantId,
+                        Collectors.mapping(Notification::getRecipientId, Collectors.toSet())))
+                .forEach((tenantId, recipientIds) -> contacts.putAll(resolve(tenantId, recipientIds)));
+        return contacts;
+    }
+
+    /**
+     * Drop a resident's contact now and again after commit, so a concurrent delivery cannot
+     * re-cache the old details before the change is visible.
+     */
+    public void evict(UUID tenantId, UUID residentId) {
+        Runnable remove = () -> {
+            Map<UUID, CachedContact> tenantContacts = contactsByTenant.get(tenantId);
+            if (tenantContacts != null) {
+                tenantContacts.remove(residentId);
+            }
+        };
+        remove.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove.run();
+                }
+            });
+        }
+    }
+
+    private static Contact toContact(Resident resident) {
+        Set<NotificationChannel> reachable = EnumSet.of(NotificationChannel.IN_APP);
+        if (resident.getPhone() != null && !resident.getPhone().isBlank()) {
+            reachable.add(NotificationChannel.SMS);
+            reachable.add(NotificationChannel.WHATSAPP);
+        }
+        if (resident.getEmail() != null && !resident.getEmail().isBlank()) {
+            reachable.add(NotificationChannel.EMAIL);
+        }
+        if (resident.getUserId() != null) {
+            // Only residents with an app account can have registered devices
+            reachable.add(NotificationChannel.PUSH);
+        }
+        return new Contact(resident.getId(), resident.getUserId(), resident.getFirstName(), resident.getLastName(),
+                resident.getPhone(), resident.getEmail(), Collections.unmodifiableSet(reachable));
+    }
+}
@@ -2,14 +2,12 @@ package com.strataguard.service.notification;
 
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
-import com.strataguard.infrastructure.repository.ResidentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 @Component
 @RequiredArgsConstructor
@@ -18,31 +16,22 @@ public class SmsNotificationSender implements NotificationSender {
 
     private final NotificationConfig notificationConfig;
     private final WebClient termiiWebClient;
-    private final ResidentRepository residentRepository;
+    private final RecipientDirectory recipientDirectory;
 
     @Override
     public void send(Notification notification) {
-        String apiKey = notificationConfig.getTermii().getApiKey();
-        if (apiKey == null || apiKey.isBlank()) {
-            throw new RuntimeException("Channel not configured: Termii API key is not set");
-        }
+        String apiKey = requireApiKey();
 
-        String phone = residentRepository.findByIdAndTenantId(
-                        notification.getRecipientId(), notification.getTenantId())
-                .map(r -> r.getPhone())
+        String phone = recipientDirectory.find(notification.getTenantId(), notification.getRecipientId())
+                .map(RecipientDirectory.Contact::phone)
                 .orElseThrow(() -> new RuntimeException("Recipient phone not found"));
 
         if (phone == null || phone.isBlank()) {
             throw new RuntimeException("Recipient does not have a phone number");
         }
 
-        Map<String, Object> request = new HashMap<>();
-        request.put("api_key", apiKey);
+        Map<String, Object> request = buildRequest(apiKey, notification.getBody());
         request.put("to", phone);
-        request.put("from", notificationConfig.getTermii().getSenderId());
-        request.put("sms", notification.getBody());
-        request.put("type", "plain");
-        request.put("channel", "generic");
 
         String response = termiiWebClient.post()
                 .uri("/sms/send")
@@ -54,8 +43,74 @@ public class SmsNotificationSender implements NotificationSender {
         log.info("SMS notification sent to {} for notification {}: {}", phone, notification.getId(), response);
     }
 
+    @Override
+    public int getMaxBatchSize() {
+        return notificationConfig.getTermii().getBulkMaxRecipients();
+    }
+
+    /**
+     * Sends through Termii's bulk endpoint, which delivers one message text to many numbers per
+     * request. Notifications are grouped by body, so a broadcast batch is a single request.
+     */
+    @Override
+    public Map<UUID, String> sendBatch(List<Notification> notifications) {
+        String apiKey = requireApiKey();
+        Map<UUID, String> failures = new HashMap<>();
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolveRecipients(notifications);
+
+        Map<String, List<Notification>> byBody = new LinkedHashMap<>();
+        Map<UUID, String> phones = new HashMap<>();
+        for (Notification notification : notifications) {
+            RecipientDirectory.Contact contact = contacts.get(notification.getRecipientId());
+            if (contact == null) {
+                failures.put(notification.getId(), "Recipient phone not found");
+            } else if (!contact.hasPhone()) {
+                failures.put(notification.getId(), "Recipient does not have a phone number");
+            } else {
+                phones.put(notification.getId(), contact.phone());
+                byBody.computeIfAbsent(notification.getBody(), body -> new ArrayList<>()).add(notification);
+            }
+        }
+
+        byBody.forEach((body, group) -> {
+            Map<String, Object> request = buildRequest(apiKey, body);
+            request.put("to", group.stream().map(n -> phones.get(n.getId())).distinct().toList());
+            try {
+                String response = termiiWebClient.post()
+                        .uri("/sms/send/bulk")
+                        .bodyValue(request)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block();
+                log.info("Bulk SMS sent to {} recipients: {}", group.size(), response);
+            } catch (Exception e) {
+                log.warn("Bulk SMS to {} recipients failed: {}", group.size(), e.getMessage());
+                group.forEach(n -> failures.put(n.getId(), e.getMessage()));
+            }
+        });
+        return failures;
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.SMS;
     }
+
+    private String requireApiKey() {
+        String apiKey = notificationConfig.getTermii().getApiKey();
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new RuntimeException("Channel not configured: Termii API key is not set");
+        }
+        return apiKey;
+    }
+
+    private Map<String, Object> buildRequest(String apiKey, String body) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("api_key", apiKey);
+        request.put("from", notificationConfig.getTermii().getSenderId());
+        request.put("sms", body);
+        request.put("type", "plain");
+        request.put("channel", "generic");
+        return request;
+    }
 }
@@ -0,0 +1,63 @@
+package com.strataguard.service.notification;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at {@code ratePerSecond} up to {@code burst} tokens. Callers
+ * reserve a token and then sleep off any deficit outside the lock, so waiting callers are
+ * released in reservation order at the configured rate.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.capacity = Math.max(burst, 1);
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Reserve one token, waiting at most {@code maxWait} for it.
+     *
+     * @return the time spent waiting, or {@code null} if the token would not be available in time
+     */
+    Duration acquire(Duration maxWait) throws InterruptedException {
+        long waitNanos = reserve(maxWait.toNanos());
+        if (waitNanos < 0) {
+            return null;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /** @return nanos until the reserved token is due, or -1 if that exceeds {@code maxWaitNanos} */
+    synchronized long reserve(long maxWaitNanos) {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        long waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,118 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.NotificationUnreadCounter;
+import com.strataguard.infrastructure.repository.NotificationUnreadCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized unread IN_APP notification counts. Each change is an atomic upsert on the
+ * resident's counter row; the committed value is then cached and pushed to the resident's
+ * clients, so badge reads never count notification rows. Cached values expire after
+ * {@code notification.unread.ttl-seconds} to pick up changes made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class UnreadCounterService {
+
+    private final NotificationUnreadCounterRepository counterRepository;
+    private final NotificationConfig notificationConfig;
+    private final RealtimeNotificationPublisher realtimePublisher;
+
+    private final Map<UUID, Map<UUID, CachedCount>> countsByTenant = new ConcurrentHashMap<>();
+
+    private record CachedCount(long count, long loadedAtNanos) {
+    }
+
+    @Transactional(readOnly = true)
+    public long getCount(UUID tenantId, UUID residentId) {
+        long ttlNanos = notificationConfig.getUnread().getTtlSeconds() * 1_000_000_000L;
+        Map<UUID, CachedCount> tenantCounts = countsByTenant.get(tenantId);
+        CachedCount cached = tenantCounts != null ? tenantCounts.get(residentId) : null;
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return cached.count();
+        }
+        long count = counterRepository.findUnreadCount(residentId, tenantId).orElse(0L);
+        cache(tenantId, residentId, count);
+        return count;
+    }
+
+    public void increment(UUID tenantId, UUID residentId) {
+        adjust(tenantId, residentId, 1);
+    }
+
+    public void decrement(UUID tenantId, UUID residentId) {
+        adjust(tenantId, residentId, -1);
+    }
+
+    /** One increment per entry; a resident listed twice gains two. */
+    public void incrementAll(UUID tenantId, Collection<UUID> residentIds) {
+        if (residentIds.isEmpty()) {
+            return;
+        }
+        Map<UUID, Long> deltas = residentIds.stream()
+                .collect(Collectors.groupingBy(id -> id, Collectors.counting()));
+        // Usually every resident gains one, so this is a single statement
+        deltas.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((delta, ids) -> counterRepository.incrementUnreadCounts(ids, tenantId, delta));
+
+        Map<UUID, Long> counts = new HashMap<>();
+        for (NotificationUnreadCounter counter : counterRepository.findByResidentIdsAndTenantId(deltas.keySet(), tenantId)) {
+            counts.put(counter.getResidentId(), counter.getUnreadCount());
+        }
+        publishAfterCommit(tenantId, counts);
+    }
+
+    public void reset(UUID tenantId, UUID residentId) {
+        counterRepository.resetUnreadCount(residentId, tenantId);
+        publishAfterCommit(tenantId, Map.of(residentId, 0L));
+    }
+
+    private void adjust(UUID tenantId, UUID residentId, long delta) {
+        counterRepository.adjustUnreadCount(residentId, tenantId, delta);
+        // Read back under the row lock taken by the upsert, so this is the value that commits
+        long count = counterRepository.findUnreadCount(residentId, tenantId).orElse(0L);
+        publishAfterCommit(tenantId, Map.of(residentId, count));
+    }
+
+    private void publishAfterCommit(UUID tenantId, Map<UUID, Long> counts) {
+        Runnable publish = () -> counts.forEach((residentId, count) -> {
+            cache(tenantId, residentId, count);
+            try {
+                realtimePublisher.publishUnreadCount(tenantId, residentId, count);
+            } catch (Exception e) {
+                log.warn("Failed to push unread count to resident {}: {}", residentId, e.getMessage());
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void cache(UUID tenantId, UUID residentId, long count) {
+        Map<UUID, CachedCount> tenantCounts = countsByTenant.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>());
+        if (tenantCounts.size() >= notificationConfig.getUnread().getMaxEntriesPerTenant()) {
+            tenantCounts.clear();
+        }
+        tenantCounts.put(residentId, new CachedCount(count, System.nanoTime()));
+    }
+}
@@ -2,7 +2,6 @@ package com.strataguard.service.notification;
 
 import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
-import com.strataguard.infrastructure.repository.ResidentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -18,7 +17,7 @@ public class WhatsAppNotificationSender implements NotificationSender {
 
     private final NotificationConfig notificationConfig;
     private final WebClient termiiWebClient;
-    private final ResidentRepository residentRepository;
+    private final RecipientDirectory recipientDirectory;
 
     @Override
     public void send(Notification notification) {
@@ -27,9 +26,8 @@ public class WhatsAppNotificationSender implements NotificationSender {
             throw new RuntimeException("Channel not configured: Termii API key is not set for WhatsApp");
         }
 
-        String phone = residentRepository.findByIdAndTenantId(
-                        notification.getRecipientId(), notification.getTenantId())
-                .map(r -> r.getPhone())
+        String phone = recipientDirectory.find(notification.getTenantId(), notification.getRecipientId())
+                .map(RecipientDirectory.Contact::phone)
                 .orElseThrow(() -> new RuntimeException("Recipient phone not found"));
 
         if (phone == null || phone.isBlank()) {
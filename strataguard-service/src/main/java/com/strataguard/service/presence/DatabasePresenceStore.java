@@ -0,0 +1,63 @@
+package com.strataguard.service.presence;
+
+import com.strataguard.core.entity.PresenceSession;
+import com.strataguard.infrastructure.repository.PresenceSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Presence in the shared {@code presence_sessions} table, so every node sees every session.
+ * Each node refreshes all of its sessions with one update per heartbeat, and any node sweeps
+ * the rows of a node that stopped heartbeating.
+ */
+@Component
+@ConditionalOnProperty(name = "presence.store", havingValue = "database")
+@RequiredArgsConstructor
+@Transactional
+public class DatabasePresenceStore implements PresenceStore {
+
+    private final PresenceSessionRepository presenceSessionRepository;
+
+    @Override
+    public void save(Session session) {
+        presenceSessionRepository.upsert(session.sessionId(), session.userId(), session.tenantId(),
+                session.nodeId(), session.connectedAt(), session.expiresAt());
+    }
+
+    @Override
+    public int refresh(String nodeId, Instant expiresAt) {
+        return presenceSessionRepository.refreshNode(nodeId, expiresAt);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        presenceSessionRepository.deleteBySessionId(sessionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> onlineUsers(Collection<String> userIds, Instant now) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return presenceSessionRepository.findOnlineUserIds(userIds, now);
+    }
+
+    @Override
+    public List<Session> removeExpired(Instant now) {
+        List<PresenceSession> expired = presenceSessionRepository.findExpired(now);
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        presenceSessionRepository.deleteExpired(expired.stream().map(PresenceSession::getSessionId).toList(), now);
+        return expired.stream()
+                .map(p -> new Session(p.getSessionId(), p.getUserId(), p.getTenantId(), p.getNodeId(),
+                        p.getConnectedAt(), p.getExpiresAt()))
+                .toList();
+    }
+}
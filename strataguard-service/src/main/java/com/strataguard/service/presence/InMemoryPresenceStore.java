@@ -0,0 +1,82 @@
+package com.strataguard.service.presence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Presence held in this node's memory; only correct while the application runs on one node. */
+@Component
+@ConditionalOnProperty(name = "presence.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPresenceStore implements PresenceStore {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionIdsByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Session session) {
+        sessions.put(session.sessionId(), session);
+        sessionIdsByUser.compute(session.userId(), (userId, sessionIds) -> {
+            Set<String> current = sessionIds != null ? sessionIds : ConcurrentHashMap.newKeySet();
+            current.add(session.sessionId());
+            return current;
+        });
+    }
+
+    @Override
+    public int refresh(String nodeId, Instant expiresAt) {
+        int refreshed = 0;
+        for (Session session : sessions.values()) {
+            if (session.nodeId().equals(nodeId)
+                    && sessions.replace(session.sessionId(), session, session.withExpiresAt(expiresAt))) {
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session != null) {
+            unindex(session);
+        }
+    }
+
+    @Override
+    public Set<String> onlineUsers(Collection<String> userIds, Instant now) {
+        Set<String> online = new HashSet<>();
+        for (String userId : userIds) {
+            Set<String> sessionIds = sessionIdsByUser.getOrDefault(userId, Set.of());
+            for (String sessionId : sessionIds) {
+                Session session = sessions.get(sessionId);
+                if (session != null && now.isBefore(session.expiresAt())) {
+                    online.add(userId);
+                    break;
+                }
+            }
+        }
+        return online;
+    }
+
+    @Override
+    public List<Session> removeExpired(Instant now) {
+        List<Session> expired = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            if (!now.isBefore(session.expiresAt()) && sessions.remove(session.sessionId(), session)) {
+                unindex(session);
+                expired.add(session);
+            }
+        }
+        return expired;
+    }
+
+    private void unindex(Session session) {
+        sessionIdsByUser.computeIfPresent(session.userId(), (userId, sessionIds) -> {
+            sessionIds.remove(session.sessionId());
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+}
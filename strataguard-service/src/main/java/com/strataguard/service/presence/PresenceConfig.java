@@ -0,0 +1,19 @@
+package com.strataguard.service.presence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "presence")
+@Getter
+@Setter
+public class PresenceConfig {
+
+    /** {@code memory} for a single node, {@code database} to share presence across nodes. */
+    private String store = "memory";
+
+    /** How long a session counts as online without a heartbeat; must exceed the heartbeat interval. */
+    private long ttlSeconds = 30;
+}
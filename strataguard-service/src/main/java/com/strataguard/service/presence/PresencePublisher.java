@@ -0,0 +1,11 @@
+package com.strataguard.service.presence;
+
+import com.strataguard.core.dto.chat.PresenceEvent;
+
+import java.util.UUID;
+
+/** Broadcasts presence changes to a tenant's connected clients. Implemented by the WebSocket layer. */
+public interface PresencePublisher {
+
+    void publishPresence(UUID tenantId, PresenceEvent event);
+}
@@ -0,0 +1,125 @@
+package com.strataguard.service.presence;
+
+import com.strataguard.core.dto.chat.PresenceEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who is online across the cluster. Sessions opened on this node are written to the
+ * {@link PresenceStore} and kept alive by a heartbeat every
+ * {@code presence.heartbeat-interval-millis}; a user stays online while any of their sessions
+ * is live, and sessions of a node that stops heartbeating expire after {@code presence.ttl-seconds}.
+ * A presence event is published when a user's first session opens and when their last one ends.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private final PresenceStore presenceStore;
+    private final PresencePublisher presencePublisher;
+    private final PresenceConfig presenceConfig;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, PresenceStore.Session> localSessions = new ConcurrentHashMap<>();
+
+    public void connected(String sessionId, String userId, UUID tenantId) {
+        Instant now = Instant.now();
+        boolean wasOnline = isOnline(userId);
+        PresenceStore.Session session = new PresenceStore.Session(sessionId, userId, tenantId, nodeId, now, now.plus(ttl()));
+        localSessions.put(sessionId, session);
+        presenceStore.save(session);
+        if (!wasOnline) {
+            publish(tenantId, userId, true, now);
+        }
+    }
+
+    public void disconnected(String sessionId) {
+        PresenceStore.Session session = localSessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        presenceStore.remove(sessionId);
+        if (!isOnline(session.userId())) {
+            publish(session.tenantId(), session.userId(), false, Instant.now());
+        }
+    }
+
+    public boolean isOnline(String userId) {
+        return !onlineUsers(List.of(userId)).isEmpty();
+    }
+
+    /** The subset of {@code userIds} with at least one live session on any node. */
+    public Set<String> onlineUsers(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return presenceStore.onlineUsers(userIds, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${presence.heartbeat-interval-millis:10000}")
+    public void heartbeat() {
+        heartbeat(Instant.now());
+    }
+
+    void heartbeat(Instant now) {
+        Instant expiresAt = now.plus(ttl());
+        if (!localSessions.isEmpty() && presenceStore.refresh(nodeId, expiresAt) < localSessions.size()) {
+            restoreLocalSessions(now, expiresAt);
+        }
+
+        List<PresenceStore.Session> expired = presenceStore.removeExpired(now);
+        if (expired.isEmpty()) {
+            return;
+        }
+        Map<String, UUID> tenantByUser = new HashMap<>();
+        expired.forEach(session -> tenantByUser.putIfAbsent(session.userId(), session.tenantId()));
+        Set<String> stillOnline = presenceStore.onlineUsers(tenantByUser.keySet(), now);
+        tenantByUser.forEach((userId, tenantId) -> {
+            if (!stillOnline.contains(userId)) {
+                publish(tenantId, userId, false, now);
+            }
+        });
+        log.info("Expired {} presence sessions for {} users", expired.size(), tenantByUser.size());
+    }
+
+    /**
+     * Write back sessions another node swept while this one was stalled past the TTL, announcing
+     * users it had reported offline.
+     */
+    private void restoreLocalSessions(Instant now, Instant expiresAt) {
+        Map<String, UUID> tenantByUser = new HashMap<>();
+        localSessions.values().forEach(session -> tenantByUser.putIfAbsent(session.userId(), session.tenantId()));
+        Set<String> online = presenceStore.onlineUsers(tenantByUser.keySet(), now);
+        localSessions.replaceAll((sessionId, session) -> session.withExpiresAt(expiresAt));
+        localSessions.values().forEach(presenceStore::save);
+        tenantByUser.forEach((userId, tenantId) -> {
+            if (!online.contains(userId)) {
+                publish(tenantId, userId, true, now);
+            }
+        });
+        log.warn("Restored {} presence sessions for node {}", localSessions.size(), nodeId);
+    }
+
+    private void publish(UUID tenantId, String userId, boolean online, Instant at) {
+        if (tenantId == null) {
+            return;
+        }
+        presencePublisher.publishPresence(tenantId, PresenceEvent.builder()
+                .userId(userId)
+                .online(online)
+                .timestamp(at)
+                .build());
+    }
+
+    private Duration ttl() {
+        return Duration.ofSeconds(presenceConfig.getTtlSeconds());
+    }
+}
@@ -0,0 +1,36 @@
+package com.strataguard.service.presence;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Where open WebSocket sessions are recorded. A user is online while at least one of their
+ * sessions, on any node, has not expired.
+ */
+public interface PresenceStore {
+
+    record Session(String sessionId, String userId, UUID tenantId, String nodeId,
+                   Instant connectedAt, Instant expiresAt) {
+
+        public Session withExpiresAt(Instant expiresAt) {
+            return new Session(sessionId, userId, tenantId, nodeId, connectedAt, expiresAt);
+        }
+    }
+
+    /** Record a session, or refresh it if already present. */
+    void save(Session session);
+
+    /** Extend every session of {@code nodeId}; returns how many the store still held. */
+    int refresh(String nodeId, Instant expiresAt);
+
+    void remove(String sessionId);
+
+    /** The subset of {@code userIds} with at least one unexpired session. */
+    Set<String> onlineUsers(Collection<String> userIds, Instant now);
+
+    /** Remove and return sessions whose heartbeat lapsed, such as those of a node that died. */
+    List<Session> removeExpired(Instant now);
+}
@@ -0,0 +1,291 @@
+package com.strataguard.service.reporting;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.reporting.ReceivablesAgingResponse;
+import com.strataguard.core.dto.reporting.ReceivablesAgingResponse.AgingBuckets;
+import com.strataguard.core.dto.reporting.ReceivablesAgingResponse.EstateAging;
+import com.strataguard.core.dto.reporting.ReceivablesAgingResponse.UnitChargeAging;
+import com.strataguard.core.entity.ChargeInvoice;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.ReceivablesAgingRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receivables aging (current / 0-30 / 31-60 / 61-90 / 90+ days past due) by estate, unit and
+ * charge; invoices due today or later are current. Each tenant's report is built with one grouped
+ * SQL pass and cached for the rest of the day. Payments are applied to the cached snapshot as
+ * deltas; any other invoice change evicts it. Every change bumps the tenant's generation before
+ * and after commit, and a snapshot is only cached if no change started while it was being built,
+ * so a report read before a change commits is never kept after it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReceivablesAgingService {
+
+    private static final int BUCKET_COUNT = 5;
+
+    private final ChargeInvoiceRepository chargeInvoiceRepository;
+
+    private final Map<UUID, AgingSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> generations = new HashMap<>();
+
+    public ReceivablesAgingResponse getAgingReport(UUID estateId, boolean refresh) {
+        UUID tenantId = TenantContext.requireTenantId();
+        LocalDate today = LocalDate.now();
+
+        AgingSnapshot snapshot = snapshots.get(tenantId);
+        if (refresh || snapshot == null || !snapshot.asOf.equals(today)) {
+            snapshot = loadSnapshot(tenantId, today, generation(tenantId));
+            cache(tenantId, snapshot);
+        }
+        return snapshot.toResponse(estateId);
+    }
+
+    /**
+     * Subtract a payment from the cached aging snapshot once the surrounding transaction commits.
+     *
+     * @param appliedAmount portion of the payment that reduced the outstanding balance (excludes overpayment)
+     * @param settled       whether the invoice no longer has an outstanding balance
+     */
+    public void recordPayment(ChargeInvoice invoice, BigDecimal appliedAmount, boolean settled) {
+        if (appliedAmount == null || appliedAmount.signum() <= 0) {
+            return;
+        }
+        long recordedAt = bump(invoice.getTenantId());
+        afterCommit(() -> {
+            bump(invoice.getTenantId());
+            applyPayment(invoice, appliedAmount, settled, recordedAt);
+        });
+    }
+
+    /**
+     * Drop the tenant's cached snapshot (after commit) so the next read recomputes it.
+     * Used for changes that are not simple payments: new invoices, cancellations, penalties.
+     */
+    public void evict(UUID tenantId) {
+        bump(tenantId);
+        afterCommit(() -> {
+            bump(tenantId);
+            snapshots.remove(tenantId);
+        });
+    }
+
+    private void applyPayment(ChargeInvoice invoice, BigDecimal appliedAmount, boolean settled, long recordedAt) {
+        AgingSnapshot snapshot = snapshots.get(invoice.getTenantId());
+        if (snapshot == null) {
+            return;
+        }
+        // A snapshot built after the payment was recorded may already include it, and one without
+        // the invoice's line predates the invoice - either way rebuild on next read
+        if (snapshot.generation >= recordedAt || !snapshot.applyPayment(invoice, appliedAmount, settled)) {
+            snapshots.remove(invoice.getTenantId(), snapshot);
+        }
+    }
+
+    private synchronized long generation(UUID tenantId) {
+        return generations.getOrDefault(tenantId, 0L);
+    }
+
+    private synchronized long bump(UUID tenantId) {
+        return generations.merge(tenantId, 1L, Long::sum);
+    }
+
+    /** Caches the snapshot unless a change to the tenant's invoices started while it was built. */
+    private synchronized void cache(UUID tenantId, AgingSnapshot snapshot) {
+        if (generations.getOrDefault(tenantId, 0L) == snapshot.generation) {
+            snapshots.put(tenantId, snapshot);
+        }
+    }
+
+    private AgingSnapshot loadSnapshot(UUID tenantId, LocalDate asOf, long generation) {
+        long start = System.nanoTime();
+        List<ReceivablesAgingRow> rows = chargeInvoiceRepository.aggregateReceivablesAging(
+                tenantId, asOf, asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90));
+
+        Map<LineKey, AgingLine> lines = new LinkedHashMap<>(Math.max(16, rows.size() * 2));
+        for (ReceivablesAgingRow row : rows) {
+            AgingLine line = new AgingLine(row);
+            lines.put(line.key(), line);
+        }
+
+        log.debug("Built receivables aging for tenant {}: {} lines in {} ms",
+                tenantId, lines.size(), (System.nanoTime() - start) / 1_000_000);
+        return new AgingSnapshot(asOf, Instant.now(), generation, lines);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static int bucketIndex(LocalDate dueDate, LocalDate asOf) {
+        long daysPastDue = ChronoUnit.DAYS.between(dueDate, asOf);
+        if (daysPastDue <= 0) return 0;
+        if (daysPastDue <= 30) return 1;
+        if (daysPastDue <= 60) return 2;
+        if (daysPastDue <= 90) return 3;
+        return 4;
+    }
+
+    private record LineKey(UUID unitId, ChargeType chargeType, UUID chargeId) {
+    }
+
+    private static final class AgingSnapshot {
+
+        private final LocalDate asOf;
+        private final Instant generatedAt;
+        private final long generation;
+        private final Map<LineKey, AgingLine> lines;
+
+        private AgingSnapshot(LocalDate asOf, Instant generatedAt, long generation, Map<LineKey, AgingLine> lines) {
+            this.asOf = asOf;
+            this.generatedAt = generatedAt;
+            this.generation = generation;
+            this.lines = lines;
+        }
+
+        synchronized boolean applyPayment(ChargeInvoice invoice, BigDecimal amount, boolean settled) {
+            AgingLine line = lines.get(new LineKey(invoice.getUnitId(), invoice.getChargeType(), invoice.getChargeId()));
+            if (line == null) {
+                return false;
+            }
+            int bucket = bucketIndex(invoice.getDueDate(), asOf);
+            line.buckets[bucket] = line.buckets[bucket].subtract(amount).max(BigDecimal.ZERO);
+            if (settled) {
+                line.invoiceCount--;
+            }
+            if (line.invoiceCount <= 0) {
+                lines.remove(line.key());
+            }
+            return true;
+        }
+
+        synchronized ReceivablesAgingResponse toResponse(UUID estateFilter) {
+            BigDecimal[] totals = zeroBuckets();
+            long totalInvoices = 0;
+            Map<UUID, BigDecimal[]> estateBuckets = new LinkedHashMap<>();
+            Map<UUID, Long> estateCounts = new HashMap<>();
+            List<UnitChargeAging> byUnitAndCharge = new ArrayList<>();
+
+            for (AgingLine line : lines.values()) {
+                if (estateFilter != null && !estateFilter.equals(line.estateId)) {
+                    continue;
+                }
+                addInto(totals, line.buckets);
+                addInto(estateBuckets.computeIfAbsent(line.estateId, k -> zeroBuckets()), line.buckets);
+                estateCounts.merge(line.estateId, line.invoiceCount, Long::sum);
+                totalInvoices += line.invoiceCount;
+
+                byUnitAndCharge.add(UnitChargeAging.builder()
+                        .estateId(line.estateId)
+                        .unitId(line.unitId)
+                        .unitNumber(line.unitNumber)
+                        .chargeType(line.chargeType)
+                        .chargeId(line.chargeId)
+                        .chargeName(line.chargeName)
+                        .invoiceCount(line.invoiceCount)
+                        .buckets(toBuckets(line.buckets))
+                        .build());
+            }
+
+            List<EstateAging> byEstate = new ArrayList<>(estateBuckets.size());
+            estateBuckets.forEach((estateId, buckets) -> byEstate.add(EstateAging.builder()
+                    .estateId(estateId)
+                    .invoiceCount(estateCounts.getOrDefault(estateId, 0L))
+                    .buckets(toBuckets(buckets))
+                    .build()));
+
+            return ReceivablesAgingResponse.builder()
+                    .asOf(asOf)
+                    .generatedAt(generatedAt)
+                    .invoiceCount(totalInvoices)
+                    .totals(toBuckets(totals))
+                    .byEstate(byEstate)
+                    .byUnitAndCharge(byUnitAndCharge)
+                    .build();
+        }
+    }
+
+    private static final class AgingLine {
+
+        private final UUID estateId;
+        private final UUID unitId;
+        private final String unitNumber;
+        private final ChargeType chargeType;
+        private final UUID chargeId;
+        private final String chargeName;
+        private long invoiceCount;
+        private final BigDecimal[] buckets;
+
+        private AgingLine(ReceivablesAgingRow row) {
+            this.estateId = row.getEstateId();
+            this.unitId = row.getUnitId();
+            this.unitNumber = row.getUnitNumber();
+            this.chargeType = ChargeType.valueOf(row.getChargeType());
+            this.chargeId = row.getChargeId();
+            this.chargeName = switch (chargeType) {
+                case UTILITY -> "Utility";
+                case VIOLATION_FINE -> "Violation fines";
+                default -> row.getChargeName();
+            };
+            this.invoiceCount = row.getInvoiceCount();
+            this.buckets = new BigDecimal[]{
+                    nonNull(row.getNotYetDue()), nonNull(row.getDays0To30()), nonNull(row.getDays31To60()),
+                    nonNull(row.getDays61To90()), nonNull(row.getOver90Days())};
+        }
+
+        private LineKey key() {
+            return new LineKey(unitId, chargeType, chargeId);
+        }
+    }
+
+    private static BigDecimal[] zeroBuckets() {
+        BigDecimal[] buckets = new BigDecimal[BUCKET_COUNT];
+        Arrays.fill(buckets, BigDecimal.ZERO);
+        return buckets;
+    }
+
+    private static void addInto(BigDecimal[] target, BigDecimal[] source) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            target[i] = target[i].add(source[i]);
+        }
+    }
+
+    private static AgingBuckets toBuckets(BigDecimal[] buckets) {
+        return AgingBuckets.builder()
+                .current(buckets[0])
+                .days0To30(buckets[1])
+                .days31To60(buckets[2])
+                .days61To90(buckets[3])
+                .over90Days(buckets[4])
+                .total(Arrays.stream(buckets).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    private static BigDecimal nonNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -9,6 +9,7 @@ import com.strataguard.core.util.ResidentMapper;
 import com.strataguard.core.config.TenantContext;
 import com.strataguard.infrastructure.repository.EstateRepository;
 import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.notification.RecipientDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,6 +28,8 @@ public class ResidentService {
     private final ResidentRepository residentRepository;
     private final EstateRepository estateRepository;
     private final ResidentMapper residentMapper;
+    private final RecipientDirectory recipientDirectory;
+    private final ResidentSessionBindings sessionBindings;
 
     public ResidentResponse createResident(CreateResidentRequest request) {
         UUID tenantId = TenantContext.requireTenantId();
@@ -80,6 +83,8 @@ public class ResidentService {
 
         residentMapper.updateEntity(request, resident);
         Resident updated = residentRepository.save(resident);
+        recipientDirectory.evict(tenantId, residentId);
+        sessionBindings.residentChanged(updated);
         log.info("Updated resident: {} for tenant: {}", residentId, tenantId);
         return residentMapper.toResponse(updated);
     }
@@ -92,6 +97,8 @@ public class ResidentService {
         resident.setDeleted(true);
         resident.setActive(false);
         residentRepository.save(resident);
+        recipientDirectory.evict(tenantId, residentId);
+        sessionBindings.residentChanged(resident);
         log.info("Soft-deleted resident: {} for tenant: {}", residentId, tenantId);
     }
 
@@ -106,6 +113,8 @@ public class ResidentService {
 
         resident.setUserId(request.getUserId());
         Resident updated = residentRepository.save(resident);
+        recipientDirectory.evict(tenantId, residentId);
+        sessionBindings.residentChanged(updated);
         log.info("Linked Keycloak user {} to resident {} for tenant: {}", request.getUserId(), residentId, tenantId);
         return residentMapper.toResponse(updated);
     }
@@ -0,0 +1,13 @@
+package com.strataguard.service.resident;
+
+import com.strataguard.core.entity.Resident;
+
+/**
+ * Resident identities bound to live WebSocket sessions at CONNECT. Implemented by the WebSocket
+ * layer; resident changes are pushed here so chat frames never look the resident up themselves.
+ */
+public interface ResidentSessionBindings {
+
+    /** Refresh, or drop, the bindings of sessions bound to this resident once the change commits. */
+    void residentChanged(Resident resident);
+}
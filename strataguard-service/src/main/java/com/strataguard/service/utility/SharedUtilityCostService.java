@@ -12,6 +12,7 @@ import com.strataguard.core.enums.NotificationType;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.SharedUtilityCostMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
 import com.strataguard.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +24,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -38,6 +38,7 @@ public class SharedUtilityCostService {
     private final UnitRepository unitRepository;
     private final TenancyRepository tenancyRepository;
     private final ChargeInvoiceRepository invoiceRepository;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
     private final NotificationService notificationService;
     private final SharedUtilityCostMapper sharedCostMapper;
 
@@ -118,7 +119,7 @@ public class SharedUtilityCostService {
 
             ChargeInvoice invoice = new ChargeInvoice();
             invoice.setTenantId(tenantId);
-            invoice.setInvoiceNumber(generateInvoiceNumber(tenantId));
+            invoice.setInvoiceNumber(invoiceNumberAllocator.next(tenantId, InvoiceNumberAllocator.SHARED_COST_SERIES));
             invoice.setChargeType(com.strataguard.core.enums.ChargeType.UTILITY);
             invoice.setChargeId(sharedCostId);
             invoice.setUnitId(unit.getId());
@@ -189,10 +190,4 @@ public class SharedUtilityCostService {
         return sharedCost.getCostPerUnit();
     }
 
-    private String generateInvoiceNumber(UUID tenantId) {
-        YearMonth yearMonth = YearMonth.now();
-        String prefix = String.format("SHR-%d%02d-", yearMonth.getYear(), yearMonth.getMonthValue());
-        long count = invoiceRepository.countByInvoiceNumberPrefix(tenantId, prefix + "%");
-        return String.format("%s%06d", prefix, count + 1);
-    }
 }
@@ -17,6 +17,7 @@ import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.UtilityMeterMapper;
 import com.strataguard.core.util.UtilityReadingMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
 import com.strataguard.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +29,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +46,7 @@ public class UtilityService {
     private final UnitRepository unitRepository;
     private final TenancyRepository tenancyRepository;
     private final ChargeInvoiceRepository invoiceRepository;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
     private final ResidentRepository residentRepository;
     private final NotificationService notificationService;
     private final UtilityMeterMapper meterMapper;
@@ -274,7 +275,7 @@ public class UtilityService {
 
             ChargeInvoice invoice = new ChargeInvoice();
             invoice.setTenantId(tenantId);
-            invoice.setInvoiceNumber(generateInvoiceNumber(tenantId));
+            invoice.setInvoiceNumber(invoiceNumberAllocator.next(tenantId, InvoiceNumberAllocator.UTILITY_SERIES));
             invoice.setChargeType(ChargeType.UTILITY);
             invoice.setChargeId(reading.getMeterId());
             invoice.setUnitId(reading.getUnitId());
@@ -362,13 +363,6 @@ public class UtilityService {
         }
     }
 
-    private String generateInvoiceNumber(UUID tenantId) {
-        YearMonth yearMonth = YearMonth.now();
-        String prefix = String.format("UTL-%d%02d-", yearMonth.getYear(), yearMonth.getMonthValue());
-        long count = invoiceRepository.countByInvoiceNumberPrefix(tenantId, prefix + "%");
-        return String.format("%s%06d", prefix, count + 1);
-    }
-
     private UtilityMeterResponse enrichMeterResponse(UtilityMeter meter) {
         UUID tenantId = TenantContext.requireTenantId();
         UtilityMeterResponse response = meterMapper.toResponse(meter);
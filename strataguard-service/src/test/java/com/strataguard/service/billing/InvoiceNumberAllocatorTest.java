@@ -0,0 +1,66 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceNumberAllocatorTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ChargeInvoiceRepository invoiceRepository;
+
+    @InjectMocks
+    private InvoiceNumberAllocator allocator;
+
+    private static String prefix(String series) {
+        YearMonth yearMonth = YearMonth.now();
+        return String.format("%s-%d%02d-", series, yearMonth.getYear(), yearMonth.getMonthValue());
+    }
+
+    @Test
+    @DisplayName("should take the prefix lock before counting and continue from the count")
+    void shouldLockBeforeCounting() {
+        String prefix = prefix(InvoiceNumberAllocator.CHARGE_SERIES);
+        when(invoiceRepository.countByInvoiceNumberPrefix(TENANT_ID, prefix + "%")).thenReturn(41L);
+
+        List<String> numbers = allocator.reserve(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES, 2);
+
+        assertThat(numbers).containsExactly(prefix + "000042", prefix + "000043");
+        InOrder inOrder = inOrder(invoiceRepository);
+        inOrder.verify(invoiceRepository).lockInvoiceNumbers(TENANT_ID, prefix);
+        inOrder.verify(invoiceRepository).countByInvoiceNumberPrefix(TENANT_ID, prefix + "%");
+    }
+
+    @Test
+    @DisplayName("should number each series separately")
+    void shouldNumberPerSeries() {
+        String prefix = prefix(InvoiceNumberAllocator.UTILITY_SERIES);
+
+        String number = allocator.next(TENANT_ID, InvoiceNumberAllocator.UTILITY_SERIES);
+
+        assertThat(number).isEqualTo(prefix + "000001");
+        verify(invoiceRepository).lockInvoiceNumbers(TENANT_ID, prefix);
+    }
+
+    @Test
+    @DisplayName("should not lock or count when no numbers are needed")
+    void shouldSkipEmptyReservation() {
+        assertThat(allocator.reserve(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES, 0)).isEmpty();
+        verifyNoInteractions(invoiceRepository);
+    }
+}
@@ -12,6 +12,7 @@ import com.strataguard.core.enums.LevyFrequency;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.ChargeInvoiceMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.reporting.ReceivablesAgingService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -70,6 +71,12 @@ class InvoiceServiceTest {
     @Mock
     private ChargeInvoiceMapper invoiceMapper;
 
+    @Mock
+    private ReceivablesAgingService receivablesAgingService;
+
+    @Mock
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
     @InjectMocks
     private InvoiceService invoiceService;
 
@@ -197,7 +204,8 @@ class InvoiceServiceTest {
             when(estateChargeRepository.findByIdAndTenantId(CHARGE_ID, TENANT_ID)).thenReturn(Optional.of(charge));
             when(unitRepository.findByIdAndTenantId(UNIT_ID, TENANT_ID)).thenReturn(Optional.of(unit));
             when(tenancyRepository.findActiveByUnitIdAndTenantId(UNIT_ID, TENANT_ID)).thenReturn(List.of(tenancy));
-            when(invoiceRepository.countByInvoiceNumberPrefix(eq(TENANT_ID), any())).thenReturn(0L);
+            when(invoiceNumberAllocator.next(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES))
+                    .thenReturn("INV-202610-000001");
             when(invoiceRepository.save(any(ChargeInvoice.class))).thenReturn(savedInvoice);
             stubEnrichResponse(savedInvoice);
 
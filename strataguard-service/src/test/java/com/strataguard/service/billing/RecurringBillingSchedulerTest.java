@@ -0,0 +1,122 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.EstateCharge;
+import com.strataguard.core.enums.LevyFrequency;
+import com.strataguard.infrastructure.repository.EstateChargeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringBillingSchedulerTest {
+
+    private static final UUID TENANT_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID TENANT_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Mock
+    private EstateChargeRepository estateChargeRepository;
+
+    @Mock
+    private RecurringBillingService recurringBillingService;
+
+    private final Executor directExecutor = Runnable::run;
+
+    private RecurringBillingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RecurringBillingScheduler(estateChargeRepository, recurringBillingService, directExecutor);
+    }
+
+    private EstateCharge charge(UUID tenantId, LocalDate anchor) {
+        EstateCharge charge = new EstateCharge();
+        charge.setId(UUID.randomUUID());
+        charge.setTenantId(tenantId);
+        charge.setEstateId(UUID.randomUUID());
+        charge.setFrequency(LevyFrequency.MONTHLY);
+        charge.setBillingAnchorDate(anchor);
+        return charge;
+    }
+
+    @Test
+    void runRecurringBilling_shouldBillEachChargeUnderItsTenant() {
+        EstateCharge chargeA = charge(TENANT_A, LocalDate.now().minusMonths(2));
+        EstateCharge chargeB = charge(TENANT_B, LocalDate.now().minusDays(3));
+        when(estateChargeRepository.findAllBillableAsOf(LocalDate.now())).thenReturn(List.of(chargeA, chargeB));
+
+        List<UUID> tenantsSeen = new ArrayList<>();
+        when(recurringBillingService.billCycle(any(), any())).thenAnswer(invocation -> {
+            tenantsSeen.add(TenantContext.getTenantId());
+            return 1;
+        });
+
+        scheduler.runRecurringBilling();
+
+        // Charge A has never been billed, so its two earlier cycles are caught up first
+        assertThat(tenantsSeen).containsExactly(TENANT_A, TENANT_A, TENANT_A, TENANT_B);
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+
+    @Test
+    void runRecurringBilling_shouldRecordFailureAndContinueWithNextCharge() {
+        EstateCharge failing = charge(TENANT_A, LocalDate.now().minusMonths(1));
+        EstateCharge next = charge(TENANT_A, LocalDate.now().minusMonths(1));
+        when(estateChargeRepository.findAllBillableAsOf(LocalDate.now())).thenReturn(List.of(failing, next));
+        when(recurringBillingService.billCycle(eq(failing), any())).thenThrow(new IllegalStateException("db down"));
+        when(recurringBillingService.billCycle(eq(next), any())).thenReturn(3);
+
+        scheduler.runRecurringBilling();
+
+        verify(recurringBillingService).recordFailure(eq(failing), any(BillingCycle.class), eq("db down"));
+        // The failing charge stops at its first cycle; the next charge still bills both of its cycles
+        verify(recurringBillingService).billCycle(eq(failing), any());
+        verify(recurringBillingService, times(2)).billCycle(eq(next), any());
+    }
+
+    @Test
+    void runRecurringBilling_shouldCatchUpCyclesMissedSinceTheLastBilledOne() {
+        LocalDate today = LocalDate.now();
+        EstateCharge charge = charge(TENANT_A, today.minusMonths(3));
+        when(estateChargeRepository.findAllBillableAsOf(today)).thenReturn(List.of(charge));
+        when(recurringBillingService.lastBilledPeriodStart(charge)).thenReturn(Optional.of(today.minusMonths(3)));
+        List<LocalDate> billed = new ArrayList<>();
+        when(recurringBillingService.billCycle(eq(charge), any())).thenAnswer(invocation -> {
+            billed.add(invocation.<BillingCycle>getArgument(1).periodStart());
+            return 1;
+        });
+
+        scheduler.runRecurringBilling();
+
+        assertThat(billed).containsExactly(
+                today.minusMonths(3).plusMonths(1), today.minusMonths(3).plusMonths(2), today.minusMonths(3).plusMonths(3));
+    }
+
+    @Test
+    void runRecurringBilling_shouldCapCatchUpCycles() {
+        ReflectionTestUtils.setField(scheduler, "maxCatchUpCycles", 2);
+        LocalDate today = LocalDate.now();
+        EstateCharge charge = charge(TENANT_A, today.minusYears(2));
+        when(estateChargeRepository.findAllBillableAsOf(today)).thenReturn(List.of(charge));
+        when(recurringBillingService.billCycle(eq(charge), any())).thenReturn(1);
+
+        scheduler.runRecurringBilling();
+
+        verify(recurringBillingService, times(2)).billCycle(eq(charge), any());
+    }
+}
@@ -0,0 +1,218 @@
+package com.strataguard.service.billing;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.billing.BulkInvoiceRequest;
+import com.strataguard.core.dto.billing.InvoiceResponse;
+import com.strataguard.core.entity.BillingRun;
+import com.strataguard.core.entity.EstateCharge;
+import com.strataguard.core.enums.BillingRunStatus;
+import com.strataguard.core.enums.LevyFrequency;
+import com.strataguard.infrastructure.repository.BillingRunRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringBillingServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID CHARGE_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000006");
+
+    private static final BillingCycle MARCH = new BillingCycle(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+    @Mock
+    private BillingRunRepository billingRunRepository;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @InjectMocks
+    private RecurringBillingService recurringBillingService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        ReflectionTestUtils.setField(recurringBillingService, "defaultDueDays", 14);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private EstateCharge buildEstateCharge() {
+        EstateCharge charge = new EstateCharge();
+        charge.setId(CHARGE_ID);
+        charge.setTenantId(TENANT_ID);
+        charge.setName("Monthly Maintenance");
+        charge.setAmount(new BigDecimal("1000.00"));
+        charge.setFrequency(LevyFrequency.MONTHLY);
+        charge.setEstateId(ESTATE_ID);
+        charge.setBillingAnchorDate(LocalDate.of(2026, 1, 1));
+        charge.setActive(true);
+        return charge;
+    }
+
+    @Nested
+    @DisplayName("billCycle")
+    class BillCycle {
+
+        @Test
+        @DisplayName("should generate invoices and checkpoint the cycle as completed")
+        void shouldGenerateInvoicesAndCheckpoint() {
+            when(billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(CHARGE_ID, MARCH.periodStart(), TENANT_ID))
+                    .thenReturn(Optional.empty());
+            when(invoiceService.bulkGenerateInvoices(any(BulkInvoiceRequest.class)))
+                    .thenReturn(List.of(new InvoiceResponse(), new InvoiceResponse()));
+
+            int created = recurringBillingService.billCycle(buildEstateCharge(), MARCH);
+
+            assertThat(created).isEqualTo(2);
+
+            ArgumentCaptor<BulkInvoiceRequest> requestCaptor = ArgumentCaptor.forClass(BulkInvoiceRequest.class);
+            verify(invoiceService).bulkGenerateInvoices(requestCaptor.capture());
+            assertThat(requestCaptor.getValue().getBillingPeriodStart()).isEqualTo(MARCH.periodStart());
+            assertThat(requestCaptor.getValue().getBillingPeriodEnd()).isEqualTo(MARCH.periodEnd());
+            assertThat(requestCaptor.getValue().getDueDate()).isEqualTo(LocalDate.of(2026, 3, 15));
+
+            ArgumentCaptor<BillingRun> runCaptor = ArgumentCaptor.forClass(BillingRun.class);
+            verify(billingRunRepository).save(runCaptor.capture());
+            assertThat(runCaptor.getValue().getStatus()).isEqualTo(BillingRunStatus.COMPLETED);
+            assertThat(runCaptor.getValue().getInvoicesCreated()).isEqualTo(2);
+            assertThat(runCaptor.getValue().getAttempts()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should skip a cycle that is already completed")
+        void shouldSkipCompletedCycle() {
+            BillingRun run = new BillingRun();
+            run.setStatus(BillingRunStatus.COMPLETED);
+            when(billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(CHARGE_ID, MARCH.periodStart(), TENANT_ID))
+                    .thenReturn(Optional.of(run));
+
+            int created = recurringBillingService.billCycle(buildEstateCharge(), MARCH);
+
+            assertThat(created).isZero();
+            verifyNoInteractions(invoiceService);
+            verify(billingRunRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should resume a failed cycle and keep its due date")
+        void shouldResumeFailedCycle() {
+            BillingRun run = new BillingRun();
+            run.setStatus(BillingRunStatus.FAILED);
+            run.setAttempts(1);
+            run.setDueDate(LocalDate.of(2026, 3, 10));
+            run.setLastError("timeout");
+            when(billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(CHARGE_ID, MARCH.periodStart(), TENANT_ID))
+                    .thenReturn(Optional.of(run));
+            when(invoiceService.bulkGenerateInvoices(any(BulkInvoiceRequest.class))).thenReturn(List.of());
+
+            recurringBillingService.billCycle(buildEstateCharge(), MARCH);
+
+            assertThat(run.getStatus()).isEqualTo(BillingRunStatus.COMPLETED);
+            assertThat(run.getAttempts()).isEqualTo(2);
+            assertThat(run.getLastError()).isNull();
+            verify(invoiceService).bulkGenerateInvoices(argThat(r -> r.getDueDate().equals(LocalDate.of(2026, 3, 10))));
+        }
+    }
+
+    @Nested
+    @DisplayName("recordFailure")
+    class RecordFailure {
+
+        @Test
+        @DisplayName("should record a failed checkpoint with the error")
+        void shouldRecordFailedCheckpoint() {
+            EstateCharge charge = buildEstateCharge();
+            charge.setPaymentDueDays(7);
+            when(billingRunRepository.findByChargeIdAndPeriodStartAndTenantId(CHARGE_ID, MARCH.periodStart(), TENANT_ID))
+                    .thenReturn(Optional.empty());
+
+            recurringBillingService.recordFailure(charge, MARCH, "boom");
+
+            ArgumentCaptor<BillingRun> runCaptor = ArgumentCaptor.forClass(BillingRun.class);
+            verify(billingRunRepository).save(runCaptor.capture());
+            assertThat(runCaptor.getValue().getStatus()).isEqualTo(BillingRunStatus.FAILED);
+            assertThat(runCaptor.getValue().getLastError()).isEqualTo("boom");
+            assertThat(runCaptor.getValue().getDueDate()).isEqualTo(LocalDate.of(2026, 3, 8));
+        }
+    }
+
+    @Nested
+    @DisplayName("BillingCycle.containing")
+    class Cycles {
+
+        @Test
+        @DisplayName("should return the monthly period containing the date")
+        void shouldComputeMonthlyPeriod() {
+            Optional<BillingCycle> cycle = BillingCycle.containing(
+                    LevyFrequency.MONTHLY, LocalDate.of(2026, 1, 15), LocalDate.of(2026, 4, 20));
+
+            assertThat(cycle).contains(new BillingCycle(LocalDate.of(2026, 4, 15), LocalDate.of(2026, 5, 14)));
+        }
+
+        @Test
+        @DisplayName("should step quarterly and annually from the anchor")
+        void shouldComputeQuarterlyAndAnnualPeriods() {
+            assertThat(BillingCycle.containing(LevyFrequency.QUARTERLY, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 30)))
+                    .contains(new BillingCycle(LocalDate.of(2026, 4, 1), LocalDate.of(2026, 6, 30)));
+            assertThat(BillingCycle.containing(LevyFrequency.ANNUALLY, LocalDate.of(2025, 7, 1), LocalDate.of(2026, 7, 1)))
+                    .contains(new BillingCycle(LocalDate.of(2026, 7, 1), LocalDate.of(2027, 6, 30)));
+        }
+
+        @Test
+        @DisplayName("should not drift for month-end anchors")
+        void shouldNotDriftForMonthEndAnchors() {
+            LocalDate anchor = LocalDate.of(2026, 1, 31);
+
+            assertThat(BillingCycle.containing(LevyFrequency.MONTHLY, anchor, LocalDate.of(2026, 2, 28)))
+                    .contains(new BillingCycle(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 30)));
+            assertThat(BillingCycle.containing(LevyFrequency.MONTHLY, anchor, LocalDate.of(2026, 3, 31)))
+                    .contains(new BillingCycle(LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 29)));
+        }
+
+        @Test
+        @DisplayName("should bill one-time charges once on the anchor date and nothing before it")
+        void shouldHandleOneTimeAndFutureAnchors() {
+            LocalDate anchor = LocalDate.of(2026, 5, 1);
+
+            assertThat(BillingCycle.containing(LevyFrequency.ONE_TIME, anchor, LocalDate.of(2026, 9, 1)))
+                    .contains(new BillingCycle(anchor, anchor));
+            assertThat(BillingCycle.containing(LevyFrequency.MONTHLY, anchor, LocalDate.of(2026, 4, 30))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should list the cycles after the last billed one, oldest first and capped")
+        void shouldListUnbilledCycles() {
+            LocalDate anchor = LocalDate.of(2026, 1, 31);
+            LocalDate asOf = LocalDate.of(2026, 4, 30);
+
+            assertThat(BillingCycle.since(LevyFrequency.MONTHLY, anchor, LocalDate.of(2026, 1, 31), asOf, 12))
+                    .extracting(BillingCycle::periodStart)
+                    .containsExactly(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30));
+            assertThat(BillingCycle.since(LevyFrequency.MONTHLY, anchor, null, asOf, 2))
+                    .extracting(BillingCycle::periodStart)
+                    .containsExactly(LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30));
+            assertThat(BillingCycle.since(LevyFrequency.MONTHLY, anchor, LocalDate.of(2026, 4, 30), asOf, 12)).isEmpty();
+            assertThat(BillingCycle.since(LevyFrequency.ONE_TIME, anchor, null, asOf, 12))
+                    .containsExactly(new BillingCycle(anchor, anchor));
+        }
+    }
+}
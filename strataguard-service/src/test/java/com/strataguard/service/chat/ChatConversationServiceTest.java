@@ -0,0 +1,185 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.chat.ChatParticipantResponse;
+import com.strataguard.core.dto.chat.ConversationListResponse;
+import com.strataguard.core.dto.chat.ConversationResponse;
+import com.strataguard.core.entity.ChatConversation;
+import com.strataguard.core.entity.ChatParticipant;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.enums.ChatParticipantRole;
+import com.strataguard.core.util.ChatConversationMapper;
+import com.strataguard.infrastructure.repository.ChatConversationRepository;
+import com.strataguard.infrastructure.repository.ChatMessageRepository;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.infrastructure.repository.ChatUnreadCountRow;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatConversationServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID OTHER_RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000011");
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+    private static final UUID CONVERSATION_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private ChatConversationRepository conversationRepository;
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private ChatMessageRepository messageRepository;
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    @Mock
+    private ChatConversationMapper conversationMapper;
+
+    @InjectMocks
+    private ChatConversationService conversationService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        lenient().when(conversationMapper.toResponse(any(ChatConversation.class)))
+                .thenAnswer(inv -> ConversationResponse.builder().id(inv.<ChatConversation>getArgument(0).getId()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private ChatConversation conversation(UUID id, Instant lastMessageAt) {
+        ChatConversation conversation = new ChatConversation();
+        conversation.setId(id);
+        conversation.setTenantId(TENANT_ID);
+        conversation.setLastMessageAt(lastMessageAt);
+        conversation.setCreatedAt(NOW.minusSeconds(3600));
+        return conversation;
+    }
+
+    private ChatParticipant participant(UUID conversationId, UUID residentId) {
+        ChatParticipant participant = new ChatParticipant();
+        participant.setId(UUID.randomUUID());
+        participant.setTenantId(TENANT_ID);
+        participant.setConversationId(conversationId);
+        participant.setResidentId(residentId);
+        participant.setRole(ChatParticipantRole.MEMBER);
+        return participant;
+    }
+
+    private Resident resident(UUID id, String firstName) {
+        Resident resident = new Resident();
+        resident.setId(id);
+        resident.setFirstName(firstName);
+        resident.setLastName("Obi");
+        return resident;
+    }
+
+    private static ChatUnreadCountRow row(UUID conversationId, long unread) {
+        return new ChatUnreadCountRow() {
+            @Override
+            public UUID getConversationId() {
+                return conversationId;
+            }
+
+            @Override
+            public long getUnreadCount() {
+                return unread;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("getMyConversations")
+    class GetMyConversations {
+
+        @Test
+        @DisplayName("should build a page with participants, names and unread counts in bulk")
+        void shouldResolvePageInBulk() {
+            when(conversationRepository.findLatestForResident(RESIDENT_ID, TENANT_ID, PageRequest.of(0, 21)))
+                    .thenReturn(List.of(conversation(CONVERSATION_ID, NOW), conversation(CONVERSATION_ID_2, null)));
+            when(participantRepository.findByConversationIdsAndTenantId(List.of(CONVERSATION_ID, CONVERSATION_ID_2), TENANT_ID))
+                    .thenReturn(List.of(participant(CONVERSATION_ID, RESIDENT_ID), participant(CONVERSATION_ID, OTHER_RESIDENT_ID),
+                            participant(CONVERSATION_ID_2, RESIDENT_ID)));
+            when(residentRepository.findAllByIdsAndTenantId(Set.of(RESIDENT_ID, OTHER_RESIDENT_ID), TENANT_ID))
+                    .thenReturn(List.of(resident(RESIDENT_ID, "Ada"), resident(OTHER_RESIDENT_ID, "Bola")));
+            when(messageRepository.countUnreadInConversations(eq(RESIDENT_ID), eq(TENANT_ID), anyCollection()))
+                    .thenReturn(List.of(row(CONVERSATION_ID, 4)));
+
+            ConversationListResponse response = conversationService.getMyConversations(RESIDENT_ID, null, 20);
+
+            assertThat(response.getConversations()).extracting(ConversationResponse::getId)
+                    .containsExactly(CONVERSATION_ID, CONVERSATION_ID_2);
+            assertThat(response.getConversations().get(0).getUnreadCount()).isEqualTo(4);
+            assertThat(response.getConversations().get(1).getUnreadCount()).isZero();
+            assertThat(response.getConversations().get(0).getParticipants())
+                    .extracting(ChatParticipantResponse::getResidentName)
+                    .containsExactlyInAnyOrder("Ada Obi", "Bola Obi");
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.isReset()).isTrue();
+            verify(residentRepository, never()).findByIdAndTenantId(any(), any());
+            verify(participantRepository, never()).findByConversationIdAndTenantId(any(), any());
+        }
+
+        @Test
+        @DisplayName("should hand out the last row's activity and id as the cursor and seek from it without reloading")
+        void shouldSeekFromCursor() {
+            UUID next = UUID.randomUUID();
+            when(conversationRepository.findLatestForResident(RESIDENT_ID, TENANT_ID, PageRequest.of(0, 2)))
+                    .thenReturn(List.of(conversation(CONVERSATION_ID, NOW), conversation(CONVERSATION_ID_2, null)));
+            when(participantRepository.findByConversationIdsAndTenantId(List.of(CONVERSATION_ID), TENANT_ID)).thenReturn(List.of());
+
+            ConversationListResponse first = conversationService.getMyConversations(RESIDENT_ID, null, 1);
+
+            assertThat(first.isHasMore()).isTrue();
+            assertThat(first.getNextCursor()).isNotBlank();
+
+            // A new message in the cursor conversation must not move the next page
+            when(conversationRepository.findForResidentBefore(RESIDENT_ID, TENANT_ID, NOW, CONVERSATION_ID,
+                    PageRequest.of(0, 2))).thenReturn(List.of(conversation(CONVERSATION_ID_2, null)));
+            when(participantRepository.findByConversationIdsAndTenantId(List.of(CONVERSATION_ID_2), TENANT_ID)).thenReturn(List.of());
+
+            ConversationListResponse second = conversationService.getMyConversations(RESIDENT_ID, first.getNextCursor(), 1);
+
+            assertThat(second.getConversations()).extracting(ConversationResponse::getId).containsExactly(CONVERSATION_ID_2);
+            assertThat(second.isHasMore()).isFalse();
+            assertThat(second.getNextCursor()).isNull();
+            assertThat(second.isReset()).isFalse();
+            verify(conversationRepository, never()).findByIdAndTenantId(any(), any());
+        }
+
+        @Test
+        @DisplayName("should reject a cursor it did not issue")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> conversationService.getMyConversations(RESIDENT_ID, CONVERSATION_ID.toString(), 20))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(conversationRepository);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.chat.ChatMessageResponse;
+import com.strataguard.core.dto.notification.SendNotificationRequest;
+import com.strataguard.core.entity.ChatParticipant;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.service.notification.NotificationService;
+import com.strataguard.service.notification.RecipientDirectory;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatFanOutServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SENDER_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private RecipientDirectory recipientDirectory;
+
+    @Mock
+    private ChatRealtimeGateway realtimeGateway;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private ChatFanOutService fanOutService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static ChatMessageResponse message(String content) {
+        return ChatMessageResponse.builder()
+                .id(UUID.randomUUID())
+                .conversationId(CONVERSATION_ID)
+                .senderId(SENDER_ID)
+                .senderName("Ada Obi")
+                .content(content)
+                .build();
+    }
+
+    private static ChatParticipant participant(UUID residentId) {
+        ChatParticipant participant = new ChatParticipant();
+        participant.setTenantId(TENANT_ID);
+        participant.setConversationId(CONVERSATION_ID);
+        participant.setResidentId(residentId);
+        return participant;
+    }
+
+    private static RecipientDirectory.Contact contact(UUID residentId, String userId) {
+        return new RecipientDirectory.Contact(residentId, userId, "Res", "Ident", null, null,
+                Set.of(NotificationChannel.IN_APP));
+    }
+
+    @Test
+    @DisplayName("should resolve a large group once and notify all offline members in one request")
+    void shouldFanOutLinearly() {
+        List<UUID> members = IntStream.range(0, 200).mapToObj(i -> UUID.randomUUID()).toList();
+        Map<UUID, RecipientDirectory.Contact> contacts = members.stream()
+                .collect(Collectors.toMap(id -> id, id -> contact(id, "user-" + id)));
+        Set<String> online = members.subList(0, 50).stream().map(id -> "user-" + id).collect(Collectors.toSet());
+        when(participantRepository.findOtherParticipants(CONVERSATION_ID, SENDER_ID, TENANT_ID))
+                .thenReturn(members.stream().map(ChatFanOutServiceTest::participant).toList());
+        when(recipientDirectory.resolve(TENANT_ID, members)).thenReturn(contacts);
+        when(realtimeGateway.onlineUsers(anyCollection())).thenReturn(online);
+        ChatMessageResponse message = message("Meeting moved to 6pm");
+
+        fanOutService.deliver(CONVERSATION_ID, SENDER_ID, message);
+
+        verify(realtimeGateway).publishToConversation(CONVERSATION_ID, message);
+        verify(realtimeGateway, times(50)).sendToUser(anyString(), eq(message));
+        verify(participantRepository, times(1)).findOtherParticipants(any(), any(), any());
+        ArgumentCaptor<SendNotificationRequest> request = ArgumentCaptor.forClass(SendNotificationRequest.class);
+        verify(notificationService, times(1)).send(request.capture());
+        assertThat(request.getValue().getRecipientIds()).hasSize(150).containsAll(members.subList(50, 200));
+        assertThat(request.getValue().getType()).isEqualTo(NotificationType.CHAT_MESSAGE);
+        assertThat(request.getValue().getTitle()).isEqualTo("New message from Ada Obi");
+    }
+
+    @Test
+    @DisplayName("should treat residents without an app account as offline and not notify when all are online")
+    void shouldSplitByPresence() {
+        UUID withAccount = UUID.randomUUID();
+        UUID withoutAccount = UUID.randomUUID();
+        when(participantRepository.findOtherParticipants(CONVERSATION_ID, SENDER_ID, TENANT_ID))
+                .thenReturn(List.of(participant(withAccount), participant(withoutAccount)));
+        when(recipientDirectory.resolve(eq(TENANT_ID), anyCollection())).thenReturn(Map.of(
+                withAccount, contact(withAccount, "kc-1"),
+                withoutAccount, contact(withoutAccount, null)));
+        when(realtimeGateway.onlineUsers(List.of("kc-1"))).thenReturn(Set.of("kc-1"));
+
+        fanOutService.deliver(CONVERSATION_ID, SENDER_ID, message("x".repeat(300)));
+
+        verify(realtimeGateway).sendToUser(eq("kc-1"), any());
+        ArgumentCaptor<SendNotificationRequest> request = ArgumentCaptor.forClass(SendNotificationRequest.class);
+        verify(notificationService).send(request.capture());
+        assertThat(request.getValue().getRecipientIds()).containsExactly(withoutAccount);
+        assertThat(request.getValue().getBody()).hasSize(200).endsWith("...");
+    }
+
+    @Test
+    @DisplayName("should only publish to the topic when the sender is alone in the conversation")
+    void shouldSkipEmptyConversation() {
+        when(participantRepository.findOtherParticipants(CONVERSATION_ID, SENDER_ID, TENANT_ID)).thenReturn(List.of());
+
+        fanOutService.deliver(CONVERSATION_ID, SENDER_ID, message("hi"));
+
+        verify(realtimeGateway).publishToConversation(eq(CONVERSATION_ID), any());
+        verifyNoInteractions(recipientDirectory, notificationService);
+    }
+}
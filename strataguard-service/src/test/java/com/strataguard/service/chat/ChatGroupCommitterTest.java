@@ -0,0 +1,273 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.dto.chat.SendMessageRequest;
+import com.strataguard.core.entity.ChatMessage;
+import com.strataguard.core.exception.UnauthorizedException;
+import com.strataguard.core.exception.WriteOutcomeUnknownException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatGroupCommitterTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+
+    @Mock
+    private ChatMessageWriter messageWriter;
+
+    private final List<Runnable> scheduledFlushes = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+    private SimpleMeterRegistry meterRegistry;
+    private ChatGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        ChatConfig chatConfig = new ChatConfig();
+        chatConfig.getWrite().setMaxBatchSize(3);
+        chatConfig.getWrite().setAckTimeoutMillis(5000);
+        meterRegistry = new SimpleMeterRegistry();
+        // Every sender is a participant unless a test says otherwise
+        lenient().when(messageWriter.findParticipants(anyList())).thenAnswer(inv -> inv
+                .<List<ChatMessageWriter.PendingMessage>>getArgument(0).stream()
+                .map(ChatMessageWriter.Participant::senderOf)
+                .collect(Collectors.toSet()));
+        // Flushes are held back and run by the test, so several senders can queue up first
+        Executor executor = scheduledFlushes::add;
+        committer = new ChatGroupCommitter(messageWriter, executor, meterRegistry, chatConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    private ChatMessageWriter.PendingMessage pending(String content) {
+        return new ChatMessageWriter.PendingMessage(TENANT_ID, CONVERSATION_ID, UUID.randomUUID(), "Ada Obi",
+                SendMessageRequest.builder().content(content).build(), SecurityContextHolder.createEmptyContext());
+    }
+
+    private static List<ChatMessage> echo(List<ChatMessageWriter.PendingMessage> batch) {
+        List<ChatMessage> saved = new ArrayList<>();
+        for (ChatMessageWriter.PendingMessage pending : batch) {
+            ChatMessage message = new ChatMessage();
+            message.setId(UUID.randomUUID());
+            message.setContent(pending.request().getContent());
+            saved.add(message);
+        }
+        return saved;
+    }
+
+    private List<CompletableFuture<ChatMessage>> sendConcurrently(String... contents) throws InterruptedException {
+        List<CompletableFuture<ChatMessage>> results = new ArrayList<>();
+        for (String content : contents) {
+            results.add(CompletableFuture.supplyAsync(() -> committer.commit(pending(content)), senders));
+            // Queue in a fixed order so the batches are predictable
+            while (committer.queuedMessages() < results.size()) {
+                Thread.sleep(1);
+            }
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("should write concurrent senders in batches, in send order, and acknowledge each sender")
+    void shouldGroupCommitInSendOrder() throws Exception {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        when(messageWriter.write(anyList())).thenAnswer(inv -> {
+            List<ChatMessageWriter.PendingMessage> batch = inv.getArgument(0);
+            batches.add(batch.stream().map(p -> p.request().getContent()).toList());
+            return echo(batch);
+        });
+
+        List<CompletableFuture<ChatMessage>> results = sendConcurrently("m1", "m2", "m3", "m4");
+        assertThat(scheduledFlushes).hasSize(1);
+        scheduledFlushes.get(0).run();
+
+        assertThat(batches).containsExactly(List.of("m1", "m2", "m3"), List.of("m4"));
+        assertThat(results).extracting(f -> f.join().getContent()).containsExactly("m1", "m2", "m3", "m4");
+        assertThat(meterRegistry.summary("chat.write.batch.size").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should retry a failed batch message by message so only the bad message fails")
+    void shouldIsolateFailedMessage() throws Exception {
+        when(messageWriter.write(anyList())).thenAnswer(inv -> {
+            List<ChatMessageWriter.PendingMessage> batch = inv.getArgument(0);
+            if (batch.stream().anyMatch(p -> p.request().getContent().equals("bad"))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return echo(batch);
+        });
+
+        List<CompletableFuture<ChatMessage>> results = sendConcurrently("m1", "bad", "m3");
+        scheduledFlushes.get(0).run();
+
+        assertThat(results.get(0).get().getContent()).isEqualTo("m1");
+        assertThat(results.get(2).get().getContent()).isEqualTo("m3");
+        assertThatThrownBy(() -> results.get(1).join()).hasCauseInstanceOf(IllegalStateException.class);
+        verify(messageWriter, times(4)).write(anyList());
+    }
+
+    @Test
+    @DisplayName("should check participation once per batch and fail only the non-participant")
+    void shouldRejectNonParticipantInBatch() throws Exception {
+        ChatMessageWriter.PendingMessage outsider = pending("intruder");
+        when(messageWriter.findParticipants(anyList())).thenAnswer(inv -> inv
+                .<List<ChatMessageWriter.PendingMessage>>getArgument(0).stream()
+                .filter(p -> !p.request().getContent().equals("intruder"))
+                .map(ChatMessageWriter.Participant::senderOf)
+                .collect(Collectors.toSet()));
+        when(messageWriter.write(anyList())).thenAnswer(inv -> echo(inv.getArgument(0)));
+
+        List<CompletableFuture<ChatMessage>> results = sendConcurrently("m1", "m2");
+        CompletableFuture<ChatMessage> rejected = CompletableFuture.supplyAsync(() -> committer.commit(outsider), senders);
+        while (committer.queuedMessages() < 3) {
+            Thread.sleep(1);
+        }
+        scheduledFlushes.get(0).run();
+
+        assertThat(results).extracting(f -> f.join().getContent()).containsExactly("m1", "m2");
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(UnauthorizedException.class);
+        verify(messageWriter, times(1)).findParticipants(anyList());
+        verify(messageWriter, times(1)).write(anyList());
+    }
+
+    private ChatGroupCommitter committer(int queueCapacity, long ackTimeoutMillis, Executor executor) {
+        ChatConfig chatConfig = new ChatConfig();
+        chatConfig.getWrite().setQueueCapacity(queueCapacity);
+        chatConfig.getWrite().setAckTimeoutMillis(ackTimeoutMillis);
+        return new ChatGroupCommitter(messageWriter, executor, meterRegistry, chatConfig);
+    }
+
+    @Test
+    @DisplayName("should reject a message unsaved when the queue stays full")
+    void shouldRejectWhenQueueFull() throws Exception {
+        when(messageWriter.write(anyList())).thenAnswer(inv -> echo(inv.getArgument(0)));
+        ChatConfig chatConfig = new ChatConfig();
+        chatConfig.getWrite().setQueueCapacity(1);
+        chatConfig.getWrite().setAckTimeoutMillis(5000);
+        ChatGroupCommitter full = new ChatGroupCommitter(messageWriter, scheduledFlushes::add, meterRegistry, chatConfig);
+        CompletableFuture<ChatMessage> queued = CompletableFuture.supplyAsync(() -> full.commit(pending("m1")), senders);
+        while (full.queuedMessages() < 1) {
+            Thread.sleep(1);
+        }
+
+        // Only the second sender gives up quickly, so the first stays queued for the whole wait
+        chatConfig.getWrite().setAckTimeoutMillis(50);
+        assertThatThrownBy(() -> full.commit(pending("m2")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Too many chat messages");
+        assertThat(meterRegistry.counter("chat.write.rejected").count()).isEqualTo(1.0);
+
+        scheduledFlushes.get(0).run();
+        assertThat(queued.get(2, TimeUnit.SECONDS).getContent()).isEqualTo("m1");
+        verify(messageWriter).write(anyList());
+    }
+
+    @Test
+    @DisplayName("should withdraw a message whose ack timed out before any flush took it")
+    void shouldWithdrawTimedOutMessage() {
+        ChatGroupCommitter stalled = committer(10, 50, scheduledFlushes::add);
+
+        assertThatThrownBy(() -> stalled.commit(pending("m1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(stalled.queuedMessages()).isZero();
+
+        scheduledFlushes.get(0).run();
+        verifyNoInteractions(messageWriter);
+    }
+
+    @Test
+    @DisplayName("should wait for the outcome of a timed-out message that is already being written")
+    void shouldAwaitMessageInFlight() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(messageWriter.write(anyList())).thenAnswer(inv -> {
+            writing.countDown();
+            release.await();
+            return echo(inv.getArgument(0));
+        });
+        ChatGroupCommitter slow = committer(10, 50, senders);
+
+        CompletableFuture<ChatMessage> result = CompletableFuture.supplyAsync(() -> slow.commit(pending("m1")), senders);
+        assertThat(writing.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(result.get(2, TimeUnit.SECONDS).getContent()).isEqualTo("m1");
+        assertThat(meterRegistry.counter("chat.write.ack.timeouts").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should report the outcome unknown when a message in flight outlasts the flush timeout")
+    void shouldReportOutcomeUnknown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(messageWriter.write(anyList())).thenAnswer(inv -> {
+            release.await();
+            return echo(inv.getArgument(0));
+        });
+        ChatConfig chatConfig = new ChatConfig();
+        chatConfig.getWrite().setAckTimeoutMillis(50);
+        chatConfig.getWrite().setFlushTimeoutMillis(50);
+        ChatGroupCommitter stuck = new ChatGroupCommitter(messageWriter, senders, meterRegistry, chatConfig);
+
+        try {
+            assertThatThrownBy(() -> stuck.commit(pending("m1")))
+                    .isInstanceOf(WriteOutcomeUnknownException.class)
+                    .hasMessageContaining("clientMessageId");
+            assertThat(meterRegistry.counter("chat.write.outcome.unknown").count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+        verify(messageWriter, timeout(2000)).write(anyList());
+    }
+
+    @Test
+    @DisplayName("should fail the sender and allow later flushes when the writer executor rejects")
+    void shouldRecoverFromExecutorRejection() throws Exception {
+        when(messageWriter.write(anyList())).thenAnswer(inv -> echo(inv.getArgument(0)));
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ChatGroupCommitter flaky = committer(10, 1000, flush -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("shutting down");
+            }
+            flush.run();
+        });
+
+        assertThatThrownBy(() -> flaky.commit(pending("m1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unavailable");
+        assertThat(flaky.queuedMessages()).isZero();
+
+        reject.set(false);
+        assertThat(flaky.commit(pending("m2")).getContent()).isEqualTo("m2");
+    }
+}
@@ -0,0 +1,319 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.chat.ChatHistoryResponse;
+import com.strataguard.core.dto.chat.ChatMessageResponse;
+import com.strataguard.core.dto.chat.ChatSearchResponse;
+import com.strataguard.core.dto.chat.ChatSearchResult;
+import com.strataguard.core.dto.chat.SendMessageRequest;
+import com.strataguard.core.dto.chat.UnreadChatCountResponse;
+import com.strataguard.core.entity.ChatMessage;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.core.util.ChatMessageMapper;
+import com.strataguard.infrastructure.repository.ChatMessageRepository;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import com.strataguard.infrastructure.repository.ChatUnreadCountRow;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+    private static final UUID CONVERSATION_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000101");
+
+    @Mock
+    private ChatMessageRepository messageRepository;
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    @Mock
+    private ChatMessageMapper messageMapper;
+
+    @Mock
+    private ChatConversationService conversationService;
+
+    @Mock
+    private ChatGroupCommitter groupCommitter;
+
+    @InjectMocks
+    private ChatMessageService chatMessageService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static ChatUnreadCountRow row(UUID conversationId, long unread) {
+        return new ChatUnreadCountRow() {
+            @Override
+            public UUID getConversationId() {
+                return conversationId;
+            }
+
+            @Override
+            public long getUnreadCount() {
+                return unread;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("sendMessage")
+    class SendMessage {
+
+        @Test
+        @DisplayName("should name the sender and return the message once the group commit saves it")
+        void shouldHandMessageToGroupCommit() {
+            Resident sender = new Resident();
+            sender.setFirstName("Ada");
+            sender.setLastName("Obi");
+            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID)).thenReturn(Optional.of(sender));
+            ChatMessage saved = new ChatMessage();
+            saved.setId(UUID.randomUUID());
+            when(groupCommitter.commit(any())).thenReturn(saved);
+            when(messageMapper.toResponse(saved)).thenReturn(ChatMessageResponse.builder().id(saved.getId()).build());
+            SendMessageRequest request = SendMessageRequest.builder().content("Hello").build();
+
+            ChatMessageResponse response = chatMessageService.sendMessage(CONVERSATION_ID, RESIDENT_ID, request);
+
+            assertThat(response.getId()).isEqualTo(saved.getId());
+            ArgumentCaptor<ChatMessageWriter.PendingMessage> captor = ArgumentCaptor.forClass(ChatMessageWriter.PendingMessage.class);
+            verify(groupCommitter).commit(captor.capture());
+            assertThat(captor.getValue().senderName()).isEqualTo("Ada Obi");
+            assertThat(captor.getValue().conversationId()).isEqualTo(CONVERSATION_ID);
+            assertThat(captor.getValue().tenantId()).isEqualTo(TENANT_ID);
+            verifyNoInteractions(messageRepository);
+        }
+
+        @Test
+        @DisplayName("should send as an already resolved sender without querying per message")
+        void shouldSendAsBoundSender() {
+            ChatMessage saved = new ChatMessage();
+            when(groupCommitter.commit(any())).thenReturn(saved);
+            when(messageMapper.toResponse(saved)).thenReturn(ChatMessageResponse.builder().build());
+
+            chatMessageService.sendMessage(CONVERSATION_ID, RESIDENT_ID, "Ada Obi",
+                    SendMessageRequest.builder().content("Hello").build());
+
+            ArgumentCaptor<ChatMessageWriter.PendingMessage> captor = ArgumentCaptor.forClass(ChatMessageWriter.PendingMessage.class);
+            verify(groupCommitter).commit(captor.capture());
+            assertThat(captor.getValue().senderName()).isEqualTo("Ada Obi");
+            verifyNoInteractions(residentRepository, conversationService, participantRepository);
+        }
+
+        @Test
+        @DisplayName("should not queue a message from an unknown resident")
+        void shouldRejectUnknownResident() {
+            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> chatMessageService.sendMessage(CONVERSATION_ID, RESIDENT_ID,
+                    SendMessageRequest.builder().content("Hello").build()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verifyNoInteractions(groupCommitter);
+        }
+    }
+
+    @Nested
+    @DisplayName("getUnreadCount")
+    class GetUnreadCount {
+
+        @Test
+        @DisplayName("should return total and per-conversation counts from one aggregate query")
+        void shouldAggregateInOneQuery() {
+            when(messageRepository.countUnreadByConversation(RESIDENT_ID, TENANT_ID))
+                    .thenReturn(List.of(row(CONVERSATION_ID, 3), row(CONVERSATION_ID_2, 2)));
+
+            UnreadChatCountResponse response = chatMessageService.getUnreadCount(RESIDENT_ID);
+
+            assertThat(response.getCount()).isEqualTo(5);
+            assertThat(response.getConversations())
+                    .containsEntry(CONVERSATION_ID, 3L)
+                    .containsEntry(CONVERSATION_ID_2, 2L);
+            verifyNoInteractions(participantRepository);
+        }
+
+        @Test
+        @DisplayName("should return zero when nothing is unread")
+        void shouldReturnZeroWhenNothingUnread() {
+            when(messageRepository.countUnreadByConversation(RESIDENT_ID, TENANT_ID)).thenReturn(List.of());
+
+            UnreadChatCountResponse response = chatMessageService.getUnreadCount(RESIDENT_ID);
+
+            assertThat(response.getCount()).isZero();
+            assertThat(response.getConversations()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("getMessageHistory")
+    class GetMessageHistory {
+
+        private final Instant base = Instant.parse("2026-01-01T10:00:00Z");
+
+        private ChatMessage message(int n) {
+            ChatMessage message = new ChatMessage();
+            message.setId(new UUID(0, n));
+            message.setTenantId(TENANT_ID);
+            message.setConversationId(CONVERSATION_ID);
+            message.setCreatedAt(base.plusSeconds(n));
+            return message;
+        }
+
+        private List<ChatMessage> newestFirst(int from, int count) {
+            return IntStream.range(0, count).mapToObj(i -> message(from - i)).toList();
+        }
+
+        @BeforeEach
+        void mapIds() {
+            lenient().when(messageMapper.toResponse(any(ChatMessage.class)))
+                    .thenAnswer(inv -> ChatMessageResponse.builder().id(inv.<ChatMessage>getArgument(0).getId()).build());
+        }
+
+        @Test
+        @DisplayName("should return the latest page and set reset when there is no cursor")
+        void shouldReturnLatestPageWithoutCursor() {
+            when(messageRepository.findLatest(CONVERSATION_ID, TENANT_ID, PageRequest.of(0, 3)))
+                    .thenReturn(newestFirst(100, 3));
+
+            ChatHistoryResponse response = chatMessageService.getMessageHistory(CONVERSATION_ID, RESIDENT_ID, null, 2);
+
+            assertThat(response.getMessages()).extracting(ChatMessageResponse::getId)
+                    .containsExactly(new UUID(0, 100), new UUID(0, 99));
+            assertThat(response.isHasMore()).isTrue();
+            assertThat(response.isReset()).isTrue();
+            verify(conversationService).validateParticipant(CONVERSATION_ID, RESIDENT_ID, TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should seek from the cursor message's position instead of an offset")
+        void shouldSeekBeforeCursor() {
+            ChatMessage cursor = message(99);
+            when(messageRepository.findByIdAndTenantId(cursor.getId(), TENANT_ID)).thenReturn(Optional.of(cursor));
+            when(messageRepository.findBefore(CONVERSATION_ID, TENANT_ID, cursor.getCreatedAt(), cursor.getId(),
+                    PageRequest.of(0, 3))).thenReturn(newestFirst(98, 2));
+
+            ChatHistoryResponse response = chatMessageService.getMessageHistory(CONVERSATION_ID, RESIDENT_ID, cursor.getId(), 2);
+
+            assertThat(response.getMessages()).hasSize(2);
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.isReset()).isFalse();
+            verify(messageRepository, never()).findLatest(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should ignore a cursor from another conversation")
+        void shouldResetOnForeignCursor() {
+            ChatMessage foreign = message(5);
+            foreign.setConversationId(CONVERSATION_ID_2);
+            when(messageRepository.findByIdAndTenantId(foreign.getId(), TENANT_ID)).thenReturn(Optional.of(foreign));
+            when(messageRepository.findLatest(eq(CONVERSATION_ID), eq(TENANT_ID), any())).thenReturn(List.of());
+
+            ChatHistoryResponse response = chatMessageService.getMessageHistory(CONVERSATION_ID, RESIDENT_ID, foreign.getId(), 50);
+
+            assertThat(response.isReset()).isTrue();
+            verify(messageRepository, never()).findBefore(any(), any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("searchMessages")
+    class SearchMessages {
+
+        private ChatMessage message(int n, String content) {
+            ChatMessage message = new ChatMessage();
+            message.setId(new UUID(0, n));
+            message.setTenantId(TENANT_ID);
+            message.setConversationId(CONVERSATION_ID);
+            message.setContent(content);
+            message.setCreatedAt(Instant.parse("2026-01-01T10:00:00Z").plusSeconds(n));
+            return message;
+        }
+
+        @BeforeEach
+        void mapIds() {
+            lenient().when(messageMapper.toResponse(any(ChatMessage.class)))
+                    .thenAnswer(inv -> ChatMessageResponse.builder().id(inv.<ChatMessage>getArgument(0).getId()).build());
+        }
+
+        @Test
+        @DisplayName("should return the newest matches with highlighted snippets")
+        void shouldReturnHighlightedMatches() {
+            when(messageRepository.searchLatest(RESIDENT_ID, TENANT_ID, "gate", 3))
+                    .thenReturn(List.of(message(3, "The Gate is open"), message(2, "gate code?"), message(1, "new gate")));
+
+            ChatSearchResponse response = chatMessageService.searchMessages(RESIDENT_ID, "gate", null, 2);
+
+            assertThat(response.getResults()).extracting(ChatSearchResult::getSnippet)
+                    .containsExactly("The <mark>Gate</mark> is open", "<mark>gate</mark> code?");
+            assertThat(response.isHasMore()).isTrue();
+            assertThat(response.isReset()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should continue after the cursor message")
+        void shouldSeekBeforeCursor() {
+            ChatMessage cursor = message(5, "gate");
+            when(messageRepository.findByIdAndTenantId(cursor.getId(), TENANT_ID)).thenReturn(Optional.of(cursor));
+            when(messageRepository.searchBefore(RESIDENT_ID, TENANT_ID, "gate", cursor.getCreatedAt(), cursor.getId(), 21))
+                    .thenReturn(List.of(message(4, "gate")));
+
+            ChatSearchResponse response = chatMessageService.searchMessages(RESIDENT_ID, "gate", cursor.getId(), 20);
+
+            assertThat(response.getResults()).extracting(r -> r.getMessage().getId()).containsExactly(new UUID(0, 4));
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.isReset()).isFalse();
+            verify(messageRepository, never()).searchLatest(any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should clamp the page size")
+        void shouldClampLimit() {
+            when(messageRepository.searchLatest(RESIDENT_ID, TENANT_ID, "gate", ChatMessageService.MAX_SEARCH_LIMIT + 1))
+                    .thenReturn(List.of());
+
+            chatMessageService.searchMessages(RESIDENT_ID, "gate", null, 10_000);
+
+            verify(messageRepository).searchLatest(RESIDENT_ID, TENANT_ID, "gate", ChatMessageService.MAX_SEARCH_LIMIT + 1);
+        }
+
+        @Test
+        @DisplayName("should reject a blank query")
+        void shouldRejectBlankQuery() {
+            assertThatThrownBy(() -> chatMessageService.searchMessages(RESIDENT_ID, "  ", null, 20))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(messageRepository);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.strataguard.service.chat;
+
+import com.strataguard.core.dto.chat.SendMessageRequest;
+import com.strataguard.core.entity.ChatMessage;
+import com.strataguard.core.util.ChatMessageMapper;
+import com.strataguard.infrastructure.repository.ChatConversationRepository;
+import com.strataguard.infrastructure.repository.ChatMessageRepository;
+import com.strataguard.infrastructure.repository.ChatParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageWriterTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
+    private static final UUID CONVERSATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000100");
+    private static final UUID CONVERSATION_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000101");
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private ChatMessageRepository messageRepository;
+
+    @Mock
+    private ChatConversationRepository conversationRepository;
+
+    @Mock
+    private ChatParticipantRepository participantRepository;
+
+    @Mock
+    private ChatMessageMapper messageMapper;
+
+    @InjectMocks
+    private ChatMessageWriter messageWriter;
+
+    private final List<String> auditors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(messageMapper.toEntity(any(SendMessageRequest.class))).thenAnswer(inv -> {
+            ChatMessage message = new ChatMessage();
+            message.setContent(inv.<SendMessageRequest>getArgument(0).getContent());
+            return message;
+        });
+        // Stands in for auditing: stamps the time and records whose context the insert ran under
+        when(messageRepository.save(any(ChatMessage.class))).thenAnswer(inv -> {
+            ChatMessage message = inv.getArgument(0);
+            message.setId(UUID.randomUUID());
+            message.setCreatedAt(NOW.plusSeconds(auditors.size()));
+            auditors.add(SecurityContextHolder.getContext().getAuthentication().getName());
+            return message;
+        });
+    }
+
+    private static SecurityContext contextOf(String user) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new TestingAuthenticationToken(user, null));
+        return context;
+    }
+
+    private static ChatMessageWriter.PendingMessage pending(UUID conversationId, UUID senderId, String content) {
+        return new ChatMessageWriter.PendingMessage(TENANT_ID, conversationId, senderId, "Sender",
+                SendMessageRequest.builder().content(content).build(), contextOf(senderId.toString()));
+    }
+
+    @Test
+    @DisplayName("should insert in order and update each conversation and sender once per batch")
+    void shouldCoalesceSummaryUpdates() {
+        List<ChatMessage> saved = messageWriter.write(List.of(
+                pending(CONVERSATION_ID, RESIDENT_ID, "one"),
+                pending(CONVERSATION_ID, RESIDENT_ID_2, "two"),
+                pending(CONVERSATION_ID, RESIDENT_ID, "three"),
+                pending(CONVERSATION_ID_2, RESIDENT_ID, "other")));
+
+        assertThat(saved).extracting(ChatMessage::getContent).containsExactly("one", "two", "three", "other");
+        assertThat(saved).extracting(ChatMessage::getConversationId)
+                .containsExactly(CONVERSATION_ID, CONVERSATION_ID, CONVERSATION_ID, CONVERSATION_ID_2);
+        assertThat(auditors).containsExactly(RESIDENT_ID.toString(), RESIDENT_ID_2.toString(),
+                RESIDENT_ID.toString(), RESIDENT_ID.toString());
+
+        verify(conversationRepository).updateLastMessage(CONVERSATION_ID, TENANT_ID, NOW.plusSeconds(2), "three");
+        verify(conversationRepository).updateLastMessage(CONVERSATION_ID_2, TENANT_ID, NOW.plusSeconds(3), "other");
+        verifyNoMoreInteractions(conversationRepository);
+        verify(participantRepository).updateLastReadAt(eq(CONVERSATION_ID), eq(RESIDENT_ID), eq(TENANT_ID), any());
+        verify(participantRepository).updateLastReadAt(eq(CONVERSATION_ID), eq(RESIDENT_ID_2), eq(TENANT_ID), any());
+        verify(participantRepository).updateLastReadAt(eq(CONVERSATION_ID_2), eq(RESIDENT_ID), eq(TENANT_ID), any());
+        verifyNoMoreInteractions(participantRepository);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("should return the earlier message for a client id its sender already used")
+    void shouldNotSaveResentMessageTwice() {
+        UUID clientMessageId = UUID.randomUUID();
+        ChatMessage earlier = new ChatMessage();
+        earlier.setId(UUID.randomUUID());
+        earlier.setSenderId(RESIDENT_ID);
+        earlier.setClientMessageId(clientMessageId);
+        earlier.setContent("hello");
+        when(messageRepository.findByClientMessageIds(TENANT_ID, Set.of(clientMessageId))).thenReturn(List.of(earlier));
+        ChatMessageWriter.PendingMessage resent = new ChatMessageWriter.PendingMessage(TENANT_ID, CONVERSATION_ID,
+                RESIDENT_ID, "Sender", SendMessageRequest.builder().content("hello").clientMessageId(clientMessageId).build(),
+                contextOf(RESIDENT_ID.toString()));
+        ChatMessageWriter.PendingMessage sameIdOtherSender = new ChatMessageWriter.PendingMessage(TENANT_ID,
+                CONVERSATION_ID, RESIDENT_ID_2, "Sender",
+                SendMessageRequest.builder().content("mine").clientMessageId(clientMessageId).build(),
+                contextOf(RESIDENT_ID_2.toString()));
+
+        List<ChatMessage> saved = messageWriter.write(List.of(resent, sameIdOtherSender));
+
+        assertThat(saved.get(0)).isSameAs(earlier);
+        assertThat(saved.get(1).getContent()).isEqualTo("mine");
+        verify(messageRepository, times(1)).save(any(ChatMessage.class));
+        verify(conversationRepository).updateLastMessage(CONVERSATION_ID, TENANT_ID, NOW, "mine");
+    }
+
+    @Test
+    @DisplayName("should truncate long previews")
+    void shouldTruncatePreview() {
+        messageWriter.write(List.of(pending(CONVERSATION_ID, RESIDENT_ID, "x".repeat(600))));
+
+        verify(conversationRepository).updateLastMessage(eq(CONVERSATION_ID), eq(TENANT_ID), any(),
+                eq("x".repeat(497) + "..."));
+    }
+}
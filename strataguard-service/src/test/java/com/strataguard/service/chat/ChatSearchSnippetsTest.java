@@ -0,0 +1,51 @@
+package com.strataguard.service.chat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatSearchSnippetsTest {
+
+    @Test
+    @DisplayName("should take the highlight terms from the query, skipping or and negated words")
+    void shouldExtractTerms() {
+        assertThat(ChatSearchSnippets.terms("\"Pool Key\" or gate -spam"))
+                .containsExactly("pool", "key", "gate");
+    }
+
+    @Test
+    @DisplayName("should mark whole-word matches case-insensitively")
+    void shouldMarkWholeWords() {
+        assertThat(ChatSearchSnippets.snippet("Gate fixed; gateway still down, GATE!", Set.of("gate")))
+                .isEqualTo("<mark>Gate</mark> fixed; gateway still down, <mark>GATE</mark>!");
+    }
+
+    @Test
+    @DisplayName("should escape message HTML around the marks")
+    void shouldEscapeHtml() {
+        assertThat(ChatSearchSnippets.snippet("<b>gate</b> & lobby", Set.of("gate")))
+                .isEqualTo("&lt;b&gt;<mark>gate</mark>&lt;/b&gt; &amp; lobby");
+    }
+
+    @Test
+    @DisplayName("should trim long messages to context around the first match")
+    void shouldTrimToContext() {
+        String padding = "x ".repeat(100);
+        String snippet = ChatSearchSnippets.snippet(padding + "gate" + " " + padding, Set.of("gate"));
+
+        assertThat(snippet).startsWith("…").endsWith("…").contains("<mark>gate</mark>");
+        assertThat(snippet.length()).isLessThanOrEqualTo(2 * ChatSearchSnippets.CONTEXT_CHARS + "<mark>gate</mark>".length() + 2);
+    }
+
+    @Test
+    @DisplayName("should fall back to the start of the message when nothing matches")
+    void shouldFallBackToStart() {
+        String content = "y".repeat(300);
+
+        assertThat(ChatSearchSnippets.snippet(content, Set.of("gate")))
+                .isEqualTo("y".repeat(2 * ChatSearchSnippets.CONTEXT_CHARS) + "…");
+    }
+}
@@ -0,0 +1,128 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.document.DocumentRenderJobResponse;
+import com.strataguard.core.dto.document.StartDocumentRenderJobRequest;
+import com.strataguard.core.enums.DocumentRenderJobStatus;
+import com.strataguard.core.enums.DocumentType;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentRenderJobServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final LocalDate FROM = LocalDate.of(2026, 2, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 2, 28);
+
+    @Mock private ChargeInvoiceRepository invoiceRepository;
+    @Mock private PaymentRepository paymentRepository;
+    @Mock private DocumentRenderService documentRenderService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DocumentRenderJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        jobService = new DocumentRenderJobService(invoiceRepository, paymentRepository, documentRenderService,
+                Runnable::run, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private StartDocumentRenderJobRequest invoiceRequest() {
+        return StartDocumentRenderJobRequest.builder()
+                .documentType(DocumentType.INVOICE).periodStart(FROM).periodEnd(TO).build();
+    }
+
+    @Test
+    void startJob_shouldRenderInBatchesAndTrackProgress() {
+        List<UUID> ids = IntStream.range(0, 250).mapToObj(i -> UUID.randomUUID()).toList();
+        when(invoiceRepository.findIdsByDueDateBetween(TENANT_ID, FROM, TO)).thenReturn(ids);
+        when(documentRenderService.renderBatch(eq(DocumentType.INVOICE), anyList()))
+                .thenAnswer(invocation -> {
+                    int size = invocation.<List<UUID>>getArgument(1).size();
+                    return new DocumentRenderService.BatchResult(size - 10, 10, 0);
+                });
+
+        DocumentRenderJobResponse started = jobService.startJob(invoiceRequest());
+        DocumentRenderJobResponse job = jobService.getJob(started.getJobId());
+
+        verify(documentRenderService, times(3)).renderBatch(eq(DocumentType.INVOICE), anyList());
+        assertThat(job.getStatus()).isEqualTo(DocumentRenderJobStatus.COMPLETED);
+        assertThat(job.getTotalDocuments()).isEqualTo(250);
+        assertThat(job.getRendered()).isEqualTo(220);
+        assertThat(job.getUnchanged()).isEqualTo(30);
+        assertThat(job.getPercentComplete()).isEqualTo(100.0);
+        assertThat(meterRegistry.counter("documents.render", "type", "INVOICE", "outcome", "unchanged").count())
+                .isEqualTo(30.0);
+        assertThat(meterRegistry.timer("documents.render.batch", "type", "INVOICE").count()).isEqualTo(3);
+    }
+
+    @Test
+    void startJob_shouldCountFailedBatchAndContinue() {
+        List<UUID> ids = IntStream.range(0, 150).mapToObj(i -> UUID.randomUUID()).toList();
+        when(invoiceRepository.findIdsByDueDateBetween(TENANT_ID, FROM, TO)).thenReturn(ids);
+        when(documentRenderService.renderBatch(eq(DocumentType.INVOICE), anyList()))
+                .thenThrow(new IllegalStateException("disk full"))
+                .thenReturn(new DocumentRenderService.BatchResult(50, 0, 0));
+
+        DocumentRenderJobResponse job = jobService.getJob(jobService.startJob(invoiceRequest()).getJobId());
+
+        assertThat(job.getFailed()).isEqualTo(100);
+        assertThat(job.getRendered()).isEqualTo(50);
+        assertThat(job.getStatus()).isEqualTo(DocumentRenderJobStatus.COMPLETED);
+    }
+
+    @Test
+    void startJob_shouldSelectSuccessfulPaymentsForReceipts() {
+        when(paymentRepository.findSuccessfulIdsByPaidAtBetween(eq(TENANT_ID), any(), any())).thenReturn(List.of());
+
+        DocumentRenderJobResponse job = jobService.startJob(StartDocumentRenderJobRequest.builder()
+                .documentType(DocumentType.RECEIPT).periodStart(FROM).periodEnd(TO).build());
+
+        assertThat(job.getTotalDocuments()).isZero();
+        verifyNoInteractions(documentRenderService);
+    }
+
+    @Test
+    void startJob_shouldRejectInvertedPeriod() {
+        assertThatThrownBy(() -> jobService.startJob(StartDocumentRenderJobRequest.builder()
+                .documentType(DocumentType.INVOICE).periodStart(TO).periodEnd(FROM).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getJob_shouldNotExposeOtherTenantsJobs() {
+        when(invoiceRepository.findIdsByDueDateBetween(TENANT_ID, FROM, TO)).thenReturn(List.of());
+        UUID jobId = jobService.startJob(invoiceRequest()).getJobId();
+
+        TenantContext.setTenantId(UUID.randomUUID());
+
+        assertThatThrownBy(() -> jobService.getJob(jobId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
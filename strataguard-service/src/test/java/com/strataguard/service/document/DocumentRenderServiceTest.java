@@ -0,0 +1,285 @@
+package com.strataguard.service.document;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.*;
+import com.strataguard.core.enums.*;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.infrastructure.repository.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentRenderServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID INVOICE_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID CHARGE_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final UUID UNIT_ID = UUID.fromString("00000000-0000-0000-0000-000000000004");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000005");
+    private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000006");
+    private static final UUID PAYMENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000007");
+
+    @Mock private ChargeInvoiceRepository invoiceRepository;
+    @Mock private PaymentRepository paymentRepository;
+    @Mock private UnitRepository unitRepository;
+    @Mock private EstateRepository estateRepository;
+    @Mock private ResidentRepository residentRepository;
+    @Mock private EstateChargeRepository estateChargeRepository;
+    @Mock private TenantChargeRepository tenantChargeRepository;
+    @Mock private RenderedDocumentRepository renderedDocumentRepository;
+
+    @TempDir
+    Path storeRoot;
+
+    private DocumentStore documentStore;
+    private DocumentRenderService documentRenderService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        documentStore = new DocumentStore(storeRoot.toString());
+        documentRenderService = new DocumentRenderService(invoiceRepository, paymentRepository, unitRepository,
+                estateRepository, residentRepository, estateChargeRepository, tenantChargeRepository,
+                renderedDocumentRepository, new DocumentTemplates(), documentStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private ChargeInvoice buildInvoice() {
+        ChargeInvoice invoice = new ChargeInvoice();
+        invoice.setId(INVOICE_ID);
+        invoice.setTenantId(TENANT_ID);
+        invoice.setInvoiceNumber("INV-202602-000001");
+        invoice.setChargeType(ChargeType.ESTATE_CHARGE);
+        invoice.setChargeId(CHARGE_ID);
+        invoice.setUnitId(UNIT_ID);
+        invoice.setResidentId(RESIDENT_ID);
+        invoice.setAmount(new BigDecimal("1000.00"));
+        invoice.setPenaltyAmount(BigDecimal.ZERO);
+        invoice.setTotalAmount(new BigDecimal("1000.00"));
+        invoice.setPaidAmount(new BigDecimal("250.00"));
+        invoice.setDueDate(LocalDate.of(2026, 2, 28));
+        invoice.setStatus(InvoiceStatus.PARTIAL);
+        return invoice;
+    }
+
+    private void stubRelated() {
+        Unit unit = new Unit();
+        unit.setId(UNIT_ID);
+        unit.setEstateId(ESTATE_ID);
+        unit.setUnitNumber("A-101");
+        Estate estate = new Estate();
+        estate.setId(ESTATE_ID);
+        estate.setName("Palm Court (Phase 1)");
+        estate.setAddress("12 Marina Road");
+        Resident resident = new Resident();
+        resident.setId(RESIDENT_ID);
+        resident.setFirstName("John");
+        resident.setLastName("Doe");
+        EstateCharge charge = new EstateCharge();
+        charge.setId(CHARGE_ID);
+        charge.setName("Service Charge");
+
+        when(unitRepository.findAllById(anyCollection())).thenReturn(List.of(unit));
+        when(estateRepository.findAllById(anyCollection())).thenReturn(List.of(estate));
+        when(residentRepository.findAllById(anyCollection())).thenReturn(List.of(resident));
+        when(estateChargeRepository.findAllById(anyCollection())).thenReturn(List.of(charge));
+    }
+
+    @Nested
+    @DisplayName("getInvoicePdf")
+    class GetInvoicePdf {
+
+        @Test
+        @DisplayName("should render, store and index a new invoice PDF")
+        void shouldRenderAndIndexNewInvoice() {
+            when(invoiceRepository.findAllByIdsAndTenantId(List.of(INVOICE_ID), TENANT_ID)).thenReturn(List.of(buildInvoice()));
+            stubRelated();
+
+            byte[] pdf = documentRenderService.getInvoicePdf(INVOICE_ID);
+
+            String text = new String(pdf, StandardCharsets.ISO_8859_1);
+            assertThat(text).startsWith("%PDF-1.4").endsWith("%%EOF\n");
+            assertThat(text).contains("(INV-202602-000001)", "(Palm Court \\(Phase 1\\))", "(750.00)", "(John Doe)");
+
+            ArgumentCaptor<String> contentHash = ArgumentCaptor.forClass(String.class);
+            verify(renderedDocumentRepository).upsert(eq(TENANT_ID), eq("INVOICE"), eq(INVOICE_ID), anyString(),
+                    contentHash.capture(), eq((long) pdf.length), any(Instant.class));
+            assertThat(contentHash.getValue()).isEqualTo(DocumentStore.sha256Hex(pdf));
+            assertThat(documentStore.contains(contentHash.getValue())).isTrue();
+        }
+
+        @Test
+        @DisplayName("should serve the stored file without re-rendering when the invoice is unchanged")
+        void shouldSkipUnchangedInvoice() {
+            when(invoiceRepository.findAllByIdsAndTenantId(List.of(INVOICE_ID), TENANT_ID)).thenReturn(List.of(buildInvoice()));
+            stubRelated();
+            byte[] first = documentRenderService.getInvoicePdf(INVOICE_ID);
+
+            ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+            verify(renderedDocumentRepository).upsert(any(), any(), any(), fingerprint.capture(), any(), anyLong(), any());
+            RenderedDocument stored = new RenderedDocument();
+            stored.setSourceId(INVOICE_ID);
+            stored.setFingerprint(fingerprint.getValue());
+            stored.setContentHash(DocumentStore.sha256Hex(first));
+            when(renderedDocumentRepository.findBySourceIds(eq(DocumentType.INVOICE), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of(stored));
+
+            byte[] second = documentRenderService.getInvoicePdf(INVOICE_ID);
+
+            assertThat(second).isEqualTo(first);
+            verify(renderedDocumentRepository, times(1)).upsert(any(), any(), any(), any(), any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("should throw when invoice not found")
+        void shouldThrowWhenNotFound() {
+            when(invoiceRepository.findAllByIdsAndTenantId(List.of(INVOICE_ID), TENANT_ID)).thenReturn(List.of());
+
+            assertThatThrownBy(() -> documentRenderService.getInvoicePdf(INVOICE_ID))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("resident downloads")
+    class ResidentDownloads {
+
+        @Test
+        @DisplayName("should serve the resident's own invoice")
+        void shouldServeOwnInvoice() {
+            when(invoiceRepository.findByIdAndTenantId(INVOICE_ID, TENANT_ID)).thenReturn(Optional.of(buildInvoice()));
+            when(invoiceRepository.findAllByIdsAndTenantId(List.of(INVOICE_ID), TENANT_ID)).thenReturn(List.of(buildInvoice()));
+            stubRelated();
+
+            byte[] pdf = documentRenderService.getInvoicePdfForResident(INVOICE_ID, RESIDENT_ID);
+
+            assertThat(new String(pdf, StandardCharsets.ISO_8859_1)).contains("(INV-202602-000001)");
+        }
+
+        @Test
+        @DisplayName("should report another resident's invoice as not found without rendering it")
+        void shouldHideOtherResidentsInvoice() {
+            when(invoiceRepository.findByIdAndTenantId(INVOICE_ID, TENANT_ID)).thenReturn(Optional.of(buildInvoice()));
+
+            assertThatThrownBy(() -> documentRenderService.getInvoicePdfForResident(INVOICE_ID, UUID.randomUUID()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(invoiceRepository, never()).findAllByIdsAndTenantId(anyCollection(), any());
+        }
+
+        @Test
+        @DisplayName("should report a receipt for another resident's invoice as not found")
+        void shouldHideOtherResidentsReceipt() {
+            Payment payment = new Payment();
+            payment.setId(PAYMENT_ID);
+            payment.setInvoiceId(INVOICE_ID);
+            when(paymentRepository.findByIdAndTenantId(PAYMENT_ID, TENANT_ID)).thenReturn(Optional.of(payment));
+            when(invoiceRepository.findByIdAndTenantId(INVOICE_ID, TENANT_ID)).thenReturn(Optional.of(buildInvoice()));
+
+            assertThatThrownBy(() -> documentRenderService.getReceiptPdfForResident(PAYMENT_ID, UUID.randomUUID()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(paymentRepository, never()).findAllByIdsAndTenantId(anyCollection(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("renderBatch")
+    class RenderBatch {
+
+        @Test
+        @DisplayName("should re-render when invoice content changed and count missing sources as failed")
+        void shouldReRenderChangedInvoice() {
+            ChargeInvoice invoice = buildInvoice();
+            RenderedDocument previous = new RenderedDocument();
+            previous.setSourceId(INVOICE_ID);
+            previous.setFingerprint("stale");
+            previous.setContentHash(documentStore.put("old".getBytes(StandardCharsets.UTF_8)));
+            previous.setRenderedAt(Instant.EPOCH);
+
+            UUID missing = UUID.randomUUID();
+            when(invoiceRepository.findAllByIdsAndTenantId(List.of(INVOICE_ID, missing), TENANT_ID)).thenReturn(List.of(invoice));
+            when(renderedDocumentRepository.findBySourceIds(eq(DocumentType.INVOICE), anyCollection(), eq(TENANT_ID)))
+                    .thenReturn(List.of(previous));
+            stubRelated();
+
+            DocumentRenderService.BatchResult result =
+                    documentRenderService.renderBatch(DocumentType.INVOICE, List.of(INVOICE_ID, missing));
+
+            assertThat(result).isEqualTo(new DocumentRenderService.BatchResult(1, 0, 1));
+            assertThat(previous.getFingerprint()).isNotEqualTo("stale");
+            assertThat(previous.getRenderedAt()).isAfter(Instant.EPOCH);
+        }
+
+        @Test
+        @DisplayName("should render receipts from payments and their invoices")
+        void shouldRenderReceipts() {
+            Payment payment = new Payment();
+            payment.setId(PAYMENT_ID);
+            payment.setInvoiceId(INVOICE_ID);
+            payment.setAmount(new BigDecimal("250.00"));
+            payment.setReference("PAY-123");
+            payment.setPaymentMethod(PaymentMethod.CARD);
+            payment.setPaymentProvider(PaymentProvider.values()[0]);
+            payment.setPaidAt(Instant.parse("2026-02-10T09:30:00Z"));
+            when(paymentRepository.findAllByIdsAndTenantId(List.of(PAYMENT_ID), TENANT_ID)).thenReturn(List.of(payment));
+            when(invoiceRepository.findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID))).thenReturn(List.of(buildInvoice()));
+            stubRelated();
+
+            byte[] pdf = documentRenderService.getReceiptPdf(PAYMENT_ID);
+
+            assertThat(new String(pdf, StandardCharsets.ISO_8859_1))
+                    .contains("(RECEIPT)", "(PAY-123)", "(2026-02-10 09:30 UTC)", "(250.00)");
+        }
+    }
+
+    @Nested
+    @DisplayName("PdfTemplate")
+    class Template {
+
+        @Test
+        @DisplayName("should produce byte-identical output for identical fields with a valid xref offset")
+        void shouldRenderDeterministically() {
+            PdfTemplate template = PdfTemplate.builder("test", 1).text(50, 700, "Hello {{name}}!").build();
+
+            byte[] first = template.render(Map.of("name", "World"));
+            byte[] second = template.render(Map.of("name", "World"));
+
+            assertThat(first).isEqualTo(second);
+            String text = new String(first, StandardCharsets.ISO_8859_1);
+            assertThat(text).contains("(Hello World!) Tj");
+            int startxref = Integer.parseInt(text.substring(text.indexOf("startxref\n") + 10, text.indexOf("\n%%EOF")));
+            assertThat(text.substring(startxref)).startsWith("xref\n0 7\n");
+        }
+
+        @Test
+        @DisplayName("should escape PDF string delimiters and replace unsupported characters")
+        void shouldEscapeValues() {
+            assertThat(new String(PdfTemplate.escape("a(b)\\c₦"), StandardCharsets.ISO_8859_1))
+                    .isEqualTo("a\\(b\\)\\\\c?");
+        }
+    }
+}
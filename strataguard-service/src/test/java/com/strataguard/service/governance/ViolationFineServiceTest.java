@@ -0,0 +1,238 @@
+package com.strataguard.service.governance;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.governance.BatchIssueFinesRequest;
+import com.strataguard.core.dto.governance.BatchIssueFinesResponse;
+import com.strataguard.core.dto.notification.SendNotificationRequest;
+import com.strataguard.core.entity.ChargeInvoice;
+import com.strataguard.core.entity.Tenancy;
+import com.strataguard.core.entity.Violation;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.core.enums.InvoiceStatus;
+import com.strataguard.core.enums.ViolationStatus;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.TenancyRepository;
+import com.strataguard.infrastructure.repository.ViolationRepository;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
+import com.strataguard.service.notification.NotificationService;
+import com.strataguard.service.reporting.ReceivablesAgingService;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViolationFineServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID UNIT_A = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final UUID UNIT_B = UUID.fromString("00000000-0000-0000-0000-000000000004");
+    private static final UUID RESIDENT_A = UUID.fromString("00000000-0000-0000-0000-000000000005");
+    private static final UUID RESIDENT_B = UUID.fromString("00000000-0000-0000-0000-000000000006");
+    private static final UUID OPEN_INVOICE_ID = UUID.fromString("00000000-0000-0000-0000-000000000007");
+
+    @Mock private ViolationRepository violationRepository;
+    @Mock private ChargeInvoiceRepository invoiceRepository;
+    @Mock private TenancyRepository tenancyRepository;
+    @Mock private NotificationService notificationService;
+    @Mock private ReceivablesAgingService receivablesAgingService;
+    @Mock private InvoiceNumberAllocator invoiceNumberAllocator;
+
+    @InjectMocks
+    private ViolationFineService violationFineService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        ReflectionTestUtils.setField(violationFineService, "defaultDueDays", 14);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private Violation violation(UUID unitId, UUID residentId, ViolationStatus status, String fine) {
+        Violation violation = new Violation();
+        violation.setId(UUID.randomUUID());
+        violation.setTenantId(TENANT_ID);
+        violation.setEstateId(ESTATE_ID);
+        violation.setUnitId(unitId);
+        violation.setResidentId(residentId);
+        violation.setRuleViolated("Parking in fire lane");
+        violation.setDescription("Blocked access road");
+        violation.setStatus(status);
+        violation.setFineAmount(fine != null ? new BigDecimal(fine) : null);
+        return violation;
+    }
+
+    private BatchIssueFinesRequest request(List<Violation> violations) {
+        return BatchIssueFinesRequest.builder()
+                .violationIds(violations.stream().map(Violation::getId).toList())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSaveAllAssigningIds() {
+        when(invoiceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ChargeInvoice> invoices = new ArrayList<>(invocation.<List<ChargeInvoice>>getArgument(0));
+            invoices.stream().filter(i -> i.getId() == null).forEach(i -> i.setId(UUID.randomUUID()));
+            return invoices;
+        });
+    }
+
+    @Test
+    @DisplayName("should consolidate fines per unit into one new invoice each with a single numbering query")
+    void shouldConsolidatePerUnit() {
+        List<Violation> violations = List.of(
+                violation(UNIT_A, RESIDENT_A, ViolationStatus.CONFIRMED, "5000"),
+                violation(UNIT_A, null, ViolationStatus.CONFIRMED, "2500"),
+                violation(UNIT_B, null, ViolationStatus.CONFIRMED, "1000"));
+        Tenancy tenancy = new Tenancy();
+        tenancy.setUnitId(UNIT_B);
+        tenancy.setResidentId(RESIDENT_B);
+
+        when(violationRepository.findAllByIdsAndTenantId(anyList(), eq(TENANT_ID))).thenReturn(violations);
+        when(invoiceRepository.findOpenByChargeTypeAndUnitIds(eq(ChargeType.VIOLATION_FINE), anyCollection(),
+                eq(YearMonth.now().atDay(1)), eq(TENANT_ID))).thenReturn(List.of());
+        when(tenancyRepository.findActiveByUnitIdsAndTenantId(anyCollection(), eq(TENANT_ID))).thenReturn(List.of(tenancy));
+        when(invoiceNumberAllocator.reserve(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES, 2))
+                .thenReturn(List.of("INV-202610-000042", "INV-202610-000043"));
+        stubSaveAllAssigningIds();
+
+        BatchIssueFinesResponse response = violationFineService.issueFines(request(violations));
+
+        ArgumentCaptor<List<ChargeInvoice>> captor = ArgumentCaptor.forClass(List.class);
+        verify(invoiceRepository).saveAll(captor.capture());
+        List<ChargeInvoice> invoices = captor.getValue();
+        assertThat(invoices).hasSize(2);
+        assertThat(invoices.get(0).getChargeType()).isEqualTo(ChargeType.VIOLATION_FINE);
+        assertThat(invoices).allSatisfy(i -> assertThat(i.getChargeId()).isNull());
+        assertThat(invoices.get(0).getResidentId()).isEqualTo(RESIDENT_A);
+        assertThat(invoices.get(0).getTotalAmount()).isEqualByComparingTo("7500");
+        assertThat(invoices.get(0).getInvoiceNumber()).endsWith("-000042");
+        assertThat(invoices.get(1).getResidentId()).isEqualTo(RESIDENT_B);
+        assertThat(invoices.get(1).getInvoiceNumber()).endsWith("-000043");
+        assertThat(invoices.get(1).getDueDate()).isEqualTo(LocalDate.now().plusDays(14));
+        verify(invoiceNumberAllocator, times(1)).reserve(any(), any(), anyInt());
+
+        assertThat(violations).allSatisfy(v -> {
+            assertThat(v.getStatus()).isEqualTo(ViolationStatus.FINED);
+            assertThat(v.getInvoiceId()).isNotNull();
+        });
+        verify(violationRepository).saveAll(anyList());
+        ArgumentCaptor<List<SendNotificationRequest>> notifications = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).sendAll(notifications.capture());
+        assertThat(notifications.getValue()).extracting(SendNotificationRequest::getRecipientId)
+                .containsExactly(RESIDENT_A, RESIDENT_B);
+        verify(notificationService, never()).send(any());
+        verify(receivablesAgingService).evict(TENANT_ID);
+
+        assertThat(response.getFined()).isEqualTo(3);
+        assertThat(response.getInvoicesCreated()).isEqualTo(2);
+        assertThat(response.getNotificationsSent()).isEqualTo(2);
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("8500");
+    }
+
+    @Test
+    @DisplayName("should top up the open fine invoice for the cycle instead of creating another")
+    void shouldTopUpOpenInvoice() {
+        Violation violation = violation(UNIT_A, RESIDENT_A, ViolationStatus.CONFIRMED, "2000");
+        ChargeInvoice open = new ChargeInvoice();
+        open.setId(OPEN_INVOICE_ID);
+        open.setTenantId(TENANT_ID);
+        open.setInvoiceNumber("INV-202610-000007");
+        open.setChargeType(ChargeType.VIOLATION_FINE);
+        open.setUnitId(UNIT_A);
+        open.setResidentId(RESIDENT_A);
+        open.setAmount(new BigDecimal("3000"));
+        open.setTotalAmount(new BigDecimal("3000"));
+        open.setPaidAmount(BigDecimal.ZERO);
+        open.setStatus(InvoiceStatus.PARTIAL);
+        open.setNotes("Violation fines:\nNoise: 3000");
+
+        when(violationRepository.findAllByIdsAndTenantId(anyList(), eq(TENANT_ID))).thenReturn(List.of(violation));
+        when(invoiceRepository.findOpenByChargeTypeAndUnitIds(eq(ChargeType.VIOLATION_FINE), anyCollection(),
+                any(), eq(TENANT_ID))).thenReturn(List.of(open));
+        stubSaveAllAssigningIds();
+
+        BatchIssueFinesResponse response = violationFineService.issueFines(request(List.of(violation)));
+
+        assertThat(open.getTotalAmount()).isEqualByComparingTo("5000");
+        assertThat(open.getNotes()).endsWith("Parking in fire lane: 2000");
+        assertThat(violation.getInvoiceId()).isEqualTo(OPEN_INVOICE_ID);
+        assertThat(response.getInvoicesCreated()).isZero();
+        assertThat(response.getInvoicesUpdated()).isEqualTo(1);
+        assertThat(response.getUnits().get(0).isNewInvoice()).isFalse();
+        verify(invoiceNumberAllocator).reserve(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES, 0);
+        verifyNoInteractions(tenancyRepository);
+    }
+
+    @Test
+    @DisplayName("should skip missing, unconfirmed and unpriced violations without writing anything")
+    void shouldSkipIneligible() {
+        Violation reported = violation(UNIT_A, RESIDENT_A, ViolationStatus.REPORTED, "1000");
+        Violation unpriced = violation(UNIT_A, RESIDENT_A, ViolationStatus.CONFIRMED, null);
+        UUID missing = UUID.randomUUID();
+        when(violationRepository.findAllByIdsAndTenantId(anyList(), eq(TENANT_ID))).thenReturn(List.of(reported, unpriced));
+
+        BatchIssueFinesResponse response = violationFineService.issueFines(BatchIssueFinesRequest.builder()
+                .violationIds(List.of(reported.getId(), unpriced.getId(), missing)).build());
+
+        assertThat(response.getFined()).isZero();
+        assertThat(response.getSkipped()).extracting(BatchIssueFinesResponse.SkippedViolation::getReason)
+                .containsExactly("Violation is REPORTED", "No fine amount set", "Violation not found");
+        verify(invoiceRepository, never()).saveAll(any());
+        verify(violationRepository, never()).saveAll(any());
+        verifyNoInteractions(notificationService, receivablesAgingService);
+    }
+
+    @Test
+    @DisplayName("should notify only after the fines commit and keep them when the notification fails")
+    void shouldNotifyAfterCommit() {
+        Violation violation = violation(UNIT_A, RESIDENT_A, ViolationStatus.CONFIRMED, "1500");
+        when(violationRepository.findAllByIdsAndTenantId(anyList(), eq(TENANT_ID))).thenReturn(List.of(violation));
+        when(invoiceRepository.findOpenByChargeTypeAndUnitIds(any(), anyCollection(), any(), eq(TENANT_ID)))
+                .thenReturn(List.of());
+        when(invoiceNumberAllocator.reserve(TENANT_ID, InvoiceNumberAllocator.CHARGE_SERIES, 1))
+                .thenReturn(List.of("INV-202610-000001"));
+        stubSaveAllAssigningIds();
+        doThrow(new IllegalStateException("smtp down")).when(notificationService).sendAll(anyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            BatchIssueFinesResponse response = violationFineService.issueFines(request(List.of(violation)));
+
+            assertThat(response.getFined()).isEqualTo(1);
+            assertThat(response.getNotificationsSent()).isEqualTo(1);
+            verifyNoInteractions(notificationService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(notificationService).sendAll(anyList());
+        assertThat(violation.getStatus()).isEqualTo(ViolationStatus.FINED);
+    }
+}
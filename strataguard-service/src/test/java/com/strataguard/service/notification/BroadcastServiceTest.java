@@ -0,0 +1,216 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.notification.BroadcastResponse;
+import com.strataguard.core.dto.notification.BulkNotificationRequest;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.BroadcastStatus;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock private BroadcastWriter broadcastWriter;
+    @Mock private NotificationDispatcher dispatcher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationConfig notificationConfig = new NotificationConfig();
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+        notificationConfig.getBroadcast().setChunkSize(2);
+        notificationConfig.getBroadcast().setMaxInFlight(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private BroadcastService service(Executor dispatchExecutor) {
+        return new BroadcastService(broadcastWriter, dispatcher, notificationConfig, Runnable::run,
+                dispatchExecutor, meterRegistry);
+    }
+
+    private BulkNotificationRequest request() {
+        return BulkNotificationRequest.builder()
+                .estateId(ESTATE_ID)
+                .type(NotificationType.ANNOUNCEMENT)
+                .title("Water outage")
+                .body("Water will be off on Saturday.")
+                .build();
+    }
+
+    private void stubChunks(List<NotificationChannel> channels) {
+        when(broadcastWriter.resolveContent(any())).thenReturn(Map.of());
+        when(broadcastWriter.writeChunk(eq(TENANT_ID), eq(NotificationType.ANNOUNCEMENT), anyList(), any()))
+                .thenAnswer(invocation -> {
+                    List<Notification> saved = new ArrayList<>();
+                    for (UUID recipientId : invocation.<List<UUID>>getArgument(2)) {
+                        for (NotificationChannel channel : channels) {
+                            Notification notification = new Notification();
+                            notification.setId(UUID.randomUUID());
+                            notification.setRecipientId(recipientId);
+                            notification.setChannel(channel);
+                            notification.setStatus(channel == NotificationChannel.IN_APP
+                                    ? NotificationStatus.DELIVERED : NotificationStatus.PENDING);
+                            saved.add(notification);
+                        }
+                    }
+                    return new BroadcastWriter.ChunkResult(saved, 1);
+                });
+    }
+
+    private List<UUID> audience(int size) {
+        return IntStream.range(0, size).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    @Test
+    @DisplayName("should write in chunks, deliver external channels and report progress and metrics")
+    void shouldFanOutInChunks() {
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(audience(5));
+        stubChunks(List.of(NotificationChannel.IN_APP, NotificationChannel.SMS));
+        doAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            batch.forEach(n -> n.setStatus(NotificationStatus.SENT));
+            return batch;
+        }).when(dispatcher).deliverBatch(anyList());
+        BroadcastService broadcastService = service(Runnable::run);
+
+        UUID broadcastId = broadcastService.startBroadcast(request()).getBroadcastId();
+        BroadcastResponse progress = broadcastService.getBroadcast(broadcastId);
+
+        verify(broadcastWriter, times(3)).writeChunk(eq(TENANT_ID), any(), anyList(), any());
+        // One SMS batch per chunk of two recipients; IN_APP rows are never dispatched
+        verify(dispatcher, times(3)).deliverBatch(argThat(batch ->
+                batch.stream().allMatch(n -> n.getChannel() == NotificationChannel.SMS)));
+        verify(dispatcher, never()).deliver(any());
+        verify(dispatcher, never()).dispatch(any());
+        assertThat(progress.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        assertThat(progress.getTotalRecipients()).isEqualTo(5);
+        assertThat(progress.getNotificationsCreated()).isEqualTo(10);
+        assertThat(progress.getDelivered()).isEqualTo(10);
+        assertThat(progress.getSkippedByPreference()).isEqualTo(3);
+        assertThat(progress.getInFlight()).isZero();
+        assertThat(progress.getPercentComplete()).isEqualTo(100.0);
+        assertThat(meterRegistry.counter("notifications.broadcast.dispatch", "channel", "SMS", "outcome", "sent").count())
+                .isEqualTo(5.0);
+        assertThat(meterRegistry.counter("notifications.broadcast.created", "channel", "IN_APP").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("should count deliveries left for retry and failed deliveries separately")
+    void shouldCountRetryingAndFailed() {
+        notificationConfig.getBroadcast().setChunkSize(1);
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(audience(2));
+        stubChunks(List.of(NotificationChannel.EMAIL));
+        doAnswer(invocation -> invocation.getArgument(0))
+                .doThrow(new IllegalStateException("boom")).when(dispatcher).deliverBatch(anyList());
+        BroadcastService broadcastService = service(Runnable::run);
+
+        BroadcastResponse progress = broadcastService.getBroadcast(
+                broadcastService.startBroadcast(request()).getBroadcastId());
+
+        assertThat(progress.getRetrying()).isEqualTo(1);
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(progress.getDelivered()).isZero();
+    }
+
+    @Test
+    @DisplayName("should never have more deliveries in flight than the configured limit")
+    void shouldApplyBackpressure() throws Exception {
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(audience(20));
+        stubChunks(List.of(NotificationChannel.PUSH));
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        doAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            maxConcurrent.accumulateAndGet(concurrent.addAndGet(batch.size()), Math::max);
+            Thread.sleep(5);
+            concurrent.addAndGet(-batch.size());
+            batch.forEach(n -> n.setStatus(NotificationStatus.SENT));
+            return batch;
+        }).when(dispatcher).deliverBatch(anyList());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            BroadcastService broadcastService = service(pool);
+
+            BroadcastResponse progress = broadcastService.getBroadcast(
+                    broadcastService.startBroadcast(request()).getBroadcastId());
+
+            assertThat(progress.getDelivered()).isEqualTo(20);
+            assertThat(maxConcurrent.get()).isLessThanOrEqualTo(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should complete immediately when the estate has no active residents")
+    void shouldCompleteEmptyAudience() {
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(List.of());
+
+        BroadcastResponse response = service(Runnable::run).startBroadcast(request());
+
+        assertThat(response.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        verify(broadcastWriter, never()).writeChunk(any(), any(), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("should mark the broadcast failed when a chunk write fails")
+    void shouldFailOnWriteError() {
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(audience(3));
+        when(broadcastWriter.resolveContent(any())).thenReturn(Map.of());
+        when(broadcastWriter.writeChunk(any(), any(), anyList(), any())).thenThrow(new IllegalStateException("db down"));
+        BroadcastService broadcastService = service(Runnable::run);
+
+        BroadcastResponse progress = broadcastService.getBroadcast(
+                broadcastService.startBroadcast(request()).getBroadcastId());
+
+        assertThat(progress.getStatus()).isEqualTo(BroadcastStatus.FAILED);
+        assertThat(progress.getRecipientsWritten()).isZero();
+    }
+
+    @Test
+    @DisplayName("should not expose another tenant's broadcast")
+    void shouldIsolateTenants() {
+        when(broadcastWriter.resolveAudience(ESTATE_ID, TENANT_ID)).thenReturn(List.of());
+        BroadcastService broadcastService = service(Runnable::run);
+        UUID broadcastId = broadcastService.startBroadcast(request()).getBroadcastId();
+
+        TenantContext.setTenantId(UUID.randomUUID());
+
+        assertThatThrownBy(() -> broadcastService.getBroadcast(broadcastId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
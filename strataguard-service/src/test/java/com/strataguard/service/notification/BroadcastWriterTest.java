@@ -0,0 +1,117 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.dto.notification.BulkNotificationRequest;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.entity.NotificationPreference;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.NotificationRepository;
+import com.strataguard.infrastructure.repository.TenancyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastWriterTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
+
+    @Mock private TenancyRepository tenancyRepository;
+    @Mock private NotificationPreferenceService preferenceService;
+    @Mock private NotificationRepository notificationRepository;
+    @Mock private NotificationTemplateService templateService;
+    @Mock private NotificationRetryPolicy retryPolicy;
+    @Mock private NotificationRetentionPolicy retentionPolicy;
+    @Mock private RecipientDirectory recipientDirectory;
+    @Mock private UnreadCounterService unreadCounters;
+    @Mock private InAppNotificationPusher inAppPusher;
+
+    @InjectMocks
+    private BroadcastWriter broadcastWriter;
+
+    private static final Map<NotificationChannel, BroadcastWriter.ChannelContent> CONTENT = Map.of(
+            NotificationChannel.IN_APP, new BroadcastWriter.ChannelContent("Title", "Body"),
+            NotificationChannel.SMS, new BroadcastWriter.ChannelContent("Title", "Body"));
+
+    @Test
+    @DisplayName("should skip disabled channels using the cached preference matrix and store IN_APP as delivered")
+    void shouldApplyPreferencesInBulk() {
+        NotificationPreference smsOff = new NotificationPreference();
+        smsOff.setResidentId(RESIDENT_ID);
+        smsOff.setChannel(NotificationChannel.SMS);
+        smsOff.setNotificationType(NotificationType.PAYMENT_DUE);
+        smsOff.setEnabled(false);
+        when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of(smsOff)));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BroadcastWriter.ChunkResult result = broadcastWriter.writeChunk(
+                TENANT_ID, NotificationType.PAYMENT_DUE, List.of(RESIDENT_ID, RESIDENT_ID_2), CONTENT);
+
+        assertThat(result.skippedByPreference()).isEqualTo(1);
+        assertThat(result.saved()).hasSize(3);
+        assertThat(result.saved()).filteredOn(n -> n.getChannel() == NotificationChannel.IN_APP)
+                .allSatisfy(n -> {
+                    assertThat(n.getStatus()).isEqualTo(NotificationStatus.DELIVERED);
+                    assertThat(n.getSentAt()).isNotNull();
+                });
+        assertThat(result.saved()).filteredOn(n -> n.getChannel() == NotificationChannel.SMS)
+                .extracting(Notification::getRecipientId).containsExactly(RESIDENT_ID_2);
+        verify(notificationRepository, times(1)).saveAll(anyList());
+        verify(unreadCounters).incrementAll(TENANT_ID, List.of(RESIDENT_ID, RESIDENT_ID_2));
+        verify(inAppPusher).pushAfterCommit(argThat(pushed -> pushed.size() == 2
+                && pushed.stream().allMatch(n -> n.getChannel() == NotificationChannel.IN_APP)));
+    }
+
+    @Test
+    @DisplayName("should ignore preferences for announcements")
+    void shouldIgnorePreferencesForAnnouncements() {
+        NotificationPreference smsOff = new NotificationPreference();
+        smsOff.setResidentId(RESIDENT_ID);
+        smsOff.setChannel(NotificationChannel.SMS);
+        smsOff.setNotificationType(NotificationType.ANNOUNCEMENT);
+        smsOff.setEnabled(false);
+        when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of(smsOff)));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BroadcastWriter.ChunkResult result = broadcastWriter.writeChunk(
+                TENANT_ID, NotificationType.ANNOUNCEMENT, List.of(RESIDENT_ID), CONTENT);
+
+        assertThat(result.saved()).hasSize(2);
+        assertThat(result.skippedByPreference()).isZero();
+    }
+
+    @Test
+    @DisplayName("should resolve content once per channel with estate templates and raw fallback")
+    void shouldResolveContentPerChannel() {
+        when(templateService.resolveBody(any(), any(), eq(ESTATE_ID), any())).thenReturn(null);
+        when(templateService.resolveSubject(any(), any(), eq(ESTATE_ID), any())).thenReturn(null);
+        when(templateService.resolveBody(NotificationType.GENERAL, NotificationChannel.EMAIL, ESTATE_ID, Map.of("day", "Sat")))
+                .thenReturn("Template body Sat");
+
+        Map<NotificationChannel, BroadcastWriter.ChannelContent> content = broadcastWriter.resolveContent(
+                BulkNotificationRequest.builder().estateId(ESTATE_ID).type(NotificationType.GENERAL)
+                        .title("Outage {{day}}").body("Water off on {{day}}").data(Map.of("day", "Sat")).build());
+
+        assertThat(content).hasSize(NotificationChannel.values().length);
+        assertThat(content.get(NotificationChannel.EMAIL).body()).isEqualTo("Template body Sat");
+        assertThat(content.get(NotificationChannel.SMS)).isEqualTo(
+                new BroadcastWriter.ChannelContent("Outage Sat", "Water off on Sat"));
+    }
+}
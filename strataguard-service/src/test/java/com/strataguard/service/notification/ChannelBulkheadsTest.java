@@ -0,0 +1,94 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.exception.ProviderThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChannelBulkheadsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationConfig notificationConfig;
+    private ChannelBulkheads bulkheads;
+
+    @BeforeEach
+    void setUp() {
+        notificationConfig = new NotificationConfig();
+        notificationConfig.limitsFor(NotificationChannel.SMS).setConcurrency(1);
+        notificationConfig.limitsFor(NotificationChannel.SMS).setRatePerSecond(1);
+        notificationConfig.limitsFor(NotificationChannel.SMS).setBurst(1);
+        notificationConfig.limitsFor(NotificationChannel.SMS).setMaxPermitWaitMillis(0);
+        bulkheads = new ChannelBulkheads(notificationConfig, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.shutdown();
+    }
+
+    @Test
+    @DisplayName("should keep delivering on other channels while one channel is stalled")
+    void shouldIsolateStalledChannel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch pushDelivered = new CountDownLatch(1);
+        bulkheads.execute(NotificationChannel.SMS, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bulkheads.execute(NotificationChannel.SMS, () -> { });
+
+        bulkheads.execute(NotificationChannel.PUSH, pushDelivered::countDown);
+
+        assertThat(pushDelivered.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("notifications.channel.queue.depth").tag("channel", "SMS").gauge().value())
+                .isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("should reject provider calls beyond the channel rate and record send latency")
+    void shouldRateLimitProviderCalls() {
+        AtomicLong calls = new AtomicLong();
+
+        bulkheads.callProvider(NotificationChannel.SMS, calls::incrementAndGet);
+        assertThatThrownBy(() -> bulkheads.callProvider(NotificationChannel.SMS, calls::incrementAndGet))
+                .isInstanceOf(ProviderThrottledException.class)
+                .hasMessageContaining("Rate limit exceeded");
+        bulkheads.callProvider(NotificationChannel.EMAIL, calls::incrementAndGet);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("notifications.channel.throttled", "channel", "SMS").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("notifications.channel.send", "channel", "SMS", "outcome", "success").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("token bucket should allow a burst and then refill at the configured rate")
+    void tokenBucketShouldRefillAtRate() throws Exception {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        assertThat(bucket.acquire(Duration.ZERO)).isEqualTo(Duration.ZERO);
+        assertThat(bucket.acquire(Duration.ZERO)).isEqualTo(Duration.ZERO);
+        assertThat(bucket.acquire(Duration.ZERO)).isNull();
+        assertThat(bucket.reserve(Duration.ofMillis(200).toNanos()))
+                .isBetween(Duration.ofMillis(100).toNanos(), Duration.ofMillis(100).toNanos() + 1_000);
+
+        now.addAndGet(Duration.ofMillis(300).toNanos());
+        assertThat(bucket.acquire(Duration.ZERO)).isEqualTo(Duration.ZERO);
+    }
+}
@@ -0,0 +1,126 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.notification.DeviceTokenRequest;
+import com.strataguard.core.dto.notification.DeviceTokenResponse;
+import com.strataguard.core.entity.DeviceToken;
+import com.strataguard.core.enums.DevicePlatform;
+import com.strataguard.core.exception.ResourceNotFoundException;
+import com.strataguard.core.util.DeviceTokenMapper;
+import com.strataguard.infrastructure.repository.DeviceTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceTokenServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID OTHER_RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000011");
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    @Mock
+    private DeviceTokenMapper deviceTokenMapper;
+
+    @InjectMocks
+    private DeviceTokenService deviceTokenService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private DeviceToken deviceToken(UUID residentId, String token) {
+        DeviceToken deviceToken = new DeviceToken();
+        deviceToken.setId(UUID.randomUUID());
+        deviceToken.setTenantId(TENANT_ID);
+        deviceToken.setResidentId(residentId);
+        deviceToken.setToken(token);
+        deviceToken.setPlatform(DevicePlatform.ANDROID);
+        return deviceToken;
+    }
+
+    @Test
+    @DisplayName("should register a new token for the resident")
+    void shouldRegisterNewToken() {
+        when(deviceTokenRepository.findByTokenAndTenantId("tok-1", TENANT_ID)).thenReturn(Optional.empty());
+        when(deviceTokenRepository.save(any(DeviceToken.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(deviceTokenMapper.toResponse(any())).thenReturn(DeviceTokenResponse.builder().token("tok-1").build());
+
+        deviceTokenService.register(RESIDENT_ID, DeviceTokenRequest.builder()
+                .token("tok-1").platform(DevicePlatform.IOS).build());
+
+        ArgumentCaptor<DeviceToken> captor = ArgumentCaptor.forClass(DeviceToken.class);
+        verify(deviceTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getResidentId()).isEqualTo(RESIDENT_ID);
+        assertThat(captor.getValue().getTenantId()).isEqualTo(TENANT_ID);
+        assertThat(captor.getValue().getPlatform()).isEqualTo(DevicePlatform.IOS);
+        assertThat(captor.getValue().getLastSeenAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should retire the previous token on refresh and move a known token to the registering resident")
+    void shouldRefreshAndReassign() {
+        DeviceToken previous = deviceToken(RESIDENT_ID, "old-token");
+        DeviceToken shared = deviceToken(OTHER_RESIDENT_ID, "new-token");
+        when(deviceTokenRepository.findByTokenAndTenantId("old-token", TENANT_ID)).thenReturn(Optional.of(previous));
+        when(deviceTokenRepository.findByTokenAndTenantId("new-token", TENANT_ID)).thenReturn(Optional.of(shared));
+        when(deviceTokenRepository.save(any(DeviceToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        deviceTokenService.register(RESIDENT_ID, DeviceTokenRequest.builder()
+                .token("new-token").previousToken("old-token").platform(DevicePlatform.ANDROID).build());
+
+        assertThat(previous.isDeleted()).isTrue();
+        assertThat(shared.getResidentId()).isEqualTo(RESIDENT_ID);
+        assertThat(shared.isDeleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not unregister another resident's token")
+    void shouldRejectForeignUnregister() {
+        when(deviceTokenRepository.findByTokenAndTenantId("tok-2", TENANT_ID))
+                .thenReturn(Optional.of(deviceToken(OTHER_RESIDENT_ID, "tok-2")));
+
+        assertThatThrownBy(() -> deviceTokenService.unregister(RESIDENT_ID, "tok-2"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(deviceTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should group tokens by resident")
+    void shouldGroupTokensByResident() {
+        when(deviceTokenRepository.findByResidentIdsAndTenantId(List.of(RESIDENT_ID, OTHER_RESIDENT_ID), TENANT_ID))
+                .thenReturn(List.of(deviceToken(RESIDENT_ID, "a"), deviceToken(RESIDENT_ID, "b"),
+                        deviceToken(OTHER_RESIDENT_ID, "c")));
+
+        Map<UUID, List<String>> tokens = deviceTokenService.findTokensByResidentIds(
+                List.of(RESIDENT_ID, OTHER_RESIDENT_ID), TENANT_ID);
+
+        assertThat(tokens.get(RESIDENT_ID)).containsExactly("a", "b");
+        assertThat(tokens.get(OTHER_RESIDENT_ID)).containsExactly("c");
+    }
+}
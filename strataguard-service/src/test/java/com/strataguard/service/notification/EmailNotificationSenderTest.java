@@ -0,0 +1,165 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/** Runs the sender against a minimal local SMTP stand-in that counts sessions and messages. */
+@ExtendWith(MockitoExtension.class)
+class EmailNotificationSenderTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final AtomicInteger messagesAccepted = new AtomicInteger();
+    private ServerSocket smtp;
+    private EmailNotificationSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new ServerSocket(0);
+        Thread acceptor = new Thread(() -> {
+            while (!smtp.isClosed()) {
+                try (Socket socket = smtp.accept()) {
+                    sessions.incrementAndGet();
+                    serve(socket);
+                } catch (IOException ignored) {
+                    // Server closed
+                }
+            }
+        }, "smtp-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getLocalPort());
+
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.getEmail().setBatchSize(50);
+        sender = new EmailNotificationSender(mailSender,
+                new RecipientDirectory(residentRepository, notificationConfig), notificationConfig);
+        ReflectionTestUtils.setField(sender, "mailHost", "localhost");
+        ReflectionTestUtils.setField(sender, "fromAddress", "noreply@strataguard.com");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    private void serve(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        out.print("220 localhost ESMTP\r\n");
+        out.flush();
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                out.print("250 localhost\r\n");
+            } else if (command.startsWith("RCPT") && command.contains("REJECT")) {
+                out.print("550 No such user\r\n");
+            } else if (command.startsWith("DATA")) {
+                out.print("354 End data with <CR><LF>.<CR><LF>\r\n");
+                out.flush();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    // Discard message content
+                }
+                messagesAccepted.incrementAndGet();
+                out.print("250 Queued\r\n");
+            } else if (command.startsWith("QUIT")) {
+                out.print("221 Bye\r\n");
+                out.flush();
+                return;
+            } else {
+                out.print("250 OK\r\n");
+            }
+            out.flush();
+        }
+    }
+
+    private Resident resident(String email) {
+        Resident resident = new Resident();
+        resident.setId(UUID.randomUUID());
+        resident.setTenantId(TENANT_ID);
+        resident.setEmail(email);
+        return resident;
+    }
+
+    private Notification notification(Resident recipient) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(recipient.getId());
+        notification.setChannel(NotificationChannel.EMAIL);
+        notification.setType(NotificationType.ANNOUNCEMENT);
+        notification.setTitle("Estate notice");
+        notification.setBody("The pool is closed for maintenance.");
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should send a whole batch over a single SMTP session")
+    void shouldSendBatchInOneSession() {
+        List<Resident> residents = List.of(
+                resident("a@example.com"), resident("b@example.com"), resident("c@example.com"));
+        when(residentRepository.findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID))).thenReturn(residents);
+
+        Map<UUID, String> failures = sender.sendBatch(residents.stream().map(this::notification).toList());
+
+        assertThat(failures).isEmpty();
+        assertThat(messagesAccepted.get()).isEqualTo(3);
+        assertThat(sessions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should report only the messages the server rejected")
+    void shouldReportRejectedMessages() {
+        Resident accepted = resident("a@example.com");
+        Resident rejected = resident("reject@example.com");
+        Resident noEmail = resident(null);
+        when(residentRepository.findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID)))
+                .thenReturn(List.of(accepted, rejected, noEmail));
+        Notification rejectedNotification = notification(rejected);
+        Notification noEmailNotification = notification(noEmail);
+
+        Map<UUID, String> failures = sender.sendBatch(List.of(
+                notification(accepted), rejectedNotification, noEmailNotification));
+
+        assertThat(failures).containsOnlyKeys(rejectedNotification.getId(), noEmailNotification.getId());
+        assertThat(failures.get(noEmailNotification.getId())).isEqualTo("Recipient does not have an email address");
+        assertThat(messagesAccepted.get()).isEqualTo(1);
+    }
+}
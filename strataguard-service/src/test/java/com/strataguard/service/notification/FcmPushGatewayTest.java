@@ -0,0 +1,23 @@
+package com.strataguard.service.notification;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FcmPushGatewayTest {
+
+    @Test
+    @DisplayName("should treat only unregistered or malformed registration tokens as dead")
+    void shouldClassifyInvalidTokens() {
+        assertThat(FcmPushGateway.isTokenInvalid(MessagingErrorCode.UNREGISTERED, "Requested entity was not found.")).isTrue();
+        assertThat(FcmPushGateway.isTokenInvalid(MessagingErrorCode.INVALID_ARGUMENT,
+                "The registration token is not a valid FCM registration token")).isTrue();
+
+        assertThat(FcmPushGateway.isTokenInvalid(MessagingErrorCode.INVALID_ARGUMENT,
+                "Invalid value at 'message.data[0].value'")).isFalse();
+        assertThat(FcmPushGateway.isTokenInvalid(MessagingErrorCode.SENDER_ID_MISMATCH, "SenderId mismatch")).isFalse();
+        assertThat(FcmPushGateway.isTokenInvalid(MessagingErrorCode.UNAVAILABLE, null)).isFalse();
+    }
+}
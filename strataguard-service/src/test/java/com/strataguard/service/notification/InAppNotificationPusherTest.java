@@ -0,0 +1,81 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.dto.notification.NotificationResponse;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.util.NotificationMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InAppNotificationPusherTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+
+    @Mock
+    private NotificationMapper notificationMapper;
+
+    @Mock
+    private RealtimeNotificationPublisher realtimePublisher;
+
+    @InjectMocks
+    private InAppNotificationPusher pusher;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Notification notification() {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(RESIDENT_ID);
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should hold pushes until the transaction commits")
+    void shouldPushAfterCommit() {
+        Notification notification = notification();
+        NotificationResponse response = NotificationResponse.builder().id(notification.getId()).build();
+        when(notificationMapper.toResponse(notification)).thenReturn(response);
+        TransactionSynchronizationManager.initSynchronization();
+
+        pusher.pushAfterCommit(List.of(notification));
+        verifyNoInteractions(realtimePublisher);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(realtimePublisher).publishNotification(TENANT_ID, RESIDENT_ID, response);
+    }
+
+    @Test
+    @DisplayName("should keep pushing the rest when one push fails")
+    void shouldIsolatePushFailures() {
+        Notification first = notification();
+        Notification second = notification();
+        when(notificationMapper.toResponse(any())).thenAnswer(inv ->
+                NotificationResponse.builder().id(inv.<Notification>getArgument(0).getId()).build());
+        doThrow(new IllegalStateException("broker unavailable")).doNothing()
+                .when(realtimePublisher).publishNotification(any(), any(), any());
+
+        pusher.pushAfterCommit(List.of(first, second));
+
+        verify(realtimePublisher, times(2)).publishNotification(eq(TENANT_ID), eq(RESIDENT_ID), any());
+    }
+}
@@ -0,0 +1,123 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RECIPIENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000020");
+    private static final Instant T0 = Instant.parse("2026-01-01T08:00:00Z");
+
+    private NotificationConfig notificationConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        notificationConfig = new NotificationConfig();
+        NotificationConfig.DigestWindow window = new NotificationConfig.DigestWindow();
+        window.setWindowSeconds(60);
+        window.setMaxDelaySeconds(120);
+        window.setMaxBatch(3);
+        notificationConfig.getDigest().getTypes().put(NotificationType.CHARGE_OVERDUE, window);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new NotificationCoalescer(notificationConfig, meterRegistry);
+    }
+
+    private Notification notification(NotificationChannel channel, String body) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(RECIPIENT_ID);
+        notification.setChannel(channel);
+        notification.setType(NotificationType.CHARGE_OVERDUE);
+        notification.setTitle("Charge Overdue");
+        notification.setBody(body);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setRetryCount(0);
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should only accept first attempts of configured types on external channels")
+    void shouldAcceptOnlyConfiguredFirstAttempts() {
+        Notification retry = notification(NotificationChannel.SMS, "a");
+        retry.setRetryCount(1);
+        Notification reclaimed = notification(NotificationChannel.SMS, "a");
+        reclaimed.setClaimCount(1);
+        Notification other = notification(NotificationChannel.SMS, "a");
+        other.setType(NotificationType.PAYMENT_RECEIVED);
+
+        assertThat(coalescer.accepts(notification(NotificationChannel.SMS, "a"))).isTrue();
+        assertThat(coalescer.accepts(notification(NotificationChannel.IN_APP, "a"))).isFalse();
+        assertThat(coalescer.accepts(retry)).isFalse();
+        assertThat(coalescer.accepts(reclaimed)).isFalse();
+        assertThat(coalescer.accepts(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should return the group once it reaches the batch limit")
+    void shouldFlushFullGroup() {
+        assertThat(coalescer.add(notification(NotificationChannel.SMS, "a"), T0)).isEmpty();
+        assertThat(coalescer.add(notification(NotificationChannel.SMS, "b"), T0)).isEmpty();
+        assertThat(coalescer.add(notification(NotificationChannel.SMS, "c"), T0)).hasSize(3);
+        assertThat(coalescer.drainDue(T0.plusSeconds(3600))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep channels apart and drain a group once its quiet window passes")
+    void shouldDrainAfterQuietWindow() {
+        coalescer.add(notification(NotificationChannel.SMS, "a"), T0);
+        coalescer.add(notification(NotificationChannel.EMAIL, "a"), T0);
+        coalescer.add(notification(NotificationChannel.SMS, "b"), T0.plusSeconds(30));
+
+        List<List<Notification>> due = coalescer.drainDue(T0.plusSeconds(60));
+
+        assertThat(due).hasSize(1);
+        assertThat(due.get(0).get(0).getChannel()).isEqualTo(NotificationChannel.EMAIL);
+        assertThat(coalescer.drainDue(T0.plusSeconds(90))).singleElement().satisfies(group -> assertThat(group).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("should drain a busy group once the maximum delay passes")
+    void shouldDrainAfterMaxDelay() {
+        coalescer.add(notification(NotificationChannel.SMS, "a"), T0);
+        coalescer.add(notification(NotificationChannel.SMS, "b"), T0.plusSeconds(70));
+        coalescer.add(notification(NotificationChannel.EMAIL, "a"), T0.plusSeconds(100));
+
+        assertThat(coalescer.drainDue(T0.plusSeconds(119))).isEmpty();
+        assertThat(coalescer.drainDue(T0.plusSeconds(120))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should build a digest with distinct bodies and count the provider calls saved")
+    void shouldBuildDigestAndRecordSavings() {
+        Notification first = notification(NotificationChannel.SMS, "Service charge is overdue");
+        Notification second = notification(NotificationChannel.SMS, "Levy is overdue");
+        Notification duplicate = notification(NotificationChannel.SMS, "Levy is overdue");
+        List<Notification> group = List.of(first, second, duplicate);
+
+        Notification digest = coalescer.digestOf(group);
+        coalescer.recordDigest(group);
+
+        assertThat(digest.getId()).isEqualTo(first.getId());
+        assertThat(digest.getTitle()).isEqualTo("Charge Overdue (3)");
+        assertThat(digest.getBody()).isEqualTo("Service charge is overdue\nLevy is overdue");
+        assertThat(coalescer.digestOf(List.of(first))).isSameAs(first);
+        assertThat(meterRegistry.counter("notifications.digest.calls.saved",
+                "channel", "SMS", "type", "CHARGE_OVERDUE").count()).isEqualTo(2.0);
+    }
+}
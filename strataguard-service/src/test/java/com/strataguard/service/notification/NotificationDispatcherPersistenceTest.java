@@ -0,0 +1,164 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.config.JpaAuditingConfig;
+import com.strataguard.infrastructure.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Delivery state changes against a real persistence context: each save commits on its own, so
+ * every transition must be applied to the copy the previous save returned or the versioned
+ * update fails.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/notification-schema.sql")
+class NotificationDispatcherPersistenceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Notification.class)
+    @EnableJpaRepositories(basePackageClasses = NotificationRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = NotificationRepository.class))
+    @Import(JpaAuditingConfig.class)
+    static class Config {
+    }
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private NotificationSender emailSender;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.getRetry().setMaxRetries(1);
+        emailSender = mock(NotificationSender.class);
+        when(emailSender.getChannel()).thenReturn(NotificationChannel.EMAIL);
+        ChannelBulkheads bulkheads = mock(ChannelBulkheads.class);
+        when(bulkheads.callProvider(any(), any(Supplier.class))).thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+        doCallRealMethod().when(bulkheads).callProvider(any(), any(Runnable.class));
+
+        dispatcher = new NotificationDispatcher(notificationRepository, List.of(emailSender), notificationConfig,
+                new NotificationRetryPolicy(notificationConfig), bulkheads, mock(UnreadCounterService.class),
+                mock(InAppNotificationPusher.class),
+                new NotificationCoalescer(notificationConfig, new SimpleMeterRegistry()));
+    }
+
+    private Notification saved() {
+        Notification notification = new Notification();
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(UUID.randomUUID());
+        notification.setChannel(NotificationChannel.EMAIL);
+        notification.setType(NotificationType.PAYMENT_RECEIVED);
+        notification.setTitle("Payment Received");
+        notification.setBody("Your payment was received.");
+        notification.setExpiresAt(Instant.now().plus(365, ChronoUnit.DAYS));
+        return notificationRepository.save(notification);
+    }
+
+    @Test
+    @DisplayName("should commit the SENDING lease before the provider call and then SENT")
+    void shouldMoveFromSendingToSent() {
+        Notification notification = saved();
+        doAnswer(inv -> {
+            assertThat(notificationRepository.findById(notification.getId()).orElseThrow().getStatus())
+                    .isEqualTo(NotificationStatus.SENDING);
+            return null;
+        }).when(emailSender).send(any());
+
+        dispatcher.deliver(notification);
+
+        Notification stored = notificationRepository.findById(notification.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(stored.getSentAt()).isNotNull();
+        assertThat(stored.getNextAttemptAt()).isNull();
+        verify(emailSender).send(any());
+    }
+
+    @Test
+    @DisplayName("should record a provider failure on the row instead of leaving it SENDING")
+    void shouldMoveFromSendingToFailed() {
+        Notification notification = saved();
+        doThrow(new RuntimeException("SMTP connection failed")).when(emailSender).send(any());
+
+        dispatcher.deliver(notification);
+
+        Notification stored = notificationRepository.findById(notification.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(stored.getRetryCount()).isEqualTo(1);
+        assertThat(stored.getLastError()).isEqualTo("SMTP connection failed");
+    }
+
+    @Test
+    @DisplayName("should move every digest member from SENDING to SENT")
+    void shouldMoveDigestMembersToSent() {
+        List<Notification> group = List.of(saved(), saved());
+
+        dispatcher.deliverDigest(group);
+
+        assertThat(notificationRepository.findAllById(group.stream().map(Notification::getId).toList()))
+                .extracting(Notification::getStatus)
+                .containsOnly(NotificationStatus.SENT);
+        verify(emailSender).send(any());
+    }
+
+    @Test
+    @DisplayName("should commit a batch's SENDING lease before the provider call and return the final rows")
+    void shouldDeliverBatchOutsideTransaction() {
+        List<Notification> batch = List.of(saved(), saved());
+        when(emailSender.getMaxBatchSize()).thenReturn(50);
+        when(emailSender.sendBatch(anyList())).thenAnswer(inv -> {
+            assertThat(notificationRepository.findAllById(batch.stream().map(Notification::getId).toList()))
+                    .extracting(Notification::getStatus)
+                    .containsOnly(NotificationStatus.SENDING);
+            return Map.of(batch.get(1).getId(), "Invalid address");
+        });
+
+        List<Notification> delivered = dispatcher.deliverBatch(batch);
+
+        assertThat(delivered).extracting(Notification::getStatus)
+                .containsExactly(NotificationStatus.SENT, NotificationStatus.FAILED);
+        assertThat(notificationRepository.findById(batch.get(1).getId()).orElseThrow().getLastError())
+                .isEqualTo("Invalid address");
+    }
+}
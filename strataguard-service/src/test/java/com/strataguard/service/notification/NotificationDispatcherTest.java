@@ -5,17 +5,27 @@ import com.strataguard.core.entity.Notification;
 import com.strataguard.core.enums.NotificationChannel;
 import com.strataguard.core.enums.NotificationStatus;
 import com.strataguard.core.enums.NotificationType;
+import com.strataguard.core.exception.ProviderThrottledException;
 import com.strataguard.infrastructure.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,8 +44,19 @@ class NotificationDispatcherTest {
     @Mock
     private NotificationSender smsSender;
 
+    @Mock
+    private ChannelBulkheads bulkheads;
+
+    @Mock
+    private UnreadCounterService unreadCounters;
+
+    @Mock
+    private InAppNotificationPusher inAppPusher;
+
     private NotificationConfig notificationConfig;
 
+    private NotificationCoalescer coalescer;
+
     private NotificationDispatcher dispatcher;
 
     @BeforeEach
@@ -49,11 +70,28 @@ class NotificationDispatcherTest {
 
         when(emailSender.getChannel()).thenReturn(NotificationChannel.EMAIL);
         when(smsSender.getChannel()).thenReturn(NotificationChannel.SMS);
-
+        // Run queued deliveries and provider calls inline
+        lenient().doAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return null;
+        }).when(bulkheads).execute(any(), any());
+        lenient().doAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return null;
+        }).when(bulkheads).callProvider(any(), any(Runnable.class));
+        lenient().when(bulkheads.callProvider(any(), any(Supplier.class)))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+
+        coalescer = new NotificationCoalescer(notificationConfig, new SimpleMeterRegistry());
         dispatcher = new NotificationDispatcher(
                 notificationRepository,
                 List.of(emailSender, smsSender),
-                notificationConfig);
+                notificationConfig,
+                new NotificationRetryPolicy(notificationConfig),
+                bulkheads,
+                unreadCounters,
+                inAppPusher,
+                coalescer);
     }
 
     @AfterEach
@@ -92,6 +130,8 @@ class NotificationDispatcherTest {
             assertThat(notification.getSentAt()).isNotNull();
 
             verify(notificationRepository).save(notification);
+            verify(inAppPusher).pushAfterCommit(List.of(notification));
+            verify(unreadCounters).increment(TENANT_ID, notification.getRecipientId());
             verify(emailSender, never()).send(any());
             verify(smsSender, never()).send(any());
         }
@@ -107,6 +147,7 @@ class NotificationDispatcherTest {
 
             assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SENT);
             assertThat(notification.getSentAt()).isNotNull();
+            assertThat(notification.getNextAttemptAt()).isNull();
 
             verify(emailSender).send(notification);
             verify(notificationRepository, times(2)).save(notification); // SENDING, then SENT
@@ -146,6 +187,7 @@ class NotificationDispatcherTest {
         void shouldHandleSenderFailureAndRetry() {
             Notification notification = buildNotification(NotificationChannel.EMAIL);
             notification.setRetryCount(0);
+            Instant before = Instant.now();
 
             doThrow(new RuntimeException("SMTP connection failed")).when(emailSender).send(notification);
             when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
@@ -155,6 +197,9 @@ class NotificationDispatcherTest {
             assertThat(notification.getRetryCount()).isEqualTo(1);
             assertThat(notification.getLastError()).isEqualTo("SMTP connection failed");
             assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING); // Will be retried
+            // First EMAIL backoff is the 30s base with equal jitter
+            assertThat(notification.getNextAttemptAt())
+                    .isBetween(before.plusSeconds(15), Instant.now().plusSeconds(30));
         }
 
         @Test
@@ -170,6 +215,7 @@ class NotificationDispatcherTest {
 
             assertThat(notification.getRetryCount()).isEqualTo(3);
             assertThat(notification.getStatus()).isEqualTo(NotificationStatus.FAILED); // Max retries reached
+            assertThat(notification.getNextAttemptAt()).isNull();
             assertThat(notification.getLastError()).isEqualTo("SMTP connection failed");
         }
 
@@ -187,42 +233,238 @@ class NotificationDispatcherTest {
             assertThat(notification.getRetryCount()).isEqualTo(2);
             assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
         }
+
+        @Test
+        @DisplayName("should reschedule a throttled send without spending a retry")
+        void shouldRescheduleThrottledSend() {
+            Notification notification = buildNotification(NotificationChannel.EMAIL);
+            notification.setRetryCount(2); // A failure now would be the last retry
+            Instant before = Instant.now();
+
+            doThrow(new ProviderThrottledException("Rate limit exceeded for channel: EMAIL"))
+                    .when(bulkheads).callProvider(eq(NotificationChannel.EMAIL), any(Runnable.class));
+            when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+
+            dispatcher.dispatch(notification);
+
+            assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+            assertThat(notification.getRetryCount()).isEqualTo(2);
+            assertThat(notification.getNextAttemptAt())
+                    .isBetween(before.plusSeconds(15), Instant.now().plusSeconds(30));
+            verify(emailSender, never()).send(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("dispatch queueing")
+    class DispatchQueueing {
+
+        @Test
+        @DisplayName("should queue delivery on the notification's channel bulkhead")
+        void shouldQueueOnChannelBulkhead() {
+            Notification notification = buildNotification(NotificationChannel.SMS);
+            when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+
+            dispatcher.dispatch(notification);
+
+            verify(bulkheads).execute(eq(NotificationChannel.SMS), any());
+            verify(bulkheads).callProvider(eq(NotificationChannel.SMS), any(Runnable.class));
+            verify(smsSender).send(notification);
+        }
+
+        @Test
+        @DisplayName("should leave the notification for retry when the channel queue is full")
+        void shouldLeaveForRetryWhenQueueFull() {
+            Notification notification = buildNotification(NotificationChannel.EMAIL);
+            doThrow(new TaskRejectedException("full")).when(bulkheads).execute(eq(NotificationChannel.EMAIL), any());
+
+            dispatcher.dispatch(notification);
+
+            assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+            verify(emailSender, never()).send(any());
+            verify(notificationRepository, never()).save(any());
+        }
     }
 
     @Nested
-    @DisplayName("retryPendingNotifications")
-    class RetryPendingNotifications {
+    @DisplayName("digests")
+    class Digests {
+
+        @BeforeEach
+        void enableDigest() {
+            NotificationConfig.DigestWindow window = new NotificationConfig.DigestWindow();
+            window.setMaxBatch(2);
+            notificationConfig.getDigest().getTypes().put(NotificationType.PAYMENT_RECEIVED, window);
+        }
+
+        @Test
+        @DisplayName("should hold a digest type until the group fills, then send it as one provider call")
+        void shouldSendFullGroupAsOneMessage() {
+            Notification first = buildNotification(NotificationChannel.SMS);
+            Notification second = buildNotification(NotificationChannel.SMS);
+            second.setId(UUID.randomUUID());
+            second.setBody("Your second payment was received.");
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            dispatcher.dispatch(first);
+            verify(smsSender, never()).send(any());
+
+            dispatcher.dispatch(second);
+
+            verify(smsSender).send(argThat(digest -> digest.getId().equals(NOTIFICATION_ID)
+                    && digest.getTitle().equals("Payment Received (2)")
+                    && digest.getBody().contains("second payment")));
+            assertThat(first.getStatus()).isEqualTo(NotificationStatus.SENT);
+            assertThat(second.getStatus()).isEqualTo(NotificationStatus.SENT);
+            assertThat(second.getNextAttemptAt()).isNull();
+        }
 
         @Test
-        @DisplayName("should pick up and dispatch pending notifications")
-        void shouldRetryPendingNotifications() {
-            Notification pending1 = buildNotification(NotificationChannel.EMAIL);
-            pending1.setRetryCount(1);
-            Notification pending2 = buildNotification(NotificationChannel.SMS);
-            pending2.setId(UUID.randomUUID());
-            pending2.setRetryCount(0);
+        @DisplayName("should put every member on its own retry schedule when the digest fails")
+        void shouldRetryMembersWhenDigestFails() {
+            Notification first = buildNotification(NotificationChannel.SMS);
+            Notification second = buildNotification(NotificationChannel.SMS);
+            second.setId(UUID.randomUUID());
+            doThrow(new RuntimeException("Provider down")).when(smsSender).send(any());
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            dispatcher.deliverDigest(List.of(first, second));
+
+            assertThat(first.getStatus()).isEqualTo(NotificationStatus.PENDING);
+            assertThat(second.getRetryCount()).isEqualTo(1);
+            assertThat(coalescer.accepts(second)).isFalse();
+        }
 
-            when(notificationRepository.findPendingForRetry(NotificationStatus.PENDING, 3))
-                    .thenReturn(List.of(pending1, pending2));
+        @Test
+        @DisplayName("should send a row reclaimed after its lease ran out on its own instead of buffering it again")
+        void shouldNotBufferReclaimedRow() {
+            Notification abandoned = buildNotification(NotificationChannel.SMS);
+            abandoned.setStatus(NotificationStatus.SENDING);
+            when(notificationRepository.claimDueForRetry(any(Instant.class), any(Instant.class), eq(10)))
+                    .thenReturn(List.of(abandoned));
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> inv.getArgument(0));
 
-            dispatcher.retryPendingNotifications();
+            Notification reclaimed = dispatcher.claimDueRetries(10).get(0);
+            dispatcher.dispatch(reclaimed);
 
-            // Both should be dispatched
-            verify(emailSender).send(pending1);
-            verify(smsSender).send(pending2);
+            assertThat(reclaimed.getClaimCount()).isEqualTo(1);
+            assertThat(reclaimed.getRetryCount()).isZero();
+            verify(smsSender).send(argThat(sent -> sent.getId().equals(NOTIFICATION_ID)
+                    && sent.getTitle().equals("Payment Received")));
+            assertThat(reclaimed.getStatus()).isEqualTo(NotificationStatus.SENT);
         }
+    }
+
+    @Nested
+    @DisplayName("deliverBatch")
+    class DeliverBatch {
 
         @Test
-        @DisplayName("should do nothing when no pending notifications")
-        void shouldDoNothingWhenNoPending() {
-            when(notificationRepository.findPendingForRetry(NotificationStatus.PENDING, 3))
-                    .thenReturn(List.of());
+        @DisplayName("should send each channel in sender-sized batches and record per-notification outcomes")
+        void shouldDeliverInSenderBatches() {
+            Notification sent = buildNotification(NotificationChannel.SMS);
+            Notification rejected = buildNotification(NotificationChannel.SMS);
+            rejected.setId(UUID.randomUUID());
+            Notification third = buildNotification(NotificationChannel.SMS);
+            third.setId(UUID.randomUUID());
+            Notification inApp = buildNotification(NotificationChannel.IN_APP);
+            inApp.setId(UUID.randomUUID());
+
+            when(smsSender.getMaxBatchSize()).thenReturn(2);
+            when(smsSender.sendBatch(anyList()))
+                    .thenReturn(Map.of(rejected.getId(), "Recipient does not have a phone number"))
+                    .thenReturn(Map.of());
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            dispatcher.deliverBatch(List.of(sent, rejected, third, inApp));
+
+            verify(smsSender, times(2)).sendBatch(anyList());
+            verify(smsSender, never()).send(any());
+            assertThat(sent.getStatus()).isEqualTo(NotificationStatus.SENT);
+            assertThat(third.getStatus()).isEqualTo(NotificationStatus.SENT);
+            assertThat(rejected.getStatus()).isEqualTo(NotificationStatus.PENDING);
+            assertThat(rejected.getRetryCount()).isEqualTo(1);
+            assertThat(rejected.getNextAttemptAt()).isNotNull();
+            assertThat(inApp.getStatus()).isEqualTo(NotificationStatus.DELIVERED);
+            verify(unreadCounters).incrementAll(TENANT_ID, List.of(inApp.getRecipientId()));
+        }
 
-            dispatcher.retryPendingNotifications();
+        @Test
+        @DisplayName("should fail the whole batch when the provider call throws")
+        void shouldFailBatchOnProviderError() {
+            Notification first = buildNotification(NotificationChannel.EMAIL);
+            Notification second = buildNotification(NotificationChannel.EMAIL);
+            second.setId(UUID.randomUUID());
+
+            when(emailSender.getMaxBatchSize()).thenReturn(50);
+            when(emailSender.sendBatch(anyList())).thenThrow(new RuntimeException("SMTP connection failed"));
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            dispatcher.deliverBatch(List.of(first, second));
+
+            assertThat(List.of(first, second)).allSatisfy(n -> {
+                assertThat(n.getStatus()).isEqualTo(NotificationStatus.PENDING);
+                assertThat(n.getLastError()).isEqualTo("SMTP connection failed");
+            });
+            verify(notificationRepository, times(2)).saveAll(anyList()); // SENDING, then outcome
+        }
 
+        @Test
+        @DisplayName("should reschedule a throttled batch without spending retries")
+        void shouldRescheduleThrottledBatch() {
+            Notification first = buildNotification(NotificationChannel.EMAIL);
+            Notification second = buildNotification(NotificationChannel.EMAIL);
+            second.setId(UUID.randomUUID());
+
+            when(emailSender.getMaxBatchSize()).thenReturn(50);
+            when(bulkheads.callProvider(eq(NotificationChannel.EMAIL), any(Supplier.class)))
+                    .thenThrow(new ProviderThrottledException("Rate limit exceeded for channel: EMAIL"));
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            List<Notification> delivered = dispatcher.deliverBatch(List.of(first, second));
+
+            assertThat(delivered).allSatisfy(n -> {
+                assertThat(n.getStatus()).isEqualTo(NotificationStatus.PENDING);
+                assertThat(n.getRetryCount()).isZero();
+                assertThat(n.getNextAttemptAt()).isAfter(Instant.now());
+            });
+            verify(emailSender, never()).sendBatch(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("claimDueRetries")
+    class ClaimDueRetries {
+
+        @Test
+        @DisplayName("should lease claimed notifications before returning them")
+        void shouldLeaseClaimedNotifications() {
+            Notification pending = buildNotification(NotificationChannel.EMAIL);
+            pending.setNextAttemptAt(Instant.now().minusSeconds(5));
+            Instant before = Instant.now();
+
+            when(notificationRepository.claimDueForRetry(any(Instant.class), any(Instant.class), eq(50))).thenReturn(List.of(pending));
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            List<Notification> claimed = dispatcher.claimDueRetries(50);
+
+            assertThat(claimed).containsExactly(pending);
+            assertThat(pending.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(300));
+            ArgumentCaptor<Instant> createdSince = ArgumentCaptor.forClass(Instant.class);
+            verify(notificationRepository).claimDueForRetry(any(Instant.class), createdSince.capture(), eq(50));
+            assertThat(createdSince.getValue()).isBetween(before.minus(Duration.ofDays(7)), Instant.now().minus(Duration.ofDays(7)));
             verify(emailSender, never()).send(any());
-            verify(smsSender, never()).send(any());
+        }
+
+        @Test
+        @DisplayName("should not write when nothing is due")
+        void shouldDoNothingWhenNothingDue() {
+            when(notificationRepository.claimDueForRetry(any(Instant.class), any(Instant.class), eq(50))).thenReturn(List.of());
+
+            assertThat(dispatcher.claimDueRetries(50)).isEmpty();
+
+            verify(notificationRepository, never()).saveAll(anyList());
         }
     }
 }
@@ -0,0 +1,205 @@
+package com.strataguard.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationStatus;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.NotificationPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 3);
+
+    @Mock
+    private NotificationPartitionRepository partitionRepository;
+
+    @TempDir
+    Path archiveDir;
+
+    private NotificationConfig notificationConfig;
+    private NotificationRetentionPolicy retentionPolicy;
+    private NotificationPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        notificationConfig = new NotificationConfig();
+        notificationConfig.getRetention().setDefaultMonths(12);
+        notificationConfig.getRetention().getTypeMonths().put(NotificationType.CHAT_MESSAGE, 3);
+        notificationConfig.getRetention().getTypeMonths().put(NotificationType.PAYMENT_RECEIVED, 24);
+        notificationConfig.getRetention().setPremakeMonths(2);
+        notificationConfig.getRetention().setArchivePath(archiveDir.toString());
+        notificationConfig.getRetention().setArchivePageSize(2);
+        retentionPolicy = new NotificationRetentionPolicy(notificationConfig);
+        maintenance = new NotificationPartitionMaintenance(partitionRepository, retentionPolicy,
+                new NotificationArchiveStore(notificationConfig, new ObjectMapper()), notificationConfig,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    private Notification notification(UUID id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setTenantId(UUID.randomUUID());
+        notification.setRecipientId(UUID.randomUUID());
+        notification.setChannel(NotificationChannel.IN_APP);
+        notification.setType(NotificationType.CHAT_MESSAGE);
+        notification.setTitle("New message");
+        notification.setBody("Hello");
+        notification.setStatus(NotificationStatus.READ);
+        notification.setCreatedAt(Instant.parse("2025-11-10T10:00:00Z"));
+        notification.setExpiresAt(Instant.parse("2026-02-10T10:00:00Z"));
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should expire each type after its own retention, in UTC months")
+    void shouldComputePerTypeExpiry() {
+        Instant createdAt = Instant.parse("2026-01-31T23:30:00Z");
+
+        assertThat(retentionPolicy.expiresAt(NotificationType.CHAT_MESSAGE, createdAt))
+                .isEqualTo(Instant.parse("2026-04-30T23:30:00Z"));
+        assertThat(retentionPolicy.expiresAt(NotificationType.GATE_ENTRY, createdAt))
+                .isEqualTo(Instant.parse("2027-01-31T23:30:00Z"));
+        assertThat(retentionPolicy.maxRetentionMonths()).isEqualTo(24);
+    }
+
+    @Test
+    @DisplayName("should create the current partition and the premake months")
+    void shouldCreatePartitionsAhead() {
+        when(partitionRepository.createPartition(any(LocalDate.class))).thenReturn(true, false);
+
+        int created = maintenance.ensurePartitions(CURRENT);
+
+        assertThat(created).isEqualTo(1);
+        verify(partitionRepository, times(3)).createPartition(any(LocalDate.class));
+        verify(partitionRepository).createPartition(LocalDate.of(2026, 3, 1));
+        verify(partitionRepository).createPartition(LocalDate.of(2026, 5, 1));
+    }
+
+    @Test
+    @DisplayName("should archive then drop only partitions past the longest retention")
+    void shouldArchiveAndDropExpiredPartitions() throws Exception {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID third = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        when(partitionRepository.findPartitionNames())
+                .thenReturn(List.of("notifications_p202402", "notifications_p202403", "notifications_default"));
+        Instant from = Instant.parse("2024-02-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-01T00:00:00Z");
+        when(partitionRepository.findPartitionPage(eq(from), eq(to), eq(new UUID(0, 0)), eq(2)))
+                .thenReturn(List.of(notification(first), notification(second)));
+        when(partitionRepository.findPartitionPage(from, to, second, 2)).thenReturn(List.of(notification(third)));
+        when(partitionRepository.findPartitionPage(from, to, third, 2)).thenReturn(List.of());
+        when(partitionRepository.tryLockPartition("notifications_p202402")).thenReturn(true);
+        when(partitionRepository.partitionExists("notifications_p202402")).thenReturn(true);
+        when(partitionRepository.existsUnexpired(eq(from), eq(to), any(Instant.class))).thenReturn(false);
+        when(partitionRepository.dropPartition("notifications_p202402")).thenReturn(3L);
+
+        int dropped = maintenance.dropExpiredPartitions(CURRENT);
+
+        assertThat(dropped).isEqualTo(1);
+        verify(partitionRepository, never()).dropPartition("notifications_p202403");
+        verify(partitionRepository, never()).dropPartition("notifications_default");
+        Path archive = archiveDir.resolve("notifications_p202402.jsonl.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(3);
+            assertThat(lines.get(0)).contains(first.toString(), "\"expiresAt\":\"2026-02-10T10:00:00Z\"");
+        }
+    }
+
+    @Test
+    @DisplayName("should keep a partition when its archive cannot be written")
+    void shouldNotDropWithoutArchive() throws Exception {
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("notifications_p202401"));
+        when(partitionRepository.tryLockPartition("notifications_p202401")).thenReturn(true);
+        when(partitionRepository.partitionExists("notifications_p202401")).thenReturn(true);
+        when(partitionRepository.findPartitionPage(any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        int dropped = maintenance.dropExpiredPartitions(CURRENT);
+
+        assertThat(dropped).isZero();
+        verify(partitionRepository, never()).dropPartition(anyString());
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("should keep a partition that still holds rows written under a longer retention")
+    void shouldKeepPartitionWithUnexpiredRows() {
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("notifications_p202401"));
+        when(partitionRepository.tryLockPartition("notifications_p202401")).thenReturn(true);
+        when(partitionRepository.partitionExists("notifications_p202401")).thenReturn(true);
+        when(partitionRepository.existsUnexpired(eq(Instant.parse("2024-01-01T00:00:00Z")),
+                eq(Instant.parse("2024-02-01T00:00:00Z")), any(Instant.class))).thenReturn(true);
+
+        int dropped = maintenance.dropExpiredPartitions(CURRENT);
+
+        assertThat(dropped).isZero();
+        verify(partitionRepository, never()).findPartitionPage(any(), any(), any(), anyInt());
+        verify(partitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("should leave a partition to the node holding its lock, or that already dropped it")
+    void shouldSkipLockedOrDroppedPartitions() {
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("notifications_p202401", "notifications_p202402"));
+        when(partitionRepository.tryLockPartition("notifications_p202401")).thenReturn(false);
+        when(partitionRepository.tryLockPartition("notifications_p202402")).thenReturn(true);
+        when(partitionRepository.partitionExists("notifications_p202402")).thenReturn(false);
+
+        int dropped = maintenance.dropExpiredPartitions(CURRENT);
+
+        assertThat(dropped).isZero();
+        verify(partitionRepository, never()).findPartitionPage(any(), any(), any(), anyInt());
+        verify(partitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("should never overwrite an existing archive or drop the partition behind it")
+    void shouldNotOverwriteArchive() throws Exception {
+        Path archive = archiveDir.resolve("notifications_p202401.jsonl.gz");
+        Files.write(archive, new byte[]{1, 2, 3});
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of("notifications_p202401"));
+        when(partitionRepository.tryLockPartition("notifications_p202401")).thenReturn(true);
+        when(partitionRepository.partitionExists("notifications_p202401")).thenReturn(true);
+
+        int dropped = maintenance.dropExpiredPartitions(CURRENT);
+
+        assertThat(dropped).isZero();
+        verify(partitionRepository, never()).dropPartition(anyString());
+        assertThat(Files.readAllBytes(archive)).containsExactly(1, 2, 3);
+    }
+}
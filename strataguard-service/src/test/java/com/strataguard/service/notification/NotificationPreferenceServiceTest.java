@@ -12,6 +12,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -35,6 +36,9 @@ class NotificationPreferenceServiceTest {
     @Mock
     private NotificationPreferenceMapper preferenceMapper;
 
+    @Spy
+    private NotificationConfig notificationConfig = new NotificationConfig();
+
     @InjectMocks
     private NotificationPreferenceService preferenceService;
 
@@ -200,9 +204,7 @@ class NotificationPreferenceServiceTest {
             NotificationPreference disabledPref = buildPreference(
                     NotificationChannel.SMS, NotificationType.PAYMENT_DUE, false);
 
-            when(preferenceRepository.findByResidentIdAndChannelAndNotificationTypeAndTenantId(
-                    RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE, TENANT_ID))
-                    .thenReturn(Optional.of(disabledPref));
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of(disabledPref));
 
             boolean result = preferenceService.isChannelEnabled(
                     RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE);
@@ -211,32 +213,104 @@ class NotificationPreferenceServiceTest {
         }
 
         @Test
-        @DisplayName("should return true when preference enabled")
-        void shouldReturnTrueWhenEnabled() {
-            NotificationPreference enabledPref = buildPreference(
-                    NotificationChannel.EMAIL, NotificationType.PAYMENT_RECEIVED, true);
+        @DisplayName("should only disable the opted-out channel and type")
+        void shouldScopeOptOutToChannelAndType() {
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of(
+                    buildPreference(NotificationChannel.SMS, NotificationType.PAYMENT_DUE, false)));
+
+            assertThat(preferenceService.isChannelEnabled(
+                    RESIDENT_ID, NotificationChannel.EMAIL, NotificationType.PAYMENT_DUE)).isTrue();
+            assertThat(preferenceService.isChannelEnabled(
+                    RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_RECEIVED)).isTrue();
+        }
 
-            when(preferenceRepository.findByResidentIdAndChannelAndNotificationTypeAndTenantId(
-                    RESIDENT_ID, NotificationChannel.EMAIL, NotificationType.PAYMENT_RECEIVED, TENANT_ID))
-                    .thenReturn(Optional.of(enabledPref));
+        @Test
+        @DisplayName("should default to true when no preference record exists")
+        void shouldDefaultToTrueWhenNoPreference() {
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of());
 
             boolean result = preferenceService.isChannelEnabled(
-                    RESIDENT_ID, NotificationChannel.EMAIL, NotificationType.PAYMENT_RECEIVED);
+                    RESIDENT_ID, NotificationChannel.PUSH, NotificationType.GATE_ENTRY);
 
             assertThat(result).isTrue();
         }
+    }
+
+    @Nested
+    @DisplayName("getMatrix")
+    class GetMatrix {
 
         @Test
-        @DisplayName("should default to true when no preference record exists")
-        void shouldDefaultToTrueWhenNoPreference() {
+        @DisplayName("should load the tenant's opt-outs once and serve later checks from the cache")
+        void shouldCacheMatrix() {
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of(
+                    buildPreference(NotificationChannel.SMS, NotificationType.PAYMENT_DUE, false)));
+
+            PreferenceMatrix matrix = preferenceService.getMatrix(TENANT_ID);
+            preferenceService.isChannelEnabled(RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE);
+
+            assertThat(preferenceService.getMatrix(TENANT_ID)).isSameAs(matrix);
+            assertThat(matrix.isEnabled(RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE)).isFalse();
+            assertThat(matrix.isEnabled(UUID.randomUUID(), NotificationChannel.SMS, NotificationType.PAYMENT_DUE)).isTrue();
+            verify(preferenceRepository, times(1)).findDisabledByTenantId(TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should reload the matrix after a preference update")
+        void shouldEvictOnUpdate() {
+            NotificationPreference existing = buildPreference(NotificationChannel.SMS, NotificationType.PAYMENT_DUE, false);
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of(existing), List.of());
             when(preferenceRepository.findByResidentIdAndChannelAndNotificationTypeAndTenantId(
-                    RESIDENT_ID, NotificationChannel.PUSH, NotificationType.GATE_ENTRY, TENANT_ID))
-                    .thenReturn(Optional.empty());
+                    RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE, TENANT_ID))
+                    .thenReturn(Optional.of(existing));
+            when(preferenceRepository.save(existing)).thenReturn(existing);
 
-            boolean result = preferenceService.isChannelEnabled(
-                    RESIDENT_ID, NotificationChannel.PUSH, NotificationType.GATE_ENTRY);
+            preferenceService.getMatrix(TENANT_ID);
+            preferenceService.updatePreference(RESIDENT_ID, NotificationPreferenceRequest.builder()
+                    .channel(NotificationChannel.SMS)
+                    .notificationType(NotificationType.PAYMENT_DUE)
+                    .enabled(true)
+                    .build());
 
-            assertThat(result).isTrue();
+            PreferenceMatrix matrix = preferenceService.getMatrix(TENANT_ID);
+            assertThat(matrix.isEnabled(RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE)).isTrue();
+            verify(preferenceRepository, times(2)).findDisabledByTenantId(TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should not cache a matrix loaded while a preference update was in flight")
+        void shouldNotCacheLoadRacingUpdate() {
+            NotificationPreference existing = buildPreference(NotificationChannel.SMS, NotificationType.PAYMENT_DUE, false);
+            when(preferenceRepository.findByResidentIdAndChannelAndNotificationTypeAndTenantId(
+                    RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE, TENANT_ID))
+                    .thenReturn(Optional.of(existing));
+            when(preferenceRepository.save(existing)).thenReturn(existing);
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenAnswer(inv -> {
+                // The update commits after this load has read the old opt-out
+                preferenceService.updatePreference(RESIDENT_ID, NotificationPreferenceRequest.builder()
+                        .channel(NotificationChannel.SMS)
+                        .notificationType(NotificationType.PAYMENT_DUE)
+                        .enabled(true)
+                        .build());
+                return List.of(existing);
+            }).thenReturn(List.of());
+
+            preferenceService.getMatrix(TENANT_ID);
+
+            assertThat(preferenceService.isChannelEnabled(RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE))
+                    .isTrue();
+        }
+
+        @Test
+        @DisplayName("should reload the matrix once the TTL has passed")
+        void shouldReloadAfterTtl() {
+            notificationConfig.getPreferences().setTtlSeconds(0);
+            when(preferenceRepository.findDisabledByTenantId(TENANT_ID)).thenReturn(List.of());
+
+            preferenceService.getMatrix(TENANT_ID);
+            preferenceService.getMatrix(TENANT_ID);
+
+            verify(preferenceRepository, times(2)).findDisabledByTenantId(TENANT_ID);
         }
     }
 }
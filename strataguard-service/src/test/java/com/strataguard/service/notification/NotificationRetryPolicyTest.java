@@ -0,0 +1,55 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.enums.NotificationChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationRetryPolicyTest {
+
+    private NotificationConfig notificationConfig;
+    private NotificationRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        notificationConfig = new NotificationConfig();
+        notificationConfig.getRetry().setBaseDelaySeconds(30);
+        notificationConfig.getRetry().setMaxDelaySeconds(600);
+        notificationConfig.getRetry().getChannelBaseDelaySeconds().put(NotificationChannel.SMS, 60);
+        retryPolicy = new NotificationRetryPolicy(notificationConfig);
+    }
+
+    @Test
+    @DisplayName("should double the delay per failed attempt within equal-jitter bounds")
+    void shouldBackOffExponentially() {
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            long ceiling = 30L << (attempt - 1);
+            for (int i = 0; i < 50; i++) {
+                Duration delay = retryPolicy.backoff(NotificationChannel.EMAIL, attempt);
+                assertThat(delay).isBetween(Duration.ofSeconds(ceiling / 2), Duration.ofSeconds(ceiling));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should use the channel's own base delay when configured")
+    void shouldUseChannelBaseDelay() {
+        for (int i = 0; i < 50; i++) {
+            assertThat(retryPolicy.backoff(NotificationChannel.SMS, 1))
+                    .isBetween(Duration.ofSeconds(30), Duration.ofSeconds(60));
+        }
+    }
+
+    @Test
+    @DisplayName("should cap the delay at the configured maximum")
+    void shouldCapDelay() {
+        for (int i = 0; i < 50; i++) {
+            assertThat(retryPolicy.backoff(NotificationChannel.EMAIL, 40))
+                    .isBetween(Duration.ofSeconds(300), Duration.ofSeconds(600));
+        }
+    }
+}
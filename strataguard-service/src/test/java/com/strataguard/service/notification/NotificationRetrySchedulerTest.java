@@ -0,0 +1,94 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetrySchedulerTest {
+
+    private static final UUID TENANT_A = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID TENANT_B = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    private NotificationRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.getRetry().setBatchSize(2);
+        notificationConfig.getRetry().setMaxBatchesPerRun(3);
+        scheduler = new NotificationRetryScheduler(dispatcher, notificationConfig);
+    }
+
+    private List<Notification> batch(int size, UUID tenantId) {
+        return IntStream.range(0, size).mapToObj(i -> {
+            Notification notification = new Notification();
+            notification.setId(UUID.randomUUID());
+            notification.setTenantId(tenantId);
+            notification.setChannel(NotificationChannel.SMS);
+            return notification;
+        }).toList();
+    }
+
+    @Test
+    @DisplayName("should claim batches until a short batch and deliver each under its tenant")
+    void shouldDrainDueBatches() {
+        List<Notification> first = batch(2, TENANT_A);
+        List<Notification> second = batch(1, TENANT_B);
+        when(dispatcher.claimDueRetries(2)).thenReturn(first, second);
+        List<UUID> tenantsSeen = new ArrayList<>();
+        doAnswer(invocation -> {
+            tenantsSeen.add(TenantContext.getTenantId());
+            return null;
+        }).when(dispatcher).dispatch(any());
+
+        scheduler.retryDueNotifications();
+
+        verify(dispatcher, times(2)).claimDueRetries(2);
+        verify(dispatcher, times(3)).dispatch(any());
+        assertThat(tenantsSeen).containsExactly(TENANT_A, TENANT_A, TENANT_B);
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+
+    @Test
+    @DisplayName("should stop after the maximum number of batches per run")
+    void shouldBoundBatchesPerRun() {
+        when(dispatcher.claimDueRetries(2)).thenAnswer(invocation -> batch(2, TENANT_A));
+
+        scheduler.retryDueNotifications();
+
+        verify(dispatcher, times(3)).claimDueRetries(2);
+        verify(dispatcher, times(6)).dispatch(any());
+    }
+
+    @Test
+    @DisplayName("should keep going when a single dispatch throws")
+    void shouldContinueAfterDeliveryError() {
+        List<Notification> due = batch(2, TENANT_A);
+        when(dispatcher.claimDueRetries(2)).thenReturn(due, List.of());
+        doThrow(new IllegalStateException("boom")).doNothing().when(dispatcher).dispatch(any());
+
+        scheduler.retryDueNotifications();
+
+        verify(dispatcher).dispatch(due.get(0));
+        verify(dispatcher).dispatch(due.get(1));
+    }
+}
@@ -4,22 +4,20 @@ import com.strataguard.core.config.TenantContext;
 import com.strataguard.core.dto.common.PagedResponse;
 import com.strataguard.core.dto.notification.*;
 import com.strataguard.core.entity.Notification;
-import com.strataguard.core.entity.Resident;
-import com.strataguard.core.entity.Tenancy;
-import com.strataguard.core.entity.Unit;
+import com.strataguard.core.entity.NotificationPreference;
+import com.strataguard.core.enums.BroadcastStatus;
 import com.strataguard.core.enums.NotificationChannel;
 import com.strataguard.core.enums.NotificationStatus;
 import com.strataguard.core.enums.NotificationType;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.NotificationMapper;
 import com.strataguard.infrastructure.repository.NotificationRepository;
-import com.strataguard.infrastructure.repository.ResidentRepository;
-import com.strataguard.infrastructure.repository.TenancyRepository;
-import com.strataguard.infrastructure.repository.UnitRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -27,13 +25,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -45,19 +47,15 @@ class NotificationServiceTest {
     private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
     private static final UUID NOTIFICATION_ID = UUID.fromString("00000000-0000-0000-0000-000000000020");
     private static final UUID ESTATE_ID = UUID.fromString("00000000-0000-0000-0000-000000000030");
-    private static final UUID UNIT_ID = UUID.fromString("00000000-0000-0000-0000-000000000040");
 
     @Mock
     private NotificationRepository notificationRepository;
 
     @Mock
-    private ResidentRepository residentRepository;
+    private RecipientDirectory recipientDirectory;
 
     @Mock
-    private TenancyRepository tenancyRepository;
-
-    @Mock
-    private UnitRepository unitRepository;
+    private UnreadCounterService unreadCounters;
 
     @Mock
     private NotificationMapper notificationMapper;
@@ -71,6 +69,18 @@ class NotificationServiceTest {
     @Mock
     private NotificationDispatcher dispatcher;
 
+    @Mock
+    private BroadcastService broadcastService;
+
+    @Mock
+    private NotificationRetryPolicy retryPolicy;
+
+    @Mock
+    private NotificationRetentionPolicy retentionPolicy;
+
+    @Spy
+    private NotificationConfig notificationConfig = new NotificationConfig();
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -84,15 +94,13 @@ class NotificationServiceTest {
         TenantContext.clear();
     }
 
-    private Resident buildResident(UUID id) {
-        Resident resident = new Resident();
-        resident.setId(id);
-        resident.setTenantId(TENANT_ID);
-        resident.setFirstName("John");
-        resident.setLastName("Doe");
-        resident.setEmail("john@example.com");
-        resident.setPhone("+2341234567890");
-        return resident;
+    private Map<UUID, RecipientDirectory.Contact> buildContacts(UUID... ids) {
+        Map<UUID, RecipientDirectory.Contact> contacts = new HashMap<>();
+        for (UUID id : ids) {
+            contacts.put(id, new RecipientDirectory.Contact(id, null, "John", "Doe", "+2341234567890",
+                    "john@example.com", EnumSet.allOf(NotificationChannel.class)));
+        }
+        return contacts;
     }
 
     private Notification buildNotification() {
@@ -137,10 +145,9 @@ class NotificationServiceTest {
                     .channels(List.of(NotificationChannel.IN_APP, NotificationChannel.EMAIL))
                     .build();
 
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID)));
-            when(preferenceService.isChannelEnabled(eq(RESIDENT_ID), any(), eq(NotificationType.PAYMENT_RECEIVED)))
-                    .thenReturn(true);
+            when(recipientDirectory.resolve(eq(TENANT_ID), any()))
+                    .thenReturn(buildContacts(RESIDENT_ID));
+            when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of()));
             when(templateService.resolveBody(any(), any(), any(), any())).thenReturn(null);
             when(templateService.resolveSubject(any(), any(), any(), any())).thenReturn(null);
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
@@ -167,11 +174,9 @@ class NotificationServiceTest {
                     .channels(List.of(NotificationChannel.IN_APP))
                     .build();
 
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID)));
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID_2, TENANT_ID))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID_2)));
-            when(preferenceService.isChannelEnabled(any(), any(), any())).thenReturn(true);
+            when(recipientDirectory.resolve(eq(TENANT_ID), any()))
+                    .thenReturn(buildContacts(RESIDENT_ID, RESIDENT_ID_2));
+            when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of()));
             when(templateService.resolveBody(any(), any(), any(), any())).thenReturn(null);
             when(templateService.resolveSubject(any(), any(), any(), any())).thenReturn(null);
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
@@ -198,14 +203,14 @@ class NotificationServiceTest {
                     .channels(List.of(NotificationChannel.IN_APP, NotificationChannel.SMS, NotificationChannel.EMAIL))
                     .build();
 
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID)));
-            when(preferenceService.isChannelEnabled(RESIDENT_ID, NotificationChannel.IN_APP, NotificationType.PAYMENT_DUE))
-                    .thenReturn(true);
-            when(preferenceService.isChannelEnabled(RESIDENT_ID, NotificationChannel.SMS, NotificationType.PAYMENT_DUE))
-                    .thenReturn(false); // SMS disabled
-            when(preferenceService.isChannelEnabled(RESIDENT_ID, NotificationChannel.EMAIL, NotificationType.PAYMENT_DUE))
-                    .thenReturn(true);
+            when(recipientDirectory.resolve(eq(TENANT_ID), any()))
+                    .thenReturn(buildContacts(RESIDENT_ID));
+            NotificationPreference smsOff = new NotificationPreference();
+            smsOff.setResidentId(RESIDENT_ID);
+            smsOff.setChannel(NotificationChannel.SMS);
+            smsOff.setNotificationType(NotificationType.PAYMENT_DUE);
+            smsOff.setEnabled(false); // SMS disabled
+            when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of(smsOff)));
             when(templateService.resolveBody(any(), any(), any(), any())).thenReturn(null);
             when(templateService.resolveSubject(any(), any(), any(), any())).thenReturn(null);
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
@@ -231,8 +236,8 @@ class NotificationServiceTest {
                     .channels(List.of(NotificationChannel.IN_APP))
                     .build();
 
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID))
-                    .thenReturn(Optional.empty());
+            when(recipientDirectory.resolve(eq(TENANT_ID), any()))
+                    .thenReturn(Map.of());
 
             assertThatThrownBy(() -> notificationService.send(request))
                     .isInstanceOf(ResourceNotFoundException.class)
@@ -252,9 +257,9 @@ class NotificationServiceTest {
                     .body("Test body")
                     .build(); // no channels specified
 
-            when(residentRepository.findByIdAndTenantId(RESIDENT_ID, TENANT_ID))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID)));
-            when(preferenceService.isChannelEnabled(any(), any(), any())).thenReturn(true);
+            when(recipientDirectory.resolve(eq(TENANT_ID), any()))
+                    .thenReturn(buildContacts(RESIDENT_ID));
+            when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of()));
             when(templateService.resolveBody(any(), any(), any(), any())).thenReturn(null);
             when(templateService.resolveSubject(any(), any(), any(), any())).thenReturn(null);
             when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
@@ -270,66 +275,58 @@ class NotificationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("sendAll")
+    class SendAll {
+
+        @Test
+        @DisplayName("should resolve recipients once, save every row together and skip unknown residents")
+        void shouldSendRequestsTogether() {
+            UUID unknown = UUID.randomUUID();
+            List<SendNotificationRequest> requests = List.of(
+                    SendNotificationRequest.builder().recipientId(RESIDENT_ID).type(NotificationType.INVOICE_GENERATED)
+                            .title("Fines").body("Two fines").channels(List.of(NotificationChannel.IN_APP)).build(),
+                    SendNotificationRequest.builder().recipientId(RESIDENT_ID_2).type(NotificationType.INVOICE_GENERATED)
+                            .title("Fines").body("One fine").channels(List.of(NotificationChannel.IN_APP)).build(),
+                    SendNotificationRequest.builder().recipientId(unknown).type(NotificationType.INVOICE_GENERATED)
+                            .title("Fines").body("One fine").channels(List.of(NotificationChannel.IN_APP)).build());
+
+            when(recipientDirectory.resolve(TENANT_ID, List.of(RESIDENT_ID, RESIDENT_ID_2, unknown)))
+                    .thenReturn(buildContacts(RESIDENT_ID, RESIDENT_ID_2));
+            when(preferenceService.getMatrix(TENANT_ID)).thenReturn(PreferenceMatrix.of(List.of()));
+            when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            notificationService.sendAll(requests);
+
+            ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+            verify(notificationRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).extracting(Notification::getBody).containsExactly("Two fines", "One fine");
+            verify(notificationRepository, never()).save(any(Notification.class));
+            verify(dispatcher, times(2)).dispatch(any(Notification.class));
+        }
+    }
+
     @Nested
     @DisplayName("sendBulk")
     class SendBulk {
 
         @Test
-        @DisplayName("should send to all residents in estate")
-        void shouldSendToAllResidentsInEstate() {
+        @DisplayName("should hand estate-wide sends to the broadcast engine")
+        void shouldDelegateToBroadcastEngine() {
             BulkNotificationRequest request = BulkNotificationRequest.builder()
                     .estateId(ESTATE_ID)
                     .type(NotificationType.ANNOUNCEMENT)
                     .title("Estate Announcement")
                     .body("Important update for all residents.")
                     .build();
+            BroadcastResponse started = BroadcastResponse.builder()
+                    .broadcastId(UUID.randomUUID()).status(BroadcastStatus.RUNNING).totalRecipients(2).build();
+            when(broadcastService.startBroadcast(request)).thenReturn(started);
 
-            Unit unit = new Unit();
-            unit.setId(UNIT_ID);
-            unit.setEstateId(ESTATE_ID);
-            unit.setTenantId(TENANT_ID);
-
-            Tenancy tenancy1 = new Tenancy();
-            tenancy1.setResidentId(RESIDENT_ID);
-            Tenancy tenancy2 = new Tenancy();
-            tenancy2.setResidentId(RESIDENT_ID_2);
-
-            when(unitRepository.findByEstateIdAndTenantId(ESTATE_ID, TENANT_ID)).thenReturn(List.of(unit));
-            when(tenancyRepository.findActiveByUnitIdAndTenantId(UNIT_ID, TENANT_ID))
-                    .thenReturn(List.of(tenancy1, tenancy2));
-            when(residentRepository.findByIdAndTenantId(any(), eq(TENANT_ID)))
-                    .thenReturn(Optional.of(buildResident(RESIDENT_ID)));
-            when(preferenceService.isChannelEnabled(any(), any(), any())).thenReturn(true);
-            when(templateService.resolveBody(any(), any(), any(), any())).thenReturn(null);
-            when(templateService.resolveSubject(any(), any(), any(), any())).thenReturn(null);
-            when(notificationRepository.save(any(Notification.class))).thenAnswer(inv -> {
-                Notification n = inv.getArgument(0);
-                n.setId(UUID.randomUUID());
-                return n;
-            });
-
-            notificationService.sendBulk(request);
-
-            // 2 residents x 5 channels = 10 notifications
-            verify(notificationRepository, times(10)).save(any(Notification.class));
-        }
-
-        @Test
-        @DisplayName("should do nothing when no residents in estate")
-        void shouldDoNothingWhenNoResidents() {
-            BulkNotificationRequest request = BulkNotificationRequest.builder()
-                    .estateId(ESTATE_ID)
-                    .type(NotificationType.ANNOUNCEMENT)
-                    .title("Announcement")
-                    .body("Test")
-                    .build();
-
-            when(unitRepository.findByEstateIdAndTenantId(ESTATE_ID, TENANT_ID)).thenReturn(List.of());
-
-            notificationService.sendBulk(request);
+            BroadcastResponse result = notificationService.sendBulk(request);
 
+            assertThat(result).isSameAs(started);
             verify(notificationRepository, never()).save(any());
-            verify(dispatcher, never()).dispatch(any());
         }
     }
 
@@ -403,6 +400,22 @@ class NotificationServiceTest {
             assertThat(notification.getReadAt()).isNotNull();
 
             verify(notificationRepository).save(notification);
+            verify(unreadCounters).decrement(TENANT_ID, RESIDENT_ID);
+        }
+
+        @Test
+        @DisplayName("should leave the unread counter alone when the notification was already read")
+        void shouldNotDecrementWhenAlreadyRead() {
+            Notification notification = buildNotification();
+            notification.setStatus(NotificationStatus.READ);
+
+            when(notificationRepository.findByIdAndRecipientIdAndTenantId(NOTIFICATION_ID, RESIDENT_ID, TENANT_ID))
+                    .thenReturn(Optional.of(notification));
+            when(notificationRepository.save(notification)).thenReturn(notification);
+
+            notificationService.markAsRead(NOTIFICATION_ID, RESIDENT_ID);
+
+            verify(unreadCounters, never()).decrement(any(), any());
         }
 
         @Test
@@ -419,6 +432,89 @@ class NotificationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getNotificationsAfter")
+    class GetNotificationsAfter {
+
+        @Test
+        @DisplayName("should return notifications after the cursor and report more pages")
+        void shouldResumeFromCursor() {
+            Notification cursor = buildNotification();
+            cursor.setCreatedAt(Instant.parse("2026-01-01T10:00:00Z"));
+            Notification next = buildNotification();
+            next.setId(UUID.randomUUID());
+            Notification extra = buildNotification();
+            extra.setId(UUID.randomUUID());
+
+            when(notificationRepository.findByIdAndRecipientIdAndTenantId(NOTIFICATION_ID, RESIDENT_ID, TENANT_ID))
+                    .thenReturn(Optional.of(cursor));
+            when(notificationRepository.findInAppBefore(RESIDENT_ID, TENANT_ID, cursor.getCreatedAt().minusSeconds(60),
+                    cursor.getCreatedAt(), NOTIFICATION_ID, PageRequest.of(0, 200))).thenReturn(List.of());
+            when(notificationRepository.findInAppAfter(RESIDENT_ID, TENANT_ID, cursor.getCreatedAt(), NOTIFICATION_ID,
+                    PageRequest.of(0, 2))).thenReturn(List.of(next, extra));
+            when(notificationMapper.toResponse(next)).thenReturn(NotificationResponse.builder().id(next.getId()).build());
+            when(unreadCounters.getCount(TENANT_ID, RESIDENT_ID)).thenReturn(3L);
+
+            NotificationCatchUpResponse result = notificationService.getNotificationsAfter(RESIDENT_ID, NOTIFICATION_ID, 1);
+
+            assertThat(result.getNotifications()).extracting(NotificationResponse::getId).containsExactly(next.getId());
+            assertThat(result.isHasMore()).isTrue();
+            assertThat(result.isReset()).isFalse();
+            assertThat(result.getUnreadCount()).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("should repeat the overlap window before the cursor so late-committed rows are not skipped")
+        void shouldIncludeLateCommittedRows() {
+            Notification cursor = buildNotification();
+            cursor.setCreatedAt(Instant.parse("2026-01-01T10:00:00Z"));
+            Notification late = buildNotification();
+            late.setId(UUID.randomUUID());
+            late.setCreatedAt(cursor.getCreatedAt().minusSeconds(5));
+            Notification next = buildNotification();
+            next.setId(UUID.randomUUID());
+            notificationConfig.getCatchUp().setOverlapSeconds(30);
+
+            when(notificationRepository.findByIdAndRecipientIdAndTenantId(NOTIFICATION_ID, RESIDENT_ID, TENANT_ID))
+                    .thenReturn(Optional.of(cursor));
+            when(notificationRepository.findInAppBefore(RESIDENT_ID, TENANT_ID, cursor.getCreatedAt().minusSeconds(30),
+                    cursor.getCreatedAt(), NOTIFICATION_ID, PageRequest.of(0, 200))).thenReturn(List.of(late));
+            when(notificationRepository.findInAppAfter(RESIDENT_ID, TENANT_ID, cursor.getCreatedAt(), NOTIFICATION_ID,
+                    PageRequest.of(0, 51))).thenReturn(List.of(next));
+            when(notificationMapper.toResponse(any(Notification.class)))
+                    .thenAnswer(inv -> NotificationResponse.builder().id(inv.<Notification>getArgument(0).getId()).build());
+
+            NotificationCatchUpResponse result = notificationService.getNotificationsAfter(RESIDENT_ID, NOTIFICATION_ID, 50);
+
+            assertThat(result.getNotifications()).extracting(NotificationResponse::getId)
+                    .containsExactly(late.getId(), next.getId());
+            assertThat(result.isHasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should return the latest notifications oldest first and flag a reset for an unknown cursor")
+        void shouldResetForUnknownCursor() {
+            UUID unknownId = UUID.randomUUID();
+            Notification newest = buildNotification();
+            Notification older = buildNotification();
+            older.setId(UUID.randomUUID());
+
+            when(notificationRepository.findByIdAndRecipientIdAndTenantId(unknownId, RESIDENT_ID, TENANT_ID))
+                    .thenReturn(Optional.empty());
+            when(notificationRepository.findByRecipientIdAndTenantId(RESIDENT_ID, TENANT_ID, PageRequest.of(0, 50)))
+                    .thenReturn(new PageImpl<>(List.of(newest, older)));
+            when(notificationMapper.toResponse(any(Notification.class)))
+                    .thenAnswer(inv -> NotificationResponse.builder().id(inv.<Notification>getArgument(0).getId()).build());
+
+            NotificationCatchUpResponse result = notificationService.getNotificationsAfter(RESIDENT_ID, unknownId, 50);
+
+            assertThat(result.getNotifications()).extracting(NotificationResponse::getId)
+                    .containsExactly(older.getId(), newest.getId());
+            assertThat(result.isReset()).isTrue();
+            assertThat(result.isHasMore()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("markAllAsRead")
     class MarkAllAsRead {
@@ -432,6 +528,7 @@ class NotificationServiceTest {
             notificationService.markAllAsRead(RESIDENT_ID);
 
             verify(notificationRepository).markAllAsReadByRecipientIdAndTenantId(RESIDENT_ID, TENANT_ID);
+            verify(unreadCounters).reset(TENANT_ID, RESIDENT_ID);
         }
     }
 
@@ -440,11 +537,9 @@ class NotificationServiceTest {
     class GetUnreadCount {
 
         @Test
-        @DisplayName("should return correct unread count")
+        @DisplayName("should return the materialized unread count")
         void shouldReturnUnreadCount() {
-            when(notificationRepository.countByRecipientIdAndStatusAndTenantId(
-                    RESIDENT_ID, NotificationStatus.DELIVERED, TENANT_ID))
-                    .thenReturn(7L);
+            when(unreadCounters.getCount(TENANT_ID, RESIDENT_ID)).thenReturn(7L);
 
             UnreadCountResponse result = notificationService.getUnreadCount(RESIDENT_ID);
 
@@ -455,9 +550,7 @@ class NotificationServiceTest {
         @Test
         @DisplayName("should return zero when no unread notifications")
         void shouldReturnZero() {
-            when(notificationRepository.countByRecipientIdAndStatusAndTenantId(
-                    RESIDENT_ID, NotificationStatus.DELIVERED, TENANT_ID))
-                    .thenReturn(0L);
+            when(unreadCounters.getCount(TENANT_ID, RESIDENT_ID)).thenReturn(0L);
 
             UnreadCountResponse result = notificationService.getUnreadCount(RESIDENT_ID);
 
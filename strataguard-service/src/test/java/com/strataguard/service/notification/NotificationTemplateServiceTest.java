@@ -14,6 +14,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -40,6 +41,9 @@ class NotificationTemplateServiceTest {
     @Mock
     private NotificationTemplateMapper templateMapper;
 
+    @Spy
+    private NotificationConfig notificationConfig = new NotificationConfig();
+
     @InjectMocks
     private NotificationTemplateService templateService;
 
@@ -437,4 +441,110 @@ class NotificationTemplateServiceTest {
             assertThat(result).isNull();
         }
     }
+
+    @Nested
+    @DisplayName("compiled template cache")
+    class CompiledTemplateCache {
+
+        @Test
+        @DisplayName("should query the repository once per (estate, type, channel) including misses")
+        void shouldCacheResolvedAndMissingTemplates() {
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID))
+                    .thenReturn(Optional.of(buildTemplate()));
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.GENERAL, NotificationChannel.SMS, TENANT_ID))
+                    .thenReturn(Optional.empty());
+            when(templateRepository.findByNotificationTypeAndChannelIsNullAndTenantId(
+                    NotificationType.GENERAL, TENANT_ID))
+                    .thenReturn(Optional.empty());
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL,
+                        null, Map.of("firstName", "Alice" + i, "amount", "5000")))
+                        .isEqualTo("Hello Alice" + i + ", your payment of 5000 was received.");
+                assertThat(templateService.resolveSubject(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL,
+                        null, Map.of("amount", "5000"))).isEqualTo("Payment Confirmation for 5000");
+                assertThat(templateService.resolveBody(NotificationType.GENERAL, NotificationChannel.SMS,
+                        null, Map.of())).isNull();
+            }
+
+            verify(templateRepository, times(1)).findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID);
+            verify(templateRepository, times(1)).findByNotificationTypeAndChannelIsNullAndTenantId(
+                    NotificationType.GENERAL, TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should re-resolve after a template is updated")
+        void shouldEvictOnUpdate() {
+            NotificationTemplate template = buildTemplate();
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID))
+                    .thenReturn(Optional.of(template));
+            templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, null, null);
+
+            NotificationTemplateRequest request = NotificationTemplateRequest.builder()
+                    .name("Payment Received").notificationType(NotificationType.PAYMENT_RECEIVED)
+                    .bodyTemplate("Received {{amount}}").build();
+            when(templateRepository.findByIdAndTenantId(TEMPLATE_ID, TENANT_ID)).thenReturn(Optional.of(template));
+            doAnswer(invocation -> {
+                template.setBodyTemplate("Received {{amount}}");
+                return null;
+            }).when(templateMapper).updateEntity(request, template);
+            when(templateRepository.save(template)).thenReturn(template);
+            when(templateMapper.toResponse(template)).thenReturn(buildTemplateResponse());
+            templateService.update(TEMPLATE_ID, request);
+
+            assertThat(templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL,
+                    null, Map.of("amount", "900"))).isEqualTo("Received 900");
+            verify(templateRepository, times(2)).findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should reload a cached template once it has expired")
+        void shouldReloadAfterTtl() {
+            notificationConfig.getTemplates().setTtlSeconds(0);
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID))
+                    .thenReturn(Optional.of(buildTemplate()));
+
+            templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, null, null);
+            templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, null, null);
+
+            verify(templateRepository, times(2)).findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID);
+        }
+
+        @Test
+        @DisplayName("should keep cached templates separate per tenant")
+        void shouldIsolateTenants() {
+            UUID otherTenant = UUID.fromString("00000000-0000-0000-0000-000000000002");
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, TENANT_ID))
+                    .thenReturn(Optional.of(buildTemplate()));
+            when(templateRepository.findByNotificationTypeAndChannelAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL, otherTenant))
+                    .thenReturn(Optional.empty());
+            when(templateRepository.findByNotificationTypeAndChannelIsNullAndTenantId(
+                    NotificationType.PAYMENT_RECEIVED, otherTenant))
+                    .thenReturn(Optional.empty());
+
+            assertThat(templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL,
+                    null, null)).isNotNull();
+            TenantContext.setTenantId(otherTenant);
+            assertThat(templateService.resolveBody(NotificationType.PAYMENT_RECEIVED, NotificationChannel.EMAIL,
+                    null, null)).isNull();
+        }
+
+        @Test
+        @DisplayName("should render in one pass, leaving unknown placeholders and not re-scanning values")
+        void shouldRenderSinglePass() {
+            CompiledTemplate template = CompiledTemplate.compile("{{a}}-{{missing}}-{{b}} {{unclosed");
+
+            assertThat(template.render(Map.of("a", "{{b}}", "b", "2")))
+                    .isEqualTo("{{b}}-{{missing}}-2 {{unclosed");
+        }
+    }
 }
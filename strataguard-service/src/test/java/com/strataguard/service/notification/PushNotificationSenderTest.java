@@ -0,0 +1,106 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Runs the sender against the local FCM stub. */
+@ExtendWith(MockitoExtension.class)
+class PushNotificationSenderTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private DeviceTokenService deviceTokenService;
+
+    private LocalFcmStubGateway stubGateway;
+    private PushNotificationSender sender;
+
+    @BeforeEach
+    void setUp() {
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.getFcm().getStub().setLatencyMillis(0);
+        stubGateway = new LocalFcmStubGateway(notificationConfig);
+        sender = new PushNotificationSender(notificationConfig, stubGateway, deviceTokenService);
+    }
+
+    private Notification notification(UUID recipientId, String body) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(recipientId);
+        notification.setChannel(NotificationChannel.PUSH);
+        notification.setType(NotificationType.ANNOUNCEMENT);
+        notification.setTitle("Estate notice");
+        notification.setBody(body);
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should multicast identical content in requests of at most 500 tokens")
+    void shouldMulticastInBatches() {
+        Map<UUID, List<String>> tokens = new HashMap<>();
+        List<Notification> notifications = IntStream.range(0, 600).mapToObj(i -> {
+            UUID residentId = UUID.randomUUID();
+            tokens.put(residentId, List.of("device-" + i + "-a", "device-" + i + "-b"));
+            return notification(residentId, "Generator maintenance tonight");
+        }).toList();
+        when(deviceTokenService.findTokensByResidentIds(anyCollection(), eq(TENANT_ID))).thenReturn(tokens);
+
+        Map<UUID, String> failures = sender.sendBatch(notifications);
+
+        assertThat(failures).isEmpty();
+        assertThat(stubGateway.getRequestCount()).isEqualTo(3); // 1200 tokens
+        assertThat(stubGateway.getDeliveredCount()).isEqualTo(1200);
+        verify(deviceTokenService, never()).pruneTokens(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("should prune invalid tokens and fail only recipients with no working device")
+    void shouldPruneInvalidTokens() {
+        UUID oneGoodDevice = UUID.randomUUID();
+        UUID onlyStaleDevice = UUID.randomUUID();
+        UUID noDevices = UUID.randomUUID();
+        when(deviceTokenService.findTokensByResidentIds(anyCollection(), eq(TENANT_ID))).thenReturn(Map.of(
+                oneGoodDevice, List.of("good-1", "invalid-1"),
+                onlyStaleDevice, List.of("invalid-2")));
+        Notification delivered = notification(oneGoodDevice, "Levy due");
+        Notification stale = notification(onlyStaleDevice, "Levy due");
+        Notification unregistered = notification(noDevices, "Levy due");
+
+        Map<UUID, String> failures = sender.sendBatch(List.of(delivered, stale, unregistered));
+
+        assertThat(failures).containsOnlyKeys(stale.getId(), unregistered.getId());
+        assertThat(failures.get(unregistered.getId())).isEqualTo("Recipient has no registered devices");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> pruned = ArgumentCaptor.forClass(Collection.class);
+        verify(deviceTokenService).pruneTokens(eq(TENANT_ID), pruned.capture());
+        assertThat(pruned.getValue()).containsExactlyInAnyOrder("invalid-1", "invalid-2");
+    }
+
+    @Test
+    @DisplayName("should throw from single send when no device accepted the notification")
+    void shouldThrowOnSingleSendFailure() {
+        UUID residentId = UUID.randomUUID();
+        when(deviceTokenService.findTokensByResidentIds(anyCollection(), eq(TENANT_ID))).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> sender.send(notification(residentId, "Hello")))
+                .hasMessageContaining("no registered devices");
+    }
+}
@@ -0,0 +1,117 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipientDirectoryTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    private NotificationConfig notificationConfig;
+    private RecipientDirectory recipientDirectory;
+
+    @BeforeEach
+    void setUp() {
+        notificationConfig = new NotificationConfig();
+        recipientDirectory = new RecipientDirectory(residentRepository, notificationConfig);
+    }
+
+    private Resident resident(UUID id, String phone, String email, String userId) {
+        Resident resident = new Resident();
+        resident.setId(id);
+        resident.setTenantId(TENANT_ID);
+        resident.setFirstName("Ada");
+        resident.setLastName("Obi");
+        resident.setPhone(phone);
+        resident.setEmail(email);
+        resident.setUserId(userId);
+        return resident;
+    }
+
+    @Test
+    @DisplayName("should load a batch of misses in one query and serve repeats from the cache")
+    void shouldLoadMissesInBulk() {
+        when(residentRepository.findAllByIdsAndTenantId(Set.of(RESIDENT_ID, RESIDENT_ID_2), TENANT_ID))
+                .thenReturn(List.of(resident(RESIDENT_ID, "+2348000000001", "ada@example.com", null),
+                        resident(RESIDENT_ID_2, "+2348000000002", null, null)));
+
+        Map<UUID, RecipientDirectory.Contact> first = recipientDirectory.resolve(TENANT_ID, List.of(RESIDENT_ID, RESIDENT_ID_2));
+        Map<UUID, RecipientDirectory.Contact> second = recipientDirectory.resolve(TENANT_ID, List.of(RESIDENT_ID, RESIDENT_ID_2));
+
+        assertThat(first).containsOnlyKeys(RESIDENT_ID, RESIDENT_ID_2);
+        assertThat(second).isEqualTo(first);
+        verify(residentRepository, times(1)).findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID));
+    }
+
+    @Test
+    @DisplayName("should reload a resident after eviction")
+    void shouldReloadAfterEvict() {
+        when(residentRepository.findAllByIdsAndTenantId(Set.of(RESIDENT_ID), TENANT_ID))
+                .thenReturn(List.of(resident(RESIDENT_ID, "+2348000000001", null, null)))
+                .thenReturn(List.of(resident(RESIDENT_ID, "+2348000000009", null, null)));
+
+        recipientDirectory.find(TENANT_ID, RESIDENT_ID);
+        recipientDirectory.evict(TENANT_ID, RESIDENT_ID);
+
+        assertThat(recipientDirectory.find(TENANT_ID, RESIDENT_ID))
+                .hasValueSatisfying(contact -> assertThat(contact.phone()).isEqualTo("+2348000000009"));
+    }
+
+    @Test
+    @DisplayName("should reload entries once the TTL has passed")
+    void shouldExpireEntries() {
+        notificationConfig.getContacts().setTtlSeconds(0);
+        when(residentRepository.findAllByIdsAndTenantId(Set.of(RESIDENT_ID), TENANT_ID))
+                .thenReturn(List.of(resident(RESIDENT_ID, "+2348000000001", null, null)));
+
+        recipientDirectory.find(TENANT_ID, RESIDENT_ID);
+        recipientDirectory.find(TENANT_ID, RESIDENT_ID);
+
+        verify(residentRepository, times(2)).findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID));
+    }
+
+    @Test
+    @DisplayName("should derive reachable channels and group batch recipients by tenant")
+    void shouldResolveRecipientsWithReachableChannels() {
+        when(residentRepository.findAllByIdsAndTenantId(Set.of(RESIDENT_ID, RESIDENT_ID_2), TENANT_ID))
+                .thenReturn(List.of(resident(RESIDENT_ID, "+2348000000001", "ada@example.com", "kc-user"),
+                        resident(RESIDENT_ID_2, null, null, null)));
+        Notification first = new Notification();
+        first.setTenantId(TENANT_ID);
+        first.setRecipientId(RESIDENT_ID);
+        Notification second = new Notification();
+        second.setTenantId(TENANT_ID);
+        second.setRecipientId(RESIDENT_ID_2);
+
+        Map<UUID, RecipientDirectory.Contact> contacts = recipientDirectory.resolveRecipients(List.of(first, second));
+
+        assertThat(contacts.get(RESIDENT_ID).reachableChannels())
+                .containsExactlyInAnyOrder(NotificationChannel.values());
+        assertThat(contacts.get(RESIDENT_ID_2).reachableChannels()).containsExactly(NotificationChannel.IN_APP);
+        assertThat(contacts.get(RESIDENT_ID).fullName()).isEqualTo("Ada Obi");
+    }
+}
@@ -0,0 +1,132 @@
+package com.strataguard.service.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strataguard.core.entity.Notification;
+import com.strataguard.core.entity.Resident;
+import com.strataguard.core.enums.NotificationChannel;
+import com.strataguard.core.enums.NotificationType;
+import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/** Runs the sender against a local stand-in for Termii's bulk SMS endpoint. */
+@ExtendWith(MockitoExtension.class)
+class SmsNotificationSenderTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private ResidentRepository residentRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> bulkRequests = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 200;
+    private HttpServer termii;
+    private SmsNotificationSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        termii = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        termii.createContext("/api/sms/send/bulk", exchange -> {
+            bulkRequests.add(objectMapper.readTree(exchange.getRequestBody()));
+            byte[] body = "{\"code\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        termii.start();
+
+        NotificationConfig notificationConfig = new NotificationConfig();
+        notificationConfig.getTermii().setApiKey("test-key");
+        notificationConfig.getTermii().setSenderId("StrataGuard");
+        notificationConfig.getTermii().setBaseUrl("http://localhost:" + termii.getAddress().getPort() + "/api");
+        WebClient webClient = notificationConfig.termiiWebClient();
+        sender = new SmsNotificationSender(notificationConfig, webClient,
+                new RecipientDirectory(residentRepository, notificationConfig));
+    }
+
+    @AfterEach
+    void tearDown() {
+        termii.stop(0);
+    }
+
+    private Resident resident(String phone) {
+        Resident resident = new Resident();
+        resident.setId(UUID.randomUUID());
+        resident.setTenantId(TENANT_ID);
+        resident.setPhone(phone);
+        return resident;
+    }
+
+    private Notification notification(Resident recipient, String body) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTenantId(TENANT_ID);
+        notification.setRecipientId(recipient.getId());
+        notification.setChannel(NotificationChannel.SMS);
+        notification.setType(NotificationType.ANNOUNCEMENT);
+        notification.setBody(body);
+        return notification;
+    }
+
+    @Test
+    @DisplayName("should send one bulk request per distinct message body")
+    void shouldSendOneRequestPerBody() {
+        Resident first = resident("+2348000000001");
+        Resident second = resident("+2348000000002");
+        Resident third = resident("+2348000000003");
+        when(residentRepository.findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID)))
+                .thenReturn(List.of(first, second, third));
+
+        Map<UUID, String> failures = sender.sendBatch(List.of(
+                notification(first, "Water outage on Saturday"),
+                notification(second, "Water outage on Saturday"),
+                notification(third, "Gate closes at 10pm")));
+
+        assertThat(failures).isEmpty();
+        assertThat(bulkRequests).hasSize(2);
+        JsonNode outage = bulkRequests.stream()
+                .filter(r -> r.get("sms").asText().startsWith("Water")).findFirst().orElseThrow();
+        assertThat(outage.get("to")).hasSize(2);
+        assertThat(outage.get("api_key").asText()).isEqualTo("test-key");
+    }
+
+    @Test
+    @DisplayName("should fail recipients without a phone and the whole group when the provider errors")
+    void shouldReportFailures() {
+        Resident noPhone = resident(" ");
+        Resident withPhone = resident("+2348000000004");
+        when(residentRepository.findAllByIdsAndTenantId(anyCollection(), eq(TENANT_ID)))
+                .thenReturn(List.of(noPhone, withPhone));
+        responseStatus = 503;
+        Notification skipped = notification(noPhone, "Levy reminder");
+        Notification failed = notification(withPhone, "Levy reminder");
+
+        Map<UUID, String> failures = sender.sendBatch(List.of(skipped, failed));
+
+        assertThat(failures).containsEntry(skipped.getId(), "Recipient does not have a phone number");
+        assertThat(failures).containsKey(failed.getId());
+        assertThat(bulkRequests).hasSize(1);
+    }
+}
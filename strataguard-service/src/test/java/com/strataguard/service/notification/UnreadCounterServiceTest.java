@@ -0,0 +1,98 @@
+package com.strataguard.service.notification;
+
+import com.strataguard.core.entity.NotificationUnreadCounter;
+import com.strataguard.infrastructure.repository.NotificationUnreadCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCounterServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID RESIDENT_ID = UUID.fromString("00000000-0000-0000-0000-000000000010");
+    private static final UUID RESIDENT_ID_2 = UUID.fromString("00000000-0000-0000-0000-000000000011");
+
+    @Mock
+    private NotificationUnreadCounterRepository counterRepository;
+
+    @Mock
+    private RealtimeNotificationPublisher realtimePublisher;
+
+    private UnreadCounterService unreadCounterService;
+
+    @BeforeEach
+    void setUp() {
+        unreadCounterService = new UnreadCounterService(counterRepository, new NotificationConfig(), realtimePublisher);
+    }
+
+    private NotificationUnreadCounter counter(UUID residentId, long count) {
+        NotificationUnreadCounter counter = new NotificationUnreadCounter();
+        counter.setTenantId(TENANT_ID);
+        counter.setResidentId(residentId);
+        counter.setUnreadCount(count);
+        return counter;
+    }
+
+    @Test
+    @DisplayName("should load the counter once and serve repeat reads from memory")
+    void shouldCacheReads() {
+        when(counterRepository.findUnreadCount(RESIDENT_ID, TENANT_ID)).thenReturn(Optional.of(4L));
+
+        assertThat(unreadCounterService.getCount(TENANT_ID, RESIDENT_ID)).isEqualTo(4);
+        assertThat(unreadCounterService.getCount(TENANT_ID, RESIDENT_ID)).isEqualTo(4);
+
+        verify(counterRepository, times(1)).findUnreadCount(RESIDENT_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should adjust the stored counter, then cache and push the committed value")
+    void shouldPushAfterIncrement() {
+        when(counterRepository.findUnreadCount(RESIDENT_ID, TENANT_ID)).thenReturn(Optional.of(5L));
+
+        unreadCounterService.increment(TENANT_ID, RESIDENT_ID);
+
+        verify(counterRepository).adjustUnreadCount(RESIDENT_ID, TENANT_ID, 1);
+        verify(realtimePublisher).publishUnreadCount(TENANT_ID, RESIDENT_ID, 5);
+        assertThat(unreadCounterService.getCount(TENANT_ID, RESIDENT_ID)).isEqualTo(5);
+        verify(counterRepository, times(1)).findUnreadCount(RESIDENT_ID, TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("should bump a whole audience with one statement per distinct increment")
+    void shouldIncrementInBulk() {
+        when(counterRepository.findByResidentIdsAndTenantId(Set.of(RESIDENT_ID, RESIDENT_ID_2), TENANT_ID))
+                .thenReturn(List.of(counter(RESIDENT_ID, 2), counter(RESIDENT_ID_2, 9)));
+
+        unreadCounterService.incrementAll(TENANT_ID, List.of(RESIDENT_ID, RESIDENT_ID_2));
+
+        verify(counterRepository, times(1)).incrementUnreadCounts(any(), eq(TENANT_ID), anyLong());
+        verify(realtimePublisher).publishUnreadCount(TENANT_ID, RESIDENT_ID, 2);
+        verify(realtimePublisher).publishUnreadCount(TENANT_ID, RESIDENT_ID_2, 9);
+    }
+
+    @Test
+    @DisplayName("should zero the counter on mark-all-read")
+    void shouldReset() {
+        unreadCounterService.reset(TENANT_ID, RESIDENT_ID);
+
+        verify(counterRepository).resetUnreadCount(RESIDENT_ID, TENANT_ID);
+        verify(realtimePublisher).publishUnreadCount(TENANT_ID, RESIDENT_ID, 0);
+        assertThat(unreadCounterService.getCount(TENANT_ID, RESIDENT_ID)).isZero();
+        verify(counterRepository, never()).findUnreadCount(any(), any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.strataguard.service.presence;
+
+import com.strataguard.core.dto.chat.PresenceEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private PresencePublisher presencePublisher;
+
+    private InMemoryPresenceStore presenceStore;
+    private PresenceService presenceService;
+
+    @BeforeEach
+    void setUp() {
+        PresenceConfig presenceConfig = new PresenceConfig();
+        presenceConfig.setTtlSeconds(30);
+        presenceStore = new InMemoryPresenceStore();
+        presenceService = new PresenceService(presenceStore, presencePublisher, presenceConfig);
+    }
+
+    private List<PresenceEvent> published() {
+        ArgumentCaptor<PresenceEvent> captor = ArgumentCaptor.forClass(PresenceEvent.class);
+        verify(presencePublisher, atLeast(0)).publishPresence(eq(TENANT_ID), captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    @DisplayName("should count a user's sessions and announce only the first open and last close")
+    void shouldReferenceCountSessions() {
+        presenceService.connected("s1", "alice", TENANT_ID);
+        presenceService.connected("s2", "alice", TENANT_ID);
+        presenceService.disconnected("s1");
+
+        assertThat(presenceService.isOnline("alice")).isTrue();
+
+        presenceService.disconnected("s2");
+
+        assertThat(presenceService.isOnline("alice")).isFalse();
+        assertThat(published()).extracting(PresenceEvent::getUserId, PresenceEvent::isOnline)
+                .containsExactly(tuple("alice", true), tuple("alice", false));
+    }
+
+    @Test
+    @DisplayName("should answer bulk online queries across users")
+    void shouldAnswerBulkQueries() {
+        presenceService.connected("s1", "alice", TENANT_ID);
+        presenceService.connected("s2", "bob", TENANT_ID);
+
+        assertThat(presenceService.onlineUsers(List.of("alice", "bob", "carol")))
+                .containsExactlyInAnyOrder("alice", "bob");
+    }
+
+    @Test
+    @DisplayName("should see sessions recorded by other nodes in a shared store")
+    void shouldSeeOtherNodesSessions() {
+        Instant now = Instant.now();
+        presenceStore.save(new PresenceStore.Session("remote", "bob", TENANT_ID, "other-node", now, now.plusSeconds(30)));
+
+        presenceService.connected("s1", "bob", TENANT_ID);
+        presenceService.disconnected("s1");
+
+        assertThat(presenceService.isOnline("bob")).isTrue();
+        verifyNoInteractions(presencePublisher);
+    }
+
+    @Test
+    @DisplayName("should keep local sessions alive and expire those of a node that stopped heartbeating")
+    void shouldExpireSessionsOfDeadNode() {
+        Instant now = Instant.now();
+        presenceStore.save(new PresenceStore.Session("remote", "bob", TENANT_ID, "dead-node", now, now.plusSeconds(30)));
+        presenceService.connected("s1", "alice", TENANT_ID);
+
+        presenceService.heartbeat(now.plusSeconds(20));
+        presenceService.heartbeat(now.plusSeconds(40));
+
+        assertThat(presenceStore.onlineUsers(List.of("alice", "bob"), now.plusSeconds(40))).containsExactly("alice");
+        assertThat(published()).extracting(PresenceEvent::getUserId, PresenceEvent::isOnline)
+                .containsExactly(tuple("alice", true), tuple("bob", false));
+    }
+
+    @Test
+    @DisplayName("should restore and re-announce local sessions swept while this node was stalled")
+    void shouldRestoreSweptLocalSessions() {
+        presenceService.connected("s1", "alice", TENANT_ID);
+        presenceStore.remove("s1");
+
+        presenceService.heartbeat(Instant.now());
+
+        assertThat(presenceService.isOnline("alice")).isTrue();
+        verify(presencePublisher, times(2)).publishPresence(eq(TENANT_ID), any(PresenceEvent.class));
+    }
+}
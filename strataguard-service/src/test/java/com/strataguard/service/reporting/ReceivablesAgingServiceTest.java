@@ -0,0 +1,250 @@
+package com.strataguard.service.reporting;
+
+import com.strataguard.core.config.TenantContext;
+import com.strataguard.core.dto.reporting.ReceivablesAgingResponse;
+import com.strataguard.core.entity.ChargeInvoice;
+import com.strataguard.core.enums.ChargeType;
+import com.strataguard.infrastructure.repository.ChargeInvoiceRepository;
+import com.strataguard.infrastructure.repository.ReceivablesAgingRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceivablesAgingServiceTest {
+
+    @Mock private ChargeInvoiceRepository chargeInvoiceRepository;
+
+    @InjectMocks
+    private ReceivablesAgingService receivablesAgingService;
+
+    private UUID tenantId;
+    private final UUID estateA = UUID.randomUUID();
+    private final UUID estateB = UUID.randomUUID();
+    private final UUID unit1 = UUID.randomUUID();
+    private final UUID unit2 = UUID.randomUUID();
+    private final UUID charge = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        TenantContext.setTenantId(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void getAgingReport_shouldRollUpLinesByEstateAndTotals() {
+        ReceivablesAgingRow a1 = row(estateA, unit1, "ESTATE_CHARGE", charge, 2,
+                "100.00", "50.00", "0", "0");
+        ReceivablesAgingRow a2 = row(estateA, unit2, "ESTATE_CHARGE", charge, 1,
+                "0", "0", "25.00", "0");
+        ReceivablesAgingRow b1 = row(estateB, UUID.randomUUID(), "UTILITY", null, 1,
+                "0", "0", "0", "300.00");
+        stubAggregate(List.of(a1, a2, b1));
+
+        ReceivablesAgingResponse result = receivablesAgingService.getAgingReport(null, false);
+
+        assertThat(result.getAsOf()).isEqualTo(LocalDate.now());
+        assertThat(result.getInvoiceCount()).isEqualTo(4);
+        assertThat(result.getTotals().getDays0To30()).isEqualByComparingTo("100.00");
+        assertThat(result.getTotals().getDays31To60()).isEqualByComparingTo("50.00");
+        assertThat(result.getTotals().getDays61To90()).isEqualByComparingTo("25.00");
+        assertThat(result.getTotals().getOver90Days()).isEqualByComparingTo("300.00");
+        assertThat(result.getTotals().getTotal()).isEqualByComparingTo("475.00");
+        assertThat(result.getByEstate()).hasSize(2);
+        assertThat(result.getByEstate().get(0).getEstateId()).isEqualTo(estateA);
+        assertThat(result.getByEstate().get(0).getInvoiceCount()).isEqualTo(3);
+        assertThat(result.getByEstate().get(0).getBuckets().getTotal()).isEqualByComparingTo("175.00");
+        assertThat(result.getByUnitAndCharge()).hasSize(3);
+        assertThat(result.getByUnitAndCharge().get(2).getChargeName()).isEqualTo("Utility");
+    }
+
+    @Test
+    void getAgingReport_shouldFilterByEstate() {
+        stubAggregate(List.of(
+                row(estateA, unit1, "ESTATE_CHARGE", charge, 1, "100.00", "0", "0", "0"),
+                row(estateB, unit2, "ESTATE_CHARGE", charge, 1, "0", "40.00", "0", "0")));
+
+        ReceivablesAgingResponse result = receivablesAgingService.getAgingReport(estateB, false);
+
+        assertThat(result.getByEstate()).hasSize(1);
+        assertThat(result.getByUnitAndCharge()).extracting(ReceivablesAgingResponse.UnitChargeAging::getUnitId)
+                .containsExactly(unit2);
+        assertThat(result.getTotals().getTotal()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void getAgingReport_shouldServeCachedSnapshotUntilRefreshRequested() {
+        stubAggregate(List.of());
+
+        receivablesAgingService.getAgingReport(null, false);
+        receivablesAgingService.getAgingReport(estateA, false);
+        verify(chargeInvoiceRepository, times(1)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+
+        receivablesAgingService.getAgingReport(null, true);
+        verify(chargeInvoiceRepository, times(2)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAgingReport_shouldBucketOnCutoffsRelativeToToday() {
+        stubAggregate(List.of());
+        LocalDate today = LocalDate.now();
+
+        receivablesAgingService.getAgingReport(null, false);
+
+        verify(chargeInvoiceRepository).aggregateReceivablesAging(tenantId, today,
+                today.minusDays(30), today.minusDays(60), today.minusDays(90));
+    }
+
+    @Test
+    void recordPayment_shouldReduceCachedBucketWithoutRequery() {
+        stubAggregate(List.of(row(estateA, unit1, "ESTATE_CHARGE", charge, 2, "0", "300.00", "0", "0")));
+        receivablesAgingService.getAgingReport(null, false);
+
+        receivablesAgingService.recordPayment(invoice(unit1, LocalDate.now().minusDays(45)),
+                new BigDecimal("100.00"), false);
+        ReceivablesAgingResponse afterPartial = receivablesAgingService.getAgingReport(null, false);
+
+        assertThat(afterPartial.getTotals().getDays31To60()).isEqualByComparingTo("200.00");
+        assertThat(afterPartial.getInvoiceCount()).isEqualTo(2);
+
+        receivablesAgingService.recordPayment(invoice(unit1, LocalDate.now().minusDays(45)),
+                new BigDecimal("50.00"), true);
+        ReceivablesAgingResponse afterSettled = receivablesAgingService.getAgingReport(null, false);
+
+        assertThat(afterSettled.getTotals().getDays31To60()).isEqualByComparingTo("150.00");
+        assertThat(afterSettled.getInvoiceCount()).isEqualTo(1);
+        verify(chargeInvoiceRepository, times(1)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void recordPayment_shouldInvalidateWhenInvoiceNotInSnapshot() {
+        stubAggregate(List.of(row(estateA, unit1, "ESTATE_CHARGE", charge, 1, "100.00", "0", "0", "0")));
+        receivablesAgingService.getAgingReport(null, false);
+
+        receivablesAgingService.recordPayment(invoice(unit2, LocalDate.now()), new BigDecimal("10.00"), false);
+        receivablesAgingService.getAgingReport(null, false);
+
+        verify(chargeInvoiceRepository, times(2)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAgingReport_shouldReportNotYetDueAsCurrent() {
+        stubAggregate(List.of(row(estateA, unit1, "ESTATE_CHARGE", charge, 2, "80.00", "20.00", "0", "0", "0")));
+
+        ReceivablesAgingResponse result = receivablesAgingService.getAgingReport(null, false);
+
+        assertThat(result.getTotals().getCurrent()).isEqualByComparingTo("80.00");
+        assertThat(result.getTotals().getDays0To30()).isEqualByComparingTo("20.00");
+        assertThat(result.getTotals().getTotal()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void recordPayment_shouldApplyToCurrentBucketForInvoiceNotYetDue() {
+        stubAggregate(List.of(row(estateA, unit1, "ESTATE_CHARGE", charge, 1, "80.00", "0", "0", "0", "0")));
+        receivablesAgingService.getAgingReport(null, false);
+
+        receivablesAgingService.recordPayment(invoice(unit1, LocalDate.now().plusDays(10)),
+                new BigDecimal("30.00"), false);
+
+        assertThat(receivablesAgingService.getAgingReport(null, false).getTotals().getCurrent())
+                .isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void getAgingReport_shouldNotCacheSnapshotBuiltWhileAPaymentCommitted() {
+        when(chargeInvoiceRepository.aggregateReceivablesAging(eq(tenantId), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    // The payment commits while the report is being read
+                    receivablesAgingService.recordPayment(invoice(unit1, LocalDate.now()), new BigDecimal("10.00"), false);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        receivablesAgingService.getAgingReport(null, false);
+        receivablesAgingService.getAgingReport(null, false);
+        receivablesAgingService.getAgingReport(null, false);
+
+        verify(chargeInvoiceRepository, times(2)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void evict_shouldForceRebuildOnNextRead() {
+        stubAggregate(List.of());
+        receivablesAgingService.getAgingReport(null, false);
+
+        receivablesAgingService.evict(tenantId);
+        receivablesAgingService.getAgingReport(null, false);
+
+        verify(chargeInvoiceRepository, times(2)).aggregateReceivablesAging(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void bucketIndex_shouldUseDaysPastDue() {
+        LocalDate asOf = LocalDate.of(2025, 6, 30);
+
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.plusDays(5), asOf)).isZero();
+        assertThat(ReceivablesAgingService.bucketIndex(asOf, asOf)).isZero();
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(1), asOf)).isEqualTo(1);
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(30), asOf)).isEqualTo(1);
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(31), asOf)).isEqualTo(2);
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(60), asOf)).isEqualTo(2);
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(90), asOf)).isEqualTo(3);
+        assertThat(ReceivablesAgingService.bucketIndex(asOf.minusDays(91), asOf)).isEqualTo(4);
+    }
+
+    private void stubAggregate(List<ReceivablesAgingRow> rows) {
+        when(chargeInvoiceRepository.aggregateReceivablesAging(eq(tenantId), any(), any(), any(), any())).thenReturn(rows);
+    }
+
+    private ChargeInvoice invoice(UUID unitId, LocalDate dueDate) {
+        ChargeInvoice invoice = new ChargeInvoice();
+        invoice.setTenantId(tenantId);
+        invoice.setUnitId(unitId);
+        invoice.setChargeType(ChargeType.ESTATE_CHARGE);
+        invoice.setChargeId(charge);
+        invoice.setDueDate(dueDate);
+        return invoice;
+    }
+
+    private static ReceivablesAgingRow row(UUID estateId, UUID unitId, String chargeType, UUID chargeId,
+                                           long count, String b0, String b1, String b2, String b3) {
+        return row(estateId, unitId, chargeType, chargeId, count, "0", b0, b1, b2, b3);
+    }
+
+    private static ReceivablesAgingRow row(UUID estateId, UUID unitId, String chargeType, UUID chargeId,
+                                           long count, String current, String b0, String b1, String b2, String b3) {
+        ReceivablesAgingRow row = mock(ReceivablesAgingRow.class);
+        lenient().when(row.getEstateId()).thenReturn(estateId);
+        lenient().when(row.getUnitId()).thenReturn(unitId);
+        lenient().when(row.getUnitNumber()).thenReturn("A-1");
+        lenient().when(row.getChargeType()).thenReturn(chargeType);
+        lenient().when(row.getChargeId()).thenReturn(chargeId);
+        lenient().when(row.getChargeName()).thenReturn("Service Charge");
+        lenient().when(row.getInvoiceCount()).thenReturn(count);
+        lenient().when(row.getNotYetDue()).thenReturn(new BigDecimal(current));
+        lenient().when(row.getDays0To30()).thenReturn(new BigDecimal(b0));
+        lenient().when(row.getDays31To60()).thenReturn(new BigDecimal(b1));
+        lenient().when(row.getDays61To90()).thenReturn(new BigDecimal(b2));
+        lenient().when(row.getOver90Days()).thenReturn(new BigDecimal(b3));
+        return row;
+    }
+}
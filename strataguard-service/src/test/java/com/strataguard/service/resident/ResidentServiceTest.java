@@ -12,6 +12,7 @@ import com.strataguard.core.exception.DuplicateResourceException;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.ResidentMapper;
 import com.strataguard.infrastructure.repository.ResidentRepository;
+import com.strataguard.service.notification.RecipientDirectory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -48,6 +49,12 @@ class ResidentServiceTest {
     @Mock
     private ResidentMapper residentMapper;
 
+    @Mock
+    private RecipientDirectory recipientDirectory;
+
+    @Mock
+    private ResidentSessionBindings sessionBindings;
+
     @InjectMocks
     private ResidentService residentService;
 
@@ -472,6 +479,7 @@ class ResidentServiceTest {
             verify(residentMapper).updateEntity(updateRequest, resident);
             verify(residentRepository).save(resident);
             verify(residentMapper).toResponse(updatedResident);
+            verify(sessionBindings).residentChanged(updatedResident);
         }
 
         @Test
@@ -513,6 +521,8 @@ class ResidentServiceTest {
 
             verify(residentRepository).findByIdAndTenantId(RESIDENT_ID, TENANT_ID);
             verify(residentRepository).save(resident);
+            verify(recipientDirectory).evict(TENANT_ID, RESIDENT_ID);
+            verify(sessionBindings).residentChanged(resident);
         }
 
         @Test
@@ -10,6 +10,7 @@ import com.strataguard.core.enums.UtilityType;
 import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.SharedUtilityCostMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
 import com.strataguard.service.notification.NotificationService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -61,6 +62,9 @@ class SharedUtilityCostServiceTest {
     @Mock
     private SharedUtilityCostMapper sharedCostMapper;
 
+    @Mock
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
     @InjectMocks
     private SharedUtilityCostService sharedUtilityCostService;
 
@@ -304,8 +308,8 @@ class SharedUtilityCostServiceTest {
                     .thenReturn(List.of(tenancy1));
             when(tenancyRepository.findActiveByUnitIdAndTenantId(unit2Id, TENANT_ID))
                     .thenReturn(List.of(tenancy2));
-            when(invoiceRepository.countByInvoiceNumberPrefix(eq(TENANT_ID), any()))
-                    .thenReturn(0L);
+            when(invoiceNumberAllocator.next(TENANT_ID, InvoiceNumberAllocator.SHARED_COST_SERIES))
+                    .thenReturn("SHR-202610-000001");
             when(invoiceRepository.save(any(ChargeInvoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             int count = sharedUtilityCostService.generateInvoicesForSharedCost(SHARED_COST_ID);
@@ -363,8 +367,8 @@ class SharedUtilityCostServiceTest {
                     .thenReturn(List.of(tenancy));
             when(tenancyRepository.findActiveByUnitIdAndTenantId(vacantUnitId, TENANT_ID))
                     .thenReturn(Collections.emptyList());
-            when(invoiceRepository.countByInvoiceNumberPrefix(eq(TENANT_ID), any()))
-                    .thenReturn(0L);
+            when(invoiceNumberAllocator.next(TENANT_ID, InvoiceNumberAllocator.SHARED_COST_SERIES))
+                    .thenReturn("SHR-202610-000001");
             when(invoiceRepository.save(any(ChargeInvoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             int count = sharedUtilityCostService.generateInvoicesForSharedCost(SHARED_COST_ID);
@@ -12,6 +12,7 @@ import com.strataguard.core.exception.ResourceNotFoundException;
 import com.strataguard.core.util.UtilityMeterMapper;
 import com.strataguard.core.util.UtilityReadingMapper;
 import com.strataguard.infrastructure.repository.*;
+import com.strataguard.service.billing.InvoiceNumberAllocator;
 import com.strataguard.service.notification.NotificationService;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,6 +74,9 @@ class UtilityServiceTest {
     @Mock
     private UtilityReadingMapper readingMapper;
 
+    @Mock
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
     @InjectMocks
     private UtilityService utilityService;
 
@@ -626,7 +630,8 @@ class UtilityServiceTest {
 
             when(readingRepository.findUninvoicedValidatedReadings(TENANT_ID)).thenReturn(List.of(reading));
             when(tenancyRepository.findActiveByUnitIdAndTenantId(UNIT_ID, TENANT_ID)).thenReturn(List.of(tenancy));
-            when(invoiceRepository.countByInvoiceNumberPrefix(eq(TENANT_ID), any())).thenReturn(0L);
+            when(invoiceNumberAllocator.next(TENANT_ID, InvoiceNumberAllocator.UTILITY_SERIES))
+                    .thenReturn("UTL-202610-000001");
             when(invoiceRepository.save(any(ChargeInvoice.class))).thenReturn(savedInvoice);
             when(readingRepository.save(any(UtilityReading.class))).thenReturn(reading);
 
@@ -0,0 +1,27 @@
+-- Matches the PostgreSQL dialect's jsonb casts
+CREATE DOMAIN IF NOT EXISTS JSONB AS JSON;
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id              UUID         NOT NULL PRIMARY KEY,
+    tenant_id       UUID         NOT NULL,
+    recipient_id    UUID         NOT NULL,
+    channel         VARCHAR(50)  NOT NULL,
+    type            VARCHAR(50)  NOT NULL,
+    title           VARCHAR(500) NOT NULL,
+    body            TEXT         NOT NULL,
+    status          VARCHAR(50)  NOT NULL,
+    metadata        JSONB,
+    retry_count     INT          NOT NULL,
+    claim_count     INT          NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    sent_at         TIMESTAMP WITH TIME ZONE,
+    read_at         TIMESTAMP WITH TIME ZONE,
+    expires_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP WITH TIME ZONE,
+    created_by      VARCHAR(255),
+    updated_by      VARCHAR(255),
+    is_deleted      BOOLEAN      NOT NULL,
+    version         BIGINT
+);